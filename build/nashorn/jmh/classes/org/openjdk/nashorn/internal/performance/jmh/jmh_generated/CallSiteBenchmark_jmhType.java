@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class CallSiteBenchmark_jmhType extends CallSiteBenchmark_jmhType_B3 {
+}
+
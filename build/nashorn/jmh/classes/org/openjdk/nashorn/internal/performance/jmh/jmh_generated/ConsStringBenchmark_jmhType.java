@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class ConsStringBenchmark_jmhType extends ConsStringBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class JsonBenchmark_jmhType extends JsonBenchmark_jmhType_B3 {
+}
+
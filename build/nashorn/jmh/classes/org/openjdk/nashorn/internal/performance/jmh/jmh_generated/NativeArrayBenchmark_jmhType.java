@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class NativeArrayBenchmark_jmhType extends NativeArrayBenchmark_jmhType_B3 {
+}
+
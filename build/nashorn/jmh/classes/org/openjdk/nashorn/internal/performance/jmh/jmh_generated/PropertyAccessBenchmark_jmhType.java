@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class PropertyAccessBenchmark_jmhType extends PropertyAccessBenchmark_jmhType_B3 {
+}
+
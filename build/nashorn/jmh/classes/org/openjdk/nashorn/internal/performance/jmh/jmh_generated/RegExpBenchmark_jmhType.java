@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class RegExpBenchmark_jmhType extends RegExpBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class RegExpJitBenchmark_jmhType extends RegExpJitBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class RegExpSearchBenchmark_jmhType extends RegExpSearchBenchmark_jmhType_B3 {
+}
+
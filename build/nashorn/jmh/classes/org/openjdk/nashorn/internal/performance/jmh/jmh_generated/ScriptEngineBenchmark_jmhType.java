@@ -0,0 +1,4 @@
+package org.openjdk.nashorn.internal.performance.jmh.jmh_generated;
+public class ScriptEngineBenchmark_jmhType extends ScriptEngineBenchmark_jmhType_B3 {
+}
+
@@ -63,14 +63,20 @@ import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SCRIPTFU
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SCRIPTFUNCTION_SETDOCUMENTATIONKEY;
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SCRIPTFUNCTION_SETDOCUMENTATIONKEY_DESC;
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SCRIPTFUNCTION_TYPE;
+import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SCRIPTOBJECT_COPYREFERENCES;
+import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SCRIPTOBJECT_COPYREFERENCES_DESC;
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SETTER_PREFIX;
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SYMBOL_DESC;
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.SYMBOL_PREFIX;
 import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.TYPE_OBJECT;
+import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.UNARYOPERATOR_APPLY;
+import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.UNARYOPERATOR_APPLY_DESC;
+import static org.openjdk.nashorn.internal.tools.nasgen.StringConstants.UNARYOPERATOR_TYPE;
 
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -89,6 +95,9 @@ public class ClassGenerator {
     /** ASM class writer used to output bytecode for this class */
     protected final ClassWriter cw;
 
+    /** Names of the Object instance fields added to this class */
+    private final List<String> objectFields = new ArrayList<>();
+
     /**
      * Constructor
      */
@@ -114,10 +123,13 @@ public class ClassGenerator {
 
     void addField(final String name, final String desc) {
         addField(cw, name, desc);
+        if (OBJECT_DESC.equals(desc)) {
+            objectFields.add(name);
+        }
     }
 
     void addFunctionField(final String name) {
-        addFunctionField(cw, name);
+        addField(name, OBJECT_DESC);
     }
 
     void addGetter(final String owner, final MemberInfo memInfo) {
@@ -128,6 +140,32 @@ public class ClassGenerator {
         addSetter(cw, owner, memInfo);
     }
 
+    // Copies of script objects must refer to the copies of the values of their fields,
+    // see ScriptObject.copyReferences
+    void emitCopyReferences(final String className, final String superClass) {
+        if (objectFields.isEmpty()) {
+            return;
+        }
+        final MethodGenerator mi = makeMethod(ACC_PUBLIC, SCRIPTOBJECT_COPYREFERENCES, SCRIPTOBJECT_COPYREFERENCES_DESC);
+        mi.visitCode();
+        // super.copyReferences(copier)
+        mi.loadThis();
+        mi.loadLocal(1);
+        mi.invokeSpecial(superClass, SCRIPTOBJECT_COPYREFERENCES, SCRIPTOBJECT_COPYREFERENCES_DESC);
+        for (final String field : objectFields) {
+            // this.field = copier.apply(this.field)
+            mi.loadThis();
+            mi.loadLocal(1);
+            mi.loadThis();
+            mi.getField(className, field, OBJECT_DESC);
+            mi.invokeInterface(UNARYOPERATOR_TYPE, UNARYOPERATOR_APPLY, UNARYOPERATOR_APPLY_DESC);
+            mi.putField(className, field, OBJECT_DESC);
+        }
+        mi.returnVoid();
+        mi.computeMaxs();
+        mi.visitEnd();
+    }
+
     void emitGetClassName(final String name) {
         final MethodGenerator mi = makeMethod(ACC_PUBLIC, GET_CLASS_NAME, GET_CLASS_NAME_DESC);
         mi.loadLiteral(name);
@@ -88,6 +88,9 @@ public class ConstructorGenerator extends ClassGenerator {
         // add <init>
         emitConstructor();
 
+        // add copyReferences(UnaryOperator)
+        emitCopyReferences(className, superClass);
+
         if (constructor == null) {
             emitGetClassName(scriptClassInfo.getName());
         }
@@ -69,6 +69,9 @@ public class PrototypeGenerator extends ClassGenerator {
         // add <init>
         emitConstructor();
 
+        // add copyReferences(UnaryOperator)
+        emitCopyReferences(className, PROTOTYPEOBJECT_TYPE);
+
         // add getClassName()
         emitGetClassName(scriptClassInfo.getName());
 
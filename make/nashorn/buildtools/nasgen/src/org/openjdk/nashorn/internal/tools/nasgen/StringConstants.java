@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.objectweb.asm.Type;
 
 /**
@@ -54,6 +55,7 @@ public interface StringConstants {
     static final Type TYPE_COLLECTIONS          = Type.getType(Collections.class);
     static final Type TYPE_ARRAYLIST            = Type.getType(ArrayList.class);
     static final Type TYPE_LIST                 = Type.getType(List.class);
+    static final Type TYPE_UNARYOPERATOR        = Type.getType(UnaryOperator.class);
 
     static final String CLINIT = "<clinit>";
     static final String INIT = "<init>";
@@ -78,6 +80,10 @@ public interface StringConstants {
     // java.util.Collections.EMPTY_LIST
     static final String COLLECTIONS_EMPTY_LIST = "EMPTY_LIST";
     static final String LIST_DESC = TYPE_LIST.getDescriptor();
+    // java.util.function.UnaryOperator.apply(Object)
+    static final String UNARYOPERATOR_TYPE = TYPE_UNARYOPERATOR.getInternalName();
+    static final String UNARYOPERATOR_APPLY = "apply";
+    static final String UNARYOPERATOR_APPLY_DESC = Type.getMethodDescriptor(TYPE_OBJECT, TYPE_OBJECT);
 
     // Nashorn types, methods
     static final Type TYPE_ACCESSORPROPERTY   = Type.getType("L" + RUNTIME_PKG + "AccessorProperty;");
@@ -135,6 +141,8 @@ public interface StringConstants {
     static final String SCRIPTOBJECT_TYPE = TYPE_SCRIPTOBJECT.getInternalName();
     static final String SCRIPTOBJECT_DESC = TYPE_SCRIPTOBJECT.getDescriptor();
     static final String SCRIPTOBJECT_INIT_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, TYPE_PROPERTYMAP);
+    static final String SCRIPTOBJECT_COPYREFERENCES = "copyReferences";
+    static final String SCRIPTOBJECT_COPYREFERENCES_DESC = Type.getMethodDescriptor(Type.VOID_TYPE, TYPE_UNARYOPERATOR);
 
     static final String GETTER_PREFIX = "G$";
     static final String SETTER_PREFIX = "S$";
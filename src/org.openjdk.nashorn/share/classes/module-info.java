@@ -146,6 +146,7 @@ module org.openjdk.nashorn {
 
     requires org.objectweb.asm;
     requires org.objectweb.asm.commons;
+    requires org.objectweb.asm.tree;
     requires org.objectweb.asm.util;
 
     requires transitive java.scripting;
@@ -160,6 +161,8 @@ module org.openjdk.nashorn {
     exports org.openjdk.nashorn.tools to
         org.openjdk.nashorn.shell;
 
+    uses org.openjdk.nashorn.api.scripting.CodeStoreProvider;
+
     provides javax.script.ScriptEngineFactory with
         org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
 
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.scripting;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Service provider for the storage behind the persistent code cache ({@code --persistent-code-cache}).
+ * Nashorn encodes compiled scripts into byte arrays, a provider only has to keep them by key.
+ * <p>
+ * A provider is selected with the {@code --code-store=<name>} option, where the name is either the
+ * {@link #getName() name} of a provider registered with {@link java.util.ServiceLoader}, or the fully
+ * qualified name of a provider class with a public no-argument constructor. The built-in stores are
+ * named {@code directory} and {@code mapped}.
+ *
+ * @since 15.7
+ */
+public interface CodeStoreProvider {
+
+    /**
+     * Returns the name used to select this provider.
+     *
+     * @return the provider name
+     */
+    public String getName();
+
+    /**
+     * Opens the store for a code cache directory. The directory is specific to the Nashorn version and
+     * code generation options, so code compiled by different versions is never mixed.
+     *
+     * @param directory the cache directory
+     * @param readOnly true if scripts will only be loaded, not stored
+     * @return the store
+     * @throws IOException if the store cannot be opened
+     */
+    public Store open(Path directory, boolean readOnly) throws IOException;
+
+    /**
+     * Storage for encoded scripts. Implementations must be thread safe. Bounding the size of the
+     * store is up to the implementation.
+     */
+    public interface Store {
+        /**
+         * Returns the bytes stored under a key.
+         *
+         * @param key the key
+         * @return the bytes, or null if nothing is stored under the key
+         * @throws IOException if reading fails
+         */
+        public byte[] load(String key) throws IOException;
+
+        /**
+         * Stores bytes under a key, replacing any bytes stored before.
+         *
+         * @param key the key
+         * @param bytes the bytes
+         * @throws IOException if writing fails
+         */
+        public void store(String key, byte[] bytes) throws IOException;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.scripting;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+/**
+ * A fixed size pool of warm script contexts of a {@link NashornScriptEngine}. Each pooled
+ * context has its own global object, created from a {@link GlobalSnapshot}, so scripts
+ * running in contexts borrowed by different threads do not share any script state.
+ * All contexts belong to the same engine and therefore share its compiled code.
+ * <p>
+ * When the pool is created, the given warm-up scripts are run once in a context of
+ * their own, which compiles and links the code paths they exercise for all contexts of
+ * the engine. Contexts are reset whenever a {@link Lease} is closed: the context's
+ * global object is replaced by a fresh copy of the snapshot, so the next borrower sees
+ * the state of the snapshot, not the state left behind by previous borrowers. Resetting
+ * happens in the thread that closes the lease, keeping {@link #borrow()} cheap.
+ * <p>
+ * The pool records the time threads spend waiting in {@code borrow} and the number of
+ * contexts currently in use.
+ * <pre>
+ * final NashornScriptEngine engine = (NashornScriptEngine)factory.getScriptEngine();
+ * final EnginePool pool = new EnginePool(engine.createGlobalSnapshot(prelude), 8, engine.compile(warmup));
+ * try (EnginePool.Lease lease = pool.borrow()) {
+ *     return lease.eval(script);
+ * }
+ * </pre>
+ *
+ * @since 15.7
+ */
+public final class EnginePool {
+    private final GlobalSnapshot snapshot;
+    private final int size;
+    private final BlockingQueue<ScriptContext> available;
+    // number of contexts that could not be replaced when their lease was closed
+    private final AtomicInteger missing = new AtomicInteger();
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+
+    /**
+     * Creates a pool of {@code size} contexts with global objects copied from {@code snapshot}
+     * and warms the engine up by evaluating {@code warmup} scripts in another such context.
+     *
+     * @param snapshot the snapshot the global objects of the pooled contexts are copied from
+     * @param size the number of contexts in the pool
+     * @param warmup scripts compiled by the snapshot's engine to evaluate before creating the contexts
+     * @throws ScriptException if a warm-up script fails
+     * @throws IllegalArgumentException if {@code size} is not positive or a warm-up script
+     *         was compiled by another engine
+     */
+    public EnginePool(final GlobalSnapshot snapshot, final int size, final CompiledScript... warmup) throws ScriptException {
+        if (size <= 0) {
+            throw new IllegalArgumentException("pool size must be positive: " + size);
+        }
+        this.snapshot = Objects.requireNonNull(snapshot);
+        this.size = size;
+        this.available = new ArrayBlockingQueue<>(size);
+        for (final CompiledScript script : warmup) {
+            if (script.getEngine() != snapshot.getEngine()) {
+                throw new IllegalArgumentException("warm-up script compiled by another engine");
+            }
+        }
+        // compiled code is shared by all contexts of the engine, so warming up one is enough
+        final ScriptContext warmupContext = newContext();
+        for (final CompiledScript script : warmup) {
+            script.eval(warmupContext);
+        }
+        for (int i = 0; i < size; i++) {
+            available.add(newContext());
+        }
+    }
+
+    /**
+     * Returns the script engine of the pooled contexts.
+     *
+     * @return the script engine
+     */
+    public NashornScriptEngine getEngine() {
+        return snapshot.getEngine();
+    }
+
+    /**
+     * Borrows a context, waiting until one becomes available if necessary.
+     *
+     * @return the lease of the borrowed context
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Lease borrow() throws InterruptedException {
+        final long start = System.nanoTime();
+        replaceMissing();
+        final ScriptContext ctxt = available.take();
+        return lease(ctxt, start);
+    }
+
+    /**
+     * Borrows a context, waiting up to the given time until one becomes available.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return the lease of the borrowed context, or null if no context became available in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Lease borrow(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long start = System.nanoTime();
+        replaceMissing();
+        final ScriptContext ctxt = available.poll(timeout, unit);
+        return ctxt == null ? null : lease(ctxt, start);
+    }
+
+    /**
+     * Returns the number of contexts in the pool.
+     *
+     * @return the pool size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of contexts that are currently not borrowed.
+     *
+     * @return the number of available contexts
+     */
+    public int getAvailableCount() {
+        return available.size();
+    }
+
+    /**
+     * Returns the number of contexts that are currently borrowed.
+     *
+     * @return the number of borrowed contexts
+     */
+    public int getBorrowedCount() {
+        return size - available.size() - missing.get();
+    }
+
+    /**
+     * Returns the number of successful borrows since the pool was created.
+     *
+     * @return the number of borrows
+     */
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    /**
+     * Returns the total time in nanoseconds successful borrows have spent waiting for a context.
+     *
+     * @return the total borrow latency
+     */
+    public long getTotalBorrowNanos() {
+        return borrowNanos.sum();
+    }
+
+    /**
+     * Returns the longest time in nanoseconds a successful borrow has waited for a context.
+     *
+     * @return the maximum borrow latency
+     */
+    public long getMaxBorrowNanos() {
+        return maxBorrowNanos.get();
+    }
+
+    private Lease lease(final ScriptContext ctxt, final long start) {
+        final long nanos = System.nanoTime() - start;
+        borrowCount.increment();
+        borrowNanos.add(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+        return new Lease(ctxt);
+    }
+
+    // Create the contexts that closed leases failed to return to the pool
+    private void replaceMissing() {
+        for (int count = missing.get(); count > 0; count = missing.get()) {
+            if (missing.compareAndSet(count, count - 1)) {
+                try {
+                    available.add(newContext());
+                } catch (final RuntimeException | Error e) {
+                    missing.incrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private ScriptContext newContext() {
+        final ScriptContext ctxt = new SimpleScriptContext();
+        ctxt.setBindings(snapshot.createBindings(), ScriptContext.ENGINE_SCOPE);
+        return ctxt;
+    }
+
+    /**
+     * A context borrowed from an {@link EnginePool}. Closing the lease resets the context
+     * and returns it to the pool; the lease must not be used afterwards. A lease is meant to
+     * be used by a single thread.
+     *
+     * @since 15.7
+     */
+    public final class Lease implements AutoCloseable {
+        private ScriptContext context;
+
+        Lease(final ScriptContext context) {
+            this.context = context;
+        }
+
+        /**
+         * Returns the borrowed script context.
+         *
+         * @return the script context
+         * @throws IllegalStateException if the lease has been closed
+         */
+        public ScriptContext getContext() {
+            if (context == null) {
+                throw new IllegalStateException("lease closed");
+            }
+            return context;
+        }
+
+        /**
+         * Returns the {@code ENGINE_SCOPE} bindings of the borrowed script context.
+         *
+         * @return the global bindings
+         * @throws IllegalStateException if the lease has been closed
+         */
+        public Bindings getBindings() {
+            return getContext().getBindings(ScriptContext.ENGINE_SCOPE);
+        }
+
+        /**
+         * Evaluates a script in the borrowed script context.
+         *
+         * @param script the script source
+         * @return the result of the script
+         * @throws ScriptException if the script fails
+         * @throws IllegalStateException if the lease has been closed
+         */
+        public Object eval(final String script) throws ScriptException {
+            return getEngine().eval(script, getContext());
+        }
+
+        /**
+         * Evaluates a compiled script in the borrowed script context.
+         *
+         * @param script a script compiled by the pool's engine
+         * @return the result of the script
+         * @throws ScriptException if the script fails
+         * @throws IllegalStateException if the lease has been closed
+         * @throws IllegalArgumentException if the script was compiled by another engine
+         */
+        public Object eval(final CompiledScript script) throws ScriptException {
+            final ScriptContext ctxt = getContext();
+            if (script.getEngine() != getEngine()) {
+                throw new IllegalArgumentException("script compiled by another engine");
+            }
+            return script.eval(ctxt);
+        }
+
+        /**
+         * Resets the borrowed context and returns it to the pool. Closing a lease more
+         * than once has no effect. If the context can not be reset, the lease is closed
+         * anyway and the next borrow tries again to reset it.
+         */
+        @Override
+        public void close() {
+            if (context != null) {
+                final ScriptContext replacement;
+                try {
+                    replacement = newContext();
+                } catch (final RuntimeException | Error e) {
+                    context = null;
+                    missing.incrementAndGet();
+                    throw e;
+                }
+                context = null;
+                available.add(replacement);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.scripting;
+
+import java.util.Objects;
+import javax.script.Bindings;
+import org.openjdk.nashorn.internal.objects.Global;
+
+/**
+ * A fully initialized global object of a {@link NashornScriptEngine}, optionally with the
+ * effects of a prelude script, that serves as a template for new global objects.
+ * Creating bindings from a snapshot copies the template instead of initializing all
+ * builtin objects from scratch, which makes it considerably cheaper than
+ * {@link NashornScriptEngine#createBindings()}.
+ * <p>
+ * The copies share immutable structures such as property maps and compiled code with the
+ * template but none of its script objects, so changes made by scripts in one copy are
+ * not visible in the template or any other copy. Java objects stored in the template by
+ * the prelude script are shared by all copies.
+ *
+ * @see NashornScriptEngine#createGlobalSnapshot(String)
+ * @since 15.7
+ */
+public final class GlobalSnapshot {
+    private final NashornScriptEngine engine;
+    private final Global template;
+
+    GlobalSnapshot(final NashornScriptEngine engine, final Global template) {
+        this.engine = Objects.requireNonNull(engine);
+        this.template = Objects.requireNonNull(template);
+    }
+
+    /**
+     * Returns the script engine this snapshot was created by.
+     *
+     * @return the script engine
+     */
+    public NashornScriptEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Creates new bindings backed by a copy of the snapshot's global object. The bindings
+     * can be used as {@code ENGINE_SCOPE} of a script context of the snapshot's engine,
+     * just like bindings returned by {@link NashornScriptEngine#createBindings()}.
+     * This method is safe to be called concurrently from multiple threads.
+     *
+     * @return new bindings
+     */
+    public Bindings createBindings() {
+        final Global newGlobal = newGlobal();
+        return new ScriptObjectMirror(newGlobal, newGlobal);
+    }
+
+    // Create a new Nashorn Global object by copying the template
+    Global newGlobal() {
+        return engine.copyNashornGlobal(template);
+    }
+}
@@ -46,6 +46,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
 import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.ErrorManager;
@@ -79,6 +80,9 @@ public final class NashornScriptEngine extends AbstractScriptEngine implements C
     // This is the initial default Nashorn global object.
     // This is used as "shared" global if above option is true.
     private final Global              global;
+    // Snapshot of a pristine global that is never exposed to scripts. If the
+    // --global-per-request option is set, new Nashorn global instances are copied from it.
+    private final GlobalSnapshot      snapshot;
 
     // Nashorn script engine error message management
     private static final String MESSAGES_RESOURCE = "org.openjdk.nashorn.api.scripting.resources.Messages";
@@ -118,6 +122,8 @@ public final class NashornScriptEngine extends AbstractScriptEngine implements C
         // cache this option that is used often
         this._global_per_engine = nashornContext.getEnv()._global_per_engine;
 
+        // create the template global object if new globals are to be copied from it
+        this.snapshot = nashornContext.getEnv()._global_per_request && !_global_per_engine ? new GlobalSnapshot(this, initNashornGlobal()) : null;
         // create new global object
         this.global = createNashornGlobal();
         // set the default ENGINE_SCOPE object for the default context
@@ -149,6 +155,35 @@ public final class NashornScriptEngine extends AbstractScriptEngine implements C
         return createGlobalMirror();
     }
 
+    /**
+     * Creates a snapshot of a newly initialized global object of this engine. If
+     * {@code prelude} is not null, it is evaluated in the new global object before the
+     * snapshot is taken, so that the functions and variables it defines are present in
+     * all bindings created from the snapshot.
+     * <p>
+     * Snapshots can not capture state that is tied to a particular global object, such as
+     * mirrors of objects of other globals. Array buffers are captured with a copy of their
+     * memory, unless the memory is read-only.
+     *
+     * @param prelude script to evaluate before taking the snapshot, may be null
+     * @return the snapshot
+     * @throws ScriptException if the prelude script fails
+     * @throws IllegalStateException if the prelude script leaves state that can not be captured
+     * @since 15.7
+     */
+    public GlobalSnapshot createGlobalSnapshot(final String prelude) throws ScriptException {
+        final Global template = createNashornGlobal();
+        if (prelude != null) {
+            final ScriptContext ctxt = new SimpleScriptContext();
+            ctxt.setBindings(new ScriptObjectMirror(template, template), ScriptContext.ENGINE_SCOPE);
+            eval(prelude, ctxt);
+        }
+        final GlobalSnapshot newSnapshot = new GlobalSnapshot(this, template);
+        // fail early if the template can not be copied
+        newSnapshot.newGlobal();
+        return newSnapshot;
+    }
+
     // Compilable methods
 
     @Override
@@ -311,8 +346,21 @@ public final class NashornScriptEngine extends AbstractScriptEngine implements C
         return new ScriptObjectMirror(newGlobal, newGlobal);
     }
 
+    // Create a new Nashorn Global object by copying the template of a snapshot
+    Global copyNashornGlobal(final Global template) {
+        return nashornContext.copyGlobal(template, this);
+    }
+
     // Create a new Nashorn Global object
     private Global createNashornGlobal() {
+        if (snapshot != null) {
+            return snapshot.newGlobal();
+        }
+        return initNashornGlobal();
+    }
+
+    // Create and initialize a new Nashorn Global object
+    private Global initNashornGlobal() {
         final Global newGlobal;
         try {
             newGlobal = nashornContext.newGlobal();
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.api.scripting;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.openjdk.nashorn.internal.runtime.events.RuntimeEventDispatcher;
+
+/**
+ * Process-wide stream of runtime events for production monitoring of the engine. The events
+ * report deoptimizing recompilations of functions, relinking of call sites, call sites that
+ * became megamorphic, and classes installed by script contexts, which are otherwise only
+ * visible in debug logs. Listeners are also told when scripts release ArrayBuffer memory,
+ * so that embedders can free it without waiting for the garbage collector.
+ * <p>
+ * Listeners are notified synchronously in the thread that caused the event, which may be a
+ * script thread or a background compilation thread, so they must be thread safe, return
+ * quickly and not throw. As long as no listener is registered, raising an event costs a
+ * single volatile read. Listeners can be registered at any time; a listener registered in a
+ * running process also receives events for code that was compiled and linked before.
+ * <pre>
+ * RuntimeEvents.addListener(new RuntimeEvents.Listener() {
+ *     &#64;Override
+ *     public void megamorphic(final String operation, final String location, final int relinkCount) {
+ *         megamorphicSites.increment();
+ *     }
+ * });
+ * </pre>
+ *
+ * @since 15.7
+ */
+public final class RuntimeEvents {
+
+    private RuntimeEvents() {
+    }
+
+    /**
+     * Receiver of runtime events. All methods do nothing by default, so a listener only
+     * overrides the events it is interested in.
+     */
+    public interface Listener {
+        /**
+         * Called when an optimistic assumption of a function is invalidated, causing the
+         * function to be recompiled with a wider type at a program point.
+         *
+         * @param functionName the name of the function
+         * @param programPoint the program point whose type was invalidated
+         * @param previousType the type the program point was optimistically compiled with, or null
+         *        if it is not known, which is the case the first time a program point is invalidated
+         * @param newType the type of the value that invalidated the assumption
+         */
+        public default void recompiled(String functionName, int programPoint, Class<?> previousType, Class<?> newType) {
+        }
+
+        /**
+         * Called when a call site is relinked because none of its linked invocations
+         * applied to the arguments. The first link of a call site is not reported. Call sites
+         * count their links whether or not a listener is registered, so the relink count
+         * includes relinks that happened before the listener was registered.
+         *
+         * @param operation the operation of the call site, e.g. {@code GET:PROPERTY|ELEMENT|METHOD:foo}
+         * @param location the script location of the call site, as {@code file:line}
+         * @param relinkCount the number of times the call site has been relinked
+         */
+        public default void relinked(String operation, String location, int relinkCount) {
+        }
+
+        /**
+         * Called when a call site was relinked often enough to be considered unstable, and
+         * its linked invocations are discarded in favour of a generic megamorphic one.
+         * This is reported instead of {@link #relinked(String, String, int)}.
+         *
+         * @param operation the operation of the call site
+         * @param location the script location of the call site, as {@code file:line}
+         * @param relinkCount the number of times the call site has been relinked
+         */
+        public default void megamorphic(String operation, String location, int relinkCount) {
+        }
+
+        /**
+         * Called when a script context installs a class compiled from script code.
+         *
+         * @param className the binary name of the class
+         * @param byteCodeLength the length of the class file in bytes
+         */
+        public default void classInstalled(String className, int byteCodeLength) {
+        }
+
+        /**
+         * Called when a script releases an ArrayBuffer with {@code ArrayBuffer.prototype.release()},
+         * after the buffer and its typed array views have been detached from their memory.
+         * The engine leaves the memory to the garbage collector. An embedder that knows no other
+         * thread is still using the buffer can free it right away, for example by unmapping a
+         * buffer created by {@code mapFile}, or by freeing a buffer it passed to
+         * {@code new ArrayBuffer(byteBuffer)}.
+         *
+         * @param buffer the memory of the released buffer. This is the {@code ByteBuffer} passed in
+         *        from Java, a {@code MappedByteBuffer} created by {@code mapFile}, or a direct buffer
+         *        allocated by the engine.
+         */
+        public default void arrayBufferReleased(ByteBuffer buffer) {
+        }
+    }
+
+    /**
+     * Registers a listener for runtime events of all script engines in this process.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(final Listener listener) {
+        RuntimeEventDispatcher.addListener(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(Listener)}. Does nothing if the
+     * listener is not registered.
+     *
+     * @param listener the listener
+     */
+    public static void removeListener(final Listener listener) {
+        RuntimeEventDispatcher.removeListener(listener);
+    }
+}
@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.api.scripting;
 
+import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -42,6 +43,7 @@ import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.runtime.ConsString;
 import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.ECMAException;
+import org.openjdk.nashorn.internal.runtime.JSONFunctions;
 import org.openjdk.nashorn.internal.runtime.JSONListAdapter;
 import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.ScriptFunction;
@@ -146,6 +148,21 @@ public final class ScriptObjectMirror extends AbstractJSObject implements Bindin
         return inGlobal(() -> wrapLikeMe(Context.getContext().eval(global, s, sobj, null)));
     }
 
+    /**
+     * Parses JSON text in the global of this mirror, as {@code JSON.parse} does.
+     * The text is read from the reader as it is parsed, so it does not need to fit
+     * into memory next to the result. The reader is not closed.
+     *
+     * @param reader reader to read the JSON text from
+     * @return the parsed value, wrapped as a mirror if it is an object
+     * @throws NashornException if the text is not valid JSON
+     * @throws java.io.UncheckedIOException if reading from the reader fails
+     */
+    public Object parseJSON(final Reader reader) {
+        Objects.requireNonNull(reader);
+        return inGlobal(() -> wrapLikeMe(JSONFunctions.parse(reader, ScriptRuntime.UNDEFINED)));
+    }
+
     /**
      * Call member function
      * @param functionName function name
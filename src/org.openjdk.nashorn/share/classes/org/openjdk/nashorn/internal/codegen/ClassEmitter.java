@@ -57,8 +57,11 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.util.TraceClassVisitor;
 import org.openjdk.nashorn.internal.codegen.types.Type;
 import org.openjdk.nashorn.internal.ir.FunctionNode;
@@ -116,8 +119,12 @@ public class ClassEmitter {
      */
     private final HashSet<MethodEmitter> methodsStarted;
 
-    /** The ASM classwriter that we use for all bytecode operations */
-    protected final ClassWriter cw;
+    /**
+     * The ASM classwriter that we use for all bytecode operations, or a
+     * class node buffering them if the class file is assembled later in
+     * {@link #toByteArray()}
+     */
+    protected final ClassVisitor cw;
 
     /** The script environment */
     protected final Context context;
@@ -141,9 +148,9 @@ public class ClassEmitter {
      * abstraction towards ASM or other code generator below.
      *
      * @param context script context
-     * @param cw  ASM classwriter
+     * @param cw  ASM classwriter or class node
      */
-    private ClassEmitter(final Context context, final ClassWriter cw) {
+    private ClassEmitter(final Context context, final ClassVisitor cw) {
         this.context        = context;
         this.cw             = cw;
         this.methodsStarted = new HashSet<>();
@@ -180,24 +187,10 @@ public class ClassEmitter {
      * @param sourceName    Source name
      * @param unitClassName Compile unit class name.
      * @param strictMode    Should we generate this method in strict mode
+     * @param deferClassFile Should the class file be assembled in {@link #toByteArray()}
      */
-    ClassEmitter(final Context context, final String sourceName, final String unitClassName, final boolean strictMode) {
-        this(context,
-             new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
-                private static final String OBJECT_CLASS  = "java/lang/Object";
-
-                @Override
-                protected String getCommonSuperClass(final String type1, final String type2) {
-                    try {
-                        return super.getCommonSuperClass(type1, type2);
-                    } catch (final RuntimeException e) {
-                        if (isScriptObject(type1) && isScriptObject(type2)) {
-                            return className(ScriptObject.class);
-                        }
-                        return OBJECT_CLASS;
-                    }
-                }
-            });
+    ClassEmitter(final Context context, final String sourceName, final String unitClassName, final boolean strictMode, final boolean deferClassFile) {
+        this(context, deferClassFile ? new ClassNode(Opcodes.ASM7) : createUnitClassWriter());
 
         this.unitClassName        = unitClassName;
         this.constantMethodNeeded = new HashSet<>();
@@ -208,6 +201,24 @@ public class ClassEmitter {
         defineCommonStatics(strictMode);
     }
 
+    private static ClassWriter createUnitClassWriter() {
+        return new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+            private static final String OBJECT_CLASS  = "java/lang/Object";
+
+            @Override
+            protected String getCommonSuperClass(final String type1, final String type2) {
+                try {
+                    return super.getCommonSuperClass(type1, type2);
+                } catch (final RuntimeException e) {
+                    if (isScriptObject(type1) && isScriptObject(type2)) {
+                        return className(ScriptObject.class);
+                    }
+                    return OBJECT_CLASS;
+                }
+            }
+        };
+    }
+
     Context getContext() {
         return context;
     }
@@ -630,13 +641,22 @@ public class ClassEmitter {
     /**
      * Return a bytecode array from this ClassEmitter. The ClassEmitter must
      * have been ended (having its end function called) for this to work.
+     * If the class was buffered in a class node, the class file is assembled
+     * here, computing maximum stack sizes and stack map frames. This touches
+     * nothing but this class emitter, so it can be called for different
+     * compile units in parallel.
      *
      * @return byte code array for generated class, {@code null} if class
      *         generation hasn't been ended with {@link ClassEmitter#end()}.
      */
     byte[] toByteArray() {
         if (classEnded) {
-            return cw.toByteArray();
+            if (cw instanceof ClassNode) {
+                final ClassWriter writer = createUnitClassWriter();
+                ((ClassNode)cw).accept(writer);
+                return writer.toByteArray();
+            }
+            return ((ClassWriter)cw).toByteArray();
         } else {
             throw new AssertionError();
         }
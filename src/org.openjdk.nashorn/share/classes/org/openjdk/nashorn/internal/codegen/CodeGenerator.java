@@ -70,6 +70,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.Supplier;
 import org.openjdk.nashorn.internal.AssertsEnabled;
@@ -244,8 +245,10 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
 
     private final Set<String> emittedMethods = new HashSet<>();
 
-    // Function Id -> ContinuationInfo. Used by compilation of rest-of function only.
-    private ContinuationInfo continuationInfo;
+    // Program point -> ContinuationInfo. Used by compilation of rest-of function only.
+    private Map<Integer, ContinuationInfo> continuationInfos;
+    // Start of the code that dispatches to the continuation handlers of a generic rest-of function.
+    private Label continuationDispatchLabel;
 
     private final Deque<Label> scopeEntryLabels = new ArrayDeque<>();
 
@@ -390,7 +393,14 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
         return continuationEntryPoints != null;
     }
 
+    private boolean isGenericRestOf() {
+        return isRestOf() && continuationEntryPoints.length == 0;
+    }
+
     private boolean isCurrentContinuationEntryPoint(final int programPoint) {
+        if (isGenericRestOf()) {
+            return isContinuationEntryPoint(programPoint);
+        }
         return isRestOf() && getCurrentContinuationEntryPoint() == programPoint;
     }
 
@@ -403,7 +413,11 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
     }
 
     private boolean isContinuationEntryPoint(final int programPoint) {
-        if (isRestOf()) {
+        if (isGenericRestOf()) {
+            // A generic rest-of function can continue from every program point where the code it continues stores its
+            // stack.
+            return storesStackAtEveryProgramPoint(programPoint);
+        } else if (isRestOf()) {
             assert continuationEntryPoints != null;
             for (final int cep : continuationEntryPoints) {
                 if (cep == programPoint) {
@@ -414,6 +428,18 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
         return false;
     }
 
+    /**
+     * With tiered recompilation, a rewrite exception can be continued by a generic rest-of function compiled before
+     * the exception was thrown, and without any knowledge of which operations were optimistic in the code that threw
+     * it. All optimistic code therefore stores the stack at every program point, not just at optimistic operations,
+     * so that its local variable layout doesn't depend on the optimistic types it was compiled with.
+     * @param programPoint the program point
+     * @return true if the stack is stored into local variables at the program point regardless of its type.
+     */
+    private boolean storesStackAtEveryProgramPoint(final int programPoint) {
+        return isValid(programPoint) && useOptimisticTypes() && compiler.getScriptEnvironment()._tiered_recompilation;
+    }
+
     /**
      * Check if this symbol can be accessed directly with a putfield or getfield or dynamic load
      *
@@ -1355,11 +1381,12 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
      */
     private void popScopeException() {
         popScope();
-        final ContinuationInfo ci = getContinuationInfo();
-        if(ci != null) {
-            final Label catchLabel = ci.catchLabel;
-            if(catchLabel != METHOD_BOUNDARY && catchLabel == catchLabels.peek()) {
-                ++ci.exceptionScopePops;
+        if(continuationInfos != null) {
+            for(final ContinuationInfo ci : continuationInfos.values()) {
+                final Label catchLabel = ci.catchLabel;
+                if(catchLabel != METHOD_BOUNDARY && catchLabel == catchLabels.peek()) {
+                    ++ci.exceptionScopePops;
+                }
             }
         }
     }
@@ -2119,9 +2146,16 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
             method.begin();
 
             if (isRestOf()) {
-                assert continuationInfo == null;
-                continuationInfo = new ContinuationInfo();
-                method.gotoLoopStart(continuationInfo.getHandlerLabel());
+                assert continuationInfos == null;
+                continuationInfos = new HashMap<>();
+                if (isGenericRestOf()) {
+                    continuationDispatchLabel = new Label("continuation_dispatch");
+                    method.gotoLoopStart(continuationDispatchLabel);
+                } else {
+                    final ContinuationInfo ci = new ContinuationInfo();
+                    continuationInfos.put(getCurrentContinuationEntryPoint(), ci);
+                    method.gotoLoopStart(ci.getHandlerLabel());
+                }
             }
         }
 
@@ -2451,34 +2485,24 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
      * @param pp    program point
      * @return true if it's there.
      */
-    private static boolean propertyValueContains(final Expression value, final int pp) {
-        return new Supplier<Boolean>() {
-            boolean contains;
-
+    private void addPropertyValueContinuations(final Expression value, final List<ContinuationInfo> continuations) {
+        value.accept(new SimpleNodeVisitor() {
             @Override
-            public Boolean get() {
-                value.accept(new SimpleNodeVisitor() {
-                    @Override
-                    public boolean enterFunctionNode(final FunctionNode functionNode) {
-                        return false;
-                    }
+            public boolean enterFunctionNode(final FunctionNode functionNode) {
+                return false;
+            }
 
-                    @Override
-                    public boolean enterDefault(final Node node) {
-                        if (contains) {
-                            return false;
-                        }
-                        if (node instanceof Optimistic && ((Optimistic)node).getProgramPoint() == pp) {
-                            contains = true;
-                            return false;
-                        }
-                        return true;
+            @Override
+            public boolean enterDefault(final Node node) {
+                if (node instanceof Optimistic) {
+                    final ContinuationInfo ci = getContinuationInfo(((Optimistic)node).getProgramPoint());
+                    if (ci != null && !continuations.contains(ci)) {
+                        continuations.add(ci);
                     }
-                });
-
-                return contains;
+                }
+                return true;
             }
-        }.get();
+        });
     }
 
     private void loadObjectNode(final ObjectNode objectNode) {
@@ -2487,11 +2511,11 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
         final List<MapTuple<Expression>> tuples = new ArrayList<>();
         // List below will contain getter/setter properties and properties with computed keys (ES6)
         final List<PropertyNode> specialProperties = new ArrayList<>();
-        final int ccp = getCurrentContinuationEntryPoint();
         final List<Splittable.SplitRange> ranges = objectNode.getSplitRanges();
+        // Continuations from program points within the property values
+        final List<ContinuationInfo> propertyContinuations = new ArrayList<>();
 
         Expression protoNode = null;
-        boolean restOfProperty = false;
 
         for (final PropertyNode propertyNode : elements) {
             final Expression value = propertyNode.getValue();
@@ -2512,10 +2536,9 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
                 continue;
             }
 
-            restOfProperty |=
-                value != null &&
-                isValid(ccp) &&
-                propertyValueContains(value, ccp);
+            if (value != null && isRestOf()) {
+                addPropertyValueContinuations(value, propertyContinuations);
+            }
 
             //for literals, a value of null means object type, i.e. the value null or getter setter function
             //(I think)
@@ -2550,8 +2573,7 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
         //if this is a rest of method and our continuation point was found as one of the values
         //in the properties above, we need to reset the map to oc.getMap() in the continuation
         //handler
-        if (restOfProperty) {
-            final ContinuationInfo ci = getContinuationInfo();
+        for (final ContinuationInfo ci : propertyContinuations) {
             ci.setObjectLiteralMap(method.getStackSize(), oc.getMap());
         }
 
@@ -4688,7 +4710,8 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
 
         void emit(final int ignoredArgCount) {
             final int     programPoint                  = optimistic.getProgramPoint();
-            final boolean optimisticOrContinuation      = isOptimistic || isContinuationEntryPoint(programPoint);
+            final boolean optimisticOrContinuation      = isOptimistic || isContinuationEntryPoint(programPoint)
+                                                              || storesStackAtEveryProgramPoint(programPoint);
             final boolean currentContinuationEntryPoint = isCurrentContinuationEntryPoint(programPoint);
             final int     stackSizeOnEntry              = method.getStackSize() - ignoredArgCount;
 
@@ -4741,7 +4764,7 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
                     addUnwarrantedOptimismHandlerLabel(localTypes, catchLabel);
                 }
                 if(currentContinuationEntryPoint) {
-                    final ContinuationInfo ci = getContinuationInfo();
+                    final ContinuationInfo ci = getContinuationInfo(programPoint);
                     assert ci != null : "no continuation info found for " + lc.getCurrentFunction();
                     assert !ci.hasTargetLabel(); // No duplicate program points
                     ci.setTargetLabel(afterConsumeStack);
@@ -5387,8 +5410,11 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
         }
     }
 
-    private ContinuationInfo getContinuationInfo() {
-        return continuationInfo;
+    private ContinuationInfo getContinuationInfo(final int programPoint) {
+        if (isGenericRestOf() && isContinuationEntryPoint(programPoint)) {
+            return continuationInfos.computeIfAbsent(programPoint, pp -> new ContinuationInfo());
+        }
+        return continuationInfos == null ? null : continuationInfos.get(programPoint);
     }
 
     private void generateContinuationHandler() {
@@ -5396,7 +5422,51 @@ final class CodeGenerator extends NodeOperatorVisitor<CodeGeneratorLexicalContex
             return;
         }
 
-        final ContinuationInfo ci = getContinuationInfo();
+        if (!isGenericRestOf()) {
+            generateContinuationHandler(getContinuationInfo(getCurrentContinuationEntryPoint()));
+            return;
+        }
+
+        // Continuations for program points in code that wasn't generated (e.g. dead code) have no target.
+        final SortedMap<Integer, ContinuationInfo> targets = new TreeMap<>();
+        for (final Map.Entry<Integer, ContinuationInfo> entry : continuationInfos.entrySet()) {
+            if (entry.getValue().hasTargetLabel()) {
+                targets.put(entry.getKey(), entry.getValue());
+            }
+        }
+        final int[] programPoints = new int[targets.size()];
+        final Label[] handlerLabels = new Label[targets.size()];
+        int i = 0;
+        for (final Map.Entry<Integer, ContinuationInfo> entry : targets.entrySet()) {
+            programPoints[i] = entry.getKey();
+            handlerLabels[i] = entry.getValue().getHandlerLabel();
+            i++;
+        }
+
+        // Dispatch on the program point the rewrite exception was thrown from. Rethrow it if there's no continuation
+        // for it, before anything was restored; the runtime only invokes this function for the program points we
+        // report to the compiler.
+        final Type rewriteExceptionType = Type.typeFor(RewriteException.class);
+        final Label noContinuation = new Label("no_continuation");
+        method.label(continuationDispatchLabel);
+        method.lineNumber(0);
+        // Nothing is stored in the locals yet, but slot 0 holds the rewrite exception the rest-of method is invoked with.
+        method.defineTemporaryLocalVariable(0, rewriteExceptionType.getSlots());
+        method.onLocalStore(rewriteExceptionType, 0);
+        method.load(rewriteExceptionType, 0);
+        method.invoke(RewriteException.GET_PROGRAM_POINT);
+        method.continuationLookupswitch(noContinuation, programPoints, handlerLabels);
+        method.label(noContinuation);
+        method.load(rewriteExceptionType, 0);
+        method.athrow();
+
+        for (final Map.Entry<Integer, ContinuationInfo> entry : targets.entrySet()) {
+            generateContinuationHandler(entry.getValue());
+            compiler.addGenericRestOfEntryPoint(entry.getKey());
+        }
+    }
+
+    private void generateContinuationHandler(final ContinuationInfo ci) {
         method.label(ci.getHandlerLabel());
 
         // There should never be an exception thrown from the continuation handler, but in case there is (meaning,
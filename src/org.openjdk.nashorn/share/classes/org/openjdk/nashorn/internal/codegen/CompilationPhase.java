@@ -28,12 +28,15 @@ package org.openjdk.nashorn.internal.codegen;
 import static org.openjdk.nashorn.internal.runtime.logging.DebugLogger.quote;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinTask;
 import org.openjdk.nashorn.internal.codegen.Compiler.CompilationPhases;
 import org.openjdk.nashorn.internal.ir.Block;
 import org.openjdk.nashorn.internal.ir.FunctionNode;
@@ -221,8 +224,9 @@ abstract class CompilationPhase {
         FunctionNode transform(final Compiler compiler, final CompilationPhases phases, final FunctionNode fn) {
             // It's not necessary to guard the marking of symbols as locals with this "if" condition for
             // correctness, it's just an optimization -- runtime type calculation is not used when the compilation
-            // is not an on-demand optimistic compilation, so we can skip locals marking then.
-            if (compiler.useOptimisticTypes() && compiler.isOnDemandCompilation()) {
+            // is not an on-demand optimistic compilation, so we can skip locals marking then. Generic rest-of methods
+            // don't use it either, as they assume nothing about types.
+            if (compiler.useOptimisticTypes() && compiler.isOnDemandCompilation() && !compiler.isGenericRestOf()) {
                 fn.getBody().accept(new SimpleNodeVisitor() {
                     @Override
                     public boolean enterFunctionNode(final FunctionNode functionNode) {
@@ -437,16 +441,21 @@ abstract class CompilationPhase {
                 throw new AssertionError("Failed generating bytecode for " + fn.getSourceName() + ":" + codegen.getLastLineNumber(), e);
             }
 
+            final List<CompileUnit> usedUnits = new ArrayList<>();
             for (final CompileUnit compileUnit : compiler.getCompileUnits()) {
-                final ClassEmitter classEmitter = compileUnit.getClassEmitter();
-                classEmitter.end();
+                compileUnit.getClassEmitter().end();
 
                 if (!compileUnit.isUsed()) {
                     compiler.getLogger().fine("Skipping unused compile unit ", compileUnit);
                     continue;
                 }
+                usedUnits.add(compileUnit);
+            }
 
-                final byte[] bytecode = classEmitter.toByteArray();
+            final List<byte[]> unitBytecode = toByteArrays(usedUnits, senv._parallel_codegen);
+            for (int i = 0; i < usedUnits.size(); i++) {
+                final CompileUnit compileUnit = usedUnits.get(i);
+                final byte[] bytecode = unitBytecode.get(i);
                 assert bytecode != null;
 
                 final String className = compileUnit.getUnitClassName();
@@ -465,6 +474,30 @@ abstract class CompilationPhase {
             return newFunctionNode;
         }
 
+        /**
+         * Returns the bytecode of the given compile units, in the same order. Units only share immutable
+         * state once their class emitters are ended, so with {@code parallel} they are finished as separate
+         * fork-join tasks. Class names were assigned while splitting, so they don't depend on scheduling.
+         */
+        private static List<byte[]> toByteArrays(final List<CompileUnit> units, final boolean parallel) {
+            final List<byte[]> bytecode = new ArrayList<>(units.size());
+            if (parallel && units.size() > 1) {
+                final List<ForkJoinTask<byte[]>> tasks = new ArrayList<>(units.size());
+                for (final CompileUnit unit : units) {
+                    tasks.add(ForkJoinTask.adapt(() -> unit.getClassEmitter().toByteArray()));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                for (final ForkJoinTask<byte[]> task : tasks) {
+                    bytecode.add(task.join());
+                }
+            } else {
+                for (final CompileUnit unit : units) {
+                    bytecode.add(unit.getClassEmitter().toByteArray());
+                }
+            }
+            return bytecode;
+        }
+
         @Override
         public String toString() {
             return "'Bytecode Generation'";
@@ -37,6 +37,7 @@ import java.io.File;
 import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -140,10 +141,17 @@ public final class Compiler implements Loggable {
      * point 42, and execute a rest-of method from the program point 42, and then we hit deoptimization again at program
      * point 57 and are compiling a rest-of method for it, the values in the array will be [57, 42, 17]. This is only
      * set when compiling a rest-of method. If this method is a rest-of for a non-rest-of method, the array will have
-     * one element. If it is a rest-of for a rest-of, the array will have two elements, and so on.
+     * one element. If it is a rest-of for a rest-of, the array will have two elements, and so on. An empty array
+     * denotes a generic rest-of method that can continue from any program point, with all optimistic assumptions
+     * deoptimized.
      */
     private final int[] continuationEntryPoints;
 
+    /**
+     * When compiling a generic rest-of method, the program points the code generator created a continuation for.
+     */
+    private final BitSet genericRestOfEntryPoints = new BitSet();
+
     /**
      * ScriptFunction data for what is being compile, where applicable.
      * TODO: make this immutable, propagate it through the CompilationPhases
@@ -379,7 +387,7 @@ public final class Compiler implements Loggable {
      * @param types                    parameter and return value type information, if any is known
      * @param invalidatedProgramPoints invalidated program points for recompilation
      * @param typeInformationFile      descriptor of the location where type information is persisted
-     * @param continuationEntryPoints  continuation entry points for restof method
+     * @param continuationEntryPoints  continuation entry points for restof method, empty for a generic restof method
      * @param runtimeScope             runtime scope for recompilation type lookup in {@code TypeEvaluator}
      * @return a new compiler
      */
@@ -555,6 +563,10 @@ public final class Compiler implements Loggable {
     }
 
     Type getOptimisticType(final Optimistic node) {
+        if (isGenericRestOf()) {
+            // Nothing is optimistic in a generic rest-of method, so it never needs to be deoptimized itself.
+            return node.getMostPessimisticType();
+        }
         return typeEvaluator.getOptimisticType(node);
     }
 
@@ -727,7 +739,7 @@ public final class Compiler implements Loggable {
      * @param functionNode function node
      */
     public void persistClassInfo(final String cacheKey, final FunctionNode functionNode) {
-        if (cacheKey != null && env._persistent_cache) {
+        if (cacheKey != null && env.useCodeStore()) {
             // If this is an on-demand compilation create a function initializer for the function being compiled.
             // Otherwise use function initializer map generated by codegen.
             final Map<Integer, FunctionInitializer> initializers = new HashMap<>();
@@ -763,7 +775,7 @@ public final class Compiler implements Loggable {
     }
 
     CompileUnit createCompileUnit(final String unitClassName, final long initialWeight) {
-        final ClassEmitter classEmitter = new ClassEmitter(context, sourceName, unitClassName, isStrict());
+        final ClassEmitter classEmitter = new ClassEmitter(context, sourceName, unitClassName, isStrict(), env._parallel_codegen);
         final CompileUnit  compileUnit  = new CompileUnit(unitClassName, classEmitter, initialWeight);
         classEmitter.begin();
 
@@ -819,6 +831,29 @@ public final class Compiler implements Loggable {
         return continuationEntryPoints;
     }
 
+    /**
+     * Returns true if this compiler compiles a generic rest-of method, one that can continue the function from any of
+     * its program points.
+     * @return true if this compiler compiles a generic rest-of method.
+     */
+    public boolean isGenericRestOf() {
+        return continuationEntryPoints != null && continuationEntryPoints.length == 0;
+    }
+
+    void addGenericRestOfEntryPoint(final int programPoint) {
+        assert isGenericRestOf();
+        genericRestOfEntryPoints.set(programPoint);
+    }
+
+    /**
+     * Returns the program points the compiled generic rest-of method can continue from. Rewrite exceptions raised at
+     * other program points, if any, can't be handled by it.
+     * @return a copy of the set of program points the generic rest-of method can continue from.
+     */
+    public BitSet getGenericRestOfEntryPoints() {
+        return (BitSet)genericRestOfEntryPoints.clone();
+    }
+
     Type getInvalidatedProgramPointType(final int programPoint) {
         return invalidatedProgramPoints.get(programPoint);
     }
@@ -578,6 +578,8 @@ public final class Label implements Serializable {
 
     void markAsOptimisticContinuationHandlerFor(final Label afterConsumeStackLabel) {
         stack = afterConsumeStackLabel.stack.cloneWithEmptyStack();
+        // Reachable from the start of the rest-of method, directly or through its continuation dispatch.
+        reachable = true;
     }
 
     boolean isReachable() {
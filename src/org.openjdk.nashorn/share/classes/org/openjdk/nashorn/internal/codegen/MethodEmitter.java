@@ -1572,6 +1572,23 @@ public class MethodEmitter {
         doesNotContinueSequentially();
     }
 
+    /**
+     * Generate a lookup switch to continuation handlers, popping the switch value from the stack. Only the default
+     * label is joined with the current stack; the stacks of continuation handlers are those of their continuation
+     * points, as for {@link #uncheckedGoto(Label)}.
+     *
+     * @param defaultLabel default label
+     * @param values       program points of the continuations
+     * @param handlers     continuation handler labels
+     */
+    void continuationLookupswitch(final Label defaultLabel, final int[] values, final Label... handlers) {
+        debug("lookupswitch (continuation)", peekType());
+        popType(Type.INT);
+        joinTo(defaultLabel);
+        method.visitLookupSwitchInsn(defaultLabel.getLabel(), values, getLabels(handlers));
+        doesNotContinueSequentially();
+    }
+
     private void adjustStackForSwitch(final Label defaultLabel, final Label... table) {
         popType(Type.INT);
         joinTo(defaultLabel);
@@ -35,6 +35,8 @@ import static org.openjdk.nashorn.internal.codegen.CompilerConstants.JS_OBJECT_D
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.JS_OBJECT_SINGLE_FIELD_PREFIX;
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.className;
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.constructorNoLookup;
+import static org.openjdk.nashorn.internal.codegen.CompilerConstants.interfaceCallNoLookup;
+import static org.openjdk.nashorn.internal.codegen.CompilerConstants.specialCallNoLookup;
 import static org.openjdk.nashorn.internal.lookup.Lookup.MH;
 import static org.openjdk.nashorn.internal.runtime.JSType.CONVERT_OBJECT;
 import static org.openjdk.nashorn.internal.runtime.JSType.CONVERT_OBJECT_OPTIMISTIC;
@@ -53,7 +55,9 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.codegen.ClassEmitter.Flag;
+import org.openjdk.nashorn.internal.codegen.CompilerConstants.Call;
 import org.openjdk.nashorn.internal.codegen.types.Type;
 import org.openjdk.nashorn.internal.runtime.AccessorProperty;
 import org.openjdk.nashorn.internal.runtime.AllocationStrategy;
@@ -92,6 +96,11 @@ public final class ObjectClassGenerator implements Loggable {
      */
     static final int FIELD_PADDING  = 4;
 
+    /** Name of the method copies of script objects use to map their references, see {@link ScriptObject#copyReferences} */
+    private static final String COPY_REFERENCES = "copyReferences";
+
+    private static final Call UNARY_OPERATOR_APPLY = interfaceCallNoLookup(UnaryOperator.class, "apply", Object.class, Object.class);
+
     /**
      * Debug field logger
      * Should we print debugging information for fields when they are generated and getters/setters are called?
@@ -295,8 +304,7 @@ public final class ObjectClassGenerator implements Loggable {
         final String       className    = getClassName(fieldCount, dualFields);
         final String       superName    = className(ScriptObject.class);
         final ClassEmitter classEmitter = newClassEmitter(className, superName);
-
-        addFields(classEmitter, fieldCount);
+        final List<String> objectFields = addFields(classEmitter, fieldCount);
 
         final MethodEmitter init = newInitMethod(classEmitter);
         init.returnVoid();
@@ -308,6 +316,7 @@ public final class ObjectClassGenerator implements Loggable {
 
         newEmptyInit(className, classEmitter);
         newAllocate(className, classEmitter);
+        newCopyReferences(className, ScriptObject.class, classEmitter, objectFields);
 
         return toByteArray(className, classEmitter);
     }
@@ -342,6 +351,8 @@ public final class ObjectClassGenerator implements Loggable {
         initWithArguments.returnVoid();
         initWithArguments.end();
 
+        newCopyReferences(className, FunctionScope.class, classEmitter, initFields);
+
         return toByteArray(className, classEmitter);
     }
 
@@ -479,6 +490,35 @@ public final class ObjectClassGenerator implements Loggable {
         allocate.end();
     }
 
+    /**
+     * Add a copyReferences method that maps the values of the Object fields
+     * after calling the super class method.
+     *
+     * @param className    Name of JavaScript class.
+     * @param superClass   Super class of the JavaScript class.
+     * @param classEmitter Open class emitter.
+     * @param objectFields Names of the Object fields.
+     *
+     * @see ScriptObject#copyReferences(UnaryOperator)
+     */
+    private static void newCopyReferences(final String className, final Class<?> superClass, final ClassEmitter classEmitter, final List<String> objectFields) {
+        final MethodEmitter copy = classEmitter.method(EnumSet.of(Flag.PUBLIC), COPY_REFERENCES, void.class, UnaryOperator.class);
+        copy.begin();
+        copy.load(Type.OBJECT, JAVA_THIS.slot());
+        copy.load(Type.OBJECT, 1);
+        copy.invoke(specialCallNoLookup(superClass, COPY_REFERENCES, void.class, UnaryOperator.class));
+        for (final String fieldName : objectFields) {
+            copy.load(Type.OBJECT, JAVA_THIS.slot());
+            copy.load(Type.OBJECT, 1);
+            copy.load(Type.OBJECT, JAVA_THIS.slot());
+            copy.getField(className, fieldName, Type.OBJECT.getDescriptor());
+            copy.invoke(UNARY_OPERATOR_APPLY);
+            copy.putField(className, fieldName, Type.OBJECT.getDescriptor());
+        }
+        copy.returnVoid();
+        copy.end();
+    }
+
     /**
      * Collects the byte codes for a generated JavaScript class.
      *
@@ -793,7 +833,7 @@ public final class ObjectClassGenerator implements Loggable {
      * @param count the field count
      * @return the padded field count
      */
-    static int getPaddedFieldCount(final int count) {
+    public static int getPaddedFieldCount(final int count) {
         return count / FIELD_PADDING * FIELD_PADDING + FIELD_PADDING;
     }
 
@@ -26,6 +26,8 @@ package org.openjdk.nashorn.internal.codegen;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
@@ -35,10 +37,13 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
 import java.io.StringWriter;
 import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.net.URL;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
@@ -46,10 +51,16 @@ import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
@@ -77,6 +88,14 @@ import org.openjdk.nashorn.internal.runtime.options.Options;
  * {@code nashorn.typeInfo.cleanupDelaySeconds} system property. You can also specify the word
  * {@code unlimited} as the value for {@code nashorn.typeInfo.maxFiles} in which case the type info cache is
  * allowed to grow without limits.
+ * </p><p>
+ * When the {@code nashorn.typeInfo.batched} system property is set, type information is not written on the
+ * compiling thread. Instead, updates are queued in memory, repeated updates for the same function are
+ * coalesced, and all queued updates are written in batches by a background thread after a delay that can be
+ * set using the {@code nashorn.typeInfo.flushDelayMillis} system property (default 1000). In this mode, the
+ * type information for all functions of a source is packed into a single file named after the digest of the
+ * source, instead of using one file per function. Updates that are still queued when the JVM exits are
+ * written by a shutdown hook.
  * </p>
  */
 public final class OptimisticTypesPersistence {
@@ -100,21 +119,59 @@ public final class OptimisticTypesPersistence {
     private static final File cacheDir = createCacheDir(baseCacheDir);
     // In-process locks to make sure we don't have a cross-thread race condition manipulating any file.
     private static final Object[] locks = cacheDir == null ? null : createLockArray();
+    // Whether type info is queued and written in batches into one packed file per source
+    private static final boolean BATCHED = cacheDir != null && Options.getBooleanProperty("nashorn.typeInfo.batched");
+    // Number of milliseconds to wait between queuing an update and writing the queued updates
+    private static final int DEFAULT_FLUSH_DELAY = 1000;
+    private static final int FLUSH_DELAY = Math.max(0, Options.getIntProperty(
+            "nashorn.typeInfo.flushDelayMillis", DEFAULT_FLUSH_DELAY));
+    // Extension and magic number of packed type info files
+    private static final String PACKED_FILE_EXTENSION = ".types";
+    private static final int PACKED_FILE_MAGIC = 0x4E544946; // "NTIF"
     // Only report one read/write error every minute
     private static final long ERROR_REPORT_THRESHOLD = 60000L;
 
     private static volatile long lastReportedError;
     private static final AtomicBoolean scheduledCleanup;
-    private static final Timer cleanupTimer;
+    // Runs both the cleanup and, in batched mode, the writing of queued updates
+    private static final Timer timer;
     static {
-        if (baseCacheDir == null || MAX_FILES == UNLIMITED_FILES) {
-            scheduledCleanup = null;
-            cleanupTimer = null;
+        scheduledCleanup = baseCacheDir == null || MAX_FILES == UNLIMITED_FILES ? null : new AtomicBoolean();
+        timer = scheduledCleanup != null || BATCHED ? new Timer(true) : null;
+    }
+
+    // Maximum number of packed files whose contents are cached in memory
+    private static final int MAX_CACHED_PACKED_FILES = 16;
+    // Queued updates per packed file, used in batched mode only. Entries are removed when they are written, and
+    // the type maps in them are never modified.
+    private static final ConcurrentMap<File, Map<String, Map<Integer, Type>>> pendingUpdates;
+    // Contents of recently read or written packed files, used in batched mode only
+    private static final Map<File, PackedContents> packedContents;
+    private static final AtomicBoolean scheduledFlush;
+    static {
+        if (BATCHED) {
+            pendingUpdates = new ConcurrentHashMap<>();
+            packedContents = Collections.synchronizedMap(new LinkedHashMap<File, PackedContents>(MAX_CACHED_PACKED_FILES, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<File, PackedContents> eldest) {
+                    return size() > MAX_CACHED_PACKED_FILES;
+                }
+            });
+            scheduledFlush = new AtomicBoolean();
+            try {
+                Runtime.getRuntime().addShutdownHook(new Thread(OptimisticTypesPersistence::flushAll));
+            } catch (final SecurityException e) {
+                // Can't write queued updates on exit; they're only a performance hint, so just lose them.
+            }
         } else {
-            scheduledCleanup = new AtomicBoolean();
-            cleanupTimer = new Timer(true);
+            pendingUpdates = null;
+            packedContents = null;
+            scheduledFlush = null;
         }
     }
+
     /**
      * Retrieves an opaque descriptor for the persistence location for a given function. It should be passed
      * to {@link #load(Object)} and {@link #store(Object, Map)} methods.
@@ -139,17 +196,45 @@ public final class OptimisticTypesPersistence {
                 b.append(Type.getShortSignatureDescriptor(t));
             }
         }
-        return new LocationDescriptor(new File(cacheDir, b.toString()));
+        if (BATCHED) {
+            // In batched mode, the digest names the packed file and the rest is the key within it.
+            final String digest = source.getDigest();
+            return new LocationDescriptor(new File(cacheDir, digest + PACKED_FILE_EXTENSION), b.substring(digest.length() + 1));
+        }
+        return new LocationDescriptor(new File(cacheDir, b.toString()), null);
     }
 
     private static final class LocationDescriptor {
         private final File file;
+        // key within the packed file, or null if the file holds a single type map
+        private final String key;
 
-        LocationDescriptor(final File file) {
+        LocationDescriptor(final File file, final String key) {
             this.file = file;
+            this.key = key;
         }
     }
 
+    /**
+     * Contents of a packed file, along with the modification time and length the file had when they were read.
+     * Other processes can rewrite the file at any time, so the contents are only used while both still match.
+     */
+    private static final class PackedContents {
+        private final long lastModified;
+        private final long length;
+        // Never modified after it was published
+        private final SoftReference<Map<String, Map<Integer, Type>>> contents;
+
+        PackedContents(final File file, final Map<String, Map<Integer, Type>> contents) {
+            this.lastModified = file.lastModified();
+            this.length = file.length();
+            this.contents = new SoftReference<>(contents);
+        }
+
+        Map<String, Map<Integer, Type>> get(final File file) {
+            return file.lastModified() == lastModified && file.length() == length ? contents.get() : null;
+        }
+    }
 
     /**
      * Stores the map of optimistic types for a given function.
@@ -161,7 +246,19 @@ public final class OptimisticTypesPersistence {
         if(locationDescriptor == null || optimisticTypes.isEmpty()) {
             return;
         }
-        final File file = ((LocationDescriptor)locationDescriptor).file;
+        final LocationDescriptor descriptor = (LocationDescriptor)locationDescriptor;
+        if (descriptor.key != null) {
+            // The caller may keep modifying the map, so queue a copy of it.
+            final Map<Integer, Type> types = new TreeMap<>(optimisticTypes);
+            pendingUpdates.compute(descriptor.file, (file, updates) -> {
+                final Map<String, Map<Integer, Type>> newUpdates = updates == null ? new ConcurrentHashMap<>() : updates;
+                newUpdates.merge(descriptor.key, types, OptimisticTypesPersistence::mergeTypes);
+                return newUpdates;
+            });
+            scheduleFlush();
+            return;
+        }
+        final File file = descriptor.file;
 
         synchronized(getFileLock(file)) {
             if (!file.exists()) {
@@ -195,7 +292,11 @@ public final class OptimisticTypesPersistence {
         if (locationDescriptor == null) {
             return null;
         }
-        final File file = ((LocationDescriptor)locationDescriptor).file;
+        final LocationDescriptor descriptor = (LocationDescriptor)locationDescriptor;
+        if (descriptor.key != null) {
+            return loadPacked(descriptor.file, descriptor.key);
+        }
+        final File file = descriptor.file;
         try {
             if(!file.isFile()) {
                 return null;
@@ -213,6 +314,154 @@ public final class OptimisticTypesPersistence {
         }
     }
 
+    private static Map<Integer, Type> loadPacked(final File file, final String key) {
+        // Queued updates are newer than anything on disk.
+        final Map<String, Map<Integer, Type>> updates = pendingUpdates.get(file);
+        final Map<Integer, Type> pending = updates == null ? null : updates.get(key);
+        if (pending != null) {
+            return new TreeMap<>(pending);
+        }
+        final Map<Integer, Type> types;
+        try {
+            // Updates that are being written are only removed from the queue under this lock.
+            synchronized(getFileLock(file)) {
+                final PackedContents cached = packedContents.get(file);
+                Map<String, Map<Integer, Type>> contents = cached == null ? null : cached.get(file);
+                if (contents == null) {
+                    if(!file.isFile()) {
+                        return null;
+                    }
+                    try (final RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                        final FileLock lock = raf.getChannel().lock(0, Long.MAX_VALUE, true); // lock shared
+                        try {
+                            contents = readPackedFile(raf);
+                            packedContents.put(file, new PackedContents(file, contents));
+                        } finally {
+                            lock.close();
+                        }
+                    }
+                }
+                types = contents.get(key);
+            }
+        } catch (final Exception e) {
+            reportError("read", file, e);
+            return null;
+        }
+        // Callers modify the returned map, so hand out a copy.
+        return types == null ? null : new TreeMap<>(types);
+    }
+
+    /**
+     * Merges two type maps of the same function, keeping the wider type for program points present in both.
+     * Type maps only ever widen, so the result is what a process that saw both would have recorded.
+     * @param types1 one type map
+     * @param types2 the other type map
+     * @return a new merged map
+     */
+    private static Map<Integer, Type> mergeTypes(final Map<Integer, Type> types1, final Map<Integer, Type> types2) {
+        final Map<Integer, Type> merged = new TreeMap<>(types1);
+        for (final Map.Entry<Integer, Type> entry : types2.entrySet()) {
+            merged.merge(entry.getKey(), entry.getValue(), (type1, type2) -> Type.widest(type1, type2));
+        }
+        return merged;
+    }
+
+    private static void scheduleFlush() {
+        if (scheduledFlush.compareAndSet(false, true)) {
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    // Reset the flag first so updates queued while we're writing schedule another flush.
+                    scheduledFlush.set(false);
+                    flushAll();
+                }
+            }, FLUSH_DELAY);
+        }
+    }
+
+    private static void flushAll() {
+        for (final File file : pendingUpdates.keySet()) {
+            flush(file);
+        }
+    }
+
+    /**
+     * Writes all queued updates of a packed file. The file is read and rewritten under an exclusive lock, and
+     * the updates are merged into its current contents, so updates made by other processes since we last read
+     * it are preserved.
+     * @param file the packed file
+     */
+    private static void flush(final File file) {
+        synchronized(getFileLock(file)) {
+            // Once removed, the updates can't be modified anymore; new ones are queued in a new map.
+            final Map<String, Map<Integer, Type>> updates = pendingUpdates.remove(file);
+            if (updates == null) {
+                return;
+            }
+            final boolean newFile = !file.exists();
+            try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                final FileLock lock = raf.getChannel().lock();
+                try {
+                    final Map<String, Map<Integer, Type>> contents = readPackedFile(raf);
+                    for (final Map.Entry<String, Map<Integer, Type>> update : updates.entrySet()) {
+                        contents.merge(update.getKey(), update.getValue(), OptimisticTypesPersistence::mergeTypes);
+                    }
+                    final byte[] bytes = writePackedFile(contents);
+                    raf.seek(0);
+                    raf.write(bytes);
+                    raf.setLength(bytes.length);
+                    packedContents.put(file, new PackedContents(file, contents));
+                } finally {
+                    lock.close();
+                }
+            } catch (final Exception e) {
+                reportError("write", file, e);
+                // Drop the updates anyway; they'd most likely fail again.
+                packedContents.remove(file);
+            }
+            if (newFile) {
+                scheduleCleanup();
+            }
+        }
+    }
+
+    private static Map<String, Map<Integer, Type>> readPackedFile(final RandomAccessFile raf) throws IOException {
+        final Map<String, Map<Integer, Type>> contents = new HashMap<>();
+        final long length = raf.length();
+        if (length == 0) {
+            return contents;
+        }
+        final byte[] bytes = new byte[(int)length];
+        raf.seek(0);
+        raf.readFully(bytes);
+        final DataInputStream din = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (din.readInt() != PACKED_FILE_MAGIC) {
+            throw new IOException("Not a type info file");
+        }
+        final int count = din.readInt();
+        for (int i = 0; i < count; ++i) {
+            final String key = din.readUTF();
+            final Map<Integer, Type> types = Type.readTypeMap(din);
+            if (types != null) {
+                contents.put(key, types);
+            }
+        }
+        return contents;
+    }
+
+    private static byte[] writePackedFile(final Map<String, Map<Integer, Type>> contents) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final DataOutputStream dout = new DataOutputStream(out);
+        dout.writeInt(PACKED_FILE_MAGIC);
+        dout.writeInt(contents.size());
+        for (final Map.Entry<String, Map<Integer, Type>> entry : contents.entrySet()) {
+            dout.writeUTF(entry.getKey());
+            Type.writeTypeMap(entry.getValue(), dout);
+        }
+        dout.flush();
+        return out.toByteArray();
+    }
+
     private static void reportError(final String msg, final File file, final Exception e) {
         final long now = System.currentTimeMillis();
         if(now - lastReportedError > ERROR_REPORT_THRESHOLD) {
@@ -438,7 +687,7 @@ public final class OptimisticTypesPersistence {
 
     private static void scheduleCleanup() {
         if (MAX_FILES != UNLIMITED_FILES && scheduledCleanup.compareAndSet(false, true)) {
-            cleanupTimer.schedule(new TimerTask() {
+            timer.schedule(new TimerTask() {
                 @Override
                 public void run() {
                     scheduledCleanup.set(false);
@@ -30,6 +30,7 @@ import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.sameValue;
 
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Property;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.JSType;
@@ -75,6 +76,15 @@ public final class AccessorPropertyDescriptor extends ScriptObject implements Pr
         this.set          = set;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        configurable = copier.apply(configurable);
+        enumerable   = copier.apply(enumerable);
+        get          = copier.apply(get);
+        set          = copier.apply(set);
+    }
+
     @Override
     public boolean isConfigurable() {
         return JSType.toBoolean(configurable);
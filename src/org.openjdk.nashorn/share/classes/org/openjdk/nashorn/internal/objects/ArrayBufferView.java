@@ -30,6 +30,7 @@ import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 import static org.openjdk.nashorn.internal.runtime.UnwarrantedOptimismException.INVALID_PROGRAM_POINT;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.function.UnaryOperator;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.linker.GuardedInvocation;
 import jdk.dynalink.linker.LinkRequest;
@@ -49,7 +50,7 @@ import org.openjdk.nashorn.internal.runtime.arrays.TypedArrayData;
 @ScriptClass("ArrayBufferView")
 @SuppressWarnings("this-escape")
 public abstract class ArrayBufferView extends ScriptObject {
-    private final NativeArrayBuffer buffer;
+    private NativeArrayBuffer buffer;
     private final int byteOffset;
 
     // initialized by nasgen
@@ -58,6 +59,10 @@ public abstract class ArrayBufferView extends ScriptObject {
     private ArrayBufferView(final NativeArrayBuffer buffer, final int byteOffset, final int elementLength, final Global global) {
         super($nasgenmap$);
 
+        if (buffer.isDetached()) {
+            throw typeError("detached.arraybuffer");
+        }
+
         final int bytesPerElement = bytesPerElement();
 
         checkConstructorArgs(buffer.getByteLength(), bytesPerElement, byteOffset, elementLength);
@@ -67,11 +72,14 @@ public abstract class ArrayBufferView extends ScriptObject {
         this.byteOffset = byteOffset;
 
         assert byteOffset % bytesPerElement == 0;
-        final int start = byteOffset / bytesPerElement;
-        final ByteBuffer newNioBuffer = buffer.getNioBuffer().duplicate().order(ByteOrder.nativeOrder());
-        final ArrayData  data         = factory().createArrayData(newNioBuffer, start, start + elementLength);
+        setArray(createArrayData(elementLength));
+        buffer.addView(this);
+    }
 
-        setArray(data);
+    private ArrayData createArrayData(final int elementLength) {
+        final int start = byteOffset / bytesPerElement();
+        final ByteBuffer newNioBuffer = buffer.getNioBuffer().duplicate().order(ByteOrder.nativeOrder());
+        return factory().createArrayData(newNioBuffer, start, start + elementLength);
     }
 
     /**
@@ -85,6 +93,19 @@ public abstract class ArrayBufferView extends ScriptObject {
         this(buffer, byteOffset, elementLength, Global.instance());
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        // the copy still shares the array data of the original, move it to the copy of the buffer
+        super.copyReferences(copier);
+        buffer = (NativeArrayBuffer)copier.apply(buffer);
+        if (buffer.isDetached()) {
+            detach();
+        } else {
+            setArray(createArrayData(elementLength()));
+            buffer.addView(this);
+        }
+    }
+
     private static void checkConstructorArgs(final int byteLength, final int bytesPerElement, final int byteOffset, final int elementLength) {
         if (byteOffset < 0 || elementLength < 0) {
             throw new RuntimeException("byteOffset or length must not be negative, byteOffset=" + byteOffset + ", elementLength=" + elementLength + ", bytesPerElement=" + bytesPerElement);
@@ -149,6 +170,13 @@ public abstract class ArrayBufferView extends ScriptObject {
         return ((TypedArrayData<?>)getArray()).getElementLength();
     }
 
+    /**
+     * Detach this view from the memory of its buffer after the buffer has been released.
+     */
+    final void detach() {
+        setArray(factory().createArrayData(buffer.getNioBuffer().duplicate(), 0, 0));
+    }
+
     /**
      * Factory class for byte ArrayBufferViews
      */
@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.JSType;
@@ -44,7 +45,7 @@ public class ArrayIterator extends AbstractIterator {
     private ScriptObject iteratedObject;
     private long nextIndex = 0L;
     private final IterationKind iterationKind;
-    private final Global global;
+    private Global global;
 
 
     private ArrayIterator(final Object iteratedObject, final IterationKind iterationKind, final Global global) {
@@ -54,6 +55,13 @@ public class ArrayIterator extends AbstractIterator {
         this.global = global;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        iteratedObject = (ScriptObject)copier.apply(iteratedObject);
+        global = (Global)copier.apply(global);
+    }
+
     static ArrayIterator newArrayValueIterator(final Object iteratedObject) {
         return new ArrayIterator(Global.toObject(iteratedObject), IterationKind.VALUE, Global.instance());
     }
@@ -28,6 +28,7 @@ package org.openjdk.nashorn.internal.objects;
 import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.sameValue;
 
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Property;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.JSType;
@@ -72,6 +73,15 @@ public final class DataPropertyDescriptor extends ScriptObject implements Proper
         this.value        = value;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        configurable = copier.apply(configurable);
+        enumerable   = copier.apply(enumerable);
+        writable     = copier.apply(writable);
+        value        = copier.apply(value);
+    }
+
 
     @Override
     public boolean isConfigurable() {
@@ -26,6 +26,7 @@
 package org.openjdk.nashorn.internal.objects;
 
 import java.util.Objects;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Property;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.JSType;
@@ -61,6 +62,13 @@ public final class GenericPropertyDescriptor extends ScriptObject implements Pro
         this.enumerable   = enumerable;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        configurable = copier.apply(configurable);
+        enumerable   = copier.apply(enumerable);
+    }
+
     @Override
     public boolean isConfigurable() {
         return JSType.toBoolean(configurable);
@@ -45,6 +45,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import jdk.dynalink.CallSiteDescriptor;
@@ -1090,7 +1091,7 @@ public final class Global extends Scope {
     private volatile ScriptContext initscontext;
 
     // ES6 global lexical scope.
-    private final LexicalScope lexicalScope;
+    private LexicalScope lexicalScope;
 
     // Switchpoint for non-constant global callsites in the presence of ES6 lexical scope.
     private SwitchPoint lexicalScopeSwitchPoint;
@@ -1249,6 +1250,156 @@ public final class Global extends Scope {
         init(eng);
     }
 
+    /**
+     * Create a new global by copying this initialized global, including any state
+     * added to it by scripts. The copy shares immutable structures such as property
+     * maps and function data with this global but none of its mutable script state.
+     * This global must not be used to run scripts while it is being copied.
+     *
+     * @param eng ScriptEngine to associate the copy with
+     * @return the new global
+     * @throws IllegalStateException if this global is not initialized or contains state
+     *         that can not be copied
+     */
+    public Global copyGlobal(final ScriptEngine eng) {
+        if (this.builtinObject == null) {
+            throw new IllegalStateException("global is not initialized");
+        }
+        if ((eng == null) != (this.engine == null)) {
+            throw new IllegalArgumentException("script engine mismatch");
+        }
+
+        final Global copy = GlobalCloner.copy(this);
+        copy.engine = eng;
+        copy.scontext = eng != null ? new ThreadLocal<>() : null;
+        copy.initscontext = null;
+        copy.lexicalScopeSwitchPoint = null;
+        return copy;
+    }
+
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        // builtin properties, which may have been replaced by scripts
+        arguments = copier.apply(arguments);
+        parseInt = copier.apply(parseInt);
+        parseFloat = copier.apply(parseFloat);
+        isNaN = copier.apply(isNaN);
+        isFinite = copier.apply(isFinite);
+        encodeURI = copier.apply(encodeURI);
+        encodeURIComponent = copier.apply(encodeURIComponent);
+        decodeURI = copier.apply(decodeURI);
+        decodeURIComponent = copier.apply(decodeURIComponent);
+        escape = copier.apply(escape);
+        unescape = copier.apply(unescape);
+        print = copier.apply(print);
+        load = copier.apply(load);
+        loadWithNewGlobal = copier.apply(loadWithNewGlobal);
+        exit = copier.apply(exit);
+        quit = copier.apply(quit);
+        eval = copier.apply(eval);
+        object = copier.apply(object);
+        function = copier.apply(function);
+        array = copier.apply(array);
+        string = copier.apply(string);
+        _boolean = copier.apply(_boolean);
+        number = copier.apply(number);
+        date = copier.apply(date);
+        regexp = copier.apply(regexp);
+        json = copier.apply(json);
+        jsadapter = copier.apply(jsadapter);
+        math = copier.apply(math);
+        error = copier.apply(error);
+        evalError = copier.apply(evalError);
+        rangeError = copier.apply(rangeError);
+        referenceError = copier.apply(referenceError);
+        syntaxError = copier.apply(syntaxError);
+        typeError = copier.apply(typeError);
+        uriError = copier.apply(uriError);
+        arrayBuffer = copier.apply(arrayBuffer);
+        dataView = copier.apply(dataView);
+        int8Array                      = copier.apply(int8Array);
+        uint8Array                     = copier.apply(uint8Array);
+        uint8ClampedArray              = copier.apply(uint8ClampedArray);
+        int16Array                     = copier.apply(int16Array);
+        uint16Array                    = copier.apply(uint16Array);
+        int32Array                     = copier.apply(int32Array);
+        uint32Array                    = copier.apply(uint32Array);
+        float32Array                   = copier.apply(float32Array);
+        float64Array                   = copier.apply(float64Array);
+        symbol = copier.apply(symbol);
+        map = copier.apply(map);
+        weakMap = copier.apply(weakMap);
+        set = copier.apply(set);
+        weakSet = copier.apply(weakSet);
+        packages = copier.apply(packages);
+        com = copier.apply(com);
+        edu = copier.apply(edu);
+        java = copier.apply(java);
+        javafx = copier.apply(javafx);
+        javax = copier.apply(javax);
+        org = copier.apply(org);
+        javaImporter = copier.apply(javaImporter);
+        javaApi = copier.apply(javaApi);
+        // builtin objects
+        builtinFunction = (ScriptFunction)copier.apply(builtinFunction);
+        builtinObject = (ScriptFunction)copier.apply(builtinObject);
+        builtinArray = (ScriptFunction)copier.apply(builtinArray);
+        builtinBoolean = (ScriptFunction)copier.apply(builtinBoolean);
+        builtinDate = (ScriptFunction)copier.apply(builtinDate);
+        builtinJSAdapter = (ScriptFunction)copier.apply(builtinJSAdapter);
+        builtinNumber = (ScriptFunction)copier.apply(builtinNumber);
+        builtinRegExp = (ScriptFunction)copier.apply(builtinRegExp);
+        builtinString = (ScriptFunction)copier.apply(builtinString);
+        builtinError = (ScriptFunction)copier.apply(builtinError);
+        builtinEval = (ScriptFunction)copier.apply(builtinEval);
+        builtinEvalError = (ScriptFunction)copier.apply(builtinEvalError);
+        builtinRangeError = (ScriptFunction)copier.apply(builtinRangeError);
+        builtinReferenceError = (ScriptFunction)copier.apply(builtinReferenceError);
+        builtinSyntaxError = (ScriptFunction)copier.apply(builtinSyntaxError);
+        builtinTypeError = (ScriptFunction)copier.apply(builtinTypeError);
+        builtinURIError = (ScriptFunction)copier.apply(builtinURIError);
+        builtinJavaImporter = (ScriptFunction)copier.apply(builtinJavaImporter);
+        builtinArrayBuffer = (ScriptFunction)copier.apply(builtinArrayBuffer);
+        builtinDataView = (ScriptFunction)copier.apply(builtinDataView);
+        builtinInt8Array               = (ScriptFunction)copier.apply(builtinInt8Array);
+        builtinUint8Array              = (ScriptFunction)copier.apply(builtinUint8Array);
+        builtinUint8ClampedArray       = (ScriptFunction)copier.apply(builtinUint8ClampedArray);
+        builtinInt16Array              = (ScriptFunction)copier.apply(builtinInt16Array);
+        builtinUint16Array             = (ScriptFunction)copier.apply(builtinUint16Array);
+        builtinInt32Array              = (ScriptFunction)copier.apply(builtinInt32Array);
+        builtinUint32Array             = (ScriptFunction)copier.apply(builtinUint32Array);
+        builtinFloat32Array            = (ScriptFunction)copier.apply(builtinFloat32Array);
+        builtinFloat64Array            = (ScriptFunction)copier.apply(builtinFloat64Array);
+        builtinSymbol = (ScriptFunction)copier.apply(builtinSymbol);
+        builtinMap = (ScriptFunction)copier.apply(builtinMap);
+        builtinWeakMap = (ScriptFunction)copier.apply(builtinWeakMap);
+        builtinSet = (ScriptFunction)copier.apply(builtinSet);
+        builtinWeakSet = (ScriptFunction)copier.apply(builtinWeakSet);
+        builtInJavaExtend = (ScriptFunction)copier.apply(builtInJavaExtend);
+        builtInJavaTo = (ScriptFunction)copier.apply(builtInJavaTo);
+        typeErrorThrower = (ScriptFunction)copier.apply(typeErrorThrower);
+        builtinJSON = (ScriptObject)copier.apply(builtinJSON);
+        builtinMath = (ScriptObject)copier.apply(builtinMath);
+        builtinPackages = (ScriptObject)copier.apply(builtinPackages);
+        builtinCom = (ScriptObject)copier.apply(builtinCom);
+        builtinEdu = (ScriptObject)copier.apply(builtinEdu);
+        builtinJava = (ScriptObject)copier.apply(builtinJava);
+        builtinJavafx = (ScriptObject)copier.apply(builtinJavafx);
+        builtinJavax = (ScriptObject)copier.apply(builtinJavax);
+        builtinOrg = (ScriptObject)copier.apply(builtinOrg);
+        builtinJavaApi = (ScriptObject)copier.apply(builtinJavaApi);
+        builtinIteratorPrototype = (ScriptObject)copier.apply(builtinIteratorPrototype);
+        builtinMapIteratorPrototype = (ScriptObject)copier.apply(builtinMapIteratorPrototype);
+        builtinSetIteratorPrototype = (ScriptObject)copier.apply(builtinSetIteratorPrototype);
+        builtinArrayIteratorPrototype = (ScriptObject)copier.apply(builtinArrayIteratorPrototype);
+        builtinStringIteratorPrototype = (ScriptObject)copier.apply(builtinStringIteratorPrototype);
+        DEFAULT_DATE = (NativeDate)copier.apply(DEFAULT_DATE);
+        DEFAULT_REGEXP = (NativeRegExp)copier.apply(DEFAULT_REGEXP);
+        lexicalScope = (LexicalScope)copier.apply(lexicalScope);
+        // the last regexp result, invoker caches and context are immutable or do not depend on this global
+    }
+
     /**
      * Wrap a Java object as corresponding script object
      *
@@ -2742,6 +2893,9 @@ public final class Global extends Scope {
         value = ScriptFunction.createBuiltin("readFully", ScriptingFunctions.READFULLY);
         addOwnProperty("readFully", Attribute.NOT_ENUMERABLE, value);
 
+        value = ScriptFunction.createBuiltin("mapFile", ScriptingFunctions.MAPFILE);
+        addOwnProperty("mapFile", Attribute.NOT_ENUMERABLE, value);
+
         final String execName = ScriptingFunctions.EXEC_NAME;
         value = ScriptFunction.createBuiltin(execName, ScriptingFunctions.EXEC);
         addOwnProperty(execName, Attribute.NOT_ENUMERABLE, value);
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.objects;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.openjdk.nashorn.internal.runtime.ECMAException;
+import org.openjdk.nashorn.internal.runtime.PropertyMap;
+import org.openjdk.nashorn.internal.runtime.ScriptFunctionData;
+import org.openjdk.nashorn.internal.runtime.ScriptObject;
+import org.openjdk.nashorn.internal.runtime.Symbol;
+import org.openjdk.nashorn.internal.runtime.Undefined;
+
+/**
+ * Copies an initialized {@link Global} together with every script object reachable from it.
+ *
+ * <p>Each script object is first copied with {@link ScriptObject#copy()}, which copies its
+ * spill arrays and array data. Once the copy exists, {@link ScriptObject#copyReferences}
+ * replaces its references to other script objects with their copies; classes with additional
+ * state such as maps, sets or arguments copy that state there as well. Immutable runtime
+ * structures, most importantly {@link PropertyMap}s and {@link ScriptFunctionData}, are shared
+ * with the template, as are host objects stored in script properties. Exceptions attached to
+ * thrown errors are copied along with the errors, and array buffers copy their memory unless
+ * it is read-only. State that cannot be copied faithfully, such as mirrors of other script
+ * objects, causes the copy to fail with an {@link IllegalStateException}.</p>
+ *
+ * <p>The template is only read, so multiple copies of the same template can be created
+ * concurrently as long as no script is running against the template itself.</p>
+ */
+final class GlobalCloner {
+
+    // Maps template objects to their copies
+    private final Map<ScriptObject, ScriptObject> copies = new IdentityHashMap<>();
+
+    // Maps exceptions of thrown template objects to their copies
+    private final Map<ECMAException, ECMAException> exceptions = new IdentityHashMap<>();
+
+    // Copies whose references still point to template objects
+    private final ArrayDeque<ScriptObject> pending = new ArrayDeque<>();
+
+    private GlobalCloner() {
+    }
+
+    /**
+     * Copy a template global.
+     *
+     * @param template the initialized template global
+     * @return a copy of the template that shares no mutable script state with it
+     * @throws IllegalStateException if the template contains state that can not be copied
+     */
+    static Global copy(final Global template) {
+        final GlobalCloner cloner = new GlobalCloner();
+        final Global copy = (Global)cloner.copyObject(template);
+        ScriptObject obj;
+        while ((obj = cloner.pending.poll()) != null) {
+            obj.copyReferences(cloner::copyValue);
+        }
+        return copy;
+    }
+
+    private ScriptObject copyObject(final ScriptObject obj) {
+        ScriptObject copy = copies.get(obj);
+        if (copy == null) {
+            copy = obj.copy();
+            copies.put(obj, copy);
+            pending.add(copy);
+        }
+        return copy;
+    }
+
+    private Object copyValue(final Object value) {
+        if (value instanceof ScriptObject) {
+            return copyObject((ScriptObject)value);
+        } else if (value instanceof ECMAException) {
+            return copyException((ECMAException)value);
+        } else if (value != null && value.getClass().getName().startsWith("org.openjdk.nashorn.")
+                && !(value instanceof CharSequence || value instanceof Symbol || value instanceof Undefined)) {
+            // internal objects and mirrors would tie the copy to objects of the template
+            throw new IllegalStateException("Cannot copy global containing " + value.getClass().getName());
+        }
+        return value;
+    }
+
+    private ECMAException copyException(final ECMAException exception) {
+        ECMAException copy = exceptions.get(exception);
+        if (copy == null) {
+            copy = exception.copyFor(copyValue(exception.getThrown()));
+            exceptions.put(exception, copy);
+        }
+        return copy;
+    }
+}
@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Property;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -42,6 +43,13 @@ public class IteratorResult extends ScriptObject {
         this.done = done;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        value = copier.apply(value);
+        done = copier.apply(done);
+    }
+
     /**
      * The result value property.
      */
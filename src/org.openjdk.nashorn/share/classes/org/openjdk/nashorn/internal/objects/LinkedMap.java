@@ -29,6 +29,7 @@ import org.openjdk.nashorn.internal.runtime.Undefined;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 /**
  * <p>A linked hash map used by the ES6 Map and Set objects. As required by the ECMA specification for these objects,
@@ -228,6 +229,20 @@ public class LinkedMap {
         return new LinkedMapIterator();
     }
 
+    /**
+     * Create a copy of this map in which every key and value has been replaced by the
+     * result of applying {@code mapper} to it. Insertion order is preserved.
+     * @param mapper key and value mapping function
+     * @return the new map
+     */
+    LinkedMap copy(final UnaryOperator<Object> mapper) {
+        final LinkedMap copy = new LinkedMap();
+        for (Node node = head.next; node != head; node = node.next) {
+            copy.set(mapper.apply(node.key), mapper.apply(node.value));
+        }
+        return copy;
+    }
+
     private void link(final Node newNode) {
         // We always insert at the end (head == tail)
         newNode.next = head;
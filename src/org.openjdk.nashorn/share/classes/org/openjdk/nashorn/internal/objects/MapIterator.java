@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -46,7 +47,7 @@ public class MapIterator extends AbstractIterator {
     private final IterationKind iterationKind;
 
     // Cached global needed for each iteration result
-    private final Global global;
+    private Global global;
 
     /**
      * Constructor for Map iterators.
@@ -61,6 +62,16 @@ public class MapIterator extends AbstractIterator {
         this.global = global;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        if (iterator != null) {
+            // the iterator points into the entries of the original Map
+            throw new IllegalStateException("Cannot copy unfinished Map iterator");
+        }
+        super.copyReferences(copier);
+        global = (Global)copier.apply(global);
+    }
+
     /**
      * ES6 23.1.5.2.1 %MapIteratorPrototype%.next()
      *
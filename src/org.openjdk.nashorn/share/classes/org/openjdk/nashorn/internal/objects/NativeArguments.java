@@ -34,6 +34,7 @@ import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.runtime.AccessorProperty;
 import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.Property;
@@ -94,6 +95,19 @@ public final class NativeArguments extends ScriptObject {
         this.numParams = numParams;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        length = copier.apply(length);
+        callee = copier.apply(callee);
+        if (unmappedArgs != null) {
+            unmappedArgs = unmappedArgs.copyMapped(copier);
+        }
+        if (deleted != null) {
+            deleted = (BitSet)deleted.clone();
+        }
+    }
+
     @Override
     public String getClassName() {
         return "Arguments";
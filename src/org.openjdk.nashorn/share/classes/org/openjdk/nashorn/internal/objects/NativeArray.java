@@ -959,7 +959,7 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
      */
     @SpecializedFunction(name="push", linkLogic=PushLinkLogic.class)
     public static double pushObject(final Object self, final Object arg) {
-        return getContinuousArrayDataCCE(self, Object.class).fastPush(arg);
+        return getContinuousArrayDataCCE(self, arg instanceof Boolean ? Boolean.class : Object.class).fastPush(arg);
     }
 
     /**
@@ -1801,7 +1801,8 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
             // be iterated over or added as single element. To avoid duplication of code and err on the safe side
             // we only use the specialized version if arg is either a continuous array or a JS primitive.
             if (arg instanceof NativeArray) {
-                return (getContinuousArrayData(arg) != null);
+                final ContinuousArrayData argData = getContinuousArrayData(arg);
+                return argData != null && !argData.hasHoles() && !selfData.hasHoles();
             }
 
             return JSType.isPrimitive(arg);
@@ -1844,7 +1845,7 @@ public final class NativeArray extends ScriptObject implements OptimisticBuiltin
         private static ContinuousArrayData getContinuousNonEmptyArrayData(final Object self) {
             final ContinuousArrayData data = getContinuousArrayData(self);
             if (data != null) {
-                return data.isEmpty() ? null : data;
+                return data.isEmpty() || data.hasHoles() ? null : data;
             }
             return null;
         }
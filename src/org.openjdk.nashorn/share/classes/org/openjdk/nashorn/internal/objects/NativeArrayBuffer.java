@@ -27,7 +27,10 @@ package org.openjdk.nashorn.internal.objects;
 
 import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
@@ -40,14 +43,28 @@ import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
 import org.openjdk.nashorn.internal.runtime.ScriptObject;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.events.RuntimeEventDispatcher;
 
 /**
  * NativeArrayBuffer - ArrayBuffer as described in the JS typed
  * array spec
+ * <p>
+ * As a Nashorn extension, an ArrayBuffer can be released explicitly. This detaches it and its
+ * views from their memory, so that the memory is no longer reachable from script code. The
+ * engine never frees the memory itself, since another thread might still be accessing it;
+ * it is reclaimed by the garbage collector unless an embedder frees or unmaps it when it is
+ * notified by {@link org.openjdk.nashorn.api.scripting.RuntimeEvents.Listener#arrayBufferReleased}.
  */
 @ScriptClass("ArrayBuffer")
 public final class NativeArrayBuffer extends ScriptObject {
-    private final ByteBuffer nb;
+    private static final ByteBuffer DETACHED = ByteBuffer.allocateDirect(0);
+
+    private ByteBuffer nb;
+
+    // typed array views of this buffer, detached when the buffer is released. Most buffers only
+    // ever have one view, which is kept in a field; the list is only created for further views.
+    private ArrayBufferView view;
+    private List<WeakReference<ArrayBufferView>> views;
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -70,6 +87,16 @@ public final class NativeArrayBuffer extends ScriptObject {
         this(nb, Global.instance());
     }
 
+    /**
+     * Create an ArrayBuffer wrapping the given byte buffer, for runtime code outside this package.
+     *
+     * @param nb native byte buffer to wrap
+     * @return new ArrayBuffer
+     */
+    public static NativeArrayBuffer wrap(final ByteBuffer nb) {
+        return new NativeArrayBuffer(nb);
+    }
+
     /**
      * Constructor
      * @param byteLength byteLength for buffer
@@ -115,14 +142,11 @@ public final class NativeArrayBuffer extends ScriptObject {
     }
 
     private static ByteBuffer cloneBuffer(final ByteBuffer original, final int begin, final int end) {
-        final ByteBuffer clone = ByteBuffer.allocateDirect(original.capacity());
-        original.rewind();//copy from the beginning
-        clone.put(original);
-        original.rewind();
+        // copy only the requested range, not the whole original buffer
+        final ByteBuffer clone = ByteBuffer.allocateDirect(end - begin);
+        clone.put(original.duplicate().position(begin).limit(end));
         clone.flip();
-        clone.position(begin);
-        clone.limit(end);
-        return clone.slice();
+        return clone;
     }
 
     ByteBuffer getNioBuffer() {
@@ -134,6 +158,19 @@ public final class NativeArrayBuffer extends ScriptObject {
         return "ArrayBuffer";
     }
 
+    @Override
+    protected ScriptObject clone() throws CloneNotSupportedException {
+        // copy the memory right away, so that copies of views can be moved to it in any order.
+        // Read-only memory, such as mapped files, can be shared.
+        final NativeArrayBuffer clone = (NativeArrayBuffer)super.clone();
+        if (!isDetached() && !nb.isReadOnly()) {
+            clone.nb = cloneBuffer(nb, 0, nb.limit());
+        }
+        clone.view = null;
+        clone.views = null;
+        return clone;
+    }
+
     /**
      * Byte length for native array buffer
      * @param self native array buffer
@@ -144,6 +181,34 @@ public final class NativeArrayBuffer extends ScriptObject {
         return ((NativeArrayBuffer)self).getByteLength();
     }
 
+    /**
+     * Nashorn extension: ArrayBuffer.prototype.release. Detaches this buffer and all typed
+     * array views of it from their memory. Afterwards the buffer and its views have a length
+     * of 0. Releasing a buffer that was already released does nothing.
+     *
+     * @param self native array buffer
+     * @return undefined
+     */
+    @Function(attributes = Attribute.NOT_ENUMERABLE)
+    public static Object release(final Object self) {
+        if (!(self instanceof NativeArrayBuffer)) {
+            throw typeError("not.an.arraybuffer", ScriptRuntime.safeToString(self));
+        }
+        ((NativeArrayBuffer)self).release();
+        return ScriptRuntime.UNDEFINED;
+    }
+
+    /**
+     * Nashorn extension: ArrayBuffer.prototype.detached getter.
+     *
+     * @param self native array buffer
+     * @return true if the buffer has been released
+     */
+    @Getter(attributes = Attribute.NOT_ENUMERABLE | Attribute.NOT_WRITABLE | Attribute.NOT_CONFIGURABLE)
+    public static Object detached(final Object self) {
+        return ((NativeArrayBuffer)self).isDetached();
+    }
+
     /**
      * Returns true if an object is an ArrayBufferView
      *
@@ -227,6 +292,65 @@ public final class NativeArrayBuffer extends ScriptObject {
         return nb.limit();
     }
 
+    boolean isDetached() {
+        return nb == DETACHED;
+    }
+
+    /**
+     * Register a typed array view of this buffer to be detached when the buffer is released.
+     * @param view the view
+     */
+    synchronized void addView(final ArrayBufferView view) {
+        if (this.view == null) {
+            this.view = view;
+            return;
+        }
+        if (views == null) {
+            views = new ArrayList<>();
+        } else if (views.size() >= 16 && Integer.bitCount(views.size()) == 1) {
+            // drop views that have been collected whenever the list size reaches a power of two
+            views.removeIf(ref -> ref.get() == null);
+        }
+        views.add(new WeakReference<>(view));
+    }
+
+    /**
+     * Detach this buffer and its views from their memory, and report the memory to runtime event
+     * listeners. Other threads may be accessing the buffer or its views concurrently; they can
+     * still see the old memory until they observe the detached state, so the memory is not freed
+     * here but left to the garbage collector or to the listeners.
+     */
+    void release() {
+        final ByteBuffer released;
+        synchronized (this) {
+            if (isDetached()) {
+                return;
+            }
+            released = nb;
+            nb = DETACHED;
+            detachViews();
+        }
+        if (RuntimeEventDispatcher.isEnabled()) {
+            RuntimeEventDispatcher.arrayBufferReleased(released);
+        }
+    }
+
+    private void detachViews() {
+        if (view != null) {
+            view.detach();
+            view = null;
+        }
+        if (views != null) {
+            for (final WeakReference<ArrayBufferView> ref : views) {
+                final ArrayBufferView other = ref.get();
+                if (other != null) {
+                    other.detach();
+                }
+            }
+            views = null;
+        }
+    }
+
     ByteBuffer getBuffer() {
        return nb;
     }
@@ -31,6 +31,7 @@ import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -71,7 +72,7 @@ public class NativeDataView extends ScriptObject {
      * Underlying ArrayBuffer storage object
      */
     @Property(attributes = Attribute.NON_ENUMERABLE_CONSTANT)
-    public final Object buffer;
+    public Object buffer;
 
     /**
      * The offset in bytes from the start of the ArrayBuffer
@@ -86,7 +87,7 @@ public class NativeDataView extends ScriptObject {
     public final int byteLength;
 
     // underlying ByteBuffer
-    private final ByteBuffer buf;
+    private ByteBuffer buf;
 
     private NativeDataView(final NativeArrayBuffer arrBuf) {
         this(arrBuf, arrBuf.getBuffer(), 0);
@@ -106,12 +107,25 @@ public class NativeDataView extends ScriptObject {
 
     private NativeDataView(final NativeArrayBuffer arrBuf, final ByteBuffer buf, final int offset, final int length) {
         super(Global.instance().getDataViewPrototype(), $nasgenmap$);
+        if (arrBuf.isDetached()) {
+            throw typeError("detached.arraybuffer");
+        }
         this.buffer     = arrBuf;
         this.byteOffset = offset;
         this.byteLength = length;
         this.buf        = buf;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        final NativeArrayBuffer arrBuf = (NativeArrayBuffer)copier.apply(buffer);
+        buffer = arrBuf;
+        if (!arrBuf.isDetached()) {
+            buf = bufferFrom(arrBuf, byteOffset, byteLength);
+        }
+    }
+
     /**
      * Create a new DataView object using the passed ArrayBuffer for its
      * storage. Optional byteOffset and byteLength can be used to limit the
@@ -580,7 +594,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setInt8(final Object self, final Object byteOffset, final Object value) {
         try {
-            getBuffer(self).put(JSType.toInt32(byteOffset), (byte)JSType.toInt32(value));
+            getWritableBuffer(self).put(JSType.toInt32(byteOffset), (byte)JSType.toInt32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -598,7 +612,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setInt8(final Object self, final int byteOffset, final int value) {
         try {
-            getBuffer(self).put(byteOffset, (byte)value);
+            getWritableBuffer(self).put(byteOffset, (byte)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -616,7 +630,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setUint8(final Object self, final Object byteOffset, final Object value) {
         try {
-            getBuffer(self).put(JSType.toInt32(byteOffset), (byte)JSType.toInt32(value));
+            getWritableBuffer(self).put(JSType.toInt32(byteOffset), (byte)JSType.toInt32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -634,7 +648,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setUint8(final Object self, final int byteOffset, final int value) {
         try {
-            getBuffer(self).put(byteOffset, (byte)value);
+            getWritableBuffer(self).put(byteOffset, (byte)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -653,7 +667,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setInt16(final Object self, final Object byteOffset, final Object value, final Object littleEndian) {
         try {
-            getBuffer(self, littleEndian).putShort(JSType.toInt32(byteOffset), (short)JSType.toInt32(value));
+            getWritableBuffer(self, littleEndian).putShort(JSType.toInt32(byteOffset), (short)JSType.toInt32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -671,7 +685,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setInt16(final Object self, final int byteOffset, final int value) {
         try {
-            getBuffer(self, false).putShort(byteOffset, (short)value);
+            getWritableBuffer(self, false).putShort(byteOffset, (short)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -690,7 +704,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setInt16(final Object self, final int byteOffset, final int value, final boolean littleEndian) {
         try {
-            getBuffer(self, littleEndian).putShort(byteOffset, (short)value);
+            getWritableBuffer(self, littleEndian).putShort(byteOffset, (short)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -709,7 +723,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setUint16(final Object self, final Object byteOffset, final Object value, final Object littleEndian) {
         try {
-            getBuffer(self, littleEndian).putShort(JSType.toInt32(byteOffset), (short)JSType.toInt32(value));
+            getWritableBuffer(self, littleEndian).putShort(JSType.toInt32(byteOffset), (short)JSType.toInt32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -727,7 +741,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setUint16(final Object self, final int byteOffset, final int value) {
         try {
-            getBuffer(self, false).putShort(byteOffset, (short)value);
+            getWritableBuffer(self, false).putShort(byteOffset, (short)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -746,7 +760,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setUint16(final Object self, final int byteOffset, final int value, final boolean littleEndian) {
         try {
-            getBuffer(self, littleEndian).putShort(byteOffset, (short)value);
+            getWritableBuffer(self, littleEndian).putShort(byteOffset, (short)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -765,7 +779,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setInt32(final Object self, final Object byteOffset, final Object value, final Object littleEndian) {
         try {
-            getBuffer(self, littleEndian).putInt(JSType.toInt32(byteOffset), JSType.toInt32(value));
+            getWritableBuffer(self, littleEndian).putInt(JSType.toInt32(byteOffset), JSType.toInt32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -783,7 +797,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setInt32(final Object self, final int byteOffset, final int value) {
         try {
-            getBuffer(self, false).putInt(byteOffset, value);
+            getWritableBuffer(self, false).putInt(byteOffset, value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -802,7 +816,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setInt32(final Object self, final int byteOffset, final int value, final boolean littleEndian) {
         try {
-            getBuffer(self, littleEndian).putInt(byteOffset, value);
+            getWritableBuffer(self, littleEndian).putInt(byteOffset, value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -821,7 +835,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setUint32(final Object self, final Object byteOffset, final Object value, final Object littleEndian) {
         try {
-            getBuffer(self, littleEndian).putInt(JSType.toInt32(byteOffset), (int)JSType.toUint32(value));
+            getWritableBuffer(self, littleEndian).putInt(JSType.toInt32(byteOffset), (int)JSType.toUint32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -839,7 +853,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setUint32(final Object self, final int byteOffset, final double value) {
         try {
-            getBuffer(self, false).putInt(byteOffset, (int) JSType.toUint32(value));
+            getWritableBuffer(self, false).putInt(byteOffset, (int) JSType.toUint32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -858,7 +872,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setUint32(final Object self, final int byteOffset, final double value, final boolean littleEndian) {
         try {
-            getBuffer(self, littleEndian).putInt(byteOffset, (int) JSType.toUint32(value));
+            getWritableBuffer(self, littleEndian).putInt(byteOffset, (int) JSType.toUint32(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -877,7 +891,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setFloat32(final Object self, final Object byteOffset, final Object value, final Object littleEndian) {
         try {
-            getBuffer(self, littleEndian).putFloat((int)JSType.toUint32(byteOffset), (float)JSType.toNumber(value));
+            getWritableBuffer(self, littleEndian).putFloat((int)JSType.toUint32(byteOffset), (float)JSType.toNumber(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -895,7 +909,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setFloat32(final Object self, final int byteOffset, final double value) {
         try {
-            getBuffer(self, false).putFloat(byteOffset, (float)value);
+            getWritableBuffer(self, false).putFloat(byteOffset, (float)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -914,7 +928,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setFloat32(final Object self, final int byteOffset, final double value, final boolean littleEndian) {
         try {
-            getBuffer(self, littleEndian).putFloat(byteOffset, (float)value);
+            getWritableBuffer(self, littleEndian).putFloat(byteOffset, (float)value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -933,7 +947,7 @@ public class NativeDataView extends ScriptObject {
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 2)
     public static Object setFloat64(final Object self, final Object byteOffset, final Object value, final Object littleEndian) {
         try {
-            getBuffer(self, littleEndian).putDouble((int)JSType.toUint32(byteOffset), JSType.toNumber(value));
+            getWritableBuffer(self, littleEndian).putDouble((int)JSType.toUint32(byteOffset), JSType.toNumber(value));
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -951,7 +965,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setFloat64(final Object self, final int byteOffset, final double value) {
         try {
-            getBuffer(self, false).putDouble(byteOffset, value);
+            getWritableBuffer(self, false).putDouble(byteOffset, value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -970,7 +984,7 @@ public class NativeDataView extends ScriptObject {
     @SpecializedFunction
     public static Object setFloat64(final Object self, final int byteOffset, final double value, final boolean littleEndian) {
         try {
-            getBuffer(self, littleEndian).putDouble(byteOffset, value);
+            getWritableBuffer(self, littleEndian).putDouble(byteOffset, value);
             return UNDEFINED;
         } catch (final IllegalArgumentException iae) {
             throw rangeError(iae, "dataview.offset");
@@ -1002,7 +1016,27 @@ public class NativeDataView extends ScriptObject {
     }
 
     private static ByteBuffer getBuffer(final Object self) {
-        return checkSelf(self).buf;
+        final NativeDataView view = checkSelf(self);
+        if (((NativeArrayBuffer)view.buffer).isDetached()) {
+            throw typeError("detached.arraybuffer");
+        }
+        return view.buf;
+    }
+
+    private static ByteBuffer getWritableBuffer(final Object self) {
+        final ByteBuffer buf = getBuffer(self);
+        if (buf.isReadOnly()) {
+            throw typeError("readonly.arraybuffer");
+        }
+        return buf;
+    }
+
+    private static ByteBuffer getWritableBuffer(final Object self, final Object littleEndian) {
+        return getWritableBuffer(self, JSType.toBoolean(littleEndian));
+    }
+
+    private static ByteBuffer getWritableBuffer(final Object self, final boolean littleEndian) {
+        return getWritableBuffer(self).order(littleEndian? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
     }
 
     private static ByteBuffer getBuffer(final Object self, final Object littleEndian) {
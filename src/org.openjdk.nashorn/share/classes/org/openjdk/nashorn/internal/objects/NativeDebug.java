@@ -45,6 +45,7 @@ import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
 import org.openjdk.nashorn.internal.runtime.events.RuntimeEvent;
 import org.openjdk.nashorn.internal.runtime.linker.LinkerCallSite;
 import org.openjdk.nashorn.internal.runtime.linker.NashornCallSiteDescriptor;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExpFactory;
 
 /**
  * Nashorn specific debug utils. This is meant for Nashorn developers.
@@ -270,6 +271,9 @@ public final class NativeDebug extends ScriptObject {
         out.println("Callsite count " + LinkerCallSite.getCount());
         out.println("Callsite misses " + LinkerCallSite.getMissCount());
         out.println("Callsite misses by site at " + LinkerCallSite.getMissSamplingPercentage() + "%");
+        out.println("RegExp cache hits " + RegExpFactory.getCacheHits());
+        out.println("RegExp cache misses " + RegExpFactory.getCacheMisses());
+        out.println("RegExp cache evictions " + RegExpFactory.getCacheEvictions());
 
         LinkerCallSite.getMissCounts(out);
 
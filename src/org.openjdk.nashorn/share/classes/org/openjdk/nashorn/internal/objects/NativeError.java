@@ -29,6 +29,7 @@ import static org.openjdk.nashorn.internal.lookup.Lookup.MH;
 import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.api.scripting.NashornException;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
@@ -114,6 +115,13 @@ public final class NativeError extends ScriptObject {
         return "Error";
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        instMessage = copier.apply(instMessage);
+        nashornException = copier.apply(nashornException);
+    }
+
     /**
      * ECMA 15.11.2 The Error Constructor
      *
@@ -26,11 +26,13 @@
 package org.openjdk.nashorn.internal.objects;
 
 import static org.openjdk.nashorn.internal.codegen.CompilerConstants.specialCall;
+import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
+import java.nio.ReadOnlyBufferException;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -119,7 +121,9 @@ public final class NativeFloat64Array extends ArrayBufferView {
                 }
             } catch (final IndexOutOfBoundsException e) {
                 throw new ClassCastException();
-             }
+            } catch (final ReadOnlyBufferException e) {
+                throw typeError("readonly.arraybuffer");
+            }
         }
 
         @Override
@@ -36,6 +36,7 @@ import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.linker.GuardedInvocation;
 import jdk.dynalink.linker.LinkRequest;
@@ -144,7 +145,7 @@ public final class NativeJSAdapter extends ScriptObject {
     /** isFrozen extensions operation */
     public static final String __isFrozen__          = "__isFrozen__";
 
-    private final ScriptObject adaptee;
+    private ScriptObject adaptee;
     private final boolean overrides;
 
     private static final MethodHandle IS_JSADAPTER = findOwnMH("isJSAdapter", boolean.class, Object.class, Object.class, MethodHandle.class, Object.class, ScriptFunction.class);
@@ -164,6 +165,12 @@ public final class NativeJSAdapter extends ScriptObject {
         }
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        adaptee = (ScriptObject)copier.apply(adaptee);
+    }
+
     private static ScriptObject wrapAdaptee(final ScriptObject adaptee) {
         return new JO(adaptee);
     }
@@ -94,7 +94,8 @@ public final class NativeJSON extends ScriptObject {
      * ECMA 15.12.2 parse ( text [ , reviver ] )
      *
      * @param self     self reference
-     * @param text     a JSON formatted string
+     * @param text     a JSON formatted string, or a Java {@code Reader}, {@code InputStream} or
+     *                 {@code ByteBuffer} to read one from
      * @param reviver  optional value: function that takes two parameters (key, value)
      *
      * @return an ECMA script value
@@ -256,7 +257,7 @@ public final class NativeJSON extends ScriptObject {
         if (value instanceof String) {
             return JSONFunctions.quote((String)value);
         } else if (value instanceof ConsString) {
-            return JSONFunctions.quote(value.toString());
+            return JSONFunctions.quote((ConsString)value);
         }
 
         if (value instanceof Number) {
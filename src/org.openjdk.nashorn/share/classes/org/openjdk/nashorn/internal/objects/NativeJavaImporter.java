@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import jdk.dynalink.beans.StaticClass;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
@@ -51,7 +52,7 @@ import org.openjdk.nashorn.internal.runtime.ScriptObject;
  */
 @ScriptClass("JavaImporter")
 public final class NativeJavaImporter extends ScriptObject {
-    private final Object[] args;
+    private Object[] args;
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -69,6 +70,15 @@ public final class NativeJavaImporter extends ScriptObject {
         this(args, Global.instance());
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        args = args.clone();
+        for (int i = 0; i < args.length; i++) {
+            args[i] = copier.apply(args[i]);
+        }
+    }
+
     @Override
     public String getClassName() {
         return "JavaImporter";
@@ -27,6 +27,7 @@ package org.openjdk.nashorn.internal.objects;
 
 import java.lang.invoke.MethodHandle;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -50,7 +51,7 @@ import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 public class NativeMap extends ScriptObject {
 
     // our underlying map
-    private final LinkedMap map = new LinkedMap();
+    private LinkedMap map = new LinkedMap();
 
     // key for the forEach invoker callback
     private final static Object FOREACH_INVOKER_KEY = new Object();
@@ -62,6 +63,12 @@ public class NativeMap extends ScriptObject {
         super(proto, map);
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        map = map.copy(copier);
+    }
+
     /**
      * ECMA6 23.1.1 The Map Constructor
      *
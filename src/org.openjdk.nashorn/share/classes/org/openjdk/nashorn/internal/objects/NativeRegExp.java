@@ -29,9 +29,10 @@ import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -64,8 +65,12 @@ public final class NativeRegExp extends ScriptObject {
     /** Compiled regexp */
     private RegExp regexp;
 
+    // Matcher of a global regexp, reused while exec and test iterate over the same input.
+    // Held weakly, so that a regexp that is not run to the end does not keep its input alive.
+    private WeakReference<RegExpMatcher> globalMatcher;
+
     // Reference to global object needed to support static RegExp properties
-    private final Global globalObject;
+    private Global globalObject;
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -110,6 +115,15 @@ public final class NativeRegExp extends ScriptObject {
         this.regexp      = regExp.getRegExp();
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        // the compiled regexp is immutable, the matcher is only a cache
+        lastIndex = copier.apply(lastIndex);
+        globalMatcher = null;
+        globalObject = (Global)copier.apply(globalObject);
+    }
+
     @Override
     public String getClassName() {
         return "RegExp";
@@ -555,7 +569,7 @@ public final class NativeRegExp extends ScriptObject {
             return null;
         }
 
-        final RegExpMatcher matcher = regexp.match(string);
+        final RegExpMatcher matcher = isGlobal ? globalMatcher(string) : regexp.match(string);
         if (matcher == null || !matcher.search(start)) {
             if (isGlobal) {
                 setLastIndex(0);
@@ -567,11 +581,20 @@ public final class NativeRegExp extends ScriptObject {
             setLastIndex(matcher.end());
         }
 
-        final RegExpResult match = new RegExpResult(string, matcher.start(), groups(matcher));
+        final RegExpResult match = new RegExpResult(string, matcher.start(), matcher.end(), groupOffsets(matcher, null));
         globalObject.setLastRegExpResult(match);
         return match;
     }
 
+    private RegExpMatcher globalMatcher(final String string) {
+        RegExpMatcher matcher = globalMatcher == null ? null : globalMatcher.get();
+        if (matcher == null || matcher.getInput() != string) {
+            matcher = regexp.match(string);
+            globalMatcher = matcher == null ? null : new WeakReference<>(matcher);
+        }
+        return matcher;
+    }
+
     // String.prototype.split method ignores the global flag and should not update lastIndex property.
     private RegExpResult execSplit(final String string, final int start) {
         if (start < 0 || start > string.length()) {
@@ -583,7 +606,7 @@ public final class NativeRegExp extends ScriptObject {
             return null;
         }
 
-        final RegExpResult match = new RegExpResult(string, matcher.start(), groups(matcher));
+        final RegExpResult match = new RegExpResult(string, matcher.start(), matcher.end(), groupOffsets(matcher, null));
         globalObject.setLastRegExpResult(match);
         return match;
     }
@@ -591,29 +614,78 @@ public final class NativeRegExp extends ScriptObject {
     /**
      * Convert java.util.regex.Matcher groups to JavaScript groups.
      * That is, replace null and groups that didn't match with undefined.
+     * The groups are followed by {@code extra} empty slots for the caller.
      */
-    private Object[] groups(final RegExpMatcher matcher) {
+    private Object[] groups(final RegExpMatcher matcher, final int extra) {
         final int groupCount = matcher.groupCount();
-        final Object[] groups = new Object[groupCount + 1];
+        final Object[] groups = new Object[groupCount + 1 + extra];
         final BitVector groupsInNegativeLookahead  = regexp.getGroupsInNegativeLookahead();
 
-        for (int i = 0, lastGroupStart = matcher.start(); i <= groupCount; i++) {
+        groups[0] = matcher.group();
+        for (int i = 1, lastGroupStart = matcher.start(); i <= groupCount; i++) {
             final int groupStart = matcher.start(i);
-            if (lastGroupStart > groupStart
-                    || groupsInNegativeLookahead != null && groupsInNegativeLookahead.isSet(i)) {
-                // (1) ECMA 15.10.2.5 NOTE 3: need to clear Atom's captures each time Atom is repeated.
-                // (2) ECMA 15.10.2.8 NOTE 3: Backreferences to captures in (?!Disjunction) from elsewhere
-                // in the pattern always return undefined because the negative lookahead must fail.
+            if (isUndefined(groupsInNegativeLookahead, i, groupStart, lastGroupStart)) {
                 groups[i] = UNDEFINED;
                 continue;
             }
-            final String group = matcher.group(i);
-            groups[i] = group == null ? UNDEFINED : group;
+            groups[i] = matcher.group(i);
             lastGroupStart = groupStart;
         }
         return groups;
     }
 
+    /**
+     * Like {@link #groups(RegExpMatcher, int)}, but only records the start and end
+     * of each capture group, with a start of -1 for undefined groups. The buffer is
+     * reused if it has the right size.
+     */
+    private int[] groupOffsets(final RegExpMatcher matcher, final int[] buffer) {
+        final int groupCount = matcher.groupCount();
+        if (groupCount == 0) {
+            return null;
+        }
+        final int[] offsets = buffer != null && buffer.length == 2 * groupCount ? buffer : new int[2 * groupCount];
+        final BitVector groupsInNegativeLookahead  = regexp.getGroupsInNegativeLookahead();
+
+        for (int i = 1, lastGroupStart = matcher.start(); i <= groupCount; i++) {
+            final int groupStart = matcher.start(i);
+            if (isUndefined(groupsInNegativeLookahead, i, groupStart, lastGroupStart)) {
+                offsets[2 * i - 2] = -1;
+                continue;
+            }
+            offsets[2 * i - 2] = groupStart;
+            offsets[2 * i - 1] = matcher.end(i);
+            lastGroupStart = groupStart;
+        }
+        return offsets;
+    }
+
+    /**
+     * Returns the start of a capture group, or -1 if the group is undefined
+     * as defined by {@link #groups(RegExpMatcher, int)}.
+     */
+    private int groupStart(final RegExpMatcher matcher, final int group) {
+        final BitVector groupsInNegativeLookahead  = regexp.getGroupsInNegativeLookahead();
+        int lastGroupStart = matcher.start();
+
+        for (int i = 1; i < group; i++) {
+            final int groupStart = matcher.start(i);
+            if (!isUndefined(groupsInNegativeLookahead, i, groupStart, lastGroupStart)) {
+                lastGroupStart = groupStart;
+            }
+        }
+        final int groupStart = matcher.start(group);
+        return isUndefined(groupsInNegativeLookahead, group, groupStart, lastGroupStart) ? -1 : groupStart;
+    }
+
+    private static boolean isUndefined(final BitVector groupsInNegativeLookahead, final int group, final int groupStart, final int lastGroupStart) {
+        // (0) groups that didn't match have a start of -1.
+        // (1) ECMA 15.10.2.5 NOTE 3: need to clear Atom's captures each time Atom is repeated.
+        // (2) ECMA 15.10.2.8 NOTE 3: Backreferences to captures in (?!Disjunction) from elsewhere
+        // in the pattern always return undefined because the negative lookahead must fail.
+        return lastGroupStart > groupStart || groupsInNegativeLookahead != null && groupsInNegativeLookahead.isSet(group);
+    }
+
     /**
      * Executes a search for a match within a string based on a regular
      * expression. It returns an array of information or null if no match is
@@ -660,6 +732,9 @@ public final class NativeRegExp extends ScriptObject {
             return string;
         }
 
+        // a replacement without substitutions is appended as is
+        final String literal = function == null && replacement.indexOf('$') < 0 ? replacement : null;
+
         if (!regexp.isGlobal()) {
             if (!matcher.search(0)) {
                 return string;
@@ -671,6 +746,8 @@ public final class NativeRegExp extends ScriptObject {
             if (function != null) {
                 final Object self = Bootstrap.isStrictCallable(function) ? UNDEFINED : Global.instance();
                 sb.append(callReplaceValue(getReplaceValueInvoker(), function, self, matcher, string));
+            } else if (literal != null) {
+                sb.append(literal);
             } else {
                 appendReplacement(matcher, string, replacement, sb);
             }
@@ -695,6 +772,8 @@ public final class NativeRegExp extends ScriptObject {
             sb.append(string, thisIndex, matcher.start());
             if (function != null) {
                 sb.append(callReplaceValue(invoker, function, self, matcher, string));
+            } else if (literal != null) {
+                sb.append(literal);
             } else {
                 appendReplacement(matcher, string, replacement, sb);
             }
@@ -728,7 +807,6 @@ public final class NativeRegExp extends ScriptObject {
          */
 
         int cursor = 0;
-        Object[] groups = null;
 
         while (cursor < replacement.length()) {
             char nextChar = replacement.charAt(cursor);
@@ -760,12 +838,10 @@ public final class NativeRegExp extends ScriptObject {
                         }
                     }
                     if (refNum > 0) {
-                        if (groups == null) {
-                            groups = groups(matcher);
-                        }
                         // Append group if matched.
-                        if (groups[refNum] != UNDEFINED) {
-                            sb.append((String) groups[refNum]);
+                        final int groupStart = groupStart(matcher, refNum);
+                        if (groupStart >= 0) {
+                            sb.append(text, groupStart, matcher.end(refNum));
                         }
                     } else { // $0. ignore.
                         assert refNum == 0;
@@ -775,7 +851,7 @@ public final class NativeRegExp extends ScriptObject {
                     sb.append('$');
                     cursor++;
                 } else if (nextChar == '&') {
-                    sb.append(matcher.group());
+                    sb.append(text, matcher.start(), matcher.end());
                     cursor++;
                 } else if (nextChar == '`') {
                     sb.append(text, 0, matcher.start());
@@ -803,11 +879,10 @@ public final class NativeRegExp extends ScriptObject {
     }
 
     private String callReplaceValue(final MethodHandle invoker, final Object function, final Object self, final RegExpMatcher matcher, final String string) throws Throwable {
-        final Object[] groups = groups(matcher);
-        final Object[] args   = Arrays.copyOf(groups, groups.length + 2);
+        final Object[] args = groups(matcher, 2);
 
-        args[groups.length]     = matcher.start();
-        args[groups.length + 1] = string;
+        args[args.length - 2] = matcher.start();
+        args[args.length - 1] = string;
 
         return (String)invoker.invokeExact(function, self, args);
     }
@@ -827,25 +902,32 @@ public final class NativeRegExp extends ScriptObject {
 
         final List<Object> matches = new ArrayList<>();
 
-        RegExpResult match;
         final int inputLength = string.length();
         int splitLastLength = -1;
         int splitLastIndex = 0;
         int splitLastLastIndex = 0;
 
-        while ((match = execSplit(string, splitLastIndex)) != null) {
-            splitLastIndex = match.getIndex() + match.length();
+        // all matches share one matcher and group offsets buffer, only the last one is kept as regexp result
+        final RegExpMatcher matcher = regexp.match(string);
+        int[] offsets = null;
+        int matchIndex = -1;
+        int matchEnd = -1;
+
+        while (matcher != null && splitLastIndex <= inputLength && matcher.search(splitLastIndex)) {
+            matchIndex = matcher.start();
+            matchEnd = matcher.end();
+            splitLastIndex = matchEnd;
+            offsets = groupOffsets(matcher, offsets);
 
             if (splitLastIndex > splitLastLastIndex) {
-                matches.add(string.substring(splitLastLastIndex, match.getIndex()));
-                final Object[] groups = match.getGroups();
-                if (groups.length > 1 && match.getIndex() < inputLength) {
-                    for (int index = 1; index < groups.length && matches.size() < limit; index++) {
-                        matches.add(groups[index]);
+                matches.add(string.substring(splitLastLastIndex, matchIndex));
+                if (offsets != null && matchIndex < inputLength) {
+                    for (int index = 0; index < offsets.length && matches.size() < limit; index += 2) {
+                        matches.add(offsets[index] < 0 ? UNDEFINED : string.substring(offsets[index], offsets[index + 1]));
                     }
                 }
 
-                splitLastLength = match.length();
+                splitLastLength = matchEnd - matchIndex;
 
                 if (matches.size() >= limit) {
                     break;
@@ -860,6 +942,10 @@ public final class NativeRegExp extends ScriptObject {
             }
         }
 
+        if (matchIndex >= 0) {
+            globalObject.setLastRegExpResult(new RegExpResult(string, matchIndex, matchEnd, offsets));
+        }
+
         if (matches.size() < limit) {
             // check special case if we need to append an empty string at the
             // end of the match
@@ -915,6 +1001,10 @@ public final class NativeRegExp extends ScriptObject {
      */
     public void setLastIndex(final int lastIndex) {
         this.lastIndex = JSType.toObject(lastIndex);
+        if (lastIndex == 0) {
+            // the next exec starts a new iteration, possibly over another input
+            globalMatcher = null;
+        }
     }
 
     private static NativeRegExp checkRegExp(final Object self) {
@@ -937,6 +1027,7 @@ public final class NativeRegExp extends ScriptObject {
 
     private void setRegExp(final RegExp regexp) {
         this.regexp = regexp;
+        this.globalMatcher = null;
     }
 
 }
@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Getter;
 import org.openjdk.nashorn.internal.objects.annotations.Property;
@@ -61,6 +62,13 @@ public final class NativeRegExpExecResult extends ScriptObject {
         this.input = result.getInput();
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        index = copier.apply(index);
+        input = copier.apply(input);
+    }
+
     @Override
     public String getClassName() {
         return "Array";
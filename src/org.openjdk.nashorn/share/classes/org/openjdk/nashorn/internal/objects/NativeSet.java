@@ -26,6 +26,7 @@
 package org.openjdk.nashorn.internal.objects;
 
 import java.lang.invoke.MethodHandle;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -48,7 +49,7 @@ import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 public class NativeSet extends ScriptObject {
 
     // our set/map implementation
-    private final LinkedMap map = new LinkedMap();
+    private LinkedMap map = new LinkedMap();
 
     // Invoker for the forEach callback
     private final static Object FOREACH_INVOKER_KEY = new Object();
@@ -60,6 +61,12 @@ public class NativeSet extends ScriptObject {
         super(proto, map);
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        map = map.copy(copier);
+    }
+
     /**
      * ECMA6 23.1 Set constructor
      *
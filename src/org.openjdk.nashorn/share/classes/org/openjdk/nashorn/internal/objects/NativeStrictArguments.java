@@ -32,6 +32,7 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.runtime.AccessorProperty;
 import org.openjdk.nashorn.internal.runtime.Property;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -70,7 +71,7 @@ public final class NativeStrictArguments extends ScriptObject {
     }
 
     private Object   length;
-    private final Object[] namedArgs;
+    private Object[] namedArgs;
 
     NativeStrictArguments(final Object[] values, final int numParams,final ScriptObject proto, final PropertyMap map) {
         super(proto, map);
@@ -93,6 +94,16 @@ public final class NativeStrictArguments extends ScriptObject {
         System.arraycopy(values, 0, namedArgs, 0, Math.min(namedArgs.length, values.length));
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        length = copier.apply(length);
+        namedArgs = namedArgs.clone();
+        for (int i = 0; i < namedArgs.length; i++) {
+            namedArgs[i] = copier.apply(namedArgs[i]);
+        }
+    }
+
     @Override
     public String getClassName() {
         return "Arguments";
@@ -477,7 +477,7 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static String charAt(final Object self, final Object pos) {
-        return charAtImpl(checkObjectToString(self), JSType.toInteger(pos));
+        return charAtImpl(checkObjectToCharSequence(self), JSType.toInteger(pos));
     }
 
     /**
@@ -499,16 +499,20 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @SpecializedFunction
     public static String charAt(final Object self, final int pos) {
-        return charAtImpl(checkObjectToString(self), pos);
+        return charAtImpl(checkObjectToCharSequence(self), pos);
     }
 
-    private static String charAtImpl(final String str, final int pos) {
-        return pos < 0 || pos >= str.length() ? "" : String.valueOf(str.charAt(pos));
+    private static String charAtImpl(final CharSequence str, final int pos) {
+        return pos < 0 || pos >= str.length() ? "" : String.valueOf(getChar(str, pos));
+    }
+
+    private static char getChar(final CharSequence str, final int pos) {
+        return str instanceof ConsString ? ((ConsString)str).probeCharAt(pos) : str.charAt(pos);
     }
 
     private static int getValidChar(final Object self, final int pos) {
         try {
-            return ((CharSequence)self).charAt(pos);
+            return getChar((CharSequence)self, pos);
         } catch (final IndexOutOfBoundsException e) {
             throw new ClassCastException(); //invalid char, out of bounds, force relink
         }
@@ -522,9 +526,9 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE)
     public static double charCodeAt(final Object self, final Object pos) {
-        final String str = checkObjectToString(self);
+        final CharSequence str = checkObjectToCharSequence(self);
         final int    idx = JSType.toInteger(pos);
-        return idx < 0 || idx >= str.length() ? Double.NaN : str.charAt(idx);
+        return idx < 0 || idx >= str.length() ? Double.NaN : getChar(str, idx);
     }
 
     /**
@@ -576,8 +580,7 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @Function(attributes = Attribute.NOT_ENUMERABLE, arity = 1)
     public static int indexOf(final Object self, final Object search, final Object pos) {
-        final String str = checkObjectToString(self);
-        return str.indexOf(JSType.toString(search), JSType.toInteger(pos));
+        return indexOf(self, search, JSType.toInteger(pos));
     }
 
     /**
@@ -612,6 +615,9 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
      */
     @SpecializedFunction
     public static int indexOf(final Object self, final Object search, final int pos) {
+        if (self instanceof ConsString) {
+            return ((ConsString)self).indexOf(JSType.toString(search), pos);
+        }
         return checkObjectToString(self).indexOf(JSType.toString(search), pos);
     }
 
@@ -1272,6 +1278,20 @@ public final class NativeString extends ScriptObject implements OptimisticBuilti
         }
     }
 
+    /**
+     * Like {@link #checkObjectToString(Object)}, but returns a ConsString as it is, for
+     * builtins that only read a few characters and should not flatten it.
+     *
+     * @param self the object
+     * @return the object as char sequence
+     */
+    private static CharSequence checkObjectToCharSequence(final Object self) {
+        if (self instanceof ConsString) {
+            return (ConsString)self;
+        }
+        return checkObjectToString(self);
+    }
+
     private boolean isValidStringIndex(final int key) {
         return key >= 0 && key < value.length();
     }
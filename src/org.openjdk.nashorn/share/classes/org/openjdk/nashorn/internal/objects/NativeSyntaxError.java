@@ -27,6 +27,7 @@ package org.openjdk.nashorn.internal.objects;
 
 import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Property;
@@ -82,6 +83,13 @@ public final class NativeSyntaxError extends ScriptObject {
         return "Error";
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        instMessage = copier.apply(instMessage);
+        nashornException = copier.apply(nashornException);
+    }
+
     /**
      * ECMA 15.11.6.4 SyntaxError
      *
@@ -27,6 +27,7 @@ package org.openjdk.nashorn.internal.objects;
 
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -45,7 +46,7 @@ import static org.openjdk.nashorn.internal.runtime.JSType.isPrimitive;
 @ScriptClass("WeakMap")
 public class NativeWeakMap extends ScriptObject {
 
-    private final Map<Object, Object> jmap = new WeakHashMap<>();
+    private Map<Object, Object> jmap = new WeakHashMap<>();
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -54,6 +55,16 @@ public class NativeWeakMap extends ScriptObject {
         super(proto, map);
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        final Map<Object, Object> copy = new WeakHashMap<>();
+        for (final Map.Entry<Object, Object> entry : jmap.entrySet()) {
+            copy.put(copier.apply(entry.getKey()), copier.apply(entry.getValue()));
+        }
+        jmap = copy;
+    }
+
     /**
      * ECMA6 23.3.1 The WeakMap Constructor
      *
@@ -27,6 +27,7 @@ package org.openjdk.nashorn.internal.objects;
 
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Attribute;
 import org.openjdk.nashorn.internal.objects.annotations.Constructor;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
@@ -46,7 +47,7 @@ import static org.openjdk.nashorn.internal.runtime.JSType.isPrimitive;
 @ScriptClass("WeakSet")
 public class NativeWeakSet extends ScriptObject {
 
-    private final Map<Object, Boolean> map = new WeakHashMap<>();
+    private Map<Object, Boolean> map = new WeakHashMap<>();
 
     // initialized by nasgen
     private static PropertyMap $nasgenmap$;
@@ -55,6 +56,16 @@ public class NativeWeakSet extends ScriptObject {
         super(proto, map);
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        final Map<Object, Boolean> copy = new WeakHashMap<>();
+        for (final Object key : map.keySet()) {
+            copy.put(copier.apply(key), Boolean.TRUE);
+        }
+        map = copy;
+    }
+
     /**
      * ECMA6 23.3.1 The WeakSet Constructor
      *
@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -47,7 +48,7 @@ public class SetIterator extends AbstractIterator {
     private final IterationKind iterationKind;
 
     // Cached global needed for every iteration result
-    private final Global global;
+    private Global global;
 
     SetIterator(final NativeSet set, final IterationKind iterationKind, final Global global) {
         super(global.getSetIteratorPrototype(), $nasgenmap$);
@@ -56,6 +57,16 @@ public class SetIterator extends AbstractIterator {
         this.global = global;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        if (iterator != null) {
+            // the iterator points into the entries of the original Set
+            throw new IllegalStateException("Cannot copy unfinished Set iterator");
+        }
+        super.copyReferences(copier);
+        global = (Global)copier.apply(global);
+    }
+
     /**
      * ES6 23.2.5.2.1 %SetIteratorPrototype%.next()
      *
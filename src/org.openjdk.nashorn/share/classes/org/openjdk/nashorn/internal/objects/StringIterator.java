@@ -25,6 +25,7 @@
 
 package org.openjdk.nashorn.internal.objects;
 
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.annotations.Function;
 import org.openjdk.nashorn.internal.objects.annotations.ScriptClass;
 import org.openjdk.nashorn.internal.runtime.PropertyMap;
@@ -44,7 +45,7 @@ public class StringIterator extends AbstractIterator {
 
     private String iteratedString;
     private int nextIndex = 0;
-    private final Global global;
+    private Global global;
 
     StringIterator(final String iteratedString, final Global global) {
         super(global.getStringIteratorPrototype(), $nasgenmap$);
@@ -52,6 +53,12 @@ public class StringIterator extends AbstractIterator {
         this.global = global;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        global = (Global)copier.apply(global);
+    }
+
     /**
      * ES6 21.1.5.2.1 %StringIteratorPrototype%.next()
      *
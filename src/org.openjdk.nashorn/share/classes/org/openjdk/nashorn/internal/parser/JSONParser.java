@@ -25,10 +25,16 @@
 
 package org.openjdk.nashorn.internal.parser;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import org.openjdk.nashorn.internal.codegen.ObjectClassGenerator;
 import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.ConsString;
 import org.openjdk.nashorn.internal.runtime.ECMAErrors;
 import org.openjdk.nashorn.internal.runtime.ErrorManager;
 import org.openjdk.nashorn.internal.runtime.JSErrorType;
@@ -51,17 +57,38 @@ import static org.openjdk.nashorn.internal.parser.TokenType.STRING;
  * the objectLiteral production of the main parser.
  *
  * See: 15.12.1.2 The JSON Syntactic Grammar
+ *
+ * <p>The text is read through a window of {@link #BUFFER_SIZE} characters that is
+ * refilled as parsing proceeds, from either a string or a {@link Reader}. Only
+ * the window and the parsed value are kept in memory, so large documents can be
+ * parsed from a stream without reading them into a string first. The window
+ * only grows to hold single strings or numbers that are longer than it is.</p>
  */
 public class JSONParser {
 
     final private String source;
+    final private Reader reader;
     final private Global global;
     final private boolean dualFields;
-    final int length;
+
+    // the window, pos and limit are relative to it
+    private char[] buffer;
+    private int limit;
     int pos = 0;
 
+    // start of the string or number being parsed, kept in the window when it is refilled
+    private int mark = -1;
+
+    // position of the window in the text, and newlines and start of the last line before it
+    private int offset;
+    private int lines;
+    private int lineStart;
+    private boolean eof;
+
     private static final int EOF = -1;
 
+    private static final int BUFFER_SIZE = 8192;
+
     private static final String TRUE  = "true";
     private static final String FALSE = "false";
     private static final String NULL  = "null";
@@ -78,10 +105,29 @@ public class JSONParser {
      * @param dualFields whether the parser should regard dual field representation
      */
     public JSONParser(final String source, final Global global, final boolean dualFields) {
+        this(source, null, global, dualFields);
+    }
+
+    /**
+     * Constructor for parsing text read from a reader. The reader is read up
+     * to the end of the text, but not closed. I/O errors of the reader are not
+     * syntax errors, they are thrown from {@link #parse()} as
+     * {@link UncheckedIOException}s.
+     *
+     * @param reader     the reader to read the source from
+     * @param global     the global object
+     * @param dualFields whether the parser should regard dual field representation
+     */
+    public JSONParser(final Reader reader, final Global global, final boolean dualFields) {
+        this(null, reader, global, dualFields);
+    }
+
+    private JSONParser(final String source, final Reader reader, final Global global, final boolean dualFields) {
         this.source = source;
+        this.reader = reader;
         this.global = global;
-        this.length = source.length();
         this.dualFields = dualFields;
+        this.buffer = new char[source == null ? BUFFER_SIZE : Math.min(source.length(), BUFFER_SIZE)];
     }
 
     /**
@@ -93,13 +139,30 @@ public class JSONParser {
      *
      * @return quoted and escaped string
      */
-    public static String quote(final String value) {
+    public static String quote(final CharSequence value) {
+
+        final StringBuilder product = new StringBuilder(value.length() + 2);
+
+        product.append("\"");
 
-        final StringBuilder product = new StringBuilder();
+        if (value instanceof ConsString) {
+            // quote the parts in place rather than flattening the string first
+            for (final Iterator<String> iter = ((ConsString)value).segments(); iter.hasNext(); ) {
+                quote(product, iter.next());
+            }
+        } else {
+            quote(product, value.toString());
+        }
 
         product.append("\"");
 
-        for (final char ch : value.toCharArray()) {
+        return product.toString();
+    }
+
+    private static void quote(final StringBuilder product, final String value) {
+        final int length = value.length();
+        for (int i = 0; i < length; i++) {
+            final char ch = value.charAt(i);
             // TODO: should use a table?
             switch (ch) {
             case '\\':
@@ -133,21 +196,18 @@ public class JSONParser {
                 break;
             }
         }
-
-        product.append("\"");
-
-        return product.toString();
     }
 
     /**
      * Public parse method. Parse a string into a JSON object.
      *
      * @return the parsed JSON Object
+     * @throws UncheckedIOException if reading from the reader fails
      */
     public Object parse() {
         final Object value = parseLiteral();
         skipWhiteSpace();
-        if (pos < length) {
+        if (peek() != EOF) {
             throw expectedError(pos, "eof", toString(peek()));
         }
         return value;
@@ -193,7 +253,7 @@ public class JSONParser {
         assert peek() == '{';
         pos++;
 
-        while (pos < length) {
+        while (peek() != EOF) {
             skipWhiteSpace();
             final int c = peek();
 
@@ -315,7 +375,7 @@ public class JSONParser {
         assert peek() == '[';
         pos++;
 
-        while (pos < length) {
+        while (peek() != EOF) {
             skipWhiteSpace();
             final int c = peek();
 
@@ -349,10 +409,10 @@ public class JSONParser {
 
     private String parseString() {
         // String buffer is only instantiated if string contains escape sequences.
-        int start = ++pos;
+        mark = ++pos;
         StringBuilder sb = null;
 
-        while (pos < length) {
+        while (peek() != EOF) {
             final int c = next();
             if (c <= 0x1f) {
                 // Characters < 0x1f are not allowed in JSON strings.
@@ -360,22 +420,25 @@ public class JSONParser {
 
             } else if (c == '\\') {
                 if (sb == null) {
-                    sb = new StringBuilder(pos - start + 16);
+                    sb = new StringBuilder(pos - mark + 16);
                 }
-                sb.append(source, start, pos - 1);
+                sb.append(buffer, mark, pos - 1 - mark);
                 sb.append(parseEscapeSequence());
-                start = pos;
+                mark = pos;
 
             } else if (c == '"') {
+                final String str;
                 if (sb != null) {
-                    sb.append(source, start, pos - 1);
-                    return sb.toString();
+                    str = sb.append(buffer, mark, pos - 1 - mark).toString();
+                } else {
+                    str = new String(buffer, mark, pos - 1 - mark);
                 }
-                return source.substring(start, pos - 1);
+                mark = -1;
+                return str;
             }
         }
 
-        throw error(Lexer.message("missing.close.quote"), pos, length);
+        throw error(Lexer.message("missing.close.quote"), pos);
     }
 
     private char parseEscapeSequence() {
@@ -400,7 +463,7 @@ public class JSONParser {
         case 'u':
             return parseUnicodeEscape();
         default:
-            throw error(Lexer.message("invalid.escape.char"), pos - 1, length);
+            throw error(Lexer.message("invalid.escape.char"), pos - 1);
         }
     }
 
@@ -417,7 +480,7 @@ public class JSONParser {
         } else if (c >= 'a' && c <= 'f') {
             return c + 10 - 'a';
         }
-        throw error(Lexer.message("invalid.hex"), pos - 1, length);
+        throw error(Lexer.message("invalid.hex"), pos - 1);
     }
 
     private boolean isDigit(final int c) {
@@ -425,24 +488,20 @@ public class JSONParser {
     }
 
     private void skipDigits() {
-        while (pos < length) {
-            final int c = peek();
-            if (!isDigit(c)) {
-                break;
-            }
+        while (isDigit(peek())) {
             pos++;
         }
     }
 
     private Number parseNumber() {
-        final int start = pos;
+        mark = pos;
         int c = next();
 
         if (c == '-') {
             c = next();
         }
         if (!isDigit(c)) {
-            throw numberError(start);
+            throw numberError(mark);
         }
         // no more digits allowed after 0
         if (c != '0') {
@@ -472,7 +531,8 @@ public class JSONParser {
             skipDigits();
         }
 
-        final double d = Double.parseDouble(source.substring(start, pos));
+        final double d = Double.parseDouble(new String(buffer, mark, pos - mark));
+        mark = -1;
         if (JSType.isRepresentableAsInt(d)) {
             return (int) d;
         }
@@ -480,18 +540,71 @@ public class JSONParser {
     }
 
     private Object parseKeyword(final String keyword, final Object value) {
-        if (!source.regionMatches(pos, keyword, 0, keyword.length())) {
-            throw expectedError(pos, "json literal", "ident");
+        mark = pos;
+        for (int i = 0; i < keyword.length(); i++) {
+            if (next() != keyword.charAt(i)) {
+                throw expectedError(mark, "json literal", "ident");
+            }
         }
-        pos += keyword.length();
+        mark = -1;
         return value;
     }
 
     private int peek() {
-        if (pos >= length) {
-            return -1;
+        if (pos >= limit && !fill()) {
+            return EOF;
+        }
+        return buffer[pos];
+    }
+
+    // Moves the window past pos, keeping the characters from mark on. Returns false at the end of the text.
+    private boolean fill() {
+        if (eof) {
+            return false;
+        }
+        final int keep = mark < 0 ? pos : mark;
+        if (keep == 0 && limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        } else if (keep > 0) {
+            if (reader != null) {
+                countLines(keep);
+            }
+            System.arraycopy(buffer, keep, buffer, 0, limit - keep);
+            offset += keep;
+            limit  -= keep;
+            pos    -= keep;
+            if (mark >= 0) {
+                mark -= keep;
+            }
+        }
+
+        final int read;
+        if (reader != null) {
+            try {
+                read = reader.read(buffer, limit, buffer.length - limit);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            read = Math.min(source.length() - offset - limit, buffer.length - limit);
+            source.getChars(offset + limit, offset + limit + read, buffer, limit);
+        }
+        if (read <= 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    // count the lines in the first count characters of the window before they are dropped
+    private void countLines(final int count) {
+        for (int i = 0; i < count; i++) {
+            if (buffer[i] == '\n') {
+                lines++;
+                lineStart = offset + i + 1;
+            }
         }
-        return source.charAt(pos);
     }
 
     private int next() {
@@ -501,7 +614,7 @@ public class JSONParser {
     }
 
     private void skipWhiteSpace() {
-        while (pos < length) {
+        while (true) {
             switch (peek()) {
             case '\t':
             case '\r':
@@ -519,20 +632,34 @@ public class JSONParser {
         return c == EOF ? "eof" : String.valueOf((char) c);
     }
 
-    ParserException error(final String message, final int start, final int length) throws ParserException {
-        final long token     = Token.toDesc(STRING, start, length);
-        final int  pos       = Token.descPosition(token);
-        final Source src     = Source.sourceFor("<json>", source);
-        final int  lineNum   = src.getLine(pos);
-        final int  columnNum = src.getColumn(pos);
-        final String formatted = ErrorManager.format(message, src, lineNum, columnNum, token);
+    // start is relative to the window
+    private ParserException error(final String message, final int start) throws ParserException {
+        final Source src;
+        final long   token;
+        final int    lineNum;
+        final int    columnNum;
+        final int    caretColumn;
+        if (reader == null) {
+            src         = Source.sourceFor("<json>", source);
+            token       = Token.toDesc(STRING, offset + start, source.length());
+            lineNum     = src.getLine(offset + start);
+            columnNum   = src.getColumn(offset + start);
+            caretColumn = columnNum;
+        } else {
+            // only the window is left of the text, line and column are counted from what was dropped,
+            // while the quoted line and the caret under it are taken from the window
+            final int position = Math.min(start, limit);
+            src         = Source.sourceFor("<json>", new String(buffer, 0, limit));
+            token       = Token.toDesc(STRING, position, limit);
+            final int line = src.getLine(position);
+            lineNum     = lines + line;
+            caretColumn = src.getColumn(position);
+            columnNum   = line == 1 ? offset + position - lineStart : caretColumn;
+        }
+        final String formatted = ErrorManager.format(message, src, lineNum, columnNum, token, caretColumn);
         return new ParserException(JSErrorType.SYNTAX_ERROR, formatted, src, lineNum, columnNum, token);
     }
 
-    private ParserException error(final String message, final int start) {
-        return error(message, start, length);
-    }
-
     private ParserException numberError(final int start) {
         return error(Lexer.message("json.invalid.number"), start);
     }
@@ -40,6 +40,7 @@ import java.io.ObjectInputStream;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.SwitchPoint;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import org.openjdk.nashorn.internal.codegen.ObjectClassGenerator;
 import org.openjdk.nashorn.internal.codegen.types.Type;
@@ -143,6 +144,10 @@ public class AccessorProperty extends Property {
     /** Seed setter for the Object version of this field */
     transient MethodHandle objectSetter;
 
+    /** The unbound property and the delegate a bound property was created from */
+    private transient AccessorProperty unbound;
+    private transient Object delegate;
+
     /**
      * Delegate constructor for bound properties. This is used for properties created by
      * {@link ScriptRuntime#mergeScope} and the Nashorn {@code Object.bindProperties} method.
@@ -162,6 +167,8 @@ public class AccessorProperty extends Property {
         this.objectGetter    = bindTo(property.objectGetter, delegate);
         this.objectSetter    = bindTo(property.objectSetter, delegate);
         property.GETTER_CACHE = new MethodHandle[NOOF_TYPES];
+        this.unbound         = property;
+        this.delegate        = delegate;
         // Properties created this way are bound to a delegate
         setType(property.getType());
     }
@@ -327,6 +334,8 @@ public class AccessorProperty extends Property {
         this.primitiveSetter = property.primitiveSetter;
         this.objectGetter    = property.objectGetter;
         this.objectSetter    = property.objectSetter;
+        this.unbound         = property.unbound;
+        this.delegate        = property.delegate;
 
         setType(newType);
     }
@@ -377,6 +386,33 @@ public class AccessorProperty extends Property {
         return MH.dropArguments(MH.bindTo(mh, receiver), 0, Object.class);
     }
 
+    /**
+     * Returns a copy of this bound property with its receiver bound to the object {@code mapper}
+     * returns for the current delegate, or this property if that object is the current delegate.
+     *
+     * @param mapper delegate mapping function
+     * @return the rebound property
+     */
+    AccessorProperty rebind(final UnaryOperator<Object> mapper) {
+        assert isBound();
+        if (unbound == null) {
+            throw new IllegalStateException("Unknown delegate of bound property " + getKey());
+        }
+        final Object newDelegate = mapper.apply(delegate);
+        if (newDelegate == delegate) {
+            return this;
+        }
+
+        final AccessorProperty rebound = new AccessorProperty(this, getLocalType());
+        rebound.GETTER_CACHE    = new MethodHandle[NOOF_TYPES];
+        rebound.primitiveGetter = bindTo(unbound.primitiveGetter, newDelegate);
+        rebound.primitiveSetter = bindTo(unbound.primitiveSetter, newDelegate);
+        rebound.objectGetter    = bindTo(unbound.objectGetter, newDelegate);
+        rebound.objectSetter    = bindTo(unbound.objectSetter, newDelegate);
+        rebound.delegate        = newDelegate;
+        return rebound;
+    }
+
     @Override
     public Property copy() {
         return new AccessorProperty(this);
@@ -33,17 +33,30 @@ import java.lang.ref.WeakReference;
 import org.openjdk.nashorn.internal.codegen.Compiler;
 import org.openjdk.nashorn.internal.codegen.CompilerConstants;
 import org.openjdk.nashorn.internal.codegen.ObjectClassGenerator;
+import org.openjdk.nashorn.internal.runtime.options.Options;
 
 /**
  * Encapsulates the allocation strategy for a function when used as a constructor.
+ * <p>
+ * The initial number of fields is based on the number of properties the constructor
+ * assigns to {@code this}. Objects often get more properties than that, for example
+ * from initializer methods or loops, and then have to keep them in spill arrays. To
+ * avoid this, the strategy periodically looks at a recently allocated object and grows
+ * the number of fields of new objects to fit the properties it ended up with.
  */
 final public class AllocationStrategy implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
+    /** Maximum number of fields allocated objects are grown to */
+    private static final int MAX_FIELD_COUNT = Options.getIntProperty("nashorn.allocation.max.fields", 64);
+
+    /** Number of allocations between looking at the shape of allocated objects */
+    private static final int SAMPLE_INTERVAL = 16;
+
     /** Number of fields in the allocated object */
-    private final int fieldCount;
+    private int fieldCount;
 
     /** Whether to use dual field representation */
     private final boolean dualFields;
@@ -52,11 +65,17 @@ final public class AllocationStrategy implements Serializable {
     private transient String allocatorClassName;
 
     /** lazily generated allocator */
-    private transient MethodHandle allocator;
+    private transient Allocator allocator;
 
     /** Last used allocator map */
     private transient AllocatorMap lastMap;
 
+    /** Number of objects allocated, used for sampling */
+    private transient int allocationCount;
+
+    /** Recently allocated object whose shape is checked at the next sample */
+    private transient WeakReference<ScriptObject> sample;
+
     /**
      * Construct an allocation strategy with the given map and class name.
      * @param fieldCount number of fields in the allocated object
@@ -89,7 +108,7 @@ final public class AllocationStrategy implements Serializable {
                 if (lastMap.hasSamePrototype(prototype)) {
                     return lastMap.allocatorMap;
                 }
-                if (lastMap.hasSameProtoMap(protoMap) && lastMap.hasUnchangedProtoMap()) {
+                if (lastMap.hasSameProtoMap(protoMap) && lastMap.hasUnchangedProtoMap() && !protoMap.isDictionary()) {
                     // Convert to shared prototype map. Allocated objects will use the same property map
                     // that can be used as long as none of the prototypes modify the shared proto map.
                     final PropertyMap allocatorMap = PropertyMap.newMap(null, getAllocatorClassName(), 0, fieldCount, 0);
@@ -113,23 +132,63 @@ final public class AllocationStrategy implements Serializable {
         return allocatorMap;
     }
 
+    /**
+     * Check whether a map returned by {@link #getAllocatorMap(ScriptObject)} is out of date because
+     * the number of fields in allocated objects has grown since.
+     * @param map the property map
+     * @return true if a new allocator map should be used
+     */
+    boolean isStaleAllocatorMap(final PropertyMap map) {
+        return map.getFieldMaximum() < fieldCount;
+    }
+
     /**
      * Allocate an object with the given property map
      * @param map the property map
      * @return the allocated object
      */
     ScriptObject allocate(final PropertyMap map) {
+        final ScriptObject object;
         try {
-            if (allocator == null) {
-                allocator = MH.findStatic(LOOKUP, Context.forStructureClass(getAllocatorClassName()),
-                        CompilerConstants.ALLOCATE.symbolName(), MH.type(ScriptObject.class, PropertyMap.class));
+            Allocator alloc = allocator;
+            if (alloc == null || !alloc.className.equals(map.getClassName())) {
+                // The map may be out of date if the field count has just grown, so always use its own class.
+                alloc = new Allocator(map.getClassName());
+                allocator = alloc;
             }
-            return (ScriptObject)allocator.invokeExact(map);
+            object = (ScriptObject)alloc.handle.invokeExact(map);
         } catch (final RuntimeException | Error e) {
             throw e;
         } catch (final Throwable t) {
             throw new RuntimeException(t);
         }
+        if (++allocationCount % SAMPLE_INTERVAL == 0) {
+            checkSample(object);
+        }
+        return object;
+    }
+
+    /**
+     * Grow the number of fields if the previous sample needed spill slots, and remember
+     * the new object as the next sample.
+     * @param object a newly allocated object
+     */
+    private synchronized void checkSample(final ScriptObject object) {
+        final ScriptObject previous = sample == null ? null : sample.get();
+        sample = new WeakReference<>(object);
+        if (previous == null || fieldCount >= MAX_FIELD_COUNT) {
+            return;
+        }
+        final PropertyMap map = previous.getMap();
+        if (map.isDictionary() || map.getFieldMaximum() != fieldCount || map.getSpillLength() == 0) {
+            return;
+        }
+        final int newFieldCount = Math.min(MAX_FIELD_COUNT, ObjectClassGenerator.getPaddedFieldCount(fieldCount + map.getSpillLength()));
+        if (newFieldCount > fieldCount) {
+            fieldCount = newFieldCount;
+            allocatorClassName = null;
+            lastMap = null;
+        }
     }
 
     @Override
@@ -137,6 +196,17 @@ final public class AllocationStrategy implements Serializable {
         return "AllocationStrategy[fieldCount=" + fieldCount + "]";
     }
 
+    private static final class Allocator {
+        private final String className;
+        private final MethodHandle handle;
+
+        Allocator(final String className) throws ClassNotFoundException {
+            this.className = className;
+            this.handle = MH.findStatic(LOOKUP, Context.forStructureClass(className),
+                    CompilerConstants.ALLOCATE.symbolName(), MH.type(ScriptObject.class, PropertyMap.class));
+        }
+    }
+
     static class AllocatorMap {
         final private WeakReference<ScriptObject> prototype;
         final private WeakReference<PropertyMap> prototypeMap;
@@ -34,7 +34,12 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.nashorn.api.scripting.CodeStoreProvider;
 import org.openjdk.nashorn.internal.codegen.OptimisticTypesPersistence;
 import org.openjdk.nashorn.internal.codegen.types.Type;
 import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
@@ -48,8 +53,20 @@ import org.openjdk.nashorn.internal.runtime.options.Options;
 @Logger(name="codestore")
 public abstract class CodeStore implements Loggable {
 
+    /** Function key of top level scripts */
+    static final String SCRIPT_KEY = "script";
+
+    // Default minimum size for storing a compiled script class
+    static final int DEFAULT_MIN_SIZE = 1000;
+
     private DebugLogger log;
 
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesLoaded = new AtomicLong();
+    private final AtomicLong bytesStored = new AtomicLong();
+    private final AtomicLong bytesEvicted = new AtomicLong();
+
     /**
      * Constructor
      */
@@ -68,22 +85,70 @@ public abstract class CodeStore implements Loggable {
     }
 
     /**
-     * Returns a new code store instance.
+     * Returns a new code store instance. This is the persistent store if {@code --persistent-code-cache}
+     * is enabled, fronted by the process-wide shared store if {@code --shared-class-cache} is enabled.
+     * The persistent store is selected with the {@code --code-store} option, see {@link CodeStoreProvider}.
      *
      * @param context the current context
      * @return The instance, or null if code store could not be created
      */
     public static CodeStore newCodeStore(final Context context) {
-        try {
-            final CodeStore store = new DirectoryCodeStore(context);
+        final ScriptEnvironment env = context.getEnv();
+        CodeStore store = null;
+        if (env._persistent_cache) {
+            try {
+                store = newPersistentCodeStore(context, env._code_store);
+                if (store != null) {
+                    store.initLogger(context);
+                }
+            } catch (final IOException e) {
+                context.getLogger(CodeStore.class).warning("failed to create cache directory ", e);
+            }
+        }
+        if (env._shared_class_cache) {
+            store = new SharedCodeStore(context, store);
             store.initLogger(context);
-            return store;
-        } catch (final IOException e) {
-            context.getLogger(CodeStore.class).warning("failed to create cache directory ", e);
-            return null;
+        }
+        return store;
+    }
+
+    private static CodeStore newPersistentCodeStore(final Context context, final String name) throws IOException {
+        switch (name) {
+        case DirectoryCodeStore.NAME:
+            return new DirectoryCodeStore(context);
+        case MappedCodeStore.NAME:
+            return new MappedCodeStore(context);
+        default:
+            final CodeStoreProvider provider = findProvider(context, name);
+            if (provider == null) {
+                context.getLogger(CodeStore.class).warning("unknown code store ", name);
+                return null;
+            }
+            return new ProvidedCodeStore(context, provider);
         }
     }
 
+    /**
+     * Finds a code store provider by name among the providers registered with the service loader, or
+     * by class name.
+     */
+    private static CodeStoreProvider findProvider(final Context context, final String name) {
+        final ClassLoader loader = context.getAppLoader() != null ? context.getAppLoader() : ClassLoader.getSystemClassLoader();
+        try {
+            for (final CodeStoreProvider provider : ServiceLoader.load(CodeStoreProvider.class, loader)) {
+                if (name.equals(provider.getName())) {
+                    return provider;
+                }
+            }
+            final Class<?> clazz = Class.forName(name, true, loader);
+            if (CodeStoreProvider.class.isAssignableFrom(clazz)) {
+                return (CodeStoreProvider) clazz.getConstructor().newInstance();
+            }
+        } catch (final ServiceConfigurationError | ReflectiveOperationException e) {
+            context.getLogger(CodeStore.class).warning("failed to load code store ", name, ": ", e);
+        }
+        return null;
+    }
 
     /**
      * Store a compiled script in the cache.
@@ -155,6 +220,78 @@ public abstract class CodeStore implements Loggable {
         return new StoredScript(compilationId, mainClassName, classBytes, initializers, constants);
     }
 
+    /**
+     * Returns the load and store counters of this store.
+     *
+     * @return a description of the counters
+     */
+    public String getStatistics() {
+        return "hits=" + hits + " misses=" + misses
+                + " bytes loaded=" + bytesLoaded + " stored=" + bytesStored + " evicted=" + bytesEvicted;
+    }
+
+    /**
+     * Counts a script loaded from this store.
+     *
+     * @param source the source
+     * @param functionKey the function key
+     * @param bytes the size of the stored script
+     */
+    protected void recordHit(final Source source, final String functionKey, final long bytes) {
+        hits.incrementAndGet();
+        bytesLoaded.addAndGet(bytes);
+        log.info("loaded ", source, "-", functionKey, " (", bytes, " bytes) ", getStatistics());
+    }
+
+    /**
+     * Counts a script not found in this store.
+     *
+     * @param source the source
+     * @param functionKey the function key
+     */
+    protected void recordMiss(final Source source, final String functionKey) {
+        misses.incrementAndGet();
+        log.fine("not found ", source, "-", functionKey, " ", getStatistics());
+    }
+
+    /**
+     * Counts a script stored in this store.
+     *
+     * @param source the source
+     * @param functionKey the function key
+     * @param bytes the size of the stored script
+     */
+    protected void recordStore(final Source source, final String functionKey, final long bytes) {
+        bytesStored.addAndGet(bytes);
+        log.info("stored ", source, "-", functionKey, " (", bytes, " bytes) ", getStatistics());
+    }
+
+    /**
+     * Counts scripts evicted from this store.
+     *
+     * @param count the number of scripts
+     * @param bytes their total size
+     */
+    protected void recordEviction(final int count, final long bytes) {
+        bytesEvicted.addAndGet(bytes);
+        log.info("evicted ", count, " scripts (", bytes, " bytes) ", getStatistics());
+    }
+
+    /**
+     * Returns true if scripts of the given source are too small to be worth storing.
+     *
+     * @param source the source
+     * @param minSize the minimum source length
+     * @return true if below the threshold
+     */
+    protected boolean belowThreshold(final Source source, final int minSize) {
+        if (source.getLength() < minSize) {
+            log.info("below size threshold ", source);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Generate a string representing the function with {@code functionId} and {@code paramTypes}.
      * @param functionId function id
@@ -173,16 +310,21 @@ public abstract class CodeStore implements Loggable {
     }
 
     /**
-     * A store using a file system directory.
+     * A store using a file system directory, with a file per script. If the total size of the files
+     * is bounded, files are evicted in the order they were last loaded.
      */
     public static class DirectoryCodeStore extends CodeStore {
 
-        // Default minimum size for storing a compiled script class
-        private final static int DEFAULT_MIN_SIZE = 1000;
+        /** Name of this store for the {@code --code-store} option */
+        public static final String NAME = "directory";
 
         private final File dir;
         private final boolean readOnly;
         private final int minSize;
+        private final long maxBytes;
+
+        // estimated size of the directory, or -1 if not known yet
+        private long size = -1;
 
         /**
          * Constructor
@@ -191,7 +333,7 @@ public abstract class CodeStore implements Loggable {
          * @throws IOException if there are read/write problems with the cache and cache directory
          */
         public DirectoryCodeStore(final Context context) throws IOException {
-            this(context, Options.getStringProperty("nashorn.persistent.code.cache", "nashorn_code_cache"), false, DEFAULT_MIN_SIZE);
+            this(context, getCachePath(), false, DEFAULT_MIN_SIZE, getMaxBytes());
         }
 
         /**
@@ -204,13 +346,36 @@ public abstract class CodeStore implements Loggable {
          * @throws IOException if there are read/write problems with the cache and cache directory
          */
         public DirectoryCodeStore(final Context context, final String path, final boolean readOnly, final int minSize) throws IOException {
+            this(context, path, readOnly, minSize, 0);
+        }
+
+        /**
+         * Constructor
+         *
+         * @param context the current context
+         * @param path    directory to store code in
+         * @param readOnly is this a read only code store
+         * @param minSize minimum file size for caching scripts
+         * @param maxBytes maximum total size of cached scripts, or 0 for no limit
+         * @throws IOException if there are read/write problems with the cache and cache directory
+         */
+        public DirectoryCodeStore(final Context context, final String path, final boolean readOnly, final int minSize, final long maxBytes) throws IOException {
             this.dir = checkDirectory(path, context.getEnv(), readOnly);
             this.readOnly = readOnly;
             this.minSize = minSize;
+            this.maxBytes = maxBytes;
         }
 
-        private static File checkDirectory(final String path, final ScriptEnvironment env, final boolean readOnly) throws IOException {
-            final File dir = new File(path, getVersionDir(env)).getAbsoluteFile();
+        static String getCachePath() {
+            return Options.getStringProperty("nashorn.persistent.code.cache", "nashorn_code_cache");
+        }
+
+        static long getMaxBytes() {
+            return Options.getSizeProperty("nashorn.persistent.code.cache.bytes", 0);
+        }
+
+        static File checkDirectory(final String path, final ScriptEnvironment env, final boolean readOnly) throws IOException {
+            final File dir = getVersionDir(path, env);
             if (readOnly) {
                 if (!dir.exists() || !dir.isDirectory()) {
                     throw new IOException("Not a directory: " + dir.getPath());
@@ -227,10 +392,10 @@ public abstract class CodeStore implements Loggable {
             return dir;
         }
 
-        private static String getVersionDir(final ScriptEnvironment env) throws IOException {
+        static File getVersionDir(final String path, final ScriptEnvironment env) throws IOException {
             try {
                 final String versionDir = OptimisticTypesPersistence.getVersionDirName();
-                return env._optimistic_types ? versionDir + "_opt" : versionDir;
+                return new File(path, env._optimistic_types ? versionDir + "_opt" : versionDir).getAbsoluteFile();
             } catch (final Exception e) {
                 throw new IOException(e);
             }
@@ -238,18 +403,23 @@ public abstract class CodeStore implements Loggable {
 
         @Override
         public StoredScript load(final Source source, final String functionKey) {
-            if (belowThreshold(source)) {
+            if (belowThreshold(source, minSize)) {
                 return null;
             }
 
             final File file = getCacheFile(source, functionKey);
 
             if (!file.exists()) {
+                recordMiss(source, functionKey);
                 return null;
             }
             try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
                 final StoredScript storedScript = (StoredScript) in.readObject();
-                getLogger().info("loaded ", source, "-", functionKey);
+                if (maxBytes > 0 && !readOnly) {
+                    // eviction order
+                    file.setLastModified(System.currentTimeMillis());
+                }
+                recordHit(source, functionKey, file.length());
                 return storedScript;
             } catch (final IOException | ClassNotFoundException e) {
                 getLogger().warning("failed to load ", source, "-", functionKey, ": ", e);
@@ -259,17 +429,22 @@ public abstract class CodeStore implements Loggable {
 
         @Override
         public StoredScript store(final String functionKey, final Source source, final StoredScript script) {
-            if (readOnly || script == null || belowThreshold(source)) {
+            if (readOnly || script == null || belowThreshold(source, minSize)) {
                 return null;
             }
 
             final File file = getCacheFile(source, functionKey);
 
             try {
+                final long oldLength = file.length();
                 try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
                     out.writeObject(script);
                 }
-                getLogger().info("stored ", source, "-", functionKey);
+                final long length = file.length();
+                recordStore(source, functionKey, length);
+                if (maxBytes > 0) {
+                    updateSize(length - oldLength);
+                }
                 return script;
             } catch (final IOException e) {
                 getLogger().warning("failed to store ", script, "-", functionKey, ": ", e);
@@ -282,12 +457,53 @@ public abstract class CodeStore implements Loggable {
             return new File(dir, source.getDigest() + '-' + functionKey);
         }
 
-        private boolean belowThreshold(final Source source) {
-            if (source.getLength() < minSize) {
-                getLogger().info("below size threshold ", source);
-                return true;
+        private synchronized void updateSize(final long delta) {
+            if (size < 0 || size + delta > maxBytes) {
+                // other contexts and processes may have added files, so always check the directory itself
+                evict();
+            } else {
+                size += delta;
+            }
+        }
+
+        /**
+         * Deletes the least recently loaded files until the directory is a quarter below its size limit.
+         */
+        private void evict() {
+            final File[] files = dir.listFiles();
+            if (files == null) {
+                return;
+            }
+            final long[] lastModified = new long[files.length];
+            final Integer[] order = new Integer[files.length];
+            long total = 0;
+            for (int i = 0; i < files.length; i++) {
+                lastModified[i] = files[i].lastModified();
+                order[i] = i;
+                total += files[i].length();
+            }
+
+            if (total > maxBytes) {
+                Arrays.sort(order, (i1, i2) -> Long.compare(lastModified[i1], lastModified[i2]));
+                final long target = maxBytes / 4 * 3;
+                int count = 0;
+                long evicted = 0;
+                for (final int i : order) {
+                    if (total <= target) {
+                        break;
+                    }
+                    final long length = files[i].length();
+                    if (files[i].delete()) {
+                        total -= length;
+                        evicted += length;
+                        count++;
+                    }
+                }
+                if (count > 0) {
+                    recordEviction(count, evicted);
+                }
             }
-            return false;
+            size = total;
         }
     }
 }
@@ -35,11 +35,16 @@ import java.lang.invoke.MethodType;
 import java.lang.invoke.MutableCallSite;
 import java.lang.invoke.SwitchPoint;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import jdk.dynalink.linker.GuardedInvocation;
@@ -51,6 +56,7 @@ import org.openjdk.nashorn.internal.codegen.types.Type;
 import org.openjdk.nashorn.internal.ir.FunctionNode;
 import org.openjdk.nashorn.internal.objects.annotations.SpecializedFunction.LinkLogic;
 import org.openjdk.nashorn.internal.runtime.events.RecompilationEvent;
+import org.openjdk.nashorn.internal.runtime.events.RuntimeEventDispatcher;
 import org.openjdk.nashorn.internal.runtime.linker.Bootstrap;
 import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
 
@@ -64,6 +70,12 @@ final class CompiledFunction {
     private static final MethodHandle RELINK_COMPOSABLE_INVOKER = findOwnMH("relinkComposableInvoker", void.class, CallSite.class, CompiledFunction.class, boolean.class);
     private static final MethodHandle HANDLE_REWRITE_EXCEPTION = findOwnMH("handleRewriteException", MethodHandle.class, CompiledFunction.class, OptimismInfo.class, RewriteException.class);
     private static final MethodHandle RESTOF_INVOKER = MethodHandles.exactInvoker(MethodType.methodType(Object.class, RewriteException.class));
+    private static final MethodHandle COMPILE_REST_OF = findOwnMH("compileRestOf", Object.class, CompiledFunction.class, OptimismInfo.class, boolean.class, MethodType.class, Map.class, RewriteException.class);
+
+    // Continuation entry points that make the compiler generate a generic rest-of method
+    private static final int[] GENERIC_REST_OF = new int[0];
+
+    private static final ExecutorService recompilerExecutorService = createRecompilerExecutorService();
 
     private final DebugLogger log;
 
@@ -83,6 +95,13 @@ final class CompiledFunction {
 
     private final Specialization specialization;
 
+    // With tiered recompilation: is a background recompilation scheduled but not yet published? Guarded by this.
+    private boolean recompilationPending;
+    // With tiered recompilation: the generic rest-of method and the program points it can continue from, once compiled.
+    // Entry points are empty and the method is null if its compilation failed. Guarded by this.
+    private MethodHandle genericRestOf;
+    private BitSet genericRestOfEntryPoints;
+
     CompiledFunction(final MethodHandle invoker) {
         this(invoker, null, null);
     }
@@ -121,6 +140,12 @@ final class CompiledFunction {
         this(invoker, null, flags, callSiteType, null, functionData.getLogger());
         if ((flags & FunctionNode.IS_DEOPTIMIZABLE) != 0) {
             optimismInfo = new OptimismInfo(functionData, invalidatedProgramPoints);
+            if (functionData.useTieredRecompilation()) {
+                // Compile the generic rest-of method before it's needed, so that rewrite exceptions need no compilation.
+                final OptimismInfo info = optimismInfo;
+                final MethodType ct = callSiteTypeForCompiler(type());
+                recompilerExecutorService.execute(() -> compileGenericRestOf(info, ct));
+            }
         } else {
             optimismInfo = null;
         }
@@ -768,18 +793,20 @@ final class CompiledFunction {
         }
 
         final MethodType type = type();
-
-        // Compiler needs a call site type as its input, which always has a callee parameter, so we must add it if
-        // this function doesn't have a callee parameter.
-        final MethodType ct = type.parameterType(0) == ScriptFunction.class ?
-                type :
-                type.insertParameterTypes(0, ScriptFunction.class);
+        final MethodType ct = callSiteTypeForCompiler(type);
         final OptimismInfo currentOptInfo = optimismInfo;
-        final boolean shouldRecompile = currentOptInfo != null && currentOptInfo.requestRecompile(re);
 
         // Effective optimism info, for subsequent use. We'll normally try to use the current (latest) one, but if it
         // isn't available, we'll use the old one bound into the call site.
         final OptimismInfo effectiveOptInfo = currentOptInfo != null ? currentOptInfo : oldOptInfo;
+        if (effectiveOptInfo.data.useTieredRecompilation()) {
+            // Record the invalidation even if a background recompilation has completely deoptimized the function in
+            // the meantime, as the rest-of method for the code that is still running must know about it.
+            final boolean invalidated = effectiveOptInfo.requestRecompile(re, false);
+            return handleRewriteExceptionTiered(effectiveOptInfo, currentOptInfo != null, invalidated && currentOptInfo != null, ct, re);
+        }
+
+        final boolean shouldRecompile = currentOptInfo != null && currentOptInfo.requestRecompile(re, true);
         FunctionNode fn = effectiveOptInfo.reparse();
         final boolean cached = fn.isCached();
         final Compiler compiler = effectiveOptInfo.getCompiler(fn, ct, re); //set to non rest-of
@@ -801,14 +828,7 @@ final class CompiledFunction {
         logRecompile("Rest-of compilation [CODE PIPELINE REUSE] ", fn, ct, effectiveOptInfo.invalidatedProgramPoints);
         final FunctionNode normalFn = compiler.compile(fn, CompilationPhases.GENERATE_BYTECODE_AND_INSTALL);
 
-        if (effectiveOptInfo.data.usePersistentCodeCache()) {
-            final RecompilableScriptFunctionData data = effectiveOptInfo.data;
-            final int functionNodeId = data.getFunctionNodeId();
-            final TypeMap typeMap = data.typeMap(ct);
-            final Type[] paramTypes = typeMap == null ? null : typeMap.getParameterTypes(functionNodeId);
-            final String cacheKey = CodeStore.getCacheKey(functionNodeId, paramTypes);
-            compiler.persistClassInfo(cacheKey, normalFn);
-        }
+        persistClassInfo(effectiveOptInfo.data, compiler, ct, normalFn);
 
         final boolean canBeDeoptimized = normalFn.canBeDeoptimized();
 
@@ -838,6 +858,217 @@ final class CompiledFunction {
         return restOf;
     }
 
+    /**
+     * Returns the call site type for compiling this function with the given type. The compiler needs a call site type
+     * as its input, which always has a callee parameter, so we must add it if this function doesn't have one.
+     * @param type the type of this function
+     * @return the call site type for the compiler
+     */
+    private static MethodType callSiteTypeForCompiler(final MethodType type) {
+        return type.parameterType(0) == ScriptFunction.class ?
+                type :
+                type.insertParameterTypes(0, ScriptFunction.class);
+    }
+
+    /**
+     * Handles a {@link RewriteException} with tiered recompilation. The interrupted invocation continues right away in
+     * the generic rest-of method, which the recompiler thread compiles when this function is created. It has no
+     * optimistic assumptions, so it can continue from any program point and is never deoptimized itself. Meanwhile
+     * the deoptimized version of the whole function is compiled on the recompiler thread, and until it is published,
+     * callers keep using the current version. Nothing waits for the recompiler thread: if the generic rest-of method
+     * hasn't been compiled yet, it's compiled on the current thread, without holding the lock on this object.
+     * @param info the effective optimism info
+     * @param canBeDeoptimized true if the function still has optimistic assumptions
+     * @param shouldRecompile true if the exception invalidated a new program point
+     * @param ct the call site type for the compiler
+     * @param re the rewrite exception that was raised
+     * @return the method handle for the rest-of method, for folding composition.
+     */
+    private MethodHandle handleRewriteExceptionTiered(final OptimismInfo info, final boolean canBeDeoptimized,
+            final boolean shouldRecompile, final MethodType ct, final RewriteException re) {
+        assert Thread.holdsLock(this);
+        if (shouldRecompile && !recompilationPending) {
+            scheduleRecompilation(info, ct, re.getRuntimeScope());
+        }
+        if (log.isEnabled()) {
+            log.unindent();
+        }
+        final MethodHandle restOf = getGenericRestOf(info, re.getProgramPoint());
+        if (restOf != null) {
+            return restOf;
+        }
+        return MH.insertArguments(COMPILE_REST_OF, 0, this, info, canBeDeoptimized, ct, new TreeMap<>(info.invalidatedProgramPoints));
+    }
+
+    /**
+     * Returns the generic rest-of method if it's compiled and can continue from the given program point.
+     * @param info the effective optimism info
+     * @param programPoint the program point the rewrite exception was raised at
+     * @return the generic rest-of method, or null
+     */
+    private synchronized MethodHandle getGenericRestOf(final OptimismInfo info, final int programPoint) {
+        if (genericRestOf == null || !genericRestOfEntryPoints.get(programPoint)) {
+            return null;
+        }
+        log.info("Continuing '", info.data.getName(), "' from program point ", programPoint, " in generic rest-of method");
+        return changeReturnType(genericRestOf, Object.class);
+    }
+
+    /**
+     * Continues an invocation interrupted by a rewrite exception that the generic rest-of method wasn't available
+     * for. Compiles the generic rest-of method on the current thread if the recompiler thread hasn't got to it yet,
+     * so later rewrite exceptions can use it too. Only if it can't continue from the program point of the exception
+     * is a rest-of method compiled just for it.
+     * @param function the function
+     * @param info the effective optimism info
+     * @param canBeDeoptimized true if the function still has optimistic assumptions
+     * @param ct the call site type for the compiler
+     * @param invalidatedProgramPoints invalidated program points when the exception was handled
+     * @param re the rewrite exception to continue from
+     * @return the result of the interrupted invocation
+     * @throws Throwable if the rest-of method fails
+     */
+    @SuppressWarnings("unused")
+    private static Object compileRestOf(final CompiledFunction function, final OptimismInfo info, final boolean canBeDeoptimized,
+            final MethodType ct, final Map<Integer, Type> invalidatedProgramPoints, final RewriteException re) throws Throwable {
+        function.compileGenericRestOf(info, ct);
+        MethodHandle handle = function.getGenericRestOf(info, re.getProgramPoint());
+        if (handle == null) {
+            final FunctionNode fn = info.reparse();
+            final Compiler compiler = info.data.getCompiler(fn, ct, re.getRuntimeScope(), invalidatedProgramPoints, OptimismInfo.getEntryPoints(re));
+            function.logRecompile("Rest-of compilation [TIERED] ", fn, ct, invalidatedProgramPoints);
+            final FunctionNode restOfFunction = compiler.compile(fn, fn.isCached() ? CompilationPhases.COMPILE_CACHED_RESTOF : CompilationPhases.COMPILE_ALL_RESTOF);
+            synchronized (function) {
+                handle = function.restOfHandle(info, restOfFunction, canBeDeoptimized);
+            }
+        }
+        return handle.invokeExact(re);
+    }
+
+    /**
+     * Compiles the generic rest-of method of this function, unless it was already compiled or its compilation failed.
+     * Normally runs on the recompiler thread.
+     * @param info the optimism info
+     * @param ct the call site type for the compiler
+     */
+    private void compileGenericRestOf(final OptimismInfo info, final MethodType ct) {
+        synchronized (this) {
+            if (genericRestOfEntryPoints != null) {
+                return;
+            }
+        }
+        MethodHandle restOf = null;
+        BitSet entryPoints;
+        try {
+            final FunctionNode fn = info.reparse();
+            final Compiler compiler = info.data.getCompiler(fn, ct, null, new TreeMap<>(), GENERIC_REST_OF);
+            logRecompile("Generic rest-of compilation [TIERED] ", fn, ct, Collections.emptyMap());
+            final FunctionNode restOfFunction = compiler.compile(fn, fn.isCached() ? CompilationPhases.COMPILE_CACHED_RESTOF : CompilationPhases.COMPILE_ALL_RESTOF);
+            restOf = info.data.lookupCodeMethod(restOfFunction.getCompileUnit().getCode(),
+                    MH.type(restOfFunction.getReturnType().getTypeClass(), RewriteException.class));
+            entryPoints = compiler.getGenericRestOfEntryPoints();
+        } catch (final RuntimeException | Error e) {
+            // Don't retry; rewrite exceptions are then handled by compiling rest-of methods for them.
+            log.warning("Generic rest-of compilation of '", info.data.getName(), "' failed: ", e);
+            entryPoints = new BitSet();
+        }
+        synchronized (this) {
+            // Another thread might have compiled it in the meantime.
+            if (genericRestOfEntryPoints == null) {
+                genericRestOf = restOf;
+                genericRestOfEntryPoints = entryPoints;
+            }
+        }
+    }
+
+    /**
+     * Schedules a deoptimizing recompilation on the recompiler thread.
+     * @param info the effective optimism info
+     * @param ct the call site type for the compiler
+     * @param runtimeScope the runtime scope for the compiler
+     */
+    private void scheduleRecompilation(final OptimismInfo info, final MethodType ct, final ScriptObject runtimeScope) {
+        assert Thread.holdsLock(this);
+        recompilationPending = true;
+        final Map<Integer, Type> invalidatedProgramPoints = new TreeMap<>(info.invalidatedProgramPoints);
+        recompilerExecutorService.execute(() -> recompile(info, ct, runtimeScope, invalidatedProgramPoints));
+    }
+
+    /**
+     * Compiles a version of this function with the given program points invalidated, and publishes it by invalidating
+     * the optimistic assumptions switch point that call sites linked to the current version are guarded with. Runs on
+     * the recompiler thread, without holding the lock on this object while compiling.
+     */
+    private void recompile(final OptimismInfo info, final MethodType ct, final ScriptObject runtimeScope,
+            final Map<Integer, Type> invalidatedProgramPoints) {
+        final FunctionNode normalFn;
+        try {
+            final FunctionNode fn = info.reparse();
+            final Compiler compiler = info.data.getCompiler(fn, ct, runtimeScope, invalidatedProgramPoints, null);
+            logRecompile("Deoptimizing recompilation [TIERED] ", fn, ct, invalidatedProgramPoints);
+            normalFn = compiler.compile(fn, fn.isCached() ? CompilationPhases.COMPILE_ALL_CACHED : CompilationPhases.COMPILE_ALL);
+            persistClassInfo(info.data, compiler, ct, normalFn);
+        } catch (final RuntimeException | Error e) {
+            // Callers can keep using the current version; a rewrite exception at a new program point will retry.
+            log.warning("Background recompilation of '", info.data.getName(), "' failed: ", e);
+            synchronized (this) {
+                recompilationPending = false;
+            }
+            return;
+        }
+
+        final MethodHandle newInvoker = info.data.lookup(normalFn);
+        final boolean canStillBeDeoptimized = normalFn.canBeDeoptimized();
+        synchronized (this) {
+            invoker     = newInvoker.asType(type().changeReturnType(newInvoker.type().returnType()));
+            constructor = null; // Will be regenerated when needed
+            recompilationPending = false;
+
+            final SwitchPoint oldAssumptions = info.optimisticAssumptions;
+            if (canStillBeDeoptimized) {
+                info.newOptimisticAssumptions();
+            } else {
+                optimismInfo = null;
+            }
+            // Publish the new version: call sites guarded by the old switch point relink to it.
+            SwitchPoint.invalidateAll(new SwitchPoint[] { oldAssumptions });
+            notifyAll();
+
+            log.info("Recompiled '", normalFn.getName(), "' (", Debug.id(this), ") in background, ", canStillBeDeoptimized ? "can still be deoptimized." : "is completely deoptimized.");
+
+            // Program points invalidated while we were compiling need another round.
+            if (canStillBeDeoptimized && !invalidatedProgramPoints.equals(info.invalidatedProgramPoints)) {
+                scheduleRecompilation(info, ct, runtimeScope);
+            }
+        }
+    }
+
+    private static void persistClassInfo(final RecompilableScriptFunctionData data, final Compiler compiler, final MethodType ct, final FunctionNode normalFn) {
+        if (data.usePersistentCodeCache()) {
+            final int functionNodeId = data.getFunctionNodeId();
+            final TypeMap typeMap = data.typeMap(ct);
+            final Type[] paramTypes = typeMap == null ? null : typeMap.getParameterTypes(functionNodeId);
+            final String cacheKey = CodeStore.getCacheKey(functionNodeId, paramTypes);
+            compiler.persistClassInfo(cacheKey, normalFn);
+        }
+    }
+
+    /**
+     * Creates the executor service for tiered recompilation. It has a single daemon thread that times out when
+     * idle, so it costs nothing unless tiered recompilation is used.
+     * @return an executor service for background recompilation.
+     */
+    private static ExecutorService createRecompilerExecutorService() {
+        final ThreadPoolExecutor service = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingDeque<>(),
+            (r) -> {
+                final Thread t = new Thread(r, "Nashorn Recompiler");
+                t.setDaemon(true);
+                return t;
+            });
+        service.allowCoreThreadTimeOut(true);
+        return service;
+    }
+
     private MethodHandle restOfHandle(final OptimismInfo info, final FunctionNode restOfFunction, final boolean canBeDeoptimized) {
         assert info != null;
         assert restOfFunction.getCompileUnit().getUnitClassName().contains("restOf");
@@ -876,7 +1107,7 @@ final class CompiledFunction {
             optimisticAssumptions = new SwitchPoint();
         }
 
-        boolean requestRecompile(final RewriteException e) {
+        boolean requestRecompile(final RewriteException e, final boolean invalidateAssumptions) {
             final Type retType            = e.getReturnType();
             final Type previousFailedType = invalidatedProgramPoints.put(e.getProgramPoint(), retType);
 
@@ -891,7 +1122,15 @@ final class CompiledFunction {
                 return false;
             }
 
-            SwitchPoint.invalidateAll(new SwitchPoint[] { optimisticAssumptions });
+            if (invalidateAssumptions) {
+                SwitchPoint.invalidateAll(new SwitchPoint[] { optimisticAssumptions });
+            }
+
+            if (RuntimeEventDispatcher.isEnabled()) {
+                // The type a program point was first compiled with is not recorded, only the types it was invalidated to
+                RuntimeEventDispatcher.recompiled(data.getName(), e.getProgramPoint(),
+                        previousFailedType == null ? null : previousFailedType.getTypeClass(), retType.getTypeClass());
+            }
 
             return true;
         }
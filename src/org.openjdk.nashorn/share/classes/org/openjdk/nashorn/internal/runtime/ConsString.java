@@ -27,23 +27,55 @@ package org.openjdk.nashorn.internal.runtime;
 
 import static org.openjdk.nashorn.internal.runtime.JSType.isString;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /**
  * This class represents a string composed of two parts which may themselves be
  * instances of <code>ConsString</code> or {@link String}. Copying of characters to
  * a proper string is delayed until it becomes necessary.
+ *
+ * <p>ConsStrings are often shared between threads, e.g. when stored in a global that
+ * several engines read. Flattening does not lock: the flat string is built locally and
+ * published by a release store to {@code left}, followed by one of {@code ""} to
+ * {@code right}. Readers load {@code right} before {@code left}, so they see either
+ * the original pair or the flat string, which is recognized by its length. Threads
+ * that flatten the same string at the same time do the work more than once, but
+ * publish equal strings.</p>
  */
 public final class ConsString implements CharSequence {
 
     private CharSequence left, right;
     private final int length;
-    private volatile int state = STATE_NEW;
+    private final int segmentCount;
+    // number of traversals, a heuristic that does not need to be exact under races
+    private int state = STATE_NEW;
 
     private final static int STATE_NEW       =  0;
     private final static int STATE_THRESHOLD =  2;
-    private final static int STATE_FLATTENED = -1;
+
+    private static final VarHandle LEFT;
+    private static final VarHandle RIGHT;
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            LEFT  = lookup.findVarHandle(ConsString.class, "left", CharSequence.class);
+            RIGHT = lookup.findVarHandle(ConsString.class, "right", CharSequence.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Shortest average part length for which scanning the parts in place beats flattening. */
+    private final static int MIN_SEGMENT_LENGTH = 512;
+
+    /** How deep {@link #probeCharAt(int)} looks for a character before flattening. */
+    private final static int MAX_PROBE_DEPTH = 4;
 
     /**
      * Constructor
@@ -62,11 +94,16 @@ public final class ConsString implements CharSequence {
         if (length < 0) {
             throw new IllegalArgumentException("too big concatenated String");
         }
+        segmentCount = segmentCount(left) + segmentCount(right);
+    }
+
+    private static int segmentCount(final CharSequence cs) {
+        return cs instanceof ConsString ? ((ConsString) cs).segmentCount : 1;
     }
 
     @Override
     public String toString() {
-        return (String) flattened(true);
+        return flattened(true);
     }
 
     @Override
@@ -79,6 +116,40 @@ public final class ConsString implements CharSequence {
         return flattened(true).charAt(index);
     }
 
+    /**
+     * Returns the character at an index, as {@link #charAt(int)} does, but does not
+     * flatten this string if the character is in a part near the top of the tree,
+     * such as the last appended part. Builtins that read a single character use
+     * this, while callers that read many characters are better off with a flat string.
+     *
+     * @param index the index of the character
+     * @return the character at index
+     */
+    public char probeCharAt(final int index) {
+        CharSequence cs = this;
+        int pos = index;
+        for (int depth = 0; depth < MAX_PROBE_DEPTH && cs instanceof ConsString; depth++) {
+            final ConsString cons  = (ConsString) cs;
+            final CharSequence right = cons.right();
+            final CharSequence left  = cons.left();
+            if (cons.isFlat(left)) {
+                cs = left;
+                break;
+            }
+            final int leftLength = left.length();
+            if (pos < leftLength) {
+                cs = left;
+            } else {
+                cs = right;
+                pos -= leftLength;
+            }
+        }
+        if (cs instanceof String) {
+            return ((String) cs).charAt(pos);
+        }
+        return flattened(true).charAt(index);
+    }
+
     @Override
     public CharSequence subSequence(final int start, final int end) {
         return flattened(true).subSequence(start, end);
@@ -89,18 +160,122 @@ public final class ConsString implements CharSequence {
      * The elements will be either {@code Strings} or other {@code ConsStrings}.
      * @return CharSequence array of length 2
      */
-    public synchronized CharSequence[] getComponents() {
-        return new CharSequence[] { left, right };
+    public CharSequence[] getComponents() {
+        final CharSequence right = right();
+        final CharSequence left  = left();
+        return new CharSequence[] { left, isFlat(left) ? "" : right };
+    }
+
+    /**
+     * Returns an iterator over the strings this ConsString is made of, from left
+     * to right. Builtins that scan a string once use this to avoid copying all of
+     * its characters into a flat string first.
+     *
+     * <p>If flattening is expected to be cheaper, the string is flattened and
+     * the iterator returns the flat string only. That is the case if this string
+     * is made of very short parts, or if it has been scanned before and is likely
+     * to be scanned again.</p>
+     *
+     * @return iterator over the parts of this string
+     */
+    public Iterator<String> segments() {
+        if (!isFlat(left()) && length >= segmentCount * MIN_SEGMENT_LENGTH && ++state < STATE_THRESHOLD) {
+            return new SegmentIterator(this);
+        }
+        return new SegmentIterator(flattened(true));
+    }
+
+    /**
+     * Returns the index of the first occurrence of a string in this ConsString,
+     * as {@link String#indexOf(String, int)} does, scanning its parts in place.
+     *
+     * @param str       the string to search for
+     * @param fromIndex the index to start the search from
+     * @return the index of the first occurrence at or after fromIndex, or -1
+     */
+    public int indexOf(final String str, final int fromIndex) {
+        final int from      = Math.max(fromIndex, 0);
+        final int strLength = str.length();
+        if (from >= length) {
+            return strLength == 0 ? length : -1;
+        } else if (strLength == 0) {
+            return from;
+        }
+
+        // the last strLength - 1 characters before the current part, where a match
+        // spanning parts may start
+        final char[] carry       = new char[strLength - 1];
+        int          carryLength = 0;
+        int          offset      = 0;
+        for (final Iterator<String> iter = segments(); iter.hasNext(); ) {
+            final String part       = iter.next();
+            final int    partLength = part.length();
+            for (int i = Math.max(from - offset + carryLength, 0); i < carryLength; i++) {
+                if (matchesAcross(carry, i, carryLength, part, str)) {
+                    return offset - carryLength + i;
+                }
+            }
+            if (offset + partLength > from) {
+                final int index = part.indexOf(str, Math.max(from - offset, 0));
+                if (index >= 0) {
+                    return offset + index;
+                }
+            }
+            offset += partLength;
+            if (partLength >= carry.length) {
+                part.getChars(partLength - carry.length, partLength, carry, 0);
+                carryLength = carry.length;
+            } else {
+                final int keep = Math.min(carryLength, carry.length - partLength);
+                System.arraycopy(carry, carryLength - keep, carry, 0, keep);
+                part.getChars(0, partLength, carry, keep);
+                carryLength = keep + partLength;
+            }
+        }
+        return -1;
+    }
+
+    // check for a match that starts in carry at start and continues in part
+    private static boolean matchesAcross(final char[] carry, final int start, final int carryLength, final String part, final String str) {
+        final int inCarry = carryLength - start;
+        if (str.length() - inCarry > part.length()) {
+            return false;
+        }
+        for (int i = 0; i < inCarry; i++) {
+            if (carry[start + i] != str.charAt(i)) {
+                return false;
+            }
+        }
+        return part.regionMatches(0, str, inCarry, str.length() - inCarry);
+    }
+
+    // right must be read before left, see the class comment
+    private CharSequence left() {
+        return (CharSequence) LEFT.getAcquire(this);
+    }
+
+    private CharSequence right() {
+        return (CharSequence) RIGHT.getAcquire(this);
+    }
+
+    // whether left, as read by left(), is the flat string of this ConsString
+    private boolean isFlat(final CharSequence left) {
+        return left instanceof String && left.length() == length;
     }
 
-    private CharSequence flattened(final boolean flattenNested) {
-        if (state != STATE_FLATTENED) {
-            flatten(flattenNested);
+    private String flattened(final boolean flattenNested) {
+        final CharSequence right = right();
+        final CharSequence left  = left();
+        if (isFlat(left)) {
+            return (String) left;
         }
-        return left;
+        final String flat = flatten(left, right, flattenNested);
+        LEFT.setRelease(this, flat);
+        RIGHT.setRelease(this, "");
+        return flat;
     }
 
-    private synchronized void flatten(final boolean flattenNested) {
+    private String flatten(final CharSequence left, final CharSequence right, final boolean flattenNested) {
         // We use iterative traversal as recursion may exceed the stack size limit.
         final char[] chars = new char[length];
         int pos = length;
@@ -115,13 +290,17 @@ public final class ConsString implements CharSequence {
         do {
             if (cs instanceof ConsString) {
                 final ConsString cons = (ConsString) cs;
+                final CharSequence consRight = cons.right();
+                final CharSequence consLeft  = cons.left();
                 // Count the times a cons-string is traversed as part of other cons-strings being flattened.
                 // If it crosses a threshold we flatten the nested cons-string internally.
-                if (cons.state == STATE_FLATTENED || (flattenNested && ++cons.state >= STATE_THRESHOLD)) {
+                if (cons.isFlat(consLeft)) {
+                    cs = consLeft;
+                } else if (flattenNested && ++cons.state >= STATE_THRESHOLD) {
                     cs = cons.flattened(false);
                 } else {
-                    stack.addFirst(cons.left);
-                    cs = cons.right;
+                    stack.addFirst(consLeft);
+                    cs = consRight;
                 }
             } else {
                 final String str = (String) cs;
@@ -131,9 +310,52 @@ public final class ConsString implements CharSequence {
             }
         } while (cs != null);
 
-        left = new String(chars);
-        right = "";
-        state = STATE_FLATTENED;
+        return new String(chars);
     }
 
+    /**
+     * Iterates over the flat parts of a char sequence from left to right. Nested
+     * ConsStrings that have been flattened are returned as their flat string.
+     */
+    private static final class SegmentIterator implements Iterator<String> {
+        private final Deque<CharSequence> stack = new ArrayDeque<>();
+        private String next;
+
+        SegmentIterator(final CharSequence cs) {
+            advance(cs);
+        }
+
+        private void advance(final CharSequence start) {
+            CharSequence cs = start;
+            while (cs instanceof ConsString) {
+                final ConsString cons  = (ConsString) cs;
+                final CharSequence right = cons.right();
+                final CharSequence left  = cons.left();
+                if (!cons.isFlat(left)) {
+                    stack.addFirst(right);
+                }
+                cs = left;
+            }
+            next = (String) cs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            final String result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            if (stack.isEmpty()) {
+                next = null;
+            } else {
+                advance(stack.pollFirst());
+            }
+            return result;
+        }
+    }
 }
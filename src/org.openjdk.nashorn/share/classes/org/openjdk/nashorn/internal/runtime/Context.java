@@ -91,6 +91,7 @@ import org.openjdk.nashorn.internal.lookup.MethodHandleFactory;
 import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.parser.Parser;
 import org.openjdk.nashorn.internal.runtime.events.RuntimeEvent;
+import org.openjdk.nashorn.internal.runtime.events.RuntimeEventDispatcher;
 import org.openjdk.nashorn.internal.runtime.linker.Bootstrap;
 import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
 import org.openjdk.nashorn.internal.runtime.logging.Loggable;
@@ -245,7 +246,11 @@ public final class Context {
             usageCount++;
             bytesDefined += bytecode.length;
             NAMED_INSTALLED_SCRIPT_COUNT.increment();
-            return loader.installClass(Compiler.binaryName(className), bytecode);
+            final Class<?> clazz = loader.installClass(Compiler.binaryName(className), bytecode);
+            if (RuntimeEventDispatcher.isEnabled()) {
+                RuntimeEventDispatcher.classInstalled(clazz.getName(), bytecode.length);
+            }
+            return clazz;
         }
 
         @Override
@@ -296,13 +301,18 @@ public final class Context {
         @Override
         public Class<?> install(final String className, final byte[] bytecode) {
             ANONYMOUS_INSTALLED_SCRIPT_COUNT.increment();
+            final Class<?> clazz;
             try {
-                return (Class<?>)DEFINE_ANONYMOUS_CLASS.invokeExact(hostClass, bytecode, (Object[])null);
+                clazz = (Class<?>)DEFINE_ANONYMOUS_CLASS.invokeExact(hostClass, bytecode, (Object[])null);
             } catch (RuntimeException | Error e) {
                 throw e;
             } catch (Throwable e) {
                 throw new RuntimeException(e);
             }
+            if (RuntimeEventDispatcher.isEnabled()) {
+                RuntimeEventDispatcher.classInstalled(clazz.getName(), bytecode.length);
+            }
+            return clazz;
         }
 
         @Override
@@ -342,6 +352,9 @@ public final class Context {
     // is created, and invalidated forever once the second global is created.
     private final AtomicReference<GlobalConstants> globalConstantsRef = new AtomicReference<>();
 
+    // Lookup cache for megamorphic property getters.
+    private final MegamorphicCache megamorphicCache = new MegamorphicCache();
+
     // Are java.sql, java.sql.rowset modules found in the system?
     static final boolean javaSqlFound, javaSqlRowsetFound;
 
@@ -575,7 +588,7 @@ public final class Context {
             classCache = new ClassCache(this, cacheSize);
         }
 
-        if (env._persistent_cache) {
+        if (env.useCodeStore()) {
             codeStore = newCodeStore(this);
         }
 
@@ -617,6 +630,14 @@ public final class Context {
         return globalConstantsRef.get();
     }
 
+    /**
+     * Returns the lookup cache for megamorphic property getters of this context.
+     * @return the megamorphic lookup cache
+     */
+    MegamorphicCache getMegamorphicCache() {
+        return megamorphicCache;
+    }
+
     /**
      * Get the error manager for this context
      * @return error manger
@@ -1076,6 +1097,25 @@ public final class Context {
         return new Global(this);
     }
 
+    /**
+     * Create a new global scope object by copying an initialized template global
+     * of this context. This is much cheaper than creating and initializing a new
+     * global, and preserves any state scripts have added to the template.
+     *
+     * @param template the initialized template global
+     * @param engine the associated ScriptEngine instance, must be null if and only if
+     *        the template has no associated ScriptEngine
+     * @return the new global scope object
+     * @see Global#copyGlobal(ScriptEngine)
+     */
+    public Global copyGlobal(final Global template, final ScriptEngine engine) {
+        if (!template.isOfContext(this)) {
+            throw new IllegalArgumentException("global is not of this context");
+        }
+        createOrInvalidateGlobalConstants();
+        return template.copyGlobal(engine);
+    }
+
     private void createOrInvalidateGlobalConstants() {
         for (;;) {
             final GlobalConstants currentGlobalConstants = getGlobalConstants();
@@ -1301,7 +1341,7 @@ public final class Context {
         // This would store a full script compilation with many wrong optimistic assumptions that would
         // do more harm than good on later runs with both optimistic types and lazy compilation enabled.
         final boolean useCodeStore = codeStore != null && !env._parse_only && (!env._optimistic_types || env._lazy_compilation);
-        final String cacheKey = useCodeStore ? CodeStore.getCacheKey("script", null) : null;
+        final String cacheKey = useCodeStore ? CodeStore.getCacheKey(CodeStore.SCRIPT_KEY, null) : null;
 
         if (useCodeStore) {
             storedScript = codeStore.load(source, cacheKey);
@@ -1332,8 +1372,8 @@ public final class Context {
         }
 
         final CodeInstaller installer;
-        if (env._persistent_cache || !env._lazy_compilation || !env.useAnonymousClasses(source.getLength(), () -> AnonymousContextCodeInstaller.initFailure) ) {
-            // Persistent code cache, eager compilation, or inability to use Unsafe.defineAnonymousClass (typically, JDK 17+)
+        if (env.useCodeStore() || !env._lazy_compilation || !env.useAnonymousClasses(source.getLength(), () -> AnonymousContextCodeInstaller.initFailure) ) {
+            // Persistent or shared code cache, eager compilation, or inability to use Unsafe.defineAnonymousClass (typically, JDK 17+)
             // preclude use of VM anonymous classes
             final ScriptLoader loader = env._loader_per_compile ? createNewLoader() : scriptLoader;
             installer = new NamedContextCodeInstaller(this, loader);
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import static org.openjdk.nashorn.internal.runtime.PropertyHashMap.EMPTY_HASHMAP;
+
+/**
+ * Property map of an object in dictionary mode. Objects that are used as hash maps, with
+ * many properties added and deleted, switch to dictionary mode so that they stop deriving
+ * new immutable {@link PropertyHashMap}s and history entries for every change. Instead
+ * the properties live in a mutable {@link PropertyDictionary} owned by the object.
+ * <p>
+ * Every change still results in a new instance of this class sharing the same dictionary,
+ * so map identity changes just like it does for ordinary maps and existing map guards stay
+ * valid. These instances are cheap, and call sites do not link map guarded invocations for
+ * objects in dictionary mode, see {@link ScriptObject#findGetMethod}. Only the current map
+ * of the object may be used to query or update properties.
+ * <p>
+ * Sealing, freezing, or preventing extensions of an object in dictionary mode turns its map
+ * back into an ordinary map.
+ */
+final class DictionaryPropertyMap extends PropertyMap {
+    /** Properties of the owning object, shared by all versions of the map. */
+    private final PropertyDictionary dictionary;
+
+    private static final long serialVersionUID = -1846251567436584530L;
+
+    /**
+     * Constructor.
+     *
+     * @param map        the previous map of the object
+     * @param dictionary the properties of the object
+     * @param flags      map status flags
+     */
+    DictionaryPropertyMap(final PropertyMap map, final PropertyDictionary dictionary, final int flags) {
+        super(map, EMPTY_HASHMAP, flags, 0, 0, 0);
+        this.dictionary = dictionary;
+        // the object no longer shares its map with other objects of the same prototype
+        setSharedProtoMap(null);
+    }
+
+    private PropertyMap derive(final int flags) {
+        return new DictionaryPropertyMap(this, dictionary, flags);
+    }
+
+    private Object writeReplace() {
+        return toPlainMap();
+    }
+
+    @Override
+    PropertyMap toPlainMap() {
+        return derivePlainMap(dictionary.getProperties(), dictionary.getFreeSlots(), dictionary.getFieldCount(), dictionary.getSpillLength());
+    }
+
+    @Override
+    public int size() {
+        return dictionary.size();
+    }
+
+    @Override
+    public Property findProperty(final Object key) {
+        return dictionary.find(key);
+    }
+
+    @Override
+    public Property[] getProperties() {
+        return dictionary.getProperties();
+    }
+
+    @Override
+    PropertyMap addPropertyInternal(final Property property) {
+        dictionary.put(property);
+        dictionary.useSlot(property);
+        return derive(newFlags(property));
+    }
+
+    @Override
+    PropertyMap deletePropertyInternal(final Property property) {
+        if (!dictionary.remove(property.getKey())) {
+            return null;
+        }
+        dictionary.freeSlot(property);
+        return derive(getFlags());
+    }
+
+    @Override
+    PropertyMap replacePropertyInternal(final Property oldProperty, final Property newProperty) {
+        dictionary.put(newProperty);
+        if (oldProperty.getClass() != newProperty.getClass()) {
+            // see PropertyMap.replacePropertyInternal, a UserAccessorProperty replacing a placeholder
+            dictionary.freeSlot(oldProperty);
+            dictionary.useSlot(newProperty);
+        }
+        return derive(getFlags());
+    }
+
+    @Override
+    PropertyMap copyForClone() {
+        return new DictionaryPropertyMap(this, dictionary.copy(), getFlags());
+    }
+
+    @Override
+    PropertyMap preventExtensions() {
+        return toPlainMap().preventExtensions();
+    }
+
+    @Override
+    PropertyMap seal() {
+        return toPlainMap().seal();
+    }
+
+    @Override
+    PropertyMap freeze() {
+        return toPlainMap().freeze();
+    }
+
+    @Override
+    public synchronized PropertyMap changeProto(final ScriptObject newProto) {
+        return derive(getFlags());
+    }
+
+    @Override
+    PropertyMap makeUnsharedCopy() {
+        return derive(getFlags());
+    }
+
+    @Override
+    int getFreeFieldSlot() {
+        return dictionary.getFreeFieldSlot();
+    }
+
+    @Override
+    int getFreeSpillSlot() {
+        return dictionary.getFreeSpillSlot();
+    }
+}
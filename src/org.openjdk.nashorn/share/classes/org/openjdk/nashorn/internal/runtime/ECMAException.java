@@ -70,6 +70,12 @@ public final class ECMAException extends NashornException {
         setExceptionToThrown();
     }
 
+    private ECMAException(final ECMAException original, final Object thrown) {
+        super(original.getMessage(), original.getCause(), original.getFileName(), original.getLineNumber(), original.getColumnNumber());
+        this.thrown = thrown;
+        setStackTrace(original.getStackTrace());
+    }
+
     /**
      * Constructor. This is called from the runtime code.
      *
@@ -113,6 +119,19 @@ public final class ECMAException extends NashornException {
         return new ECMAException(thrown, fileName, line, column);
     }
 
+    /**
+     * Create a copy of this exception for a copy of the thrown object, keeping the message, script
+     * location and stack trace. This is used when copying a global. Unlike the constructors, it does
+     * not store the new exception in the thrown object; the copier does that when it copies the
+     * object's reference to this exception.
+     *
+     * @param copiedThrown the copy of the thrown object
+     * @return the copy of this exception
+     */
+    public ECMAException copyFor(final Object copiedThrown) {
+        return new ECMAException(this, copiedThrown);
+    }
+
     /**
      * Get the thrown object
      * @return thrown object
@@ -93,6 +93,21 @@ public class ErrorManager {
      * @return formatted string
      */
     public static String format(final String message, final Source source, final int line, final int column, final long token) {
+        return format(message, source, line, column, token, column);
+    }
+
+    /**
+     * Format an error message to include source and line information, where
+     * the source is a fragment of the text the line and column refer to.
+     * @param message     Error message string.
+     * @param source      Source fragment.
+     * @param line        Line number in the whole text.
+     * @param column      Column number in the whole text.
+     * @param token       Offending token descriptor, relative to the fragment.
+     * @param caretColumn Column of the offending token in its line of the fragment.
+     * @return formatted string
+     */
+    public static String format(final String message, final Source source, final int line, final int column, final long token, final int caretColumn) {
         final String        eoln     = System.lineSeparator();
         final int           position = Token.descPosition(token);
         final StringBuilder sb       = new StringBuilder();
@@ -112,7 +127,7 @@ public class ErrorManager {
         sb.append(sourceLine).append(eoln);
 
         // Pointer to column.
-        for (int i = 0; i < column; i++) {
+        for (int i = 0; i < caretColumn; i++) {
             if (i < sourceLine.length() && sourceLine.charAt(i) == '\t') {
                 sb.append('\t');
             } else {
@@ -25,6 +25,8 @@
 
 package org.openjdk.nashorn.internal.runtime;
 
+import java.util.function.UnaryOperator;
+
 /**
  * This is the base class for function scopes.  Subclasses of this class are
  * produced by the ObjectClassGenerator along with additional fields for storing
@@ -39,7 +41,7 @@ package org.openjdk.nashorn.internal.runtime;
 public class FunctionScope extends Scope {
 
     /** Area to store scope arguments. (public for access from scripts.) */
-    public final ScriptObject arguments;
+    public ScriptObject arguments;
 
     /**
      * Constructor
@@ -75,4 +77,10 @@ public class FunctionScope extends Scope {
         super(map, primitiveSpill, objectSpill);
         this.arguments = null;
     }
+
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        arguments = (ScriptObject)copier.apply(arguments);
+    }
 }
@@ -25,7 +25,12 @@
 
 package org.openjdk.nashorn.internal.runtime;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.parser.JSONParser;
 import org.openjdk.nashorn.internal.runtime.arrays.ArrayIndex;
@@ -50,22 +55,31 @@ public final class JSONFunctions {
      * @param str String to be quoted
      * @return JSON-compatible quoted string
      */
-    public static String quote(final String str) {
+    public static String quote(final CharSequence str) {
         return JSONParser.quote(str);
     }
 
     /**
      * Parses the given JSON text string and returns object representation.
      *
+     * <p>If text is a {@link Reader}, an {@link InputStream} or a {@link ByteBuffer},
+     * the JSON text is read from it as it is parsed instead of being converted to a
+     * string first. Streams and buffers are decoded as UTF-8. Readers and streams
+     * are read up to the end of the text, but not closed, and the position of a
+     * buffer is left unchanged. I/O errors are not turned into script errors, they
+     * are thrown as {@link java.io.UncheckedIOException}s, as Java exceptions
+     * are thrown from other Java calls.</p>
+     *
      * @param text JSON text to be parsed
      * @param reviver  optional value: function that takes two parameters (key, value)
      * @return Object representation of JSON text given
      */
     public static Object parse(final Object text, final Object reviver) {
-        final String     str    = JSType.toString(text);
         final Global     global = Context.getGlobal();
         final boolean    dualFields = ((ScriptObject) global).useDualFields();
-        final JSONParser parser = new JSONParser(str, global, dualFields);
+        final Reader     reader = toReader(text);
+        final JSONParser parser = reader != null ?
+                new JSONParser(reader, global, dualFields) : new JSONParser(JSType.toString(text), global, dualFields);
         final Object     value;
 
         try {
@@ -81,6 +95,41 @@ public final class JSONFunctions {
 
     // parse helpers
 
+    // Java sources of JSON text that are read incrementally rather than converted to a string
+    private static Reader toReader(final Object text) {
+        if (text instanceof Reader) {
+            return (Reader)text;
+        } else if (text instanceof InputStream) {
+            return new InputStreamReader((InputStream)text, StandardCharsets.UTF_8);
+        } else if (text instanceof ByteBuffer) {
+            return new InputStreamReader(new ByteBufferInputStream(((ByteBuffer)text).duplicate()), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (!buffer.hasRemaining()) {
+                return len == 0 ? 0 : -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+    }
+
     // apply 'reviver' function if available
     private static Object applyReviver(final Global global, final Object unfiltered, final Object reviver) {
         if (Bootstrap.isCallable(reviver)) {
@@ -0,0 +1,638 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * A persistent code store keeping all scripts of a cache directory in a single append-only file,
+ * which is read through a memory mapping. An index of the file is kept in memory; it is written to
+ * the file from time to time, so opening the store only needs to read the last index and the records
+ * appended after it. Records are never updated in place, a record stored again under the same key
+ * supersedes the old one. The file is compacted when it is opened and superseded records take up more
+ * space than live ones.
+ *
+ * If the size of the file is bounded, the least recently loaded records are evicted and the file is
+ * compacted when it grows beyond the bound.
+ *
+ * Scripts are encoded directly rather than through Java serialization, see
+ * {@link StoredScript#encode(String, boolean)}.
+ *
+ * Records carry a checksum and the file is locked while it is written, so the store can be shared by
+ * several processes. Within a process, stores of the same cache directory share the open file, which
+ * is closed when the last of them has been garbage collected.
+ */
+public final class MappedCodeStore extends CodeStore {
+
+    /** Name of this store for the {@code --code-store} option */
+    public static final String NAME = "mapped";
+
+    /** Name of the store file in the cache directory */
+    public static final String FILE_NAME = "scripts.nsc";
+
+    // Open store files, by path and read only flag
+    private static final Map<List<Object>, StoreFile> FILES = new HashMap<>();
+
+    // Closes store files that are no longer used by any store
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final StoreFile file;
+    private final boolean readOnly;
+    private final int minSize;
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     * @throws IOException if there are read/write problems with the cache and cache directory
+     */
+    public MappedCodeStore(final Context context) throws IOException {
+        this(context, DirectoryCodeStore.getCachePath(), false, DEFAULT_MIN_SIZE, DirectoryCodeStore.getMaxBytes());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     * @param path    directory to store code in
+     * @param readOnly is this a read only code store
+     * @param minSize minimum file size for caching scripts
+     * @param maxBytes maximum total size of cached scripts, or 0 for no limit. Stores sharing a file use
+     *                 the limit of the first one.
+     * @throws IOException if there are read/write problems with the cache and cache directory
+     */
+    public MappedCodeStore(final Context context, final String path, final boolean readOnly, final int minSize, final long maxBytes) throws IOException {
+        final File dir = DirectoryCodeStore.checkDirectory(path, context.getEnv(), readOnly);
+        final StoreFile storeFile = getStoreFile(new File(dir, FILE_NAME).toPath(), readOnly, maxBytes);
+        this.file = storeFile;
+        this.readOnly = readOnly;
+        this.minSize = minSize;
+        CLEANER.register(this, () -> releaseStoreFile(storeFile));
+    }
+
+    private static StoreFile getStoreFile(final Path path, final boolean readOnly, final long maxBytes) throws IOException {
+        final List<Object> key = Arrays.asList(path, readOnly);
+        synchronized (FILES) {
+            StoreFile file = FILES.get(key);
+            if (file == null) {
+                file = new StoreFile(path, readOnly, maxBytes);
+                FILES.put(key, file);
+            }
+            file.users++;
+            return file;
+        }
+    }
+
+    private static void releaseStoreFile(final StoreFile file) {
+        synchronized (FILES) {
+            if (--file.users > 0) {
+                return;
+            }
+            FILES.remove(Arrays.asList(file.path, file.readOnly));
+        }
+        file.close();
+    }
+
+    @Override
+    public StoredScript load(final Source source, final String functionKey) {
+        if (belowThreshold(source, minSize)) {
+            return null;
+        }
+
+        final String key = getKey(source, functionKey);
+        try {
+            final byte[] record = file.read(key);
+            if (record == null) {
+                recordMiss(source, functionKey);
+                return null;
+            }
+            final StoredScript script = StoredScript.decode(key, record);
+            recordHit(source, functionKey, record.length);
+            return script;
+        } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+            getLogger().warning("failed to load ", source, "-", functionKey, ": ", e);
+            return null;
+        }
+    }
+
+    @Override
+    public StoredScript store(final String functionKey, final Source source, final StoredScript script) {
+        if (readOnly || script == null || belowThreshold(source, minSize)) {
+            return null;
+        }
+
+        final String key = getKey(source, functionKey);
+        try {
+            final byte[] record = script.encode(key, !SCRIPT_KEY.equals(functionKey));
+            file.append(key, record, this);
+            recordStore(source, functionKey, record.length);
+            return script;
+        } catch (final IOException | OverlappingFileLockException e) {
+            getLogger().warning("failed to store ", script, "-", functionKey, ": ", e);
+            return null;
+        }
+    }
+
+    private static String getKey(final Source source, final String functionKey) {
+        return source.getDigest() + '-' + functionKey;
+    }
+
+    /**
+     * The store file. It starts with a header holding the position of the last index written, followed
+     * by entries made of a tag, a body length, a checksum of the body, and the body. Entries are either
+     * records, whose body starts with the record key, or indexes, listing key, position, length and time
+     * of last load of all live records before them.
+     */
+    private static final class StoreFile {
+        private static final int MAGIC          = 0x4E534353; // "NSCS"
+        private static final int FORMAT_VERSION = 1;
+        private static final int HEADER_SIZE    = 24;
+        private static final int ENTRY_HEADER_SIZE = 12;
+
+        private static final int RECORD = 1;
+        private static final int INDEX  = 2;
+
+        // minimum number of records appended after the last index before a new index is written
+        private static final int MIN_INDEX_INTERVAL = 32;
+
+        // minimum size of superseded records and indexes for compaction
+        private static final long MIN_COMPACTION_GARBAGE = 1024 * 1024;
+
+        // default size of the segments the file is mapped in
+        private static final long DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+        private final Path path;
+        private final boolean readOnly;
+        private final long maxBytes;
+        private final int segmentSize;
+
+        // number of stores using this file, guarded by FILES
+        private int users;
+
+        private FileChannel channel;
+        private Object fileKey;
+
+        // The file is mapped in segments of a fixed size, so that only the last segment is mapped
+        // again when the file grows. Segments that have not been read yet are null.
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+
+        private final Map<String, Entry> index = new HashMap<>();
+        private long end;
+        private long liveBytes;
+        private long indexBytes;
+        private int unindexed;
+
+        StoreFile(final Path path, final boolean readOnly, final long maxBytes) throws IOException {
+            this.path = path;
+            this.readOnly = readOnly;
+            this.maxBytes = maxBytes;
+            this.segmentSize = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                    Options.getSizeProperty("nashorn.persistent.code.cache.segment", DEFAULT_SEGMENT_SIZE)));
+            open();
+        }
+
+        synchronized void close() {
+            segments.clear();
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                // nothing is written without holding the lock, so there is nothing to lose
+            }
+        }
+
+        synchronized byte[] read(final String key) throws IOException {
+            Entry entry = index.get(key);
+            if (entry == null) {
+                // pick up records appended by other processes
+                if (channel.size() <= end) {
+                    return null;
+                }
+                if (readOnly) {
+                    scan(end, channel.size());
+                } else {
+                    lock().release();
+                }
+                entry = index.get(key);
+                if (entry == null) {
+                    return null;
+                }
+            }
+
+            final ByteBuffer header = ByteBuffer.wrap(readBytes(entry.offset, ENTRY_HEADER_SIZE));
+            final int tag = header.getInt();
+            final int length = header.getInt();
+            final int checksum = header.getInt();
+            final byte[] body = tag == RECORD && length == entry.length - ENTRY_HEADER_SIZE ?
+                    readBytes(entry.offset + ENTRY_HEADER_SIZE, length) : null;
+            if (body == null || checksum(body) != checksum) {
+                index.remove(key);
+                liveBytes -= entry.length;
+                throw new IOException("Corrupt record in " + path);
+            }
+            entry.lastLoaded = System.currentTimeMillis();
+            return body;
+        }
+
+        synchronized void append(final String key, final byte[] body, final CodeStore store) throws IOException {
+            final FileLock lock = lock();
+            try {
+                if (end + ENTRY_HEADER_SIZE + body.length > Integer.MAX_VALUE) {
+                    throw new IOException("Store file full: " + path);
+                }
+                final long offset = end;
+                final int length = writeEntry(RECORD, body, offset);
+                final Entry old = index.put(key, new Entry(offset, length, System.currentTimeMillis()));
+                liveBytes += length - (old == null ? 0 : old.length);
+                if (maxBytes > 0 && end > maxBytes) {
+                    evict(store);
+                } else if (++unindexed >= MIN_INDEX_INTERVAL + index.size() / 4) {
+                    writeIndex();
+                }
+            } finally {
+                // compaction closes the channel, releasing the lock
+                if (lock.isValid()) {
+                    lock.release();
+                }
+            }
+        }
+
+        /**
+         * Removes the least recently loaded records from the index until live records are a quarter below
+         * the size limit, and compacts the file.
+         */
+        private void evict(final CodeStore store) throws IOException {
+            final List<Map.Entry<String, Entry>> entries = new ArrayList<>(index.entrySet());
+            entries.sort((e1, e2) -> Long.compare(e1.getValue().lastLoaded, e2.getValue().lastLoaded));
+            final long target = maxBytes / 4 * 3;
+            int count = 0;
+            long evicted = 0;
+            for (final Map.Entry<String, Entry> entry : entries) {
+                if (liveBytes <= target) {
+                    break;
+                }
+                index.remove(entry.getKey());
+                liveBytes -= entry.getValue().length;
+                evicted += entry.getValue().length;
+                count++;
+            }
+            if (count > 0) {
+                store.recordEviction(count, evicted);
+            }
+            compact();
+        }
+
+        private void open() throws IOException {
+            if (readOnly) {
+                channel = FileChannel.open(path, StandardOpenOption.READ);
+                load();
+                return;
+            }
+
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+            final FileLock lock = channel.lock();
+            try {
+                load();
+                final long garbage = end - HEADER_SIZE - liveBytes - indexBytes;
+                if (garbage > MIN_COMPACTION_GARBAGE && garbage > liveBytes) {
+                    try {
+                        compact();
+                    } catch (final IOException e) {
+                        // keep using the file as it is
+                        Files.deleteIfExists(getCompactionPath());
+                    }
+                }
+            } finally {
+                // compaction closes the channel, releasing the lock
+                if (lock.isValid()) {
+                    lock.release();
+                }
+            }
+        }
+
+        /**
+         * Acquires the file lock, reopens the file if it has been replaced by compaction in another
+         * process, and reads the records appended since the file was last read.
+         */
+        private FileLock lock() throws IOException {
+            FileLock lock = channel.lock();
+            while (isReplaced()) {
+                lock.release();
+                channel.close();
+                open();
+                lock = channel.lock();
+            }
+            final long size = channel.size();
+            if (size > end) {
+                scan(end, size);
+            }
+            return lock;
+        }
+
+        private boolean isReplaced() throws IOException {
+            try {
+                return fileKey != null && !fileKey.equals(Files.readAttributes(path, BasicFileAttributes.class).fileKey());
+            } catch (final NoSuchFileException e) {
+                return true;
+            }
+        }
+
+        private void load() throws IOException {
+            fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+            segments.clear();
+            index.clear();
+            liveBytes = 0;
+            indexBytes = 0;
+            unindexed = 0;
+
+            final long size = channel.size();
+            if (size < HEADER_SIZE) {
+                if (readOnly) {
+                    throw new IOException("Not a store file: " + path);
+                }
+                writeHeader();
+                return;
+            }
+
+            final ByteBuffer buf = ByteBuffer.wrap(readBytes(0, HEADER_SIZE));
+            if (buf.getInt(0) != MAGIC || buf.getInt(4) != FORMAT_VERSION) {
+                if (readOnly) {
+                    throw new IOException("Not a store file: " + path);
+                }
+                // written by an incompatible version, start over
+                channel.truncate(0);
+                writeHeader();
+                return;
+            }
+
+            final long indexOffset = buf.getLong(8);
+            final long scanFrom = buf.getLong(16);
+            if (indexOffset > 0 && readIndex(indexOffset, scanFrom, size)) {
+                scan(scanFrom, size);
+            } else {
+                index.clear();
+                liveBytes = 0;
+                scan(HEADER_SIZE, size);
+            }
+        }
+
+        private void writeHeader() throws IOException {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(0).putLong(HEADER_SIZE).flip();
+            write(header, 0);
+            end = HEADER_SIZE;
+        }
+
+        private boolean readIndex(final long offset, final long limit, final long size) throws IOException {
+            if (limit > size || offset + ENTRY_HEADER_SIZE > limit) {
+                return false;
+            }
+            final ByteBuffer header = ByteBuffer.wrap(readBytes(offset, ENTRY_HEADER_SIZE));
+            final int tag = header.getInt();
+            final int length = header.getInt();
+            final int checksum = header.getInt();
+            if (tag != INDEX || offset + ENTRY_HEADER_SIZE + length != limit) {
+                return false;
+            }
+            final byte[] body = readBytes(offset + ENTRY_HEADER_SIZE, length);
+            if (checksum(body) != checksum) {
+                return false;
+            }
+
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final String key = in.readUTF();
+                final Entry entry = new Entry(in.readLong(), in.readInt(), in.readLong());
+                if (entry.offset < HEADER_SIZE || entry.offset + entry.length > offset) {
+                    return false;
+                }
+                index.put(key, entry);
+                liveBytes += entry.length;
+            }
+            indexBytes = ENTRY_HEADER_SIZE + length;
+            return true;
+        }
+
+        /**
+         * Adds the records between {@code from} and {@code to} to the index. Scanning stops at the first
+         * incomplete or corrupt entry, which is left by a process that did not finish writing and is
+         * overwritten by the next append.
+         */
+        private void scan(final long from, final long to) throws IOException {
+            final long now = System.currentTimeMillis();
+            long pos = from;
+            while (pos + ENTRY_HEADER_SIZE <= to) {
+                final ByteBuffer header = ByteBuffer.wrap(readBytes(pos, ENTRY_HEADER_SIZE));
+                final int tag = header.getInt();
+                final int length = header.getInt();
+                final int checksum = header.getInt();
+                if ((tag != RECORD && tag != INDEX) || length < 0 || pos + ENTRY_HEADER_SIZE + length > to) {
+                    break;
+                }
+                final byte[] body = readBytes(pos + ENTRY_HEADER_SIZE, length);
+                if (checksum(body) != checksum) {
+                    break;
+                }
+                if (tag == RECORD) {
+                    final String key = new DataInputStream(new ByteArrayInputStream(body)).readUTF();
+                    final Entry old = index.put(key, new Entry(pos, ENTRY_HEADER_SIZE + length, now));
+                    liveBytes += ENTRY_HEADER_SIZE + length - (old == null ? 0 : old.length);
+                    unindexed++;
+                }
+                pos += ENTRY_HEADER_SIZE + length;
+            }
+            end = pos;
+        }
+
+        private void writeIndex() throws IOException {
+            final long offset = end;
+            indexBytes = writeEntry(INDEX, encodeIndex(index), offset);
+            final ByteBuffer header = ByteBuffer.allocate(16);
+            header.putLong(offset).putLong(end).flip();
+            write(header, 8);
+            unindexed = 0;
+        }
+
+        private static byte[] encodeIndex(final Map<String, Entry> entries) throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(entries.size());
+            for (final Map.Entry<String, Entry> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().offset);
+                out.writeInt(entry.getValue().length);
+                out.writeLong(entry.getValue().lastLoaded);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        /**
+         * Writes the live records to a new file that replaces this one. Other processes that have the
+         * old file open notice the replacement the next time they lock it.
+         */
+        private void compact() throws IOException {
+            final Path tmp = getCompactionPath();
+            final List<Map.Entry<String, Entry>> entries = new ArrayList<>(index.entrySet());
+            entries.sort((e1, e2) -> Long.compare(e1.getValue().offset, e2.getValue().offset));
+
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final Map<String, Entry> compacted = new HashMap<>();
+                long pos = HEADER_SIZE;
+                for (final Map.Entry<String, Entry> entry : entries) {
+                    final Entry old = entry.getValue();
+                    writeFully(out, ByteBuffer.wrap(readBytes(old.offset, old.length)), pos);
+                    compacted.put(entry.getKey(), new Entry(pos, old.length, old.lastLoaded));
+                    pos += old.length;
+                }
+
+                final ByteBuffer indexEntry = newEntry(INDEX, encodeIndex(compacted));
+                final long indexEnd = pos + indexEntry.limit();
+                writeFully(out, indexEntry, pos);
+                final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(pos).putLong(indexEnd).flip();
+                writeFully(out, header, 0);
+            }
+
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel.close();
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        }
+
+        private Path getCompactionPath() {
+            return path.resolveSibling(path.getFileName() + ".tmp");
+        }
+
+        private int writeEntry(final int tag, final byte[] body, final long offset) throws IOException {
+            final ByteBuffer buf = newEntry(tag, body);
+            write(buf, offset);
+            end = offset + buf.limit();
+            return buf.limit();
+        }
+
+        private static ByteBuffer newEntry(final int tag, final byte[] body) {
+            final ByteBuffer buf = ByteBuffer.allocate(ENTRY_HEADER_SIZE + body.length);
+            buf.putInt(tag).putInt(body.length).putInt(checksum(body)).put(body).flip();
+            return buf;
+        }
+
+        private void write(final ByteBuffer buf, final long offset) throws IOException {
+            writeFully(channel, buf, offset);
+        }
+
+        private static void writeFully(final FileChannel out, final ByteBuffer buf, final long offset) throws IOException {
+            long pos = offset;
+            while (buf.hasRemaining()) {
+                pos += out.write(buf, pos);
+            }
+        }
+
+        /**
+         * Reads {@code length} bytes of the file starting at {@code pos}, which may span several segments.
+         */
+        private byte[] readBytes(final long pos, final int length) throws IOException {
+            final byte[] bytes = new byte[length];
+            int done = 0;
+            while (done < length) {
+                final long segmentIndex = (pos + done) / segmentSize;
+                final int offset = (int) ((pos + done) % segmentSize);
+                final int count = Math.min(length - done, segmentSize - offset);
+                if (segmentIndex > Integer.MAX_VALUE) {
+                    throw new IOException("Store file too large: " + path);
+                }
+                final ByteBuffer segment = segment((int) segmentIndex, offset + count).duplicate();
+                segment.position(offset);
+                segment.get(bytes, done, count);
+                done += count;
+            }
+            return bytes;
+        }
+
+        /**
+         * Returns the mapping of a segment, covering at least its first {@code limit} bytes. The last
+         * segment of the file is mapped again when the file has grown beyond its mapping.
+         */
+        private MappedByteBuffer segment(final int segmentIndex, final int limit) throws IOException {
+            while (segments.size() <= segmentIndex) {
+                segments.add(null);
+            }
+            MappedByteBuffer segment = segments.get(segmentIndex);
+            if (segment == null || segment.capacity() < limit) {
+                final long start = (long) segmentIndex * segmentSize;
+                final long size = Math.min(segmentSize, channel.size() - start);
+                if (size < limit) {
+                    throw new IOException("Unexpected end of store file: " + path);
+                }
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+                segments.set(segmentIndex, segment);
+            }
+            return segment;
+        }
+
+        private static int checksum(final byte[] body) {
+            final CRC32 crc = new CRC32();
+            crc.update(body, 0, body.length);
+            return (int) crc.getValue();
+        }
+    }
+
+    private static final class Entry {
+        final long offset;
+        final int length;
+        long lastLoaded;
+
+        Entry(final long offset, final int length, final long lastLoaded) {
+            this.offset = offset;
+            this.length = length;
+            this.lastLoaded = lastLoaded;
+        }
+    }
+}
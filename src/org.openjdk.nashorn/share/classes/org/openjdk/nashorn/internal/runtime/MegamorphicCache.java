@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * Lookup cache for megamorphic property getters. Call sites that have seen too many different
+ * property maps are linked to {@code ScriptObject.megamorphicGet}, which would otherwise have to
+ * walk the prototype chain for every access. This cache remembers where a property was found
+ * for a given receiver map and key, or that it was not found at all.
+ * <p>
+ * Each context owns one of these. Entries are keyed by receiver {@link PropertyMap} and property
+ * key, and record the maps of the prototypes up to and including the owner of the property.
+ * Since non-dictionary property maps are immutable, the cached property is valid as long as the
+ * receiver and all of these prototypes still have the same maps. The cache is a fixed size
+ * direct-mapped table: colliding entries simply replace each other. Entries are immutable, so
+ * the table can be read and written without synchronization.
+ */
+final class MegamorphicCache {
+    /** Marker returned by {@link #get(ScriptObject, String)} on a cache miss. */
+    static final Object MISS = new Object();
+
+    /** Marker returned by {@link #get(ScriptObject, String)} for properties known not to exist. */
+    static final Object NOT_FOUND = new Object();
+
+    private static final int SIZE = Integer.highestOneBit(Math.max(16, Options.getIntProperty("nashorn.megamorphic.cache.size", 4096)));
+
+    private static final PropertyMap[] NO_PROTO_MAPS = new PropertyMap[0];
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    private static final class Entry {
+        final PropertyMap map;
+        final String key;
+        // null if the property was not found
+        final Property property;
+        // maps of the prototypes from the receiver's prototype to the owner of the property,
+        // or to the end of the prototype chain if it was not found
+        final PropertyMap[] protoMaps;
+
+        Entry(final PropertyMap map, final String key, final Property property, final PropertyMap[] protoMaps) {
+            this.map = map;
+            this.key = key;
+            this.property = property;
+            this.protoMaps = protoMaps;
+        }
+    }
+
+    private static int index(final PropertyMap map, final String key) {
+        final int h = System.identityHashCode(map) * 31 + key.hashCode();
+        return (h ^ h >>> 16) & SIZE - 1;
+    }
+
+    /**
+     * Get the value of a property from the cache.
+     *
+     * @param self the receiver
+     * @param key  the property key
+     * @return the property value, {@link #NOT_FOUND} if the property is known not to exist,
+     *         or {@link #MISS} if the cache has no valid entry
+     */
+    Object get(final ScriptObject self, final String key) {
+        final PropertyMap map = self.getMap();
+        final Entry entry = entries[index(map, key)];
+        if (entry == null || entry.map != map || !entry.key.equals(key)) {
+            return MISS;
+        }
+        ScriptObject owner = self;
+        for (final PropertyMap protoMap : entry.protoMaps) {
+            owner = owner.getProto();
+            if (owner == null || owner.getMap() != protoMap) {
+                return MISS;
+            }
+        }
+        final Property property = entry.property;
+        if (property == null) {
+            return owner.getProto() == null ? NOT_FOUND : MISS;
+        }
+        return property.getObjectValue(property.isAccessorProperty() ? self : owner, owner);
+    }
+
+    /**
+     * Add the result of a full property lookup to the cache.
+     *
+     * @param self the receiver
+     * @param key  the property key
+     * @param find the result of looking up {@code key} in {@code self}, or null if it was not found
+     */
+    void put(final ScriptObject self, final String key, final FindProperty find) {
+        final PropertyMap map = self.getMap();
+        if (map.isDictionary()) {
+            return;
+        }
+        final ScriptObject owner = find != null ? find.getOwner() : null;
+        int depth = 0;
+        for (ScriptObject obj = self; obj != owner; obj = obj.getProto()) {
+            if (obj == null) {
+                return;
+            }
+            depth++;
+        }
+        if (find == null) {
+            // the last object in the chain is not a prototype
+            depth--;
+        }
+        PropertyMap[] protoMaps = NO_PROTO_MAPS;
+        if (depth > 0) {
+            protoMaps = new PropertyMap[depth];
+            ScriptObject obj = self;
+            for (int i = 0; i < depth; i++) {
+                obj = obj.getProto();
+                final PropertyMap protoMap = obj.getMap();
+                if (protoMap.isDictionary()) {
+                    return;
+                }
+                protoMaps[i] = protoMap;
+            }
+        }
+        entries[index(map, key)] = new Entry(map, key, find != null ? find.getProperty() : null, protoMaps);
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Mutable hash table of the properties of an object in dictionary mode. Unlike
+ * {@link PropertyHashMap} this table is owned by a single object and updated in place,
+ * so adding and removing properties does not copy any part of it.
+ * <p>
+ * Properties are kept in an array in insertion order, which is what property enumeration
+ * requires. Removed properties leave a hole in that array that is only reclaimed when the
+ * array is full. The hash index is an open addressing table with linear probing that
+ * stores positions in the property array.
+ * <p>
+ * The table also keeps track of the field and spill slots used by its object, so that slots
+ * of removed properties can be reused without deriving new free slot sets. As in
+ * {@link PropertyMap}, free slots are logical slot indices with spill slot 0 starting at the
+ * field maximum of the object's class.
+ */
+final class PropertyDictionary {
+    /** Minimum length of the index table. Power of 2. */
+    private static final int MIN_INDEX_LENGTH = 32;
+
+    /** Properties in insertion order, with null for removed properties. */
+    private Property[] entries;
+
+    /** Number of used entries, including removed ones. */
+    private int entryCount;
+
+    /** Number of properties. */
+    private int size;
+
+    /** Open addressing index of entry positions plus one, 0 means empty. */
+    private int[] index;
+
+    /** Free logical slots of the object. */
+    private final BitSet freeSlots;
+
+    /** Number of fields available. */
+    private final int fieldMaximum;
+
+    /** Number of fields in use. */
+    private int fieldCount;
+
+    /** Length of spill in use. */
+    private int spillLength;
+
+    /** All properties as an array (lazy). */
+    private Property[] properties;
+
+    /**
+     * Constructor.
+     *
+     * @param initialProperties the properties of the object in insertion order
+     * @param freeSlots         the free logical slots of the object, may be null
+     * @param fieldMaximum      number of fields available
+     * @param fieldCount        number of fields in use
+     * @param spillLength       number of spill slots used
+     */
+    PropertyDictionary(final Property[] initialProperties, final BitSet freeSlots, final int fieldMaximum, final int fieldCount, final int spillLength) {
+        this.entries      = Arrays.copyOf(initialProperties, Math.max(initialProperties.length * 2, MIN_INDEX_LENGTH / 2));
+        this.entryCount   = initialProperties.length;
+        this.size         = initialProperties.length;
+        this.freeSlots    = freeSlots == null ? new BitSet() : (BitSet)freeSlots.clone();
+        this.fieldMaximum = fieldMaximum;
+        this.fieldCount   = fieldCount;
+        this.spillLength  = spillLength;
+        rehash();
+    }
+
+    private PropertyDictionary(final PropertyDictionary dictionary) {
+        this.entries      = dictionary.entries.clone();
+        this.entryCount   = dictionary.entryCount;
+        this.size         = dictionary.size;
+        this.index        = dictionary.index.clone();
+        this.freeSlots    = (BitSet)dictionary.freeSlots.clone();
+        this.fieldMaximum = dictionary.fieldMaximum;
+        this.fieldCount   = dictionary.fieldCount;
+        this.spillLength  = dictionary.spillLength;
+        this.properties   = dictionary.properties;
+    }
+
+    /**
+     * Return a copy of this table for use by another object.
+     *
+     * @return the copy
+     */
+    PropertyDictionary copy() {
+        return new PropertyDictionary(this);
+    }
+
+    /**
+     * Return number of properties in the table.
+     *
+     * @return Number of properties.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Find a {@link Property} in the table.
+     *
+     * @param key Key of {@link Property} to find.
+     *
+     * @return {@link Property} matching key or {@code null} if not found.
+     */
+    Property find(final Object key) {
+        final int pos = findEntry(key);
+        return pos >= 0 ? entries[pos] : null;
+    }
+
+    /**
+     * Add a property, or replace the property with the same key in the same position.
+     *
+     * @param property the property
+     */
+    void put(final Property property) {
+        properties = null;
+        final Object key = property.getKey();
+        final int pos = findEntry(key);
+        if (pos >= 0) {
+            entries[pos] = property;
+            return;
+        }
+
+        if (entryCount == entries.length) {
+            if (size < entryCount >>> 1) {
+                compact();
+            } else {
+                entries = Arrays.copyOf(entries, entryCount * 2);
+            }
+        }
+        entries[entryCount++] = property;
+        size++;
+        if (entryCount > threeQuarters(index.length)) {
+            rehash();
+        } else {
+            insertIndex(key, entryCount);
+        }
+    }
+
+    /**
+     * Remove the property with the given key.
+     *
+     * @param key the property key
+     * @return true if the property was found
+     */
+    boolean remove(final Object key) {
+        final int pos = findEntry(key);
+        if (pos < 0) {
+            return false;
+        }
+        properties = null;
+        // keep the index slot so that probe sequences stay intact, it is skipped as entry is null
+        entries[pos] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Return an array of properties in chronological order of adding. The returned
+     * array is not affected by later changes to the table.
+     *
+     * @return Array of all properties.
+     */
+    Property[] getProperties() {
+        if (properties == null) {
+            final Property[] array = new Property[size];
+            int i = 0;
+            for (int pos = 0; pos < entryCount; pos++) {
+                if (entries[pos] != null) {
+                    array[i++] = entries[pos];
+                }
+            }
+            properties = array;
+        }
+        return properties;
+    }
+
+    /**
+     * Return the set of free logical slots.
+     *
+     * @return free slots
+     */
+    BitSet getFreeSlots() {
+        return freeSlots;
+    }
+
+    /**
+     * Return the number of fields in use.
+     *
+     * @return field count
+     */
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Return the number of spill slots used.
+     *
+     * @return spill length
+     */
+    int getSpillLength() {
+        return spillLength;
+    }
+
+    /**
+     * Return a free field slot, or {@code -1} if none is available.
+     *
+     * @return free field slot or -1
+     */
+    int getFreeFieldSlot() {
+        final int freeSlot = freeSlots.nextSetBit(0);
+        if (freeSlot > -1 && freeSlot < fieldMaximum) {
+            return freeSlot;
+        }
+        return fieldCount < fieldMaximum ? fieldCount : -1;
+    }
+
+    /**
+     * Return a free spill slot.
+     *
+     * @return free spill slot
+     */
+    int getFreeSpillSlot() {
+        final int freeSlot = freeSlots.nextSetBit(fieldMaximum);
+        return freeSlot > -1 ? freeSlot - fieldMaximum : spillLength;
+    }
+
+    /**
+     * Mark the slot of a property as used.
+     *
+     * @param property the added property
+     */
+    void useSlot(final Property property) {
+        final int slot = property.getSlot();
+        if (slot >= 0) {
+            if (property.isSpill()) {
+                freeSlots.clear(slot + fieldMaximum);
+                spillLength = Math.max(spillLength, slot + 1);
+            } else {
+                freeSlots.clear(slot);
+                fieldCount = Math.max(fieldCount, slot + 1);
+            }
+        }
+    }
+
+    /**
+     * Mark the slot of a property as free.
+     *
+     * @param property the removed property
+     */
+    void freeSlot(final Property property) {
+        final int slot = property.getSlot();
+        if (slot >= 0) {
+            freeSlots.set(property.isSpill() ? slot + fieldMaximum : slot);
+        }
+    }
+
+    private int findEntry(final Object key) {
+        final int mask = index.length - 1;
+        for (int i = hash(key) & mask; ; i = i + 1 & mask) {
+            final int pos = index[i] - 1;
+            if (pos < 0) {
+                return -1;
+            }
+            final Property property = entries[pos];
+            if (property != null && key.equals(property.getKey())) {
+                return pos;
+            }
+        }
+    }
+
+    private void insertIndex(final Object key, final int value) {
+        final int mask = index.length - 1;
+        int i = hash(key) & mask;
+        while (index[i] != 0) {
+            i = i + 1 & mask;
+        }
+        index[i] = value;
+    }
+
+    // Remove holes left by removed properties from the entries array
+    private void compact() {
+        int i = 0;
+        for (int pos = 0; pos < entryCount; pos++) {
+            if (entries[pos] != null) {
+                entries[i++] = entries[pos];
+            }
+        }
+        Arrays.fill(entries, i, entryCount, null);
+        entryCount = i;
+        rehash();
+    }
+
+    private void rehash() {
+        int length = MIN_INDEX_LENGTH;
+        while (threeQuarters(length) < Math.max(entryCount, size * 2)) {
+            length <<= 1;
+        }
+        index = new int[length];
+        for (int pos = 0; pos < entryCount; pos++) {
+            if (entries[pos] != null) {
+                insertIndex(entries[pos].getKey(), pos + 1);
+            }
+        }
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ h >>> 16;
+    }
+
+    private static int threeQuarters(final int n) {
+        return (n >>> 1) + (n >>> 2);
+    }
+}
@@ -45,6 +45,7 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.runtime.options.Options;
 import org.openjdk.nashorn.internal.scripts.JO;
 
@@ -65,6 +66,8 @@ public class PropertyMap implements Iterable<Object>, Serializable {
     private static final int NOT_EXTENSIBLE         = 0b0000_0001;
     /** Does this map contain valid array keys? */
     private static final int CONTAINS_ARRAY_KEYS    = 0b0000_0010;
+    /** Does this map contain properties bound to other objects? */
+    private static final int CONTAINS_BOUND_PROPERTIES = 0b0000_0100;
 
     /** Map status flags. */
     private final int flags;
@@ -137,7 +140,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      * @param propertyMap Existing property map.
      * @param properties  A {@link PropertyHashMap} with a new set of properties.
      */
-    private PropertyMap(final PropertyMap propertyMap, final PropertyHashMap properties, final int flags, final int fieldCount, final int spillLength, final int softReferenceDerivationLimit) {
+    PropertyMap(final PropertyMap propertyMap, final PropertyHashMap properties, final int flags, final int fieldCount, final int spillLength, final int softReferenceDerivationLimit) {
         this.properties   = properties;
         this.flags        = flags;
         this.spillLength  = spillLength;
@@ -167,7 +170,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
 
     private void writeObject(final ObjectOutputStream out) throws IOException {
         out.defaultWriteObject();
-        out.writeObject(properties.getProperties());
+        out.writeObject(getProperties());
     }
 
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
@@ -340,8 +343,9 @@ public class PropertyMap implements Iterable<Object>, Serializable {
         return !newProperty.isSpill() ? Math.max(fieldCount, newProperty.getSlot() + 1) : fieldCount;
     }
 
-    private int newFlags(final Property newProperty) {
-        return isValidArrayIndex(getArrayIndex(newProperty.getKey())) ? flags | CONTAINS_ARRAY_KEYS : flags;
+    int newFlags(final Property newProperty) {
+        final int newFlags = isValidArrayIndex(getArrayIndex(newProperty.getKey())) ? flags | CONTAINS_ARRAY_KEYS : flags;
+        return newProperty.isBound() ? newFlags | CONTAINS_BOUND_PROPERTIES : newFlags;
     }
 
     // Update the free slots bitmap for a property that has been deleted and/or added. This method is not synchronized
@@ -404,7 +408,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
         return new PropertyMap(this, newProperties, newFlags, newFieldCount, newSpillLength, softReferenceDerivationLimit == 0 ? 0 : softReferenceDerivationLimit - 1);
     }
 
-    private PropertyMap addPropertyInternal(final Property property) {
+    PropertyMap addPropertyInternal(final Property property) {
         final PropertyHashMap newProperties = properties.immutableAdd(property);
         final PropertyMap newMap = deriveMap(newProperties, newFlags(property), newFieldCount(property), newSpillLength(property));
         newMap.updateFreeSlots(null, property);
@@ -421,30 +425,42 @@ public class PropertyMap implements Iterable<Object>, Serializable {
     public final synchronized PropertyMap deleteProperty(final Property property) {
         propertyChanged(property);
         PropertyMap newMap = checkHistory(property);
-        final Object key = property.getKey();
 
-        if (newMap == null && properties.containsKey(key)) {
-            final PropertyHashMap newProperties = properties.immutableRemove(key);
-            final boolean isSpill = property.isSpill();
-            final int slot = property.getSlot();
-            // If deleted property was last field or spill slot we can make it reusable by reducing field/slot count.
-            // Otherwise mark it as free in free slots bitset.
-            if (isSpill && slot >= 0 && slot == spillLength - 1) {
-                newMap = deriveMap(newProperties, flags, fieldCount, spillLength - 1);
-                newMap.freeSlots = freeSlots;
-            } else if (!isSpill && slot >= 0 && slot == fieldCount - 1) {
-                newMap = deriveMap(newProperties, flags, fieldCount - 1, spillLength);
-                newMap.freeSlots = freeSlots;
-            } else {
-                newMap = deriveMap(newProperties, flags, fieldCount, spillLength);
-                newMap.updateFreeSlots(property, null);
+        if (newMap == null) {
+            newMap = deletePropertyInternal(property);
+            if (newMap != null) {
+                addToHistory(property, newMap);
             }
-            addToHistory(property, newMap);
         }
 
         return newMap;
     }
 
+    PropertyMap deletePropertyInternal(final Property property) {
+        final Object key = property.getKey();
+        if (!properties.containsKey(key)) {
+            return null;
+        }
+
+        final PropertyHashMap newProperties = properties.immutableRemove(key);
+        final boolean isSpill = property.isSpill();
+        final int slot = property.getSlot();
+        final PropertyMap newMap;
+        // If deleted property was last field or spill slot we can make it reusable by reducing field/slot count.
+        // Otherwise mark it as free in free slots bitset.
+        if (isSpill && slot >= 0 && slot == spillLength - 1) {
+            newMap = deriveMap(newProperties, flags, fieldCount, spillLength - 1);
+            newMap.freeSlots = freeSlots;
+        } else if (!isSpill && slot >= 0 && slot == fieldCount - 1) {
+            newMap = deriveMap(newProperties, flags, fieldCount - 1, spillLength);
+            newMap.freeSlots = freeSlots;
+        } else {
+            newMap = deriveMap(newProperties, flags, fieldCount, spillLength);
+            newMap.updateFreeSlots(property, null);
+        }
+        return newMap;
+    }
+
     /**
      * Replace an existing property with a new one.
      *
@@ -455,6 +471,10 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      */
     public final PropertyMap replaceProperty(final Property oldProperty, final Property newProperty) {
         propertyChanged(oldProperty);
+        return replacePropertyInternal(oldProperty, newProperty);
+    }
+
+    PropertyMap replacePropertyInternal(final Property oldProperty, final Property newProperty) {
         /*
          * See ScriptObject.modifyProperty and ScriptObject.setUserAccessors methods.
          *
@@ -506,6 +526,39 @@ public class PropertyMap implements Iterable<Object>, Serializable {
         return new UserAccessorProperty(key, propertyFlags, getFreeSpillSlot());
     }
 
+    /**
+     * Returns a copy of this map in which every bound property is rebound to the object
+     * {@code mapper} returns for its current delegate, or this map if no property needs
+     * to be rebound. Used when copying script objects together with their delegates.
+     *
+     * @param mapper delegate mapping function
+     * @return the map with rebound properties
+     */
+    public final PropertyMap rebindProperties(final UnaryOperator<Object> mapper) {
+        if ((flags & CONTAINS_BOUND_PROPERTIES) == 0) {
+            return this;
+        }
+
+        final PropertyMap plainMap = toPlainMap();
+        PropertyHashMap newProperties = plainMap.properties;
+        for (final Property property : plainMap.getProperties()) {
+            if (property.isBound()) {
+                final AccessorProperty rebound = ((AccessorProperty)property).rebind(mapper);
+                if (rebound != property) {
+                    newProperties = newProperties.immutableReplace(property, rebound);
+                }
+            }
+        }
+        if (newProperties == plainMap.properties) {
+            return this;
+        }
+
+        final PropertyMap newMap = plainMap.deriveMap(newProperties, flags, plainMap.fieldCount, plainMap.spillLength);
+        // call sites linked to this map are not affected by changes to the new map
+        newMap.propertySwitchPoints = null;
+        return newMap;
+    }
+
     /**
      * Find a property in the map.
      *
@@ -513,7 +566,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      *
      * @return {@link Property} matching key.
      */
-    public final Property findProperty(final Object key) {
+    public Property findProperty(final Object key) {
         return properties.find(key);
     }
 
@@ -526,7 +579,8 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      */
     public final PropertyMap addAll(final PropertyMap other) {
         assert this != other : "adding property map to itself";
-        final Property[] otherProperties = other.properties.getProperties();
+        assert !isDictionary() : "adding properties to dictionary map";
+        final Property[] otherProperties = other.getProperties();
         final PropertyHashMap newProperties = properties.immutableAdd(otherProperties);
 
         final PropertyMap newMap = deriveMap(newProperties, flags, fieldCount, spillLength);
@@ -544,7 +598,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      *
      * @return Properties as an array.
      */
-    public final Property[] getProperties() {
+    public Property[] getProperties() {
         return properties.getProperties();
     }
 
@@ -575,7 +629,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
     PropertyMap seal() {
         PropertyHashMap newProperties = EMPTY_HASHMAP;
 
-        for (final Property oldProperty :  properties.getProperties()) {
+        for (final Property oldProperty : getProperties()) {
             newProperties = newProperties.immutableAdd(oldProperty.addFlags(Property.NOT_CONFIGURABLE));
         }
 
@@ -591,7 +645,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
     PropertyMap freeze() {
         PropertyHashMap newProperties = EMPTY_HASHMAP;
 
-        for (final Property oldProperty : properties.getProperties()) {
+        for (final Property oldProperty : getProperties()) {
             int propertyFlags = Property.NOT_CONFIGURABLE;
 
             if (!(oldProperty instanceof UserAccessorProperty)) {
@@ -610,7 +664,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      * @return {@code true} if any configurable.
      */
     private boolean anyConfigurable() {
-        for (final Property property : properties.getProperties()) {
+        for (final Property property : getProperties()) {
             if (property.isConfigurable()) {
                return true;
             }
@@ -625,7 +679,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      * @return {@code true} if all are frozen.
      */
     private boolean allFrozen() {
-        for (final Property property : properties.getProperties()) {
+        for (final Property property : getProperties()) {
             // check if it is a data descriptor
             if (!property.isAccessorProperty() && property.isWritable()) {
                 return false;
@@ -682,6 +736,10 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      * @param newMap   Modified {@link PropertyMap}.
      */
     private void addToHistory(final Property property, final PropertyMap newMap) {
+        if (isDictionary()) {
+            // dictionary maps share their mutable properties, so older versions can't be reused
+            return;
+        }
         if (history == null) {
             history = new WeakHashMap<>();
         }
@@ -722,12 +780,12 @@ public class PropertyMap implements Iterable<Object>, Serializable {
      * differ in type.
      */
     public boolean equalsWithoutType(final PropertyMap otherMap) {
-        if (properties.size() != otherMap.properties.size()) {
+        if (size() != otherMap.size()) {
             return false;
         }
 
-        final Iterator<Property> iter      = properties.values().iterator();
-        final Iterator<Property> otherIter = otherMap.properties.values().iterator();
+        final Iterator<Property> iter      = Arrays.asList(getProperties()).iterator();
+        final Iterator<Property> otherIter = Arrays.asList(otherMap.getProperties()).iterator();
 
         while (iter.hasNext() && otherIter.hasNext()) {
             if (!iter.next().equalsWithoutType(otherIter.next())) {
@@ -832,6 +890,24 @@ public class PropertyMap implements Iterable<Object>, Serializable {
         return spillLength;
     }
 
+    /**
+     * Get the number of fields available in objects using this map.
+     *
+     * @return number of fields available
+     */
+    final int getFieldMaximum() {
+        return fieldMaximum;
+    }
+
+    /**
+     * Get the number of spill slots used by objects using this map.
+     *
+     * @return number of spill slots used
+     */
+    final int getSpillLength() {
+        return spillLength;
+    }
+
     /**
      * Return a property map with the same layout that is associated with the new prototype object.
      *
@@ -867,6 +943,71 @@ public class PropertyMap implements Iterable<Object>, Serializable {
         return newMap;
     }
 
+    /**
+     * Returns {@code true} if this is the map of an object in dictionary mode, see
+     * {@link DictionaryPropertyMap}. Such maps are owned by a single object and
+     * should not be used to link call sites with map guards.
+     *
+     * @return true if this is a dictionary map
+     */
+    public final boolean isDictionary() {
+        return this instanceof DictionaryPropertyMap;
+    }
+
+    /**
+     * Make a dictionary map with the properties of this map, to be used by a single object.
+     *
+     * @return the dictionary map
+     */
+    final PropertyMap toDictionary() {
+        assert !isDictionary();
+        return new DictionaryPropertyMap(this, new PropertyDictionary(getProperties(), freeSlots, fieldMaximum, fieldCount, spillLength), flags);
+    }
+
+    /**
+     * Make a plain map with the given properties and boundaries that otherwise equals this map.
+     * Used to turn a dictionary map back into a sharable map.
+     *
+     * @param newProperties  properties in insertion order
+     * @param newFreeSlots   free logical slots
+     * @param newFieldCount  number of fields in use
+     * @param newSpillLength number of spill slots used
+     * @return the new map
+     */
+    final PropertyMap derivePlainMap(final Property[] newProperties, final BitSet newFreeSlots, final int newFieldCount, final int newSpillLength) {
+        final PropertyMap newMap = new PropertyMap(this, EMPTY_HASHMAP.immutableAdd(newProperties), flags, newFieldCount, newSpillLength, softReferenceDerivationLimit);
+        newMap.freeSlots = newFreeSlots.isEmpty() ? null : (BitSet)newFreeSlots.clone();
+        return newMap;
+    }
+
+    /**
+     * Returns the map to be used by a copy of an object using this map. This is the map itself
+     * unless it is a dictionary map that must not be shared.
+     *
+     * @return map for a copied object
+     */
+    PropertyMap copyForClone() {
+        return this;
+    }
+
+    /**
+     * Returns a map that is not in dictionary mode with the same properties as this map.
+     *
+     * @return this map, or a plain map with its properties if this is a dictionary map
+     */
+    PropertyMap toPlainMap() {
+        return this;
+    }
+
+    /**
+     * Get the status flags of this map.
+     *
+     * @return map flags
+     */
+    final int getFlags() {
+        return flags;
+    }
+
     /**
      * Set a reference to the expected parent prototype map. This is used for class-like
      * structures where we only want to use a top-level property map if all of the
@@ -931,7 +1072,7 @@ public class PropertyMap implements Iterable<Object>, Serializable {
          * @param propertyMap {@link PropertyMap} to iterate over.
          */
         PropertyMapIterator(final PropertyMap propertyMap) {
-            iter = Arrays.asList(propertyMap.properties.getProperties()).iterator();
+            iter = Arrays.asList(propertyMap.getProperties()).iterator();
             property = iter.hasNext() ? iter.next() : null;
             skipNotEnumerable();
         }
@@ -31,6 +31,7 @@ import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.util.ArrayList;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.Global;
 
 /**
@@ -82,6 +83,12 @@ public class PrototypeObject extends ScriptObject {
         this.constructor = func;
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        constructor = copier.apply(constructor);
+    }
+
     /**
      * Get the constructor for this {@code PrototypeObject}
      * @param self self reference
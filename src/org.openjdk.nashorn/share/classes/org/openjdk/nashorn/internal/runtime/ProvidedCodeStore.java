@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.io.IOException;
+import org.openjdk.nashorn.api.scripting.CodeStoreProvider;
+
+/**
+ * A persistent code store whose storage is supplied by a {@link CodeStoreProvider}. Scripts are
+ * passed to the provider encoded as by {@link StoredScript#encode(String, boolean)}.
+ */
+final class ProvidedCodeStore extends CodeStore {
+
+    private final CodeStoreProvider.Store store;
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     * @param provider the storage provider
+     * @throws IOException if the provider fails to open the store
+     */
+    ProvidedCodeStore(final Context context, final CodeStoreProvider provider) throws IOException {
+        final String path = DirectoryCodeStore.getCachePath();
+        this.store = provider.open(DirectoryCodeStore.getVersionDir(path, context.getEnv()).toPath(), false);
+        if (store == null) {
+            throw new IOException("Code store provider " + provider.getName() + " returned no store");
+        }
+    }
+
+    @Override
+    public StoredScript load(final Source source, final String functionKey) {
+        if (belowThreshold(source, DEFAULT_MIN_SIZE)) {
+            return null;
+        }
+
+        final String key = source.getDigest() + '-' + functionKey;
+        try {
+            final byte[] bytes = store.load(key);
+            if (bytes == null) {
+                recordMiss(source, functionKey);
+                return null;
+            }
+            final StoredScript script = StoredScript.decode(key, bytes);
+            recordHit(source, functionKey, bytes.length);
+            return script;
+        } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+            getLogger().warning("failed to load ", source, "-", functionKey, ": ", e);
+            return null;
+        }
+    }
+
+    @Override
+    public StoredScript store(final String functionKey, final Source source, final StoredScript script) {
+        if (script == null || belowThreshold(source, DEFAULT_MIN_SIZE)) {
+            return null;
+        }
+
+        final String key = source.getDigest() + '-' + functionKey;
+        try {
+            final byte[] bytes = script.encode(key, !SCRIPT_KEY.equals(functionKey));
+            store.store(key, bytes);
+            recordStore(source, functionKey, bytes.length);
+            return script;
+        } catch (final IOException | RuntimeException e) {
+            getLogger().warning("failed to store ", script, "-", functionKey, ": ", e);
+            return null;
+        }
+    }
+}
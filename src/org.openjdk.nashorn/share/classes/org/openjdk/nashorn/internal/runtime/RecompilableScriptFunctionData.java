@@ -384,6 +384,11 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
         return allocationStrategy.getAllocatorMap(prototype);
     }
 
+    @Override
+    boolean isStaleAllocatorMap(final PropertyMap map) {
+        return allocationStrategy.isStaleAllocatorMap(map);
+    }
+
     @Override
     ScriptObject allocate(final PropertyMap map) {
         return allocationStrategy.allocate(map);
@@ -737,7 +742,11 @@ public final class RecompilableScriptFunctionData extends ScriptFunctionData imp
     }
 
     boolean usePersistentCodeCache() {
-        return installer != null && installer.getContext().getEnv()._persistent_cache;
+        return installer != null && installer.getContext().getEnv().useCodeStore();
+    }
+
+    boolean useTieredRecompilation() {
+        return installer != null && installer.getContext().getEnv()._tiered_recompilation;
     }
 
     private MethodType explicitParams(final MethodType callSiteType) {
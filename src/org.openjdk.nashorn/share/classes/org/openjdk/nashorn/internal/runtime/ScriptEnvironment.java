@@ -71,6 +71,9 @@ public final class ScriptEnvironment {
     /** -classpath value. */
     public final String  _classpath;
 
+    /** Name of the code store for the persistent code cache */
+    public final String  _code_store;
+
     /** Only compile script, do not run it or generate other ScriptObjects */
     public final boolean _compile_only;
 
@@ -107,6 +110,9 @@ public final class ScriptEnvironment {
     /** Use single Global instance per jsr223 engine instance. */
     public final boolean _global_per_engine;
 
+    /** Create new jsr223 Global instances by copying a shared template Global. */
+    public final boolean _global_per_request;
+
     /** Enable experimental ECMAScript 6 features. */
     public final boolean _es6;
 
@@ -152,6 +158,9 @@ public final class ScriptEnvironment {
     /** Should optimistic types be used */
     public final boolean _optimistic_types;
 
+    /** Should deoptimizing recompilation happen on a background thread */
+    public final boolean _tiered_recompilation;
+
     /** Create a new class loaded for each compilation */
     public final boolean _loader_per_compile;
 
@@ -170,6 +179,9 @@ public final class ScriptEnvironment {
     /** Do not support typed arrays. */
     public final boolean _no_typed_arrays;
 
+    /** Finish bytecode of compile units in parallel */
+    public final boolean _parallel_codegen;
+
     /** Only parse the source code, do not compile */
     public final boolean _parse_only;
 
@@ -206,6 +218,9 @@ public final class ScriptEnvironment {
     /** is this environment in scripting mode? */
     public final boolean _scripting;
 
+    /** Share compiled scripts with other contexts through the process-wide code cache */
+    public final boolean _shared_class_cache;
+
     /** is this environment in strict mode? */
     public final boolean _strict;
 
@@ -257,6 +272,7 @@ public final class ScriptEnvironment {
 
         _class_cache_size     = options.getInteger("class.cache.size");
         _classpath            = options.getString("classpath");
+        _code_store           = options.getString("code.store");
         _compile_only         = options.getBoolean("compile.only");
         _const_as_var         = options.getBoolean("const.as.var");
         _debug_lines          = options.getBoolean("debug.lines");
@@ -275,6 +291,7 @@ public final class ScriptEnvironment {
         }
         _fx                   = options.getBoolean("fx");
         _global_per_engine    = options.getBoolean("global.per.engine");
+        _global_per_request   = options.getBoolean("global.per.request");
         _optimistic_types     = options.getBoolean("optimistic.types");
         final boolean lazy_compilation = options.getBoolean("lazy.compilation");
         if (!lazy_compilation && _optimistic_types) {
@@ -289,12 +306,14 @@ public final class ScriptEnvironment {
         } else {
             _lazy_compilation = lazy_compilation;
         }
+        _tiered_recompilation = _optimistic_types && options.getBoolean("tiered.recompilation");
         _loader_per_compile   = options.getBoolean("loader.per.compile");
         _module_path          = options.getString("module.path");
         _add_modules          = options.getString("add.modules");
         _no_java              = options.getBoolean("no.java");
         _no_syntax_extensions = options.getBoolean("no.syntax.extensions");
         _no_typed_arrays      = options.getBoolean("no.typed.arrays");
+        _parallel_codegen     = options.getBoolean("parallel.codegen");
         _parse_only           = options.getBoolean("parse.only");
         _persistent_cache     = options.getBoolean("persistent.code.cache");
         _print_ast            = options.getBoolean("print.ast");
@@ -305,6 +324,7 @@ public final class ScriptEnvironment {
         _print_lower_parse    = options.getBoolean("print.lower.parse");
         _print_symbols        = options.getBoolean("print.symbols");
         _scripting            = options.getBoolean("scripting");
+        _shared_class_cache   = options.getBoolean("shared.class.cache");
         _strict               = options.getBoolean("strict");
         _version              = options.getBoolean("version");
         _verify_code          = options.getBoolean("verify.code");
@@ -474,6 +494,15 @@ public final class ScriptEnvironment {
         return _timing != null && _timing.isEnabled();
     }
 
+    /**
+     * Returns true if compiled scripts are kept in a {@link CodeStore}, either the
+     * persistent one on disk or the process-wide shared one.
+     * @return true if a code store is used
+     */
+    public boolean useCodeStore() {
+        return _persistent_cache || _shared_class_cache;
+    }
+
     /**
      * Returns true if compilation should use anonymous classes.
      * @param sourceLength length of source being compiled.
@@ -41,6 +41,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.linker.GuardedInvocation;
 import jdk.dynalink.linker.LinkRequest;
@@ -164,9 +165,10 @@ public class ScriptFunction extends ScriptObject {
     /**
      * The parent scope.
      */
-    private final ScriptObject scope;
+    private ScriptObject scope;
 
-    private final ScriptFunctionData data;
+    // not final so that copies of bound functions can be bound to copies of their target
+    private ScriptFunctionData data;
 
     /**
      * The property map used for newly allocated object when function is used as
@@ -366,18 +368,38 @@ public class ScriptFunction extends ScriptObject {
 
     // Subclass to represent bound functions
     private static class Bound extends ScriptFunction {
-        private final ScriptFunction target;
+        private ScriptFunction target;
+        // this and arguments bound to the target, including those of the function that was bound
+        private Object boundThis;
+        private Object[] boundArgs;
 
-        Bound(final ScriptFunctionData boundData, final ScriptFunction target) {
+        Bound(final ScriptFunctionData boundData, final ScriptFunction target, final Object boundThis, final Object[] boundArgs) {
             super(boundData, boundfunctionmap$, null, Global.instance());
             setPrototype(ScriptRuntime.UNDEFINED);
             this.target = target;
+            this.boundThis = boundThis;
+            this.boundArgs = boundArgs;
         }
 
         @Override
         protected ScriptFunction getTargetFunction() {
             return target;
         }
+
+        @Override
+        public void copyReferences(final UnaryOperator<Object> copier) {
+            super.copyReferences(copier);
+            // the bound function data holds the target, bound this and bound arguments, so bind the
+            // copy of the target directly, which is equivalent to binding the functions in between
+            target = (ScriptFunction)copier.apply(target);
+            boundThis = copier.apply(boundThis);
+            final Object[] args = boundArgs.clone();
+            for (int i = 0; i < args.length; i++) {
+                args[i] = copier.apply(args[i]);
+            }
+            boundArgs = args;
+            ((ScriptFunction)this).data = target.data.makeBoundFunctionData(target, boundThis, boundArgs);
+        }
     }
 
     /**
@@ -392,7 +414,21 @@ public class ScriptFunction extends ScriptObject {
      * @return a function with the specified self and parameters bound.
      */
     public final ScriptFunction createBound(final Object self, final Object[] args) {
-        return new Bound(data.makeBoundFunctionData(this, self, args), getTargetFunction());
+        final Object[] allArgs = args == null ? ScriptRuntime.EMPTY_ARRAY : args;
+        final Object boundThis;
+        final Object[] boundArgs;
+        if (this instanceof Bound) {
+            // the this of a bound function can not be rebound
+            final Bound bound = (Bound)this;
+            boundThis = bound.boundThis;
+            boundArgs = new Object[bound.boundArgs.length + allArgs.length];
+            System.arraycopy(bound.boundArgs, 0, boundArgs, 0, bound.boundArgs.length);
+            System.arraycopy(allArgs, 0, boundArgs, bound.boundArgs.length, allArgs.length);
+        } else {
+            boundThis = data.convertThisObject(self);
+            boundArgs = allArgs;
+        }
+        return new Bound(data.makeBoundFunctionData(this, boundThis, args), getTargetFunction(), boundThis, boundArgs);
     }
 
     /**
@@ -549,9 +585,9 @@ public class ScriptFunction extends ScriptObject {
      * @return property map
      */
     private PropertyMap getAllocatorMap(final ScriptObject prototype) {
-        if (allocatorMap == null || allocatorMap.isInvalidSharedMapFor(prototype)) {
-            // The prototype map has changed since this function was last used as constructor.
-            // Get a new allocator map.
+        if (allocatorMap == null || allocatorMap.isInvalidSharedMapFor(prototype) || data.isStaleAllocatorMap(allocatorMap)) {
+            // The prototype map has changed since this function was last used as constructor,
+            // or allocated objects have grown more fields. Get a new allocator map.
             allocatorMap = data.getAllocatorMap(prototype);
         }
         return allocatorMap;
@@ -676,6 +712,14 @@ public class ScriptFunction extends ScriptObject {
         return data.getName();
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        // function data and allocator map are immutable and shared with the original
+        scope = (ScriptObject)copier.apply(scope);
+        prototype = copier.apply(prototype);
+    }
+
     /**
      * Get the scope for this function
      *
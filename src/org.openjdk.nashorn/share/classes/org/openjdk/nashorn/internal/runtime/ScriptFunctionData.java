@@ -419,6 +419,17 @@ public abstract class ScriptFunctionData implements Serializable {
         return null;
     }
 
+    /**
+     * Check whether a property map returned by {@link #getAllocatorMap(ScriptObject)} should
+     * be replaced by a new one.
+     *
+     * @param map the property map for allocated objects
+     * @return true if the map is out of date
+     */
+    boolean isStaleAllocatorMap(final PropertyMap map) {
+        return false;
+    }
+
     /**
      * This method is used to create the immutable portion of a bound function.
      * See {@link ScriptFunction#createBound(Object, Object[])}
@@ -448,7 +459,7 @@ public abstract class ScriptFunctionData implements Serializable {
      *
      * @return the converted this object
      */
-    private Object convertThisObject(final Object thiz) {
+    Object convertThisObject(final Object thiz) {
         return needsWrappedThis() ? wrapThis(thiz) : thiz;
     }
 
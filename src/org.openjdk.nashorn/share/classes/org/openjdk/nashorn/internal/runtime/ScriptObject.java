@@ -65,6 +65,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.NamedOperation;
 import jdk.dynalink.linker.GuardedInvocation;
@@ -82,6 +83,9 @@ import org.openjdk.nashorn.internal.runtime.arrays.ArrayIndex;
 import org.openjdk.nashorn.internal.runtime.linker.LinkerCallSite;
 import org.openjdk.nashorn.internal.runtime.linker.NashornCallSiteDescriptor;
 import org.openjdk.nashorn.internal.runtime.linker.NashornGuards;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+import org.openjdk.nashorn.internal.scripts.JD;
+import org.openjdk.nashorn.internal.scripts.JO;
 
 /**
  * Base class for generic JavaScript objects.
@@ -130,6 +134,18 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
      */
     public static final int SPILL_RATE = 8;
 
+    /**
+     * Number of properties at which plain objects that keep growing switch to dictionary mode,
+     * see {@link DictionaryPropertyMap}.
+     */
+    private static final int DICTIONARY_THRESHOLD = Options.getIntProperty("nashorn.dictionary.threshold", 64);
+
+    /**
+     * Minimum number of properties for deleting a property or adding one with a key that
+     * is not an identifier to switch a plain object to dictionary mode.
+     */
+    private static final int DICTIONARY_MIN_SIZE = Math.min(8, DICTIONARY_THRESHOLD);
+
     /** Map to property information and accessor functions. Ordered by insertion. */
     private PropertyMap map;
 
@@ -151,7 +167,7 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
     /** Method handle to retrieve prototype of this object */
     public static final MethodHandle GETPROTO      = findOwnMH_V("getProto", ScriptObject.class);
 
-    static final MethodHandle MEGAMORPHIC_GET    = findOwnMH_V("megamorphicGet", Object.class, String.class, boolean.class, boolean.class);
+    static final MethodHandle MEGAMORPHIC_GET    = findOwnMH_V("megamorphicGet", Object.class, MegamorphicCache.class, String.class, boolean.class, boolean.class);
     static final MethodHandle GLOBALFILTER       = findOwnMH_S("globalFilter", Object.class, Object.class);
     static final MethodHandle DECLARE_AND_SET    = findOwnMH_V("declareAndSet", void.class, String.class, Object.class);
 
@@ -936,6 +952,7 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
      */
     public final boolean deleteOwnProperty(final Property property) {
         erasePropertyValue(property);
+        checkDictionaryMode(property.getKey(), true);
         PropertyMap oldMap = getMap();
 
         while (true) {
@@ -1968,6 +1985,10 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
             return findMegaMorphicGetMethod(desc, name, NashornCallSiteDescriptor.isMethodFirstOperation(desc));
         }
 
+        if (getMap().isDictionary()) {
+            return findDictionaryGetMethod(desc, name, NashornCallSiteDescriptor.isMethodFirstOperation(desc));
+        }
+
         final FindProperty find = findProperty(name, true, NashornCallSiteDescriptor.isScope(desc), this);
         MethodHandle mh;
 
@@ -2022,16 +2043,36 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
     }
 
     private static GuardedInvocation findMegaMorphicGetMethod(final CallSiteDescriptor desc, final String name, final boolean isMethod) {
-        Context.getContext()
-            .getLogger(ObjectClassGenerator.class).warning("Megamorphic getter: ", desc, " ", name + " ", isMethod);
-        final MethodHandle invoker = MH.insertArguments(MEGAMORPHIC_GET, 1, name, isMethod, NashornCallSiteDescriptor.isScope(desc));
+        final Context context = Context.getContext();
+        context.getLogger(ObjectClassGenerator.class).warning("Megamorphic getter: ", desc, " ", name + " ", isMethod);
+        final MethodHandle invoker = MH.insertArguments(MEGAMORPHIC_GET, 1,
+                context.getMegamorphicCache(), name, isMethod, NashornCallSiteDescriptor.isScope(desc));
         final MethodHandle guard   = getScriptObjectGuard(desc.getMethodType(), true);
         return new GuardedInvocation(invoker, guard);
     }
 
+    private static GuardedInvocation findDictionaryGetMethod(final CallSiteDescriptor desc, final String name, final boolean isMethod) {
+        // Objects in dictionary mode change their map with every property they add or delete,
+        // so link a generic getter that works for all of them instead of guarding on the map.
+        final MethodHandle invoker = MH.insertArguments(MEGAMORPHIC_GET, 1, null, name, isMethod, NashornCallSiteDescriptor.isScope(desc));
+        return new GuardedInvocation(invoker, NashornGuards.getDictionaryGuard());
+    }
+
     @SuppressWarnings("unused")
-    private Object megamorphicGet(final String key, final boolean isMethod, final boolean isScope) {
-        final FindProperty find = findProperty(key, true, isScope, this);
+    private Object megamorphicGet(final MegamorphicCache cache, final String key, final boolean isMethod, final boolean isScope) {
+        // Scope lookups are left to findProperty as they may be redirected by with statements or lexical scopes.
+        final boolean useCache = cache != null && !isScope;
+        FindProperty find = null;
+        final Object cached = useCache ? cache.get(this, key) : MegamorphicCache.MISS;
+        if (cached == MegamorphicCache.MISS) {
+            find = findProperty(key, true, isScope, this);
+            if (useCache) {
+                cache.put(this, key, find);
+            }
+        } else if (cached != MegamorphicCache.NOT_FOUND) {
+            return cached;
+        }
+
         if (find != null) {
             // If this is a method invocation, and found property has a different self object then this,
             // then return a function bound to the self object. This is the case for functions in with expressions.
@@ -2196,6 +2237,10 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
             return findMegaMorphicSetMethod(desc, name);
         }
 
+        if (getMap().isDictionary()) {
+            return findDictionarySetMethod(desc, name);
+        }
+
         final boolean explicitInstanceOfCheck = explicitInstanceOfCheck(desc, request);
 
         /*
@@ -2235,6 +2280,10 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
             if (!isExtensible()) {
                 return createEmptySetMethod(desc, explicitInstanceOfCheck, "object.non.extensible", false);
             }
+            checkDictionaryMode(name, false);
+            if (getMap().isDictionary()) {
+                return findDictionarySetMethod(desc, name);
+            }
         }
 
         final GuardedInvocation inv = new SetMethodCreator(this, find, desc, request).createGuardedInvocation(findBuiltinSwitchPoint(name));
@@ -2289,6 +2338,55 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
         return inv.replaceMethods(MH.insertArguments(inv.getInvocation(), 1, name), inv.getGuard());
     }
 
+    private static GuardedInvocation findDictionarySetMethod(final CallSiteDescriptor desc, final String name) {
+        final MethodType        type = desc.getMethodType().insertParameterTypes(1, Object.class);
+        final GuardedInvocation inv  = findSetIndexMethod(desc, false, type);
+        return new GuardedInvocation(MH.insertArguments(inv.getInvocation(), 1, name), NashornGuards.getDictionaryGuard());
+    }
+
+    /**
+     * Switch this object to dictionary mode if it appears to be used as a hash map: if it
+     * grows beyond {@link #DICTIONARY_THRESHOLD} properties, or if properties are deleted
+     * from it or added with keys that are not identifiers once it has a few properties.
+     * Only plain script objects that are not scopes or shared prototype maps are eligible.
+     *
+     * @param key      the key of the property being added or deleted
+     * @param isDelete true if the property is being deleted
+     */
+    private void checkDictionaryMode(final Object key, final boolean isDelete) {
+        final PropertyMap oldMap = getMap();
+        final int size = oldMap.size();
+        if (size < DICTIONARY_MIN_SIZE || oldMap.isDictionary()) {
+            return;
+        }
+        if (size >= DICTIONARY_THRESHOLD || isDelete || !isIdentifierKey(key)) {
+            if (isStructureObject() && !isScope() && !(oldMap instanceof SharedPropertyMap)) {
+                setMap(oldMap.toDictionary());
+            }
+        }
+    }
+
+    private boolean isStructureObject() {
+        // generated JO/JD subclasses extend ScriptObject directly
+        return this instanceof JO || this instanceof JD || getClass().getClassLoader() instanceof StructureLoader;
+    }
+
+    private static boolean isIdentifierKey(final Object key) {
+        if (!(key instanceof String)) {
+            return true; // symbols
+        }
+        final String name = (String)key;
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @SuppressWarnings("unused")
     private static Object globalFilter(final Object object) {
         ScriptObject sobj = (ScriptObject) object;
@@ -2563,6 +2661,7 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
      * @return Added property.
      */
     private Property addSpillProperty(final Object key, final int flags, final Object value, final boolean hasInitialValue) {
+        checkDictionaryMode(key, false);
         final PropertyMap propertyMap = getMap();
         final int fieldSlot  = propertyMap.getFreeFieldSlot();
         final int propertyFlags = flags | (useDualFields() ? Property.DUAL_FIELDS : 0);
@@ -3429,6 +3528,7 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
     @Override
     protected ScriptObject clone() throws CloneNotSupportedException {
         final ScriptObject clone = (ScriptObject) super.clone();
+        clone.map = map.copyForClone();
         if (objectSpill != null) {
             clone.objectSpill = objectSpill.clone();
             if (primitiveSpill != null) {
@@ -3439,6 +3539,35 @@ public abstract class ScriptObject implements PropertyAccess, Cloneable {
         return clone;
     }
 
+    /**
+     * Replace the references of this object to other objects with the objects {@code copier}
+     * returns for them. This is called on each object returned by {@link #copy()} while copying
+     * a graph of script objects, once all objects of the graph have been copied. Subclasses
+     * with fields referring to script objects or other mutable script state must override this
+     * method to map these fields after calling the super method. Subclasses that can not be
+     * copied must throw an {@link IllegalStateException}.
+     *
+     * @param copier maps script objects to their copies, other values are returned as they are
+     * @throws IllegalStateException if this object can not be copied
+     */
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        // properties bound to other objects, e.g. the variables of scripts, need to be rebound
+        map = map.rebindProperties(copier);
+        proto = (ScriptObject)copier.apply(proto);
+        if (objectSpill != null) {
+            for (int i = 0; i < objectSpill.length; i++) {
+                final Object value = objectSpill[i];
+                if (value instanceof UserAccessorProperty.Accessors) {
+                    // each accessor pair is owned by a single spill slot
+                    objectSpill[i] = ((UserAccessorProperty.Accessors)value).copy(copier);
+                } else {
+                    objectSpill[i] = copier.apply(value);
+                }
+            }
+        }
+        arrayData = arrayData.copyMapped(copier);
+    }
+
     /**
      * Make a new UserAccessorProperty property. getter and setter functions are stored in
      * this ScriptObject and slot values are used in property object.
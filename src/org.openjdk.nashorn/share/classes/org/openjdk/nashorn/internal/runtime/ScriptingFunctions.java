@@ -26,6 +26,7 @@
 package org.openjdk.nashorn.internal.runtime;
 
 import static org.openjdk.nashorn.internal.lookup.Lookup.MH;
+import static org.openjdk.nashorn.internal.runtime.ECMAErrors.rangeError;
 import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
 import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
 
@@ -37,6 +38,8 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -45,6 +48,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import org.openjdk.nashorn.internal.objects.NativeArray;
+import org.openjdk.nashorn.internal.objects.NativeArrayBuffer;
 
 /**
  * Global functions supported only in scripting mode.
@@ -57,6 +61,9 @@ public final class ScriptingFunctions {
     /** Handle to implementation of {@link ScriptingFunctions#readFully} - Nashorn extension */
     public static final MethodHandle READFULLY = findOwnMH("readFully",     Object.class, Object.class, Object.class);
 
+    /** Handle to implementation of {@link ScriptingFunctions#mapFile} - Nashorn extension */
+    public static final MethodHandle MAPFILE = findOwnMH("mapFile", Object.class, Object.class, Object.class, Object.class, Object.class);
+
     /** Handle to implementation of {@link ScriptingFunctions#exec} - Nashorn extension */
     public static final MethodHandle EXEC = findOwnMH("exec",     Object.class, Object.class, Object[].class);
 
@@ -107,6 +114,49 @@ public final class ScriptingFunctions {
      * @throws IOException if an exception occurs
      */
     public static Object readFully(final Object self, final Object file) throws IOException {
+        return new String(Source.readFully(toFile(file)));
+    }
+
+    /**
+     * Nashorn extension: Map a region of a file into memory and return it as an ArrayBuffer,
+     * without reading it onto the heap. Large files can be processed by mapping one region
+     * at a time. The file is unmapped once the ArrayBuffer has been garbage collected. Releasing
+     * the ArrayBuffer detaches it from script code and passes the mapping to
+     * {@link org.openjdk.nashorn.api.scripting.RuntimeEvents.Listener#arrayBufferReleased},
+     * which can unmap it right away.
+     * <p>
+     * The mapping is read-only: writing to the buffer through a typed array or a DataView
+     * throws a TypeError. Use {@code slice} to get a writable copy of a region.
+     *
+     * @param self   self reference
+     * @param file   The file to map.
+     * @param offset Optional byte offset of the region, defaults to 0.
+     * @param length Optional byte length of the region, defaults to the rest of the file.
+     *
+     * @return ArrayBuffer over the mapped region.
+     *
+     * @throws IOException if an exception occurs
+     */
+    public static Object mapFile(final Object self, final Object file, final Object offset, final Object length) throws IOException {
+        final File f = toFile(file);
+
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            final long size  = channel.size();
+            final long start = offset == UNDEFINED ? 0 : JSType.toLong(offset);
+            final long len   = length == UNDEFINED ? size - start : JSType.toLong(length);
+
+            if (start < 0 || start > size) {
+                throw rangeError("invalid.file.offset", JSType.toString(start), f.getPath());
+            }
+            if (len < 0 || len > size - start || len > Integer.MAX_VALUE) {
+                throw rangeError("inappropriate.array.buffer.length", JSType.toString(len));
+            }
+
+            return NativeArrayBuffer.wrap(channel.map(FileChannel.MapMode.READ_ONLY, start, len));
+        }
+    }
+
+    private static File toFile(final Object file) {
         File f = null;
 
         if (file instanceof File) {
@@ -119,7 +169,7 @@ public final class ScriptingFunctions {
             throw typeError("not.a.file", ScriptRuntime.safeToString(file));
         }
 
-        return new String(Source.readFully(f));
+        return f;
     }
 
     /**
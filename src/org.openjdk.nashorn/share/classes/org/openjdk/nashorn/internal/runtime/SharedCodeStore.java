@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * A code store shared by all contexts in the process that compile with the same code generation
+ * options. Scripts are keyed by source digest, function key and a fingerprint of those options, so a
+ * new context that evaluates a script already compiled by another context skips parsing and code
+ * generation and only installs the classes in its own loader.
+ *
+ * Scripts are held as templates that are never installed. Contexts share the class bytes and the
+ * string and array constants of a template, but every context deserializes its own copy of the other
+ * constants, since the function data in them is initialized and updated per context. The cache is
+ * bounded by the number of entries and their total size in bytes, and evicts the least recently used
+ * entries. Lookups do not lock.
+ *
+ * If the context also uses a persistent code store, this store acts as an in-memory level in front of it.
+ */
+final class SharedCodeStore extends CodeStore {
+
+    private static final Cache CACHE = new Cache(
+            Options.getSizeProperty("nashorn.shared.class.cache.bytes", 64 * 1024 * 1024),
+            Options.getIntProperty("nashorn.shared.class.cache.entries", 1024));
+
+    private static final LongAdder HIT_COUNT = new LongAdder();
+    private static final LongAdder MISS_COUNT = new LongAdder();
+
+    private final String fingerprint;
+
+    // persistent store behind this one, or null
+    private final CodeStore delegate;
+
+    /**
+     * Constructor
+     *
+     * @param context the current context
+     * @param delegate persistent code store to consult on a miss, or null
+     */
+    SharedCodeStore(final Context context, final CodeStore delegate) {
+        this.fingerprint = getFingerprint(context);
+        this.delegate = delegate;
+    }
+
+    static long getHitCount() {
+        return HIT_COUNT.sum();
+    }
+
+    static long getMissCount() {
+        return MISS_COUNT.sum();
+    }
+
+    @Override
+    public StoredScript load(final Source source, final String functionKey) {
+        final Key key = new Key(source.getDigest(), functionKey, fingerprint);
+        final Entry entry = CACHE.get(key);
+        if (entry != null) {
+            final StoredScript script = copy(entry.template, entry.constants);
+            if (script != null) {
+                HIT_COUNT.increment();
+                getLogger().info("shared cache hit ", source, "-", functionKey);
+                return script;
+            }
+        }
+        MISS_COUNT.increment();
+
+        if (delegate != null) {
+            final StoredScript script = delegate.load(source, functionKey);
+            if (script != null) {
+                // must be serialized before it is installed, installation updates its constants
+                cache(key, script);
+            }
+            return script;
+        }
+        return null;
+    }
+
+    @Override
+    public StoredScript store(final String functionKey, final Source source, final StoredScript script) {
+        if (script == null) {
+            return null;
+        }
+
+        cache(new Key(source.getDigest(), functionKey, fingerprint), script);
+        if (delegate != null) {
+            delegate.store(functionKey, source, script);
+        }
+        return script;
+    }
+
+    private void cache(final Key key, final StoredScript script) {
+        final byte[] constants;
+        try {
+            constants = script.serializeConstants();
+        } catch (final IOException e) {
+            getLogger().warning("failed to serialize ", script, ": ", e);
+            return;
+        }
+        // the script itself is about to be installed, so the cache keeps an uninstalled copy
+        final StoredScript template = copy(script, constants);
+        if (template != null) {
+            final Entry entry = new Entry(template, constants);
+            CACHE.put(key, entry);
+            getLogger().info("shared cache stored ", key.functionKey, " (", entry.size, " bytes)");
+        }
+    }
+
+    private StoredScript copy(final StoredScript script, final byte[] constants) {
+        try {
+            return script.copy(constants);
+        } catch (final IOException | ClassNotFoundException e) {
+            getLogger().warning("failed to deserialize shared script: ", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns a string describing the options that influence parsing and code generation. Contexts
+     * can only share compiled code if their fingerprints are equal.
+     */
+    private static String getFingerprint(final Context context) {
+        final ScriptEnvironment env = context.getEnv();
+        return new StringBuilder()
+                .append("optimistic=").append(env._optimistic_types)
+                .append(",lazy=").append(env._lazy_compilation)
+                .append(",dual=").append(context.useDualFields())
+                .append(",strict=").append(env._strict)
+                .append(",scripting=").append(env._scripting)
+                .append(",es6=").append(env._es6)
+                .append(",constAsVar=").append(env._const_as_var)
+                .append(",noSyntaxExtensions=").append(env._no_syntax_extensions)
+                .append(",functionStatement=").append(env._function_statement)
+                .append(",earlyLvalueError=").append(env._early_lvalue_error)
+                .append(",emptyStatements=").append(env._empty_statements)
+                .append(",debugLines=").append(env._debug_lines)
+                .append(",debugScopes=").append(env._debug_scopes)
+                .append(",callSiteFlags=").append(env._callsite_flags)
+                .toString();
+    }
+
+    private static final class Key {
+        private final String digest;
+        private final String functionKey;
+        private final String fingerprint;
+
+        Key(final String digest, final String functionKey, final String fingerprint) {
+            this.digest = digest;
+            this.functionKey = functionKey;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(digest, functionKey, fingerprint);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return digest.equals(other.digest) && functionKey.equals(other.functionKey) && fingerprint.equals(other.fingerprint);
+        }
+    }
+
+    private static final class Entry {
+        final StoredScript template;
+        final byte[] constants;
+        final long size;
+        volatile long lastUsed;
+
+        Entry(final StoredScript template, final byte[] constants) {
+            this.template = template;
+            this.constants = constants;
+            this.size = template.getClassBytesLength() + constants.length;
+            this.lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Concurrent map of script templates, bounded by entry count and total size of class bytes and
+     * serialized constants. Reads only update the entry's access time; eviction of least recently used
+     * entries is serialized.
+     */
+    private static final class Cache {
+        private final long maxBytes;
+        private final int maxEntries;
+        private final Map<Key, Entry> map = new ConcurrentHashMap<>();
+        private final AtomicLong bytes = new AtomicLong();
+
+        Cache(final long maxBytes, final int maxEntries) {
+            this.maxBytes = maxBytes;
+            this.maxEntries = maxEntries;
+        }
+
+        Entry get(final Key key) {
+            final Entry entry = map.get(key);
+            if (entry != null) {
+                entry.lastUsed = System.nanoTime();
+            }
+            return entry;
+        }
+
+        void put(final Key key, final Entry entry) {
+            if (entry.size > maxBytes) {
+                return;
+            }
+            final Entry old = map.put(key, entry);
+            bytes.addAndGet(entry.size - (old == null ? 0 : old.size));
+            if (overLimit()) {
+                evict();
+            }
+        }
+
+        private boolean overLimit() {
+            return bytes.get() > maxBytes || map.size() > maxEntries;
+        }
+
+        private synchronized void evict() {
+            if (!overLimit()) {
+                return;
+            }
+            final List<Map.Entry<Key, Entry>> entries = new ArrayList<>(map.entrySet());
+            entries.sort((e1, e2) -> Long.compare(e1.getValue().lastUsed, e2.getValue().lastUsed));
+            for (final Map.Entry<Key, Entry> eldest : entries) {
+                if (!overLimit()) {
+                    break;
+                }
+                if (map.remove(eldest.getKey(), eldest.getValue())) {
+                    bytes.addAndGet(-eldest.getValue().size);
+                }
+            }
+        }
+    }
+}
@@ -25,10 +25,21 @@
 
 package org.openjdk.nashorn.internal.runtime;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodType;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import org.openjdk.nashorn.internal.codegen.types.Type;
 
 /**
  * Class representing a persistent compiled script.
@@ -55,6 +66,15 @@ public final class StoredScript implements Serializable {
 
     private static final long serialVersionUID = 2958227232195298340L;
 
+    // Constant tags
+    private static final byte NULL         = 0;
+    private static final byte LATIN1       = 1;
+    private static final byte UTF16        = 2;
+    private static final byte INT_ARRAY    = 3;
+    private static final byte DOUBLE_ARRAY = 4;
+    private static final byte FUNCTION     = 5;
+    private static final byte SERIALIZED   = 6;
+
     /**
      * Constructor.
      *
@@ -107,13 +127,19 @@ public final class StoredScript implements Serializable {
         final FunctionInitializer initializer = initializers.values().iterator().next();
 
         for (int i = 0; i < constants.length; i++) {
+            final int functionNodeId;
             if (constants[i] instanceof RecompilableScriptFunctionData) {
-                // replace deserialized function data with the ones we already have
-                final RecompilableScriptFunctionData newData = data.getScriptFunctionData(((RecompilableScriptFunctionData) constants[i]).getFunctionNodeId());
-                assert newData != null;
-                newData.initTransients(data.getSource(), installer);
-                constants[i] = newData;
+                functionNodeId = ((RecompilableScriptFunctionData) constants[i]).getFunctionNodeId();
+            } else if (constants[i] instanceof FunctionReference) {
+                functionNodeId = ((FunctionReference) constants[i]).functionNodeId;
+            } else {
+                continue;
             }
+            // replace deserialized function data with the ones we already have
+            final RecompilableScriptFunctionData newData = data.getScriptFunctionData(functionNodeId);
+            assert newData != null;
+            newData.initTransients(data.getSource(), installer);
+            constants[i] = newData;
         }
 
         initializer.setCode(installedClasses.get(initializer.getClassName()));
@@ -146,6 +172,303 @@ public final class StoredScript implements Serializable {
         return installedClasses.get(mainClassName);
     }
 
+    /**
+     * Encodes this script without Java serialization where possible. Class bytes, initializers, and
+     * constants that are strings or numeric arrays are written as plain data. Function data in the
+     * constants of a function is written as reference, as it is replaced by the script's own data on
+     * installation. Other constants are serialized together, preserving objects they share. For a top
+     * level script these include its function data, which is the only copy of the metadata of all its
+     * functions, and the property maps its code uses.
+     *
+     * @param key the key, written first so that stores can read it back without decoding the script
+     * @param isFunction true if this is a function rather than a top level script
+     * @return the encoded script
+     * @throws IOException if a constant cannot be serialized
+     */
+    byte[] encode(final String key, final boolean isFunction) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeUTF(key);
+        out.writeInt(compilationId);
+        out.writeUTF(mainClassName);
+
+        out.writeInt(classBytes.size());
+        for (final Map.Entry<String, byte[]> entry : classBytes.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            out.write(entry.getValue());
+        }
+
+        out.writeInt(initializers == null ? -1 : initializers.size());
+        if (initializers != null) {
+            for (final Map.Entry<Integer, FunctionInitializer> entry : initializers.entrySet()) {
+                final FunctionInitializer initializer = entry.getValue();
+                out.writeInt(entry.getKey());
+                out.writeUTF(initializer.getClassName());
+                out.writeUTF(initializer.getMethodType().toMethodDescriptorString());
+                out.writeInt(initializer.getFlags());
+                Type.writeTypeMap(initializer.getInvalidatedProgramPoints(), out);
+            }
+        }
+
+        final Object[] serialized = new Object[constants.length];
+        boolean needsSerialization = false;
+        out.writeInt(constants.length);
+        for (int i = 0; i < constants.length; i++) {
+            final Object constant = constants[i];
+            if (constant == null) {
+                out.writeByte(NULL);
+            } else if (constant instanceof String) {
+                writeString(out, (String) constant);
+            } else if (constant instanceof int[]) {
+                final int[] array = (int[]) constant;
+                out.writeByte(INT_ARRAY);
+                out.writeInt(array.length);
+                for (final int value : array) {
+                    out.writeInt(value);
+                }
+            } else if (constant instanceof double[]) {
+                final double[] array = (double[]) constant;
+                out.writeByte(DOUBLE_ARRAY);
+                out.writeInt(array.length);
+                for (final double value : array) {
+                    out.writeDouble(value);
+                }
+            } else if (isFunction && constant instanceof RecompilableScriptFunctionData) {
+                out.writeByte(FUNCTION);
+                out.writeInt(((RecompilableScriptFunctionData) constant).getFunctionNodeId());
+            } else {
+                out.writeByte(SERIALIZED);
+                serialized[i] = constant;
+                needsSerialization = true;
+            }
+        }
+
+        if (needsSerialization) {
+            final ByteArrayOutputStream blob = new ByteArrayOutputStream();
+            try (ObjectOutputStream oout = new ObjectOutputStream(blob)) {
+                oout.writeObject(serialized);
+            }
+            out.writeInt(blob.size());
+            blob.writeTo(out);
+        } else {
+            out.writeInt(0);
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a script encoded by {@link #encode(String, boolean)}.
+     *
+     * @param key the expected key
+     * @param record the encoded script
+     * @return the script
+     * @throws IOException if the script cannot be decoded
+     * @throws ClassNotFoundException if a class of a serialized constant cannot be found
+     */
+    static StoredScript decode(final String key, final byte[] record) throws IOException, ClassNotFoundException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+
+        if (!key.equals(in.readUTF())) {
+            throw new IOException("Record key mismatch");
+        }
+        final int compilationId = in.readInt();
+        final String mainClassName = in.readUTF();
+
+        final int classCount = in.readInt();
+        final Map<String, byte[]> classBytes = new LinkedHashMap<>();
+        for (int i = 0; i < classCount; i++) {
+            final String className = in.readUTF();
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            classBytes.put(className, bytes);
+        }
+
+        final int initializerCount = in.readInt();
+        Map<Integer, FunctionInitializer> initializers = null;
+        if (initializerCount >= 0) {
+            final ClassLoader loader = StoredScript.class.getClassLoader();
+            initializers = new HashMap<>();
+            for (int i = 0; i < initializerCount; i++) {
+                final int id = in.readInt();
+                final String className = in.readUTF();
+                final MethodType methodType = MethodType.fromMethodDescriptorString(in.readUTF(), loader);
+                final int flags = in.readInt();
+                initializers.put(id, new FunctionInitializer(className, methodType, flags, Type.readTypeMap(in)));
+            }
+        }
+
+        final Object[] constants = new Object[in.readInt()];
+        boolean needsSerialization = false;
+        for (int i = 0; i < constants.length; i++) {
+            final byte tag = in.readByte();
+            switch (tag) {
+            case NULL:
+                break;
+            case LATIN1:
+            case UTF16:
+                constants[i] = readString(in, tag);
+                break;
+            case INT_ARRAY: {
+                final int[] array = new int[in.readInt()];
+                for (int j = 0; j < array.length; j++) {
+                    array[j] = in.readInt();
+                }
+                constants[i] = array;
+                break;
+            }
+            case DOUBLE_ARRAY: {
+                final double[] array = new double[in.readInt()];
+                for (int j = 0; j < array.length; j++) {
+                    array[j] = in.readDouble();
+                }
+                constants[i] = array;
+                break;
+            }
+            case FUNCTION:
+                constants[i] = new FunctionReference(in.readInt());
+                break;
+            case SERIALIZED:
+                needsSerialization = true;
+                break;
+            default:
+                throw new IOException("Unknown constant tag " + tag);
+            }
+        }
+
+        final int blobLength = in.readInt();
+        if (needsSerialization) {
+            final Object[] serialized;
+            try (ObjectInputStream oin = new ObjectInputStream(new ByteArrayInputStream(record, record.length - in.available(), blobLength))) {
+                serialized = (Object[]) oin.readObject();
+            }
+            for (int i = 0; i < constants.length; i++) {
+                if (serialized[i] != null) {
+                    constants[i] = serialized[i];
+                }
+            }
+        }
+
+        return new StoredScript(compilationId, mainClassName, classBytes, initializers, constants);
+    }
+
+    /**
+     * Serializes the constants of this script that {@link #copy(byte[])} does not share between
+     * copies, preserving objects they share.
+     *
+     * @return the serialized constants
+     * @throws IOException if a constant cannot be serialized
+     */
+    byte[] serializeConstants() throws IOException {
+        final Object[] serialized = new Object[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            if (!isImmutable(constants[i])) {
+                serialized[i] = constants[i];
+            }
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(serialized);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns a copy of this script for installation in a context. The copy shares class bytes and
+     * constants that are strings or numeric arrays with this script, and deserializes its other
+     * constants, which are updated on installation, from {@code serializedConstants}. Used by stores
+     * that install the same script in many contexts; this script itself must not be installed.
+     *
+     * @param serializedConstants constants of this script returned by {@link #serializeConstants()}
+     * @return the copy
+     * @throws IOException if the constants cannot be deserialized
+     * @throws ClassNotFoundException if a class of a serialized constant cannot be found
+     */
+    StoredScript copy(final byte[] serializedConstants) throws IOException, ClassNotFoundException {
+        final Object[] newConstants;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedConstants))) {
+            newConstants = (Object[]) in.readObject();
+        }
+        for (int i = 0; i < constants.length; i++) {
+            if (isImmutable(constants[i])) {
+                newConstants[i] = constants[i];
+            }
+        }
+
+        Map<Integer, FunctionInitializer> newInitializers = null;
+        if (initializers != null) {
+            newInitializers = new HashMap<>();
+            for (final Map.Entry<Integer, FunctionInitializer> entry : initializers.entrySet()) {
+                final FunctionInitializer initializer = entry.getValue();
+                final Map<Integer, Type> invalidatedProgramPoints = initializer.getInvalidatedProgramPoints();
+                newInitializers.put(entry.getKey(), new FunctionInitializer(initializer.getClassName(), initializer.getMethodType(),
+                        initializer.getFlags(), invalidatedProgramPoints == null ? null : new TreeMap<>(invalidatedProgramPoints)));
+            }
+        }
+
+        return new StoredScript(compilationId, mainClassName, classBytes, newInitializers, newConstants);
+    }
+
+    /**
+     * Returns the total length of the class bytes of this script.
+     *
+     * @return the class bytes length
+     */
+    long getClassBytesLength() {
+        long length = 0;
+        for (final byte[] bytes : classBytes.values()) {
+            length += bytes.length;
+        }
+        return length;
+    }
+
+    // array constants are copied by the generated code before they are used
+    private static boolean isImmutable(final Object constant) {
+        return constant == null || constant instanceof String || constant instanceof int[] || constant instanceof double[];
+    }
+
+    private static void writeString(final DataOutputStream out, final String str) throws IOException {
+        final int length = str.length();
+        boolean latin1 = true;
+        for (int i = 0; i < length && latin1; i++) {
+            latin1 = str.charAt(i) <= 0xff;
+        }
+        out.writeByte(latin1 ? LATIN1 : UTF16);
+        out.writeInt(length);
+        if (latin1) {
+            out.writeBytes(str);
+        } else {
+            out.writeChars(str);
+        }
+    }
+
+    private static String readString(final DataInputStream in, final byte tag) throws IOException {
+        final int length = in.readInt();
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = tag == LATIN1 ? (char) in.readUnsignedByte() : in.readChar();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Stands in for the data of a nested function in the constants of a stored function. Stored functions
+     * are always installed into a script whose function data is already present, so code stores can
+     * record nested functions by id instead of storing their data.
+     */
+    static final class FunctionReference implements Serializable {
+        final int functionNodeId;
+
+        private static final long serialVersionUID = 1L;
+
+        FunctionReference(final int functionNodeId) {
+            this.functionNodeId = functionNodeId;
+        }
+    }
+
     @Override
     public int hashCode() {
         int hash = mainClassName.hashCode();
@@ -33,6 +33,7 @@ import static org.openjdk.nashorn.internal.runtime.linker.NashornCallSiteDescrip
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.lookup.Lookup;
 import org.openjdk.nashorn.internal.runtime.linker.Bootstrap;
 import org.openjdk.nashorn.internal.runtime.linker.NashornCallSiteDescriptor;
@@ -59,6 +60,17 @@ public final class UserAccessorProperty extends SpillProperty {
             this.setter = setter;
         }
 
+        /**
+         * Create a copy of these accessors with getter and setter replaced by the
+         * result of applying {@code mapper} to them.
+         *
+         * @param mapper getter and setter mapping function
+         * @return the new accessors
+         */
+        Accessors copy(final UnaryOperator<Object> mapper) {
+            return new Accessors(mapper.apply(getter), mapper.apply(setter));
+        }
+
         @Override
         public String toString() {
             return "[getter=" + getter + " setter=" + setter + ']';
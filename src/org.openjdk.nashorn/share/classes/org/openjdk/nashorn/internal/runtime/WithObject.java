@@ -32,6 +32,7 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.invoke.SwitchPoint;
+import java.util.function.UnaryOperator;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.NamedOperation;
 import jdk.dynalink.Operation;
@@ -55,7 +56,7 @@ public final class WithObject extends Scope {
     private static final MethodHandle BIND_TO_EXPRESSION_FN  = findOwnMH("bindToExpression",     Object.class, ScriptFunction.class, Object.class);
 
     /** With expression object. */
-    private final ScriptObject expression;
+    private ScriptObject expression;
 
     /**
      * Constructor
@@ -69,6 +70,12 @@ public final class WithObject extends Scope {
         setIsInternal();
     }
 
+    @Override
+    public void copyReferences(final UnaryOperator<Object> copier) {
+        super.copyReferences(copier);
+        expression = (ScriptObject)copier.apply(expression);
+    }
+
     /**
      * Delete a property based on a key.
      * @param key Any valid JavaScript value.
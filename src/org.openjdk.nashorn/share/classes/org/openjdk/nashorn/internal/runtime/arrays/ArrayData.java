@@ -34,6 +34,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.linker.GuardedInvocation;
 import jdk.dynalink.linker.LinkRequest;
@@ -86,7 +87,7 @@ public abstract class ArrayData {
 
         private ArrayData toRealArrayData(final int index) {
             final IntArrayData newData = new IntArrayData(index + 1);
-            return new DeletedRangeArrayFilter(newData, 0, index);
+            return newData.delete(0, index);
         }
 
         @Override
@@ -277,7 +278,7 @@ public abstract class ArrayData {
         } else if (length >= SparseArrayData.MAX_DENSE_LENGTH) {
             return new SparseArrayData(EMPTY_ARRAY, length);
         } else {
-            return new DeletedRangeArrayFilter(new IntArrayData((int) length), 0, length - 1);
+            return new IntArrayData((int) length).delete(0, length - 1);
         }
     }
 
@@ -405,6 +406,29 @@ public abstract class ArrayData {
      */
     public abstract ArrayData copy();
 
+    /**
+     * Return a copy of the array in which every element has been replaced by the result
+     * of applying {@code mapper} to it. Unlike {@link #copy()} the result never shares
+     * elements with this instance, not even for immutable subclasses.
+     *
+     * @param mapper element mapping function
+     * @return a new array
+     */
+    public ArrayData copyMapped(final UnaryOperator<Object> mapper) {
+        ArrayData copy = copy();
+        for (long i = 0; i < length(); i = nextIndex(i)) {
+            final int index = (int)i;
+            if (has(index)) {
+                final Object value = getObject(index);
+                final Object mapped = mapper.apply(value);
+                if (mapped != value) {
+                    copy = copy.set(index, mapped, false);
+                }
+            }
+        }
+        return copy;
+    }
+
     /**
      * Return a copy of the array data as an Object array.
      *
@@ -755,6 +779,15 @@ public abstract class ArrayData {
     static Class<?> widestType(final Object... items) {
         assert items.length > 0;
 
+        if (items[0] instanceof Boolean) {
+            for (final Object item : items) {
+                if (!(item instanceof Boolean)) {
+                    return Object.class;
+                }
+            }
+            return Boolean.class;
+        }
+
         Class<?> widest = Integer.class;
 
         for (final Object item : items) {
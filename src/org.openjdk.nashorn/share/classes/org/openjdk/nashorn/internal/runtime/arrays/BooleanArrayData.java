@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.arrays;
+
+import static org.openjdk.nashorn.internal.codegen.CompilerConstants.specialCall;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import jdk.dynalink.CallSiteDescriptor;
+import jdk.dynalink.linker.GuardedInvocation;
+import jdk.dynalink.linker.LinkRequest;
+import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+
+/**
+ * Implementation of {@link ArrayData} for arrays that only hold booleans.
+ * Elements are packed one byte each instead of being stored as references,
+ * so large flag arrays are smaller and not scanned by the GC. Storing
+ * anything but a boolean converts the array to {@link ObjectArrayData}.
+ */
+final class BooleanArrayData extends ContinuousArrayData implements AnyElements {
+    /**
+     * The wrapped array
+     */
+    private boolean[] array;
+
+    /**
+     * Constructor
+     * @param array a boolean array
+     * @param length a length, not necessarily array.length
+     */
+    BooleanArrayData(final boolean[] array, final int length) {
+        super(length);
+        assert array.length >= length;
+        this.array = array;
+    }
+
+    @Override
+    public final Class<?> getElementType() {
+        // elements are read as Boolean objects, there is no optimistic boolean type
+        return Object.class;
+    }
+
+    @Override
+    public final Class<?> getBoxedElementType() {
+        return Boolean.class;
+    }
+
+    @Override
+    public final int getElementWeight() {
+        return 2;
+    }
+
+    @Override
+    public final ContinuousArrayData widest(final ContinuousArrayData otherData) {
+        return otherData;
+    }
+
+    private static final MethodHandle HAS_GET_ELEM = specialCall(MethodHandles.lookup(), BooleanArrayData.class, "getElem", Object.class, int.class).methodHandle();
+    private static final MethodHandle SET_ELEM     = specialCall(MethodHandles.lookup(), BooleanArrayData.class, "setElem", void.class, int.class, Object.class).methodHandle();
+
+    @SuppressWarnings("unused")
+    private Object getElem(final int index) {
+        if (has(index)) {
+            return array[index];
+        }
+        throw new ClassCastException();
+    }
+
+    @SuppressWarnings("unused")
+    private void setElem(final int index, final Object elem) {
+        if (elem instanceof Boolean && hasRoomFor(index)) {
+            array[index] = (Boolean)elem;
+            clearHole(index);
+            return;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public MethodHandle getElementGetter(final Class<?> returnType, final int programPoint) {
+        if (returnType.isPrimitive()) {
+            return null;
+        }
+        return getContinuousElementGetter(HAS_GET_ELEM, returnType, programPoint);
+    }
+
+    @Override
+    public MethodHandle getElementSetter(final Class<?> elementType) {
+        return elementType == Object.class ? getContinuousElementSetter(SET_ELEM, Object.class) : null;
+    }
+
+    @Override
+    public GuardedInvocation findFastSetIndexMethod(final Class<? extends ArrayData> clazz, final CallSiteDescriptor desc, final LinkRequest request) {
+        // only link the fast setter for booleans, anything else converts the array
+        final Object[] args = request.getArguments();
+        if (args[args.length - 1] instanceof Boolean) {
+            return super.findFastSetIndexMethod(clazz, desc, request);
+        }
+        return null;
+    }
+
+    @Override
+    public BooleanArrayData copy() {
+        return copyHoles(new BooleanArrayData(array.clone(), (int)length()));
+    }
+
+    @Override
+    public Object[] asObjectArray() {
+        return toObjectArray(true);
+    }
+
+    @Override
+    public Object asArrayOfType(final Class<?> componentType) {
+        if (componentType == boolean.class && !hasHoles()) {
+            final int len = (int)length();
+            return array.length == len ? array.clone() : Arrays.copyOf(array, len);
+        }
+        return super.asArrayOfType(componentType);
+    }
+
+    private Object[] toObjectArray(final boolean trim) {
+        assert length() <= array.length : "length exceeds internal array size";
+        final int len = (int)length();
+        final Object[] oarray = new Object[trim ? len : array.length];
+
+        for (int index = 0; index < len; index++) {
+            oarray[index] = array[index];
+        }
+
+        return fillHoles(oarray, ScriptRuntime.UNDEFINED);
+    }
+
+    private ObjectArrayData convertToObject() {
+        return copyHoles(new ObjectArrayData(toObjectArray(false), (int)length()));
+    }
+
+    @Override
+    public ContinuousArrayData convert(final Class<?> type) {
+        return type == Boolean.class ? this : convertToObject();
+    }
+
+    @Override
+    public ArrayData shiftLeft(final int by) {
+        if (by >= length()) {
+            shrink(0);
+        } else {
+            System.arraycopy(array, by, array, 0, array.length - by);
+            shiftHoles(-by);
+        }
+        setLength(Math.max(0, length() - by));
+        return this;
+    }
+
+    @Override
+    public ArrayData shiftRight(final int by) {
+        final ArrayData newData = ensure(by + length() - 1);
+        if (newData != this) {
+            newData.shiftRight(by);
+            return newData;
+        }
+        System.arraycopy(array, 0, array, by, array.length - by);
+        shiftHoles(by);
+        return this;
+    }
+
+    @Override
+    public ArrayData ensure(final long safeIndex) {
+        if (safeIndex >= SparseArrayData.MAX_DENSE_LENGTH) {
+            return new SparseArrayData(this, safeIndex + 1);
+        }
+        final int alen = array.length;
+        if (safeIndex >= alen) {
+            final int newLength = ArrayData.nextSize((int)safeIndex);
+            array = Arrays.copyOf(array, newLength);
+        }
+        if (safeIndex >= length()) {
+            setLength(safeIndex + 1);
+        }
+        return this;
+    }
+
+    @Override
+    public ArrayData shrink(final long newLength) {
+        Arrays.fill(array, (int)newLength, array.length, false);
+        return this;
+    }
+
+    @Override
+    public ArrayData set(final int index, final Object value, final boolean strict) {
+        if (value instanceof Boolean) {
+            array[index] = (Boolean)value;
+            clearHole(index);
+            setLength(Math.max(index + 1, length()));
+            return this;
+        }
+        return convert(Object.class).set(index, value, strict);
+    }
+
+    @Override
+    public ArrayData set(final int index, final int value, final boolean strict) {
+        return convert(Object.class).set(index, value, strict);
+    }
+
+    @Override
+    public ArrayData set(final int index, final double value, final boolean strict) {
+        return convert(Object.class).set(index, value, strict);
+    }
+
+    @Override
+    public int getInt(final int index) {
+        return array[index] ? 1 : 0;
+    }
+
+    @Override
+    public double getDouble(final int index) {
+        return array[index] ? 1.0 : 0.0;
+    }
+
+    @Override
+    public Object getObject(final int index) {
+        return array[index];
+    }
+
+    @Override
+    public boolean has(final int index) {
+        return 0 <= index && index < length() && !isHole(index);
+    }
+
+    @Override
+    public ArrayData delete(final int index) {
+        array[index] = false;
+        addHoles(index, index + 1L);
+        return this;
+    }
+
+    @Override
+    public ArrayData delete(final long fromIndex, final long toIndex) {
+        // elements past the end are kept by filters, not by this array
+        final long to = Math.min(toIndex + 1, length());
+        if (fromIndex < to) {
+            Arrays.fill(array, (int)fromIndex, (int)to, false);
+            addHoles(fromIndex, to);
+        }
+        return this;
+    }
+
+    @Override
+    public double fastPush(final Object arg) {
+        if (!(arg instanceof Boolean)) {
+            throw new ClassCastException(); //relink
+        }
+        final int len = (int)length();
+        if (len == array.length) {
+            array = Arrays.copyOf(array, nextSize(len));
+        }
+        array[len] = (Boolean)arg;
+        return increaseLength();
+    }
+
+    @Override
+    public Object fastPopObject() {
+        if (length() == 0) {
+            return ScriptRuntime.UNDEFINED;
+        }
+        if (hasHoles()) {
+            throw new ClassCastException(); //relink
+        }
+        final int newLength = (int)decreaseLength();
+        final boolean elem = array[newLength];
+        array[newLength] = false;
+        return elem;
+    }
+
+    @Override
+    public Object pop() {
+        if (length() == 0) {
+            return ScriptRuntime.UNDEFINED;
+        }
+
+        final int newLength = (int)length() - 1;
+        final Object elem = isHole(newLength) ? ScriptRuntime.UNDEFINED : (Object)array[newLength];
+        array[newLength] = false;
+        setLength(newLength);
+        return elem;
+    }
+
+    @Override
+    public ArrayData slice(final long from, final long to) {
+        final long start     = from < 0 ? from + length() : from;
+        final long newLength = to - start;
+        return copyHoles(new BooleanArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)newLength), from, to);
+    }
+
+    @Override
+    public ArrayData fastSplice(final int start, final int removed, final int added) throws UnsupportedOperationException {
+        final long oldLength = length();
+        final long newLength = oldLength - removed + added;
+        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length || hasHoles()) {
+            throw new UnsupportedOperationException();
+        }
+        final ArrayData returnValue = removed == 0 ?
+                EMPTY_ARRAY : new BooleanArrayData(Arrays.copyOfRange(array, start, start + removed), removed);
+
+        if (newLength != oldLength) {
+            final boolean[] newArray;
+
+            if (newLength > array.length) {
+                newArray = new boolean[ArrayData.nextSize((int)newLength)];
+                System.arraycopy(array, 0, newArray, 0, start);
+            } else {
+                newArray = array;
+            }
+
+            System.arraycopy(array, start + removed, newArray, start + added, (int)(oldLength - start - removed));
+            array = newArray;
+            setLength(newLength);
+        }
+
+        return returnValue;
+    }
+
+    @Override
+    public ContinuousArrayData fastConcat(final ContinuousArrayData otherData) {
+        final int otherLength = (int)otherData.length();
+        final int thisLength  = (int)length();
+        assert otherLength > 0 && thisLength > 0;
+        if (hasHoles() || otherData.hasHoles()) {
+            throw new ClassCastException(); //relink
+        }
+
+        final boolean[] otherArray = ((BooleanArrayData)otherData).array;
+        final int       newLength  = otherLength + thisLength;
+        final boolean[] newArray   = new boolean[ArrayData.alignUp(newLength)];
+
+        System.arraycopy(array, 0, newArray, 0, thisLength);
+        System.arraycopy(otherArray, 0, newArray, thisLength, otherLength);
+
+        return new BooleanArrayData(newArray, newLength);
+    }
+
+    @Override
+    public String toString() {
+        assert length() <= array.length : length() + " > " + array.length;
+        return getClass().getSimpleName() + ':' + Arrays.toString(Arrays.copyOf(array, (int)length()));
+    }
+}
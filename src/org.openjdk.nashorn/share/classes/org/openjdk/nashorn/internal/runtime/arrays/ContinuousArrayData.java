@@ -33,6 +33,7 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.invoke.SwitchPoint;
+import java.util.BitSet;
 import jdk.dynalink.CallSiteDescriptor;
 import jdk.dynalink.linker.GuardedInvocation;
 import jdk.dynalink.linker.LinkRequest;
@@ -48,6 +49,13 @@ import org.openjdk.nashorn.internal.runtime.logging.Logger;
  */
 @Logger(name="arrays")
 public abstract class ContinuousArrayData extends ArrayData {
+    /**
+     * Holes, i.e. deleted or never written elements below length, or null if there are none.
+     * Keeping holes inline rather than in a deletion filter lets arrays with holes use the
+     * continuous fast paths.
+     */
+    private BitSet holes;
+
     /**
      * Constructor
      * @param length length (elementLength)
@@ -59,13 +67,150 @@ public abstract class ContinuousArrayData extends ArrayData {
     /**
      * Check if we can put one more element at the end of this continuous
      * array without reallocating, or if we are overwriting an already
-     * allocated element
+     * allocated element or hole
      *
      * @param index index to check
      * @return true if we don't need to do any array reallocation to fit an element at index
      */
     public final boolean hasRoomFor(final int index) {
-        return has(index) || (index == length() && ensure(index) == this);
+        return has(index) || isHole(index) || (index == length() && ensure(index) == this);
+    }
+
+    /**
+     * Check if this array has any holes
+     * @return true if there are holes below length
+     */
+    public final boolean hasHoles() {
+        return holes != null;
+    }
+
+    /**
+     * Check if this array has no elements, i.e. it is empty or only has holes
+     * @return true if there are no elements below length
+     */
+    protected final boolean hasNoElements() {
+        return holes == null ? length() == 0 : holes.cardinality() == length();
+    }
+
+    /**
+     * Check if this array has no elements other than the one at index, which
+     * is about to be overwritten
+     * @param index index of the element to ignore
+     * @return true if all elements below length except the one at index are holes
+     */
+    protected final boolean hasNoOtherElements(final int index) {
+        final long len = length();
+        if (holes == null) {
+            return len == 0 || len == 1 && index == 0;
+        }
+        final int count = holes.cardinality();
+        return count == len || count == len - 1 && index < len && !holes.get(index);
+    }
+
+    /**
+     * Check if an element is a hole
+     * @param index index to check
+     * @return true if the element at index is a hole
+     */
+    protected final boolean isHole(final int index) {
+        return holes != null && index >= 0 && holes.get(index);
+    }
+
+    /**
+     * Mark a range of elements below length as holes
+     * @param from first index, inclusive
+     * @param to   last index, exclusive
+     */
+    protected final void addHoles(final long from, final long to) {
+        assert 0 <= from && to <= length();
+        if (from < to) {
+            if (holes == null) {
+                holes = new BitSet((int)to);
+            }
+            holes.set((int)from, (int)to);
+        }
+    }
+
+    /**
+     * Mark an element as present
+     * @param index element index
+     */
+    protected final void clearHole(final int index) {
+        if (holes != null && holes.get(index)) {
+            holes.clear(index);
+            if (holes.isEmpty()) {
+                holes = null;
+            }
+        }
+    }
+
+    /**
+     * Copy the holes of this array to another array data
+     * @param <T>  array data type
+     * @param data array data with the same elements as this one
+     * @return data
+     */
+    protected final <T extends ContinuousArrayData> T copyHoles(final T data) {
+        ((ContinuousArrayData)data).holes = holes == null ? null : (BitSet)holes.clone();
+        return data;
+    }
+
+    /**
+     * Copy the holes in a range of this array to another array data
+     * @param <T>  array data type
+     * @param data array data with the elements from the range
+     * @param from first index, inclusive
+     * @param to   last index, exclusive
+     * @return data
+     */
+    protected final <T extends ContinuousArrayData> T copyHoles(final T data, final long from, final long to) {
+        if (holes != null && from < to) {
+            final BitSet range = holes.get((int)from, (int)to);
+            ((ContinuousArrayData)data).holes = range.isEmpty() ? null : range;
+        }
+        return data;
+    }
+
+    /**
+     * Move the holes along with the elements of this array
+     * @param by number of elements, positive for a right shift
+     */
+    protected final void shiftHoles(final int by) {
+        if (holes != null && by != 0) {
+            final BitSet shifted = by < 0 ? holes.get(-by, Math.max(-by, holes.length())) : new BitSet();
+            if (by > 0) {
+                for (int i = holes.nextSetBit(0); i >= 0; i = holes.nextSetBit(i + 1)) {
+                    shifted.set(i + by);
+                }
+            }
+            holes = shifted.isEmpty() ? null : shifted;
+        }
+    }
+
+    /**
+     * Replace the holes in an array of elements of this array
+     * @param array array of elements
+     * @param value value to use for holes
+     * @return array
+     */
+    protected final Object[] fillHoles(final Object[] array, final Object value) {
+        if (holes != null) {
+            for (int i = holes.nextSetBit(0); i >= 0 && i < array.length; i = holes.nextSetBit(i + 1)) {
+                array[i] = value;
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public void setLength(final long length) {
+        if (holes != null && length < length()) {
+            holes.clear((int)length, Math.max((int)length, holes.length()));
+            if (holes.isEmpty()) {
+                holes = null;
+            }
+        }
+        super.setLength(length);
     }
 
     /**
@@ -26,6 +26,8 @@
 package org.openjdk.nashorn.internal.runtime.arrays;
 
 import static org.openjdk.nashorn.internal.runtime.ECMAErrors.typeError;
+
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.objects.Global;
 import org.openjdk.nashorn.internal.runtime.PropertyDescriptor;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
@@ -43,6 +45,11 @@ final class FrozenArrayFilter extends SealedArrayFilter {
         return this;
     }
 
+    @Override
+    public ArrayData copyMapped(final UnaryOperator<Object> mapper) {
+        return new FrozenArrayFilter(underlying.copyMapped(mapper));
+    }
+
     @Override
     public PropertyDescriptor getDescriptor(final Global global, final int index) {
         return global.newDataDescriptor(getObject(index), false, true, false);
@@ -103,6 +103,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
     private void setElem(final int index, final int elem) {
         if (hasRoomFor(index)) {
             array[index] = elem;
+            clearHole(index);
             return;
         }
         throw new ClassCastException();
@@ -120,12 +121,12 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
 
     @Override
     public IntArrayData copy() {
-        return new IntArrayData(array.clone(), (int)length());
+        return copyHoles(new IntArrayData(array.clone(), (int)length()));
     }
 
     @Override
     public Object asArrayOfType(final Class<?> componentType) {
-        if (componentType == int.class) {
+        if (componentType == int.class && !hasHoles()) {
             final int len = (int)length();
             return array.length == len ? array.clone() : Arrays.copyOf(array, len);
         }
@@ -141,7 +142,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
             oarray[index] = array[index];
         }
 
-        return oarray;
+        return fillHoles(oarray, ScriptRuntime.UNDEFINED);
     }
 
     private double[] toDoubleArray() {
@@ -157,11 +158,15 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
     }
 
     private NumberArrayData convertToDouble() {
-        return new NumberArrayData(toDoubleArray(), (int)length());
+        return copyHoles(new NumberArrayData(toDoubleArray(), (int)length()));
     }
 
     private ObjectArrayData convertToObject() {
-        return new ObjectArrayData(toObjectArray(false), (int)length());
+        return copyHoles(new ObjectArrayData(toObjectArray(false), (int)length()));
+    }
+
+    private BooleanArrayData convertToBoolean() {
+        return copyHoles(new BooleanArrayData(new boolean[array.length], (int)length()));
     }
 
     @Override
@@ -170,6 +175,9 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
             return this;
         } else if (type == Double.class || type == Float.class) {
             return convertToDouble();
+        } else if (type == Boolean.class && hasNoElements()) {
+            // nothing to keep yet, start out packed
+            return convertToBoolean();
         } else {
             return convertToObject();
         }
@@ -181,6 +189,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
             shrink(0);
         } else {
             System.arraycopy(array, by, array, 0, array.length - by);
+            shiftHoles(-by);
         }
         setLength(Math.max(0, length() - by));
 
@@ -195,6 +204,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
             return newData;
         }
         System.arraycopy(array, 0, array, by, array.length - by);
+        shiftHoles(by);
 
         return this;
     }
@@ -226,7 +236,10 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
         if (JSType.isRepresentableAsInt(value)) {
             return set(index, JSType.toInt32(value), strict);
         } else if (value == ScriptRuntime.UNDEFINED) {
+            clearHole(index);
             return new UndefinedArrayFilter(this).set(index, value, strict);
+        } else if (value instanceof Boolean && hasNoOtherElements(index)) {
+            return convertToBoolean().set(index, value, strict);
         }
 
         final ArrayData newData = convert(value == null ? Object.class : value.getClass());
@@ -236,6 +249,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
     @Override
     public ArrayData set(final int index, final int value, final boolean strict) {
         array[index] = value;
+        clearHole(index);
         setLength(Math.max(index + 1, length()));
 
         return this;
@@ -245,6 +259,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
     public ArrayData set(final int index, final double value, final boolean strict) {
         if (JSType.isRepresentableAsInt(value)) {
             array[index] = (int)(long)value;
+            clearHole(index);
             setLength(Math.max(index + 1, length()));
             return this;
         }
@@ -279,17 +294,25 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
 
     @Override
     public boolean has(final int index) {
-        return 0 <= index && index < length();
+        return 0 <= index && index < length() && !isHole(index);
     }
 
     @Override
     public ArrayData delete(final int index) {
-        return new DeletedRangeArrayFilter(this, index, index);
+        array[index] = 0;
+        addHoles(index, index + 1L);
+        return this;
     }
 
     @Override
     public ArrayData delete(final long fromIndex, final long toIndex) {
-        return new DeletedRangeArrayFilter(this, fromIndex, toIndex);
+        // elements past the end are kept by filters, not by this array
+        final long to = Math.min(toIndex + 1, length());
+        if (fromIndex < to) {
+            Arrays.fill(array, (int)fromIndex, (int)to, 0);
+            addHoles(fromIndex, to);
+        }
+        return this;
     }
 
     @Override
@@ -300,23 +323,24 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
         }
 
         final int newLength = len - 1;
+        final boolean isHole = isHole(newLength);
         final int elem = array[newLength];
         array[newLength] = 0;
         setLength(newLength);
 
-        return elem;
+        return isHole ? ScriptRuntime.UNDEFINED : elem;
     }
 
     @Override
     public ArrayData slice(final long from, final long to) {
-        return new IntArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)(to - (from < 0 ? from + length() : from)));
+        return copyHoles(new IntArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)(to - (from < 0 ? from + length() : from))), from, to);
     }
 
     @Override
     public ArrayData fastSplice(final int start, final int removed, final int added) throws UnsupportedOperationException {
         final long oldLength = length();
         final long newLength = oldLength - removed + added;
-        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length) {
+        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length || hasHoles()) {
             throw new UnsupportedOperationException();
         }
         final ArrayData returnValue = removed == 0 ?
@@ -359,7 +383,7 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
     //length must not be zero
     @Override
     public int fastPopInt() {
-        if (length() == 0) {
+        if (length() == 0 || hasHoles()) {
             throw new ClassCastException(); //relink
         }
         final int newLength = (int)decreaseLength();
@@ -383,6 +407,9 @@ final class IntArrayData extends ContinuousArrayData implements IntElements {
         final int   otherLength = (int)otherData.length();
         final int   thisLength  = (int)length();
         assert otherLength > 0 && thisLength > 0;
+        if (hasHoles() || otherData.hasHoles()) {
+            throw new ClassCastException(); //relink
+        }
 
         final int[] otherArray  = ((IntArrayData)otherData).array;
         final int   newLength   = otherLength + thisLength;
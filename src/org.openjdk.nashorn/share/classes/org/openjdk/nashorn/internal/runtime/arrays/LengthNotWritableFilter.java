@@ -27,8 +27,10 @@ package org.openjdk.nashorn.internal.runtime.arrays;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
 
@@ -57,6 +59,15 @@ final class LengthNotWritableFilter extends ArrayFilter {
         return new LengthNotWritableFilter(underlying.copy(), new TreeMap<>(extraElements));
     }
 
+    @Override
+    public ArrayData copyMapped(final UnaryOperator<Object> mapper) {
+        final SortedMap<Long, Object> extra = new TreeMap<>();
+        for (final Map.Entry<Long, Object> entry : extraElements.entrySet()) {
+            extra.put(entry.getKey(), mapper.apply(entry.getValue()));
+        }
+        return new LengthNotWritableFilter(underlying.copyMapped(mapper), extra);
+    }
+
     @Override
     public boolean has(final int index) {
         return super.has(index) || extraElements.containsKey((long)index);
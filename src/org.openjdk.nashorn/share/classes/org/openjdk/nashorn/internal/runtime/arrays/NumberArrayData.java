@@ -78,7 +78,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
 
     @Override
     public NumberArrayData copy() {
-        return new NumberArrayData(array.clone(), (int)length());
+        return copyHoles(new NumberArrayData(array.clone(), (int)length()));
     }
 
     @Override
@@ -94,12 +94,12 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
         for (int index = 0; index < len; index++) {
             oarray[index] = array[index];
         }
-        return oarray;
+        return fillHoles(oarray, UNDEFINED);
     }
 
     @Override
     public Object asArrayOfType(final Class<?> componentType) {
-        if (componentType == double.class) {
+        if (componentType == double.class && !hasHoles()) {
             final int len = (int)length();
             return array.length == len ? array.clone() : Arrays.copyOf(array, len);
         }
@@ -115,7 +115,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
     public ContinuousArrayData convert(final Class<?> type) {
         if (! canWiden(type)) {
             final int len = (int)length();
-            return new ObjectArrayData(toObjectArray(false), len);
+            return copyHoles(new ObjectArrayData(toObjectArray(false), len));
         }
         return this;
     }
@@ -126,6 +126,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
             shrink(0);
         } else {
             System.arraycopy(array, by, array, 0, array.length - by);
+            shiftHoles(-by);
         }
         setLength(Math.max(0, length() - by));
         return this;
@@ -139,6 +140,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
             return newData;
         }
         System.arraycopy(array, 0, array, by, array.length - by);
+        shiftHoles(by);
         return this;
     }
 
@@ -170,6 +172,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
         if (value instanceof Double || (value != null && canWiden(value.getClass()))) {
             return set(index, ((Number)value).doubleValue(), strict);
         } else if (value == UNDEFINED) {
+            clearHole(index);
             return new UndefinedArrayFilter(this).set(index, value, strict);
         }
 
@@ -180,6 +183,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
     @Override
     public ArrayData set(final int index, final int value, final boolean strict) {
         array[index] = value;
+        clearHole(index);
         setLength(Math.max(index + 1, length()));
         return this;
     }
@@ -187,6 +191,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
     @Override
     public ArrayData set(final int index, final double value, final boolean strict) {
         array[index] = value;
+        clearHole(index);
         setLength(Math.max(index + 1, length()));
         return this;
     }
@@ -206,6 +211,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
     private void setElem(final int index, final double elem) {
         if (hasRoomFor(index)) {
             array[index] = elem;
+            clearHole(index);
             return;
         }
         throw new ClassCastException();
@@ -246,17 +252,25 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
 
     @Override
     public boolean has(final int index) {
-        return 0 <= index && index < length();
+        return 0 <= index && index < length() && !isHole(index);
     }
 
     @Override
     public ArrayData delete(final int index) {
-        return new DeletedRangeArrayFilter(this, index, index);
+        array[index] = Double.NaN;
+        addHoles(index, index + 1L);
+        return this;
     }
 
     @Override
     public ArrayData delete(final long fromIndex, final long toIndex) {
-        return new DeletedRangeArrayFilter(this, fromIndex, toIndex);
+        // elements past the end are kept by filters, not by this array
+        final long to = Math.min(toIndex + 1, length());
+        if (fromIndex < to) {
+            Arrays.fill(array, (int)fromIndex, (int)to, Double.NaN);
+            addHoles(fromIndex, to);
+        }
+        return this;
     }
 
     @Override
@@ -267,24 +281,25 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
         }
 
         final int newLength = len - 1;
+        final boolean isHole = isHole(newLength);
         final double elem = array[newLength];
         array[newLength] = 0;
         setLength(newLength);
-        return elem;
+        return isHole ? UNDEFINED : elem;
     }
 
     @Override
     public ArrayData slice(final long from, final long to) {
         final long start     = from < 0 ? from + length() : from;
         final long newLength = to - start;
-        return new NumberArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)newLength);
+        return copyHoles(new NumberArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)newLength), from, to);
     }
 
     @Override
     public ArrayData fastSplice(final int start, final int removed, final int added) throws UnsupportedOperationException {
         final long oldLength = length();
         final long newLength = oldLength - removed + added;
-        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length) {
+        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length || hasHoles()) {
             throw new UnsupportedOperationException();
         }
         final ArrayData returnValue = removed == 0 ?
@@ -331,7 +346,7 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
 
     @Override
     public double fastPopDouble() {
-        if (length() == 0) {
+        if (length() == 0 || hasHoles()) {
             throw new ClassCastException();
         }
         final int newLength = (int)decreaseLength();
@@ -350,6 +365,9 @@ final class NumberArrayData extends ContinuousArrayData implements NumericElemen
         final int   otherLength = (int)otherData.length();
         final int   thisLength  = (int)length();
         assert otherLength > 0 && thisLength > 0;
+        if (hasHoles() || otherData.hasHoles()) {
+            throw new ClassCastException(); //relink
+        }
 
         final double[] otherArray = ((NumberArrayData)otherData).array;
         final int      newLength  = otherLength + thisLength;
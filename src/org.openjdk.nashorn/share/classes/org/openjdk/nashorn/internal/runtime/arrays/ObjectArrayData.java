@@ -76,12 +76,12 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
 
     @Override
     public ObjectArrayData copy() {
-        return new ObjectArrayData(array.clone(), (int)length());
+        return copyHoles(new ObjectArrayData(array.clone(), (int)length()));
     }
 
     @Override
     public Object[] asObjectArray() {
-        return array.length == length() ? array.clone() : asObjectArrayCopy();
+        return fillHoles(array.length == length() ? array.clone() : asObjectArrayCopy(), ScriptRuntime.UNDEFINED);
     }
 
     private Object[] asObjectArrayCopy() {
@@ -103,6 +103,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
             shrink(0);
         } else {
             System.arraycopy(array, by, array, 0, array.length - by);
+            shiftHoles(-by);
         }
         setLength(Math.max(0, length() - by));
         return this;
@@ -116,6 +117,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
             return newData;
         }
         System.arraycopy(array, 0, array, by, array.length - by);
+        shiftHoles(by);
         return this;
     }
 
@@ -144,6 +146,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
     @Override
     public ArrayData set(final int index, final Object value, final boolean strict) {
         array[index] = value;
+        clearHole(index);
         setLength(Math.max(index + 1, length()));
         return this;
     }
@@ -151,6 +154,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
     @Override
     public ArrayData set(final int index, final int value, final boolean strict) {
         array[index] = value;
+        clearHole(index);
         setLength(Math.max(index + 1, length()));
         return this;
     }
@@ -158,6 +162,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
     @Override
     public ArrayData set(final int index, final double value, final boolean strict) {
         array[index] = value;
+        clearHole(index);
         setLength(Math.max(index + 1, length()));
         return this;
     }
@@ -190,6 +195,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
     private void setElem(final int index, final Object elem) {
         if (hasRoomFor(index)) {
             array[index] = elem;
+            clearHole(index);
             return;
         }
         throw new ClassCastException();
@@ -226,19 +232,25 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
 
     @Override
     public boolean has(final int index) {
-        return 0 <= index && index < length();
+        return 0 <= index && index < length() && !isHole(index);
     }
 
     @Override
     public ArrayData delete(final int index) {
         setEmpty(index);
-        return new DeletedRangeArrayFilter(this, index, index);
+        addHoles(index, index + 1L);
+        return this;
     }
 
     @Override
     public ArrayData delete(final long fromIndex, final long toIndex) {
-        setEmpty(fromIndex, toIndex);
-        return new DeletedRangeArrayFilter(this, fromIndex, toIndex);
+        // elements past the end are kept by filters, not by this array
+        final long to = Math.min(toIndex + 1, length());
+        if (fromIndex < to) {
+            setEmpty(fromIndex, to - 1);
+            addHoles(fromIndex, to);
+        }
+        return this;
     }
 
     @Override
@@ -271,6 +283,9 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
         if (length() == 0) {
             return ScriptRuntime.UNDEFINED;
         }
+        if (hasHoles()) {
+            throw new ClassCastException(); //relink
+        }
         final int newLength = (int)decreaseLength();
         final Object elem = array[newLength];
         array[newLength] = ScriptRuntime.EMPTY;
@@ -284,7 +299,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
         }
 
         final int newLength = (int)length() - 1;
-        final Object elem = array[newLength];
+        final Object elem = isHole(newLength) ? ScriptRuntime.UNDEFINED : array[newLength];
         setEmpty(newLength);
         setLength(newLength);
         return elem;
@@ -294,7 +309,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
     public ArrayData slice(final long from, final long to) {
         final long start     = from < 0 ? from + length() : from;
         final long newLength = to - start;
-        return new ObjectArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)newLength);
+        return copyHoles(new ObjectArrayData(Arrays.copyOfRange(array, (int)from, (int)to), (int)newLength), from, to);
     }
 
     @Override
@@ -312,7 +327,7 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
     public ArrayData fastSplice(final int start, final int removed, final int added) throws UnsupportedOperationException {
         final long oldLength = length();
         final long newLength = oldLength - removed + added;
-        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length) {
+        if (newLength > SparseArrayData.MAX_DENSE_LENGTH && newLength > array.length || hasHoles()) {
             throw new UnsupportedOperationException();
         }
         final ArrayData returnValue = removed == 0 ?
@@ -341,8 +356,11 @@ final class ObjectArrayData extends ContinuousArrayData implements AnyElements {
         final int   otherLength = (int)otherData.length();
         final int   thisLength  = (int)length();
         assert otherLength > 0 && thisLength > 0;
+        if (hasHoles() || otherData.hasHoles()) {
+            throw new ClassCastException(); //relink
+        }
 
-        final Object[] otherArray = ((ObjectArrayData)otherData).array;
+        final Object[] otherArray = otherData instanceof ObjectArrayData ? ((ObjectArrayData)otherData).array : otherData.asObjectArray();
         final int      newLength  = otherLength + thisLength;
         final Object[] newArray   = new Object[ArrayData.alignUp(newLength)];
 
@@ -33,36 +33,198 @@ import org.openjdk.nashorn.internal.runtime.JSType;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
 
 /**
- * Handle arrays where the index is very large.
+ * Handle arrays where the index is very large. Elements beyond the underlying
+ * dense array are stored in pages of up to {@value #PAGE_SIZE} elements, so that
+ * elements in clustered index ranges share storage and sequential access does
+ * not need a map lookup per element. A page only stores the range of slots that
+ * has been written, so isolated elements do not pay for a full page.
  */
 class SparseArrayData extends ArrayData {
     /** Maximum size for dense arrays */
     static final int MAX_DENSE_LENGTH = 128 * 1024;
 
+    /** Number of index bits addressing an element within a page. */
+    private static final int PAGE_SHIFT = 10;
+
+    /** Maximum number of elements in a page. */
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+
+    /** Marker for absent elements in a page. */
+    private static final Object ABSENT = ScriptRuntime.EMPTY;
+
     /** Underlying array. */
     private ArrayData underlying;
 
     /** Maximum length to be stored in the array. */
     private final long maxDenseLength;
 
-    /** Sparse elements. */
-    private TreeMap<Long, Object> sparseMap;
+    /** Pages of sparse elements by page number. */
+    private TreeMap<Long, Page> pages;
+
+    /** Most recently used page, or null. */
+    private Page lastPage;
+
+    /**
+     * A page of sparse elements. The elements array covers the slots from
+     * {@code base} to {@code base + elements.length - 1} of the page, and grows
+     * geometrically up to {@link #PAGE_SIZE} as slots outside that range are set.
+     */
+    private static final class Page {
+        final long number;
+        int base;
+        Object[] elements;
+        int count;
+
+        Page(final long number, final int slot) {
+            this.number = number;
+            this.base = slot;
+            this.elements = new Object[] { ABSENT };
+        }
+
+        Page(final Page page) {
+            this.number = page.number;
+            this.base = page.base;
+            this.elements = page.elements.clone();
+            this.count = page.count;
+        }
+
+        Object get(final int slot) {
+            final int i = slot - base;
+            return i >= 0 && i < elements.length ? elements[i] : ABSENT;
+        }
+
+        void set(final int slot, final Object value) {
+            if (slot < base || slot >= base + elements.length) {
+                grow(slot);
+            }
+            final int i = slot - base;
+            if (elements[i] == ABSENT) {
+                count++;
+            }
+            elements[i] = value;
+        }
+
+        Object remove(final int slot) {
+            final int i = slot - base;
+            if (i < 0 || i >= elements.length) {
+                return ABSENT;
+            }
+            final Object value = elements[i];
+            if (value != ABSENT) {
+                elements[i] = ABSENT;
+                count--;
+            }
+            return value;
+        }
+
+        private void grow(final int slot) {
+            final int low  = Math.min(base, slot);
+            final int high = Math.max(base + elements.length, slot + 1);
+            final int newLength = Math.min(PAGE_SIZE, Math.max(high - low, elements.length * 2));
+            int newBase = slot < base ? Math.max(0, high - newLength) : low;
+            if (newBase + newLength > PAGE_SIZE) {
+                newBase = PAGE_SIZE - newLength;
+            }
+            final Object[] newElements = new Object[newLength];
+            Arrays.fill(newElements, ABSENT);
+            System.arraycopy(elements, 0, newElements, base - newBase, elements.length);
+            base = newBase;
+            elements = newElements;
+        }
+    }
 
     SparseArrayData(final ArrayData underlying, final long length) {
         this(underlying, length, new TreeMap<>());
     }
 
-    private SparseArrayData(final ArrayData underlying, final long length, final TreeMap<Long, Object> sparseMap) {
+    private SparseArrayData(final ArrayData underlying, final long length, final TreeMap<Long, Page> pages) {
         super(length);
         assert underlying.length() <= length;
         this.underlying = underlying;
         this.maxDenseLength = underlying.length();
-        this.sparseMap = sparseMap;
+        this.pages = pages;
     }
 
     @Override
     public ArrayData copy() {
-        return new SparseArrayData(underlying.copy(), length(), new TreeMap<>(sparseMap));
+        final TreeMap<Long, Page> newPages = new TreeMap<>();
+        for (final Page page : pages.values()) {
+            newPages.put(page.number, new Page(page));
+        }
+        return new SparseArrayData(underlying.copy(), length(), newPages);
+    }
+
+    private Page getPage(final long key, final boolean create) {
+        final long number = key >>> PAGE_SHIFT;
+        Page page = lastPage;
+        if (page == null || page.number != number) {
+            page = pages.get(number);
+            if (page == null) {
+                if (!create) {
+                    return null;
+                }
+                page = new Page(number, (int)key & PAGE_SIZE - 1);
+                pages.put(number, page);
+            }
+            lastPage = page;
+        }
+        return page;
+    }
+
+    private Object getSparse(final long key) {
+        final Page page = getPage(key, false);
+        return page == null ? ABSENT : page.get((int)key & PAGE_SIZE - 1);
+    }
+
+    private void putSparse(final long key, final Object value) {
+        getPage(key, true).set((int)key & PAGE_SIZE - 1, value);
+    }
+
+    private Object removeSparse(final long key) {
+        final Page page = getPage(key, false);
+        if (page == null) {
+            return ABSENT;
+        }
+        final Object value = page.remove((int)key & PAGE_SIZE - 1);
+        if (page.count == 0) {
+            pages.remove(page.number);
+            lastPage = null;
+        }
+        return value;
+    }
+
+    // remove sparse elements from fromKey (inclusive) to toKey (exclusive)
+    private void removeSparse(final long fromKey, final long toKey) {
+        if (fromKey <= 0 && toKey == Long.MAX_VALUE) {
+            pages.clear();
+            lastPage = null;
+            return;
+        }
+        for (long key = nextSparseKey(fromKey); key >= 0 && key < toKey; key = nextSparseKey(key + 1)) {
+            removeSparse(key);
+        }
+    }
+
+    // first key of a sparse element at or after fromKey, or -1 if there is none
+    private long nextSparseKey(final long fromKey) {
+        final long number = fromKey >>> PAGE_SHIFT;
+        for (Map.Entry<Long, Page> entry = pages.ceilingEntry(number); entry != null; entry = pages.higherEntry(entry.getKey())) {
+            final Page page = entry.getValue();
+            final Object[] elements = page.elements;
+            final int from = page.number == number ? ((int)fromKey & PAGE_SIZE - 1) - page.base : 0;
+            for (int i = Math.max(from, 0); i < elements.length; i++) {
+                if (elements[i] != ABSENT) {
+                    return page.number << PAGE_SHIFT | page.base + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // value of a sparse element for numeric conversion, null if absent
+    private Object getSparseValue(final int index) {
+        final Object value = getSparse(indexToKey(index));
+        return value == ABSENT ? null : value;
     }
 
     @Override
@@ -77,13 +239,8 @@ class SparseArrayData extends ArrayData {
 
         Arrays.fill(objArray, underlyingLength, len, ScriptRuntime.UNDEFINED);
 
-        for (final Map.Entry<Long, Object> entry : sparseMap.entrySet()) {
-            final long key = entry.getKey();
-            if (key < Integer.MAX_VALUE) {
-                objArray[(int)key] = entry.getValue();
-            } else {
-                break; // ascending key order
-            }
+        for (long key = nextSparseKey(0); key >= 0 && key < len; key = nextSparseKey(key + 1)) {
+            objArray[(int)key] = getSparse(key);
         }
 
         return objArray;
@@ -93,39 +250,49 @@ class SparseArrayData extends ArrayData {
     public ArrayData shiftLeft(final int by) {
         underlying = underlying.shiftLeft(by);
 
-        final TreeMap<Long, Object> newSparseMap = new TreeMap<>();
-
-        for (final Map.Entry<Long, Object> entry : sparseMap.entrySet()) {
-            final long newIndex = entry.getKey() - by;
-            if (newIndex >= 0) {
-                if (newIndex < maxDenseLength) {
-                    final long oldLength = underlying.length();
-                    underlying = underlying.ensure(newIndex)
-                            .set((int) newIndex, entry.getValue(), false)
-                            .safeDelete(oldLength, newIndex - 1, false);
-                } else {
-                    newSparseMap.put(newIndex, entry.getValue());
+        final TreeMap<Long, Page> oldPages = pages;
+        pages = new TreeMap<>();
+        lastPage = null;
+
+        for (final Page page : oldPages.values()) {
+            for (int i = 0; i < page.elements.length; i++) {
+                final Object value = page.elements[i];
+                if (value == ABSENT) {
+                    continue;
+                }
+                final long newIndex = (page.number << PAGE_SHIFT | page.base + i) - by;
+                if (newIndex >= 0) {
+                    if (newIndex < maxDenseLength) {
+                        final long oldLength = underlying.length();
+                        underlying = underlying.ensure(newIndex)
+                                .set((int) newIndex, value, false)
+                                .safeDelete(oldLength, newIndex - 1, false);
+                    } else {
+                        putSparse(newIndex, value);
+                    }
                 }
             }
         }
 
-        sparseMap = newSparseMap;
         setLength(Math.max(length() - by, 0));
 
-        return sparseMap.isEmpty() ? underlying : this;
+        return pages.isEmpty() ? underlying : this;
     }
 
     @Override
     public ArrayData shiftRight(final int by) {
-        final TreeMap<Long, Object> newSparseMap = new TreeMap<>();
-        // Move elements from underlying to sparse map if necessary
+        final TreeMap<Long, Page> oldPages = pages;
+        pages = new TreeMap<>();
+        lastPage = null;
+
+        // Move elements from underlying to sparse pages if necessary
         final long len = underlying.length();
         if (len + by > maxDenseLength) {
             // Length of underlying array after shrinking, before right-shifting
             final long tempLength = Math.max(0, maxDenseLength - by);
             for (long i = tempLength; i < len; i++) {
                 if (underlying.has((int) i)) {
-                    newSparseMap.put(i + by, underlying.getObject((int) i));
+                    putSparse(i + by, underlying.getObject((int) i));
                 }
             }
             underlying = underlying.shrink((int) tempLength);
@@ -134,12 +301,15 @@ class SparseArrayData extends ArrayData {
 
         underlying = underlying.shiftRight(by);
 
-        for (final Map.Entry<Long, Object> entry : sparseMap.entrySet()) {
-            final long newIndex = entry.getKey() + by;
-            newSparseMap.put(newIndex, entry.getValue());
+        for (final Page page : oldPages.values()) {
+            for (int i = 0; i < page.elements.length; i++) {
+                final Object value = page.elements[i];
+                if (value != ABSENT) {
+                    putSparse((page.number << PAGE_SHIFT | page.base + i) + by, value);
+                }
+            }
         }
 
-        sparseMap = newSparseMap;
         setLength(length() + by);
 
         return this;
@@ -158,11 +328,11 @@ class SparseArrayData extends ArrayData {
         if (newLength < underlying.length()) {
             underlying = underlying.shrink(newLength);
             underlying.setLength(newLength);
-            sparseMap.clear();
+            removeSparse(0, Long.MAX_VALUE);
             setLength(newLength);
         }
 
-        sparseMap.subMap(newLength, Long.MAX_VALUE).clear();
+        removeSparse(newLength, Long.MAX_VALUE);
         setLength(newLength);
         return this;
     }
@@ -174,8 +344,8 @@ class SparseArrayData extends ArrayData {
             underlying = underlying.ensure(index).set(index, value, strict).safeDelete(oldLength, index - 1, strict);
             setLength(Math.max(underlying.length(), length()));
         } else {
-            final Long longIndex = indexToKey(index);
-            sparseMap.put(longIndex, value);
+            final long longIndex = indexToKey(index);
+            putSparse(longIndex, value);
             setLength(Math.max(longIndex + 1, length()));
         }
 
@@ -189,8 +359,8 @@ class SparseArrayData extends ArrayData {
             underlying = underlying.ensure(index).set(index, value, strict).safeDelete(oldLength, index - 1, strict);
             setLength(Math.max(underlying.length(), length()));
         } else {
-            final Long longIndex = indexToKey(index);
-            sparseMap.put(longIndex, value);
+            final long longIndex = indexToKey(index);
+            putSparse(longIndex, value);
             setLength(Math.max(longIndex + 1, length()));
         }
         return this;
@@ -203,8 +373,8 @@ class SparseArrayData extends ArrayData {
             underlying = underlying.ensure(index).set(index, value, strict).safeDelete(oldLength, index - 1, strict);
             setLength(Math.max(underlying.length(), length()));
         } else {
-            final Long longIndex = indexToKey(index);
-            sparseMap.put(longIndex, value);
+            final long longIndex = indexToKey(index);
+            putSparse(longIndex, value);
             setLength(Math.max(longIndex + 1, length()));
         }
         return this;
@@ -232,7 +402,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getInt(index);
         }
-        return JSType.toInt32(sparseMap.get(indexToKey(index)));
+        return JSType.toInt32(getSparseValue(index));
     }
 
     @Override
@@ -240,7 +410,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getIntOptimistic(index, programPoint);
         }
-        return JSType.toInt32Optimistic(sparseMap.get(indexToKey(index)), programPoint);
+        return JSType.toInt32Optimistic(getSparseValue(index), programPoint);
     }
 
     @Override
@@ -248,7 +418,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getDouble(index);
         }
-        return JSType.toNumber(sparseMap.get(indexToKey(index)));
+        return JSType.toNumber(getSparseValue(index));
     }
 
     @Override
@@ -256,7 +426,7 @@ class SparseArrayData extends ArrayData {
         if (index >= 0 && index < maxDenseLength) {
             return underlying.getDouble(index);
         }
-        return JSType.toNumberOptimistic(sparseMap.get(indexToKey(index)), programPoint);
+        return JSType.toNumberOptimistic(getSparseValue(index), programPoint);
     }
 
     @Override
@@ -265,12 +435,8 @@ class SparseArrayData extends ArrayData {
             return underlying.getObject(index);
         }
 
-        final Long key = indexToKey(index);
-        if (sparseMap.containsKey(key)) {
-            return sparseMap.get(key);
-        }
-
-        return ScriptRuntime.UNDEFINED;
+        final Object value = getSparse(indexToKey(index));
+        return value == ABSENT ? ScriptRuntime.UNDEFINED : value;
     }
 
     @Override
@@ -279,7 +445,7 @@ class SparseArrayData extends ArrayData {
             return index < underlying.length() && underlying.has(index);
         }
 
-        return sparseMap.containsKey(indexToKey(index));
+        return getSparse(indexToKey(index)) != ABSENT;
     }
 
     @Override
@@ -289,7 +455,7 @@ class SparseArrayData extends ArrayData {
                 underlying = underlying.delete(index);
             }
         } else {
-            sparseMap.remove(indexToKey(index));
+            removeSparse(indexToKey(index));
         }
 
         return this;
@@ -301,12 +467,12 @@ class SparseArrayData extends ArrayData {
             underlying = underlying.delete(fromIndex, Math.min(toIndex, underlying.length() - 1));
         }
         if (toIndex >= maxDenseLength) {
-            sparseMap.subMap(fromIndex, true, toIndex, true).clear();
+            removeSparse(fromIndex, toIndex + 1);
         }
         return this;
     }
 
-    private static Long indexToKey(final int index) {
+    private static long indexToKey(final int index) {
         return ArrayIndex.toLongIndex(index);
     }
 
@@ -329,8 +495,8 @@ class SparseArrayData extends ArrayData {
             return result;
         }
         setLength(len - 1);
-        final Long key = len - 1;
-        return sparseMap.containsKey(key) ? sparseMap.remove(key) : ScriptRuntime.UNDEFINED;
+        final Object value = removeSparse(len - 1);
+        return value == ABSENT ? ScriptRuntime.UNDEFINED : value;
     }
 
     @Override
@@ -365,8 +531,8 @@ class SparseArrayData extends ArrayData {
             return underlying.nextIndex(index);
         }
 
-        final Long nextKey = sparseMap.higherKey(index);
-        if (nextKey != null) {
+        final long nextKey = nextSparseKey(index + 1);
+        if (nextKey >= 0) {
             return nextKey;
         }
 
@@ -28,6 +28,7 @@ package org.openjdk.nashorn.internal.runtime.arrays;
 import static org.openjdk.nashorn.internal.lookup.Lookup.MH;
 import java.lang.invoke.MethodHandle;
 import java.nio.Buffer;
+import java.util.function.UnaryOperator;
 import org.openjdk.nashorn.internal.lookup.Lookup;
 
 /**
@@ -84,9 +85,19 @@ public abstract class TypedArrayData<T extends Buffer> extends ContinuousArrayDa
         return false;
     }
 
+    /**
+     * Typed array data is a view of the memory of an ArrayBuffer, so a copy is a view of the same
+     * memory. The copy of a typed array replaces it with a view of the copy of its buffer.
+     */
     @Override
     public TypedArrayData<T> copy() {
-        throw new UnsupportedOperationException();
+        return this;
+    }
+
+    @Override
+    public ArrayData copyMapped(final UnaryOperator<Object> mapper) {
+        // elements are numbers, there is nothing to map
+        return this;
     }
 
     @Override
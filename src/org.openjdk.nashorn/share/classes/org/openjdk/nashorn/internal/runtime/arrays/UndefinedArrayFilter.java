@@ -114,6 +114,10 @@ final class UndefinedArrayFilter extends ArrayFilter {
         undefined.clear(index);
 
         if (value == UNDEFINED) {
+            if (!underlying.has(index)) {
+                // fill the hole in the underlying data, the value is masked as undefined
+                underlying = underlying.set(index, 0, strict);
+            }
             undefined.set(index);
             return this;
         }
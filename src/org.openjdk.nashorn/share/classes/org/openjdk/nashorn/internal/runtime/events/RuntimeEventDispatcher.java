@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.events;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.openjdk.nashorn.api.scripting.RuntimeEvents;
+
+/**
+ * Dispatches runtime events to the listeners registered with {@link RuntimeEvents}. Event
+ * sources check {@link #isEnabled()} first, so that no event data is computed while there
+ * are no listeners.
+ */
+public final class RuntimeEventDispatcher {
+    private static final RuntimeEvents.Listener[] NO_LISTENERS = new RuntimeEvents.Listener[0];
+
+    private static volatile RuntimeEvents.Listener[] listeners = NO_LISTENERS;
+
+    private RuntimeEventDispatcher() {
+    }
+
+    /**
+     * Adds a listener.
+     * @param listener the listener
+     */
+    public static synchronized void addListener(final RuntimeEvents.Listener listener) {
+        final RuntimeEvents.Listener[] current = listeners;
+        final RuntimeEvents.Listener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener the listener
+     */
+    public static synchronized void removeListener(final RuntimeEvents.Listener listener) {
+        final RuntimeEvents.Listener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                final RuntimeEvents.Listener[] updated = new RuntimeEvents.Listener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, updated.length - i);
+                listeners = updated.length == 0 ? NO_LISTENERS : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Are any listeners registered?
+     * @return true if events should be raised
+     */
+    public static boolean isEnabled() {
+        return listeners.length != 0;
+    }
+
+    /**
+     * Raises a recompilation event.
+     * @param functionName the name of the function
+     * @param programPoint the invalidated program point
+     * @param previousType the previous type of the program point, or null if not known
+     * @param newType the new type of the program point
+     */
+    public static void recompiled(final String functionName, final int programPoint, final Class<?> previousType, final Class<?> newType) {
+        for (final RuntimeEvents.Listener listener : listeners) {
+            listener.recompiled(functionName, programPoint, previousType, newType);
+        }
+    }
+
+    /**
+     * Raises a relink event.
+     * @param operation the call site operation
+     * @param location the call site location
+     * @param relinkCount the number of relinks of the call site
+     */
+    public static void relinked(final String operation, final String location, final int relinkCount) {
+        for (final RuntimeEvents.Listener listener : listeners) {
+            listener.relinked(operation, location, relinkCount);
+        }
+    }
+
+    /**
+     * Raises a megamorphic call site event.
+     * @param operation the call site operation
+     * @param location the call site location
+     * @param relinkCount the number of relinks of the call site
+     */
+    public static void megamorphic(final String operation, final String location, final int relinkCount) {
+        for (final RuntimeEvents.Listener listener : listeners) {
+            listener.megamorphic(operation, location, relinkCount);
+        }
+    }
+
+    /**
+     * Raises a class install event.
+     * @param className the binary name of the class
+     * @param byteCodeLength the length of the class file
+     */
+    public static void classInstalled(final String className, final int byteCodeLength) {
+        for (final RuntimeEvents.Listener listener : listeners) {
+            listener.classInstalled(className, byteCodeLength);
+        }
+    }
+
+    /**
+     * Raises an ArrayBuffer release event.
+     * @param buffer the memory of the released ArrayBuffer
+     */
+    public static void arrayBufferReleased(final ByteBuffer buffer) {
+        for (final RuntimeEvents.Listener listener : listeners) {
+            listener.arrayBufferReleased(buffer);
+        }
+    }
+}
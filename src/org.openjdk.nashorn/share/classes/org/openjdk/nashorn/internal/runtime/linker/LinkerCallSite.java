@@ -49,6 +49,7 @@ import org.openjdk.nashorn.internal.runtime.Context;
 import org.openjdk.nashorn.internal.runtime.Debug;
 import org.openjdk.nashorn.internal.runtime.ScriptObject;
 import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.events.RuntimeEventDispatcher;
 import org.openjdk.nashorn.internal.runtime.options.Options;
 
 
@@ -64,6 +65,13 @@ public class LinkerCallSite extends ChainedCallSite {
     private static final MethodHandle INCREASE_MISS_COUNTER = MH.findStatic(MethodHandles.lookup(), LinkerCallSite.class, "increaseMissCount", MH.type(Object.class, String.class, Object.class));
     private static final Comparator<Entry<String, AtomicInteger>> MISS_COUNT_COMPARATOR = Comparator.comparingInt(e -> e.getValue().get());
 
+    /**
+     * Number of times this call site has been linked, including its first link. Only updated
+     * on the slow linking path, and only read when a runtime event listener is registered, so
+     * that listeners registered later see relinks of call sites that were already linked.
+     */
+    private int linkCount;
+
     LinkerCallSite(final NashornCallSiteDescriptor descriptor) {
         super(descriptor);
         if (Context.DEBUG) {
@@ -107,11 +115,19 @@ public class LinkerCallSite extends ChainedCallSite {
 
     @Override
     public void relink(final GuardedInvocation invocation, final MethodHandle relink) {
+        if (linkCount++ > 0 && RuntimeEventDispatcher.isEnabled()) {
+            RuntimeEventDispatcher.relinked(getDescriptor().getOperation().toString(), getScriptLocation(), linkCount - 1);
+        }
         super.relink(invocation, getDebuggingRelink(relink));
     }
 
     @Override
     public void resetAndRelink(final GuardedInvocation invocation, final MethodHandle relink) {
+        // Dynalink resets a call site when its relink count reaches the unstable relink threshold
+        linkCount++;
+        if (RuntimeEventDispatcher.isEnabled()) {
+            RuntimeEventDispatcher.megamorphic(getDescriptor().getOperation().toString(), getScriptLocation(), linkCount - 1);
+        }
         super.resetAndRelink(invocation, getDebuggingRelink(relink));
     }
 
@@ -48,6 +48,7 @@ public final class NashornGuards {
     private static final MethodHandle IS_MAP              = findOwnMH("isMap", boolean.class, ScriptObject.class, PropertyMap.class);
     private static final MethodHandle IS_MAP_SCRIPTOBJECT = findOwnMH("isMap", boolean.class, Object.class, PropertyMap.class);
     private static final MethodHandle IS_SCRIPTOBJECT     = findOwnMH("isScriptObject", boolean.class, Object.class);
+    private static final MethodHandle IS_DICTIONARY       = findOwnMH("isDictionary", boolean.class, Object.class);
     private static final MethodHandle IS_NOT_JSOBJECT     = findOwnMH("isNotJSObject", boolean.class, Object.class);
     private static final MethodHandle SAME_OBJECT         = findOwnMH("sameObject", boolean.class, Object.class, WeakReference.class);
     //TODO - maybe put this back in ScriptFunction instead of the ClassCastException.class relinkage
@@ -114,6 +115,17 @@ public final class NashornGuards {
         return MH.insertArguments(explicitInstanceOfCheck ? IS_MAP_SCRIPTOBJECT : IS_MAP, 1, map);
     }
 
+    /**
+     * Get the guard that checks if an object is a {@link ScriptObject} in dictionary mode,
+     * i.e. with a {@link PropertyMap} that is not shared and changes with every added or
+     * deleted property.
+     *
+     * @return method handle for guard
+     */
+    public static MethodHandle getDictionaryGuard() {
+        return IS_DICTIONARY;
+    }
+
     /**
      * Determine whether the given callsite needs a guard.
      * @param property the property, or null
@@ -214,6 +226,11 @@ public final class NashornGuards {
         return self.getMap() == map;
     }
 
+    @SuppressWarnings("unused")
+    private static boolean isDictionary(final Object self) {
+        return self instanceof ScriptObject && ((ScriptObject)self).getMap().isDictionary();
+    }
+
     @SuppressWarnings("unused")
     private static boolean isNotJSObject(final Object self) {
         return !(self instanceof JSObject);
@@ -193,6 +193,37 @@ public final class Options {
         }
     }
 
+    /**
+     * Convenience function for getting a size in bytes from system properties in a safe way.
+     * The value may be followed by one of the suffixes {@code k}, {@code m}, or {@code g}
+     * (in either case) to specify kilobytes, megabytes, or gigabytes.
+     *
+     * @param name of size property
+     * @param defValue the default value if unset or invalid
+     * @return size property if set or default value
+     */
+    public static long getSizeProperty(final String name, final long defValue) {
+        final String property = getStringProperty(name, null);
+        if (property == null || property.isEmpty()) {
+            return defValue;
+        }
+
+        final int shift;
+        switch (Character.toLowerCase(property.charAt(property.length() - 1))) {
+        case 'k': shift = 10; break;
+        case 'm': shift = 20; break;
+        case 'g': shift = 30; break;
+        default: shift = 0; break;
+        }
+
+        try {
+            final long value = Long.parseLong(shift == 0 ? property : property.substring(0, property.length() - 1));
+            return value > Long.MAX_VALUE >> shift ? Long.MAX_VALUE : value << shift;
+        } catch (final NumberFormatException e) {
+            return defValue;
+        }
+    }
+
     /**
      * Return an option given its resource key. If the key doesn't begin with
      * {@literal <resource>}.option it will be completed using the resource from this
@@ -43,6 +43,14 @@ public class JoniRegExp extends RegExp {
     /** Compiled Joni Regex */
     private Regex regex;
 
+    /** Literal every match contains at {@code minDistance} to {@code maxDistance} from its start, or null */
+    private String literal;
+    private int minDistance;
+    private int maxDistance;
+
+    /** Whether matches can only start at the beginning of the input */
+    private boolean anchored;
+
     /**
      * Construct a Regular expression from the given {@code pattern} and {@code flags} strings.
      *
@@ -79,6 +87,10 @@ public class JoniRegExp extends RegExp {
                 final char[] javaPattern = parsed.getJavaPattern().toCharArray();
                 this.regex = new Regex(javaPattern, 0, javaPattern.length, option, Syntax.JAVASCRIPT);
                 this.groupsInNegativeLookahead = parsed.getGroupsInNegativeLookahead();
+                this.literal = regex.getRequiredLiteral();
+                this.minDistance = regex.getRequiredLiteralMinDistance();
+                this.maxDistance = regex.getRequiredLiteralMaxDistance();
+                this.anchored = regex.isAnchoredAtStart();
             }
         } catch (final PatternSyntaxException | JOniException e2) {
             throwParserException("syntax", e2.getMessage());
@@ -108,18 +120,54 @@ public class JoniRegExp extends RegExp {
 
     }
 
+    /**
+     * Matcher that only copies the input for joni once there is a position
+     * where a match is possible. If every match contains a literal, its
+     * occurrences are found with {@link String#indexOf(String, int)} on the input
+     * and joni only tries the start positions they allow. Patterns anchored at
+     * the start of the input are not searched beyond it.
+     */
     class JoniMatcher implements RegExpMatcher {
         final String input;
-        final Matcher joniMatcher;
+        private Matcher joniMatcher;
 
         JoniMatcher(final String input) {
             this.input = input;
-            this.joniMatcher = regex.matcher(input.toCharArray());
+        }
+
+        private Matcher joniMatcher() {
+            if (joniMatcher == null) {
+                joniMatcher = regex.matcher(input.toCharArray());
+            }
+            return joniMatcher;
         }
 
         @Override
         public boolean search(final int start) {
-            return joniMatcher.search(start, input.length(), Option.NONE) > -1;
+            final int length = input.length();
+            if (anchored) {
+                if (start > 0 || literal != null && minDistance == maxDistance && !input.startsWith(literal, minDistance)) {
+                    return false;
+                }
+            } else if (literal != null) {
+                // start positions below next have been tried
+                int next = start;
+                for (int from = start + minDistance; from <= length;) {
+                    final int found = input.indexOf(literal, from);
+                    if (found < 0) {
+                        return false;
+                    }
+                    final int low = Math.max(next, found - maxDistance);
+                    final int high = found - minDistance;
+                    if (low <= high && joniMatcher().search(low, high + 1, Option.NONE) > -1) {
+                        return true;
+                    }
+                    next = high + 1;
+                    from = found + 1;
+                }
+                return false;
+            }
+            return joniMatcher().search(start, length, Option.NONE) > -1;
         }
 
         @Override
@@ -163,7 +211,7 @@ public class JoniRegExp extends RegExp {
 
         @Override
         public int groupCount() {
-            final Region region = joniMatcher.getRegion();
+            final Region region = joniMatcher().getRegion();
             return region == null ? 0 : region.numRegs - 1;
         }
     }
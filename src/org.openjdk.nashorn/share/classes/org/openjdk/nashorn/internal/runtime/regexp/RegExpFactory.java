@@ -25,9 +25,11 @@
 
 package org.openjdk.nashorn.internal.runtime.regexp;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import org.openjdk.nashorn.internal.runtime.ParserException;
 import org.openjdk.nashorn.internal.runtime.options.Options;
 
@@ -42,13 +44,13 @@ public class RegExpFactory {
     private final static String JDK  = "jdk";
     private final static String JONI = "joni";
 
-    /** Weak cache of already validated regexps - when reparsing, we don't, for example
+    /** Cache of already validated regexps - when reparsing, we don't, for example
      *  need to recompile (reverify) all regexps that have previously been parsed by this
      *  RegExpFactory in a previous compilation. This saves significant time in e.g. avatar
-     *  startup
+     *  startup. It also keeps scripts that create the same regexps dynamically, e.g. once
+     *  per request, from recompiling them. Its size is set by {@code nashorn.regexp.cache.size}.
      */
-    private static final Map<String, RegExp> REGEXP_CACHE =
-            Collections.synchronizedMap(new WeakHashMap<String, RegExp>());
+    private static final Cache REGEXP_CACHE = new Cache(Options.getIntProperty("nashorn.regexp.cache.size", 512));
 
     static {
         final String impl = Options.getStringProperty("nashorn.regexp.impl", JONI);
@@ -86,7 +88,7 @@ public class RegExpFactory {
      * @throws ParserException if invalid source or flags
      */
     public static RegExp create(final String pattern, final String flags) {
-        final String key = pattern + "/" + flags;
+        final Key key = new Key(pattern, flags);
         RegExp regexp = REGEXP_CACHE.get(key);
         if (regexp == null) {
             regexp = instance.compile(pattern,  flags);
@@ -115,4 +117,123 @@ public class RegExpFactory {
     public static boolean usesJavaUtilRegex() {
         return instance != null && instance.getClass() == RegExpFactory.class;
     }
+
+    /**
+     * Get the number of regexps found in the cache by {@link #create(String, String)}.
+     *
+     * @return number of cache hits
+     */
+    public static long getCacheHits() {
+        return REGEXP_CACHE.hits.longValue();
+    }
+
+    /**
+     * Get the number of regexps {@link #create(String, String)} had to compile.
+     *
+     * @return number of cache misses
+     */
+    public static long getCacheMisses() {
+        return REGEXP_CACHE.misses.longValue();
+    }
+
+    /**
+     * Get the number of regexps evicted from the cache.
+     *
+     * @return number of evicted regexps
+     */
+    public static long getCacheEvictions() {
+        return REGEXP_CACHE.evictions.longValue();
+    }
+
+    private static final class Key {
+        private final String pattern;
+        private final String flags;
+
+        Key(final String pattern, final String flags) {
+            this.pattern = pattern;
+            this.flags = flags;
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() * 31 + flags.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return pattern.equals(other.pattern) && flags.equals(other.flags);
+        }
+    }
+
+    private static final class Entry {
+        final RegExp regexp;
+        volatile long lastUsed;
+
+        Entry(final RegExp regexp) {
+            this.regexp = regexp;
+            this.lastUsed = System.nanoTime();
+        }
+    }
+
+    /**
+     * Concurrent map of compiled regexps, bounded by entry count. Reads do not lock and
+     * only update the entry's access time. When the cache is full, the least recently
+     * used quarter of the entries is evicted at once, so that scripts that keep creating
+     * new regexps do not pay for eviction on every miss.
+     */
+    private static final class Cache {
+        private final int maxEntries;
+        private final Map<Key, Entry> map = new ConcurrentHashMap<>();
+
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        Cache(final int maxEntries) {
+            this.maxEntries = Math.max(maxEntries, 0);
+        }
+
+        RegExp get(final Key key) {
+            final Entry entry = map.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            entry.lastUsed = System.nanoTime();
+            return entry.regexp;
+        }
+
+        void put(final Key key, final RegExp regexp) {
+            if (maxEntries == 0) {
+                return;
+            }
+            // another thread may have compiled the same regexp in the meantime, either one will do
+            map.put(key, new Entry(regexp));
+            if (map.size() > maxEntries) {
+                evict();
+            }
+        }
+
+        private synchronized void evict() {
+            if (map.size() <= maxEntries) {
+                return;
+            }
+            final int target = maxEntries - maxEntries / 4;
+            final List<Map.Entry<Key, Entry>> entries = new ArrayList<>(map.entrySet());
+            entries.sort((e1, e2) -> Long.compare(e1.getValue().lastUsed, e2.getValue().lastUsed));
+            for (final Map.Entry<Key, Entry> eldest : entries) {
+                if (map.size() <= target) {
+                    break;
+                }
+                if (map.remove(eldest.getKey(), eldest.getValue())) {
+                    evictions.increment();
+                }
+            }
+        }
+    }
 }
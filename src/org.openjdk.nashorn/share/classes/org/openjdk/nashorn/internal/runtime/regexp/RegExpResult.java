@@ -25,25 +25,33 @@
 
 package org.openjdk.nashorn.internal.runtime.regexp;
 
+import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
+
 /**
- * Match tuple to keep track of ongoing regexp match.
+ * Match tuple to keep track of ongoing regexp match. Only the offsets of the
+ * match are recorded, the group strings are created when they are first asked for.
  */
 public final class RegExpResult {
-    final Object[] groups;
     final int      index;
+    final int      end;
     final String   input;
+    // start and end of groups 1..n, start is -1 for undefined groups
+    private final int[] offsets;
+    private Object[] groups;
 
     /**
      * Constructor
      *
-     * @param input  regexp input
-     * @param index  index of match
-     * @param groups groups vector
+     * @param input   regexp input
+     * @param index   index of match
+     * @param end     end of match
+     * @param offsets start and end of each capture group, start -1 for undefined groups, or null if there are none
      */
-    public RegExpResult(final String input, final int index, final Object[] groups) {
-        this.input  = input;
-        this.index  = index;
-        this.groups = groups;
+    public RegExpResult(final String input, final int index, final int end, final int[] offsets) {
+        this.input   = input;
+        this.index   = index;
+        this.end     = end;
+        this.offsets = offsets;
     }
 
     /**
@@ -51,6 +59,13 @@ public final class RegExpResult {
      * @return group vector
      */
     public Object[] getGroups() {
+        if (groups == null) {
+            final Object[] g = new Object[groupCount() + 1];
+            for (int i = 0; i < g.length; i++) {
+                g[i] = group(i);
+            }
+            groups = g;
+        }
         return groups;
     }
 
@@ -75,7 +90,7 @@ public final class RegExpResult {
      * @return length
      */
     public int length() {
-        return ((String)groups[0]).length();
+        return end - index;
     }
 
     /**
@@ -84,7 +99,7 @@ public final class RegExpResult {
      * @return the group or ""
      */
     public Object getGroup(final int groupIndex) {
-        return groupIndex >= 0 && groupIndex < groups.length ? groups[groupIndex] : "";
+        return groupIndex >= 0 && groupIndex <= groupCount() ? group(groupIndex) : "";
     }
 
     /**
@@ -92,7 +107,22 @@ public final class RegExpResult {
      * @return the last group or ""
      */
     public Object getLastParen() {
-        return groups.length > 1 ? groups[groups.length - 1] : "";
+        final int groupCount = groupCount();
+        return groupCount > 0 ? group(groupCount) : "";
+    }
+
+    private int groupCount() {
+        return offsets == null ? 0 : offsets.length / 2;
     }
 
+    private Object group(final int groupIndex) {
+        if (groups != null) {
+            return groups[groupIndex];
+        }
+        if (groupIndex == 0) {
+            return input.substring(index, end);
+        }
+        final int start = offsets[2 * groupIndex - 2];
+        return start < 0 ? UNDEFINED : input.substring(start, offsets[2 * groupIndex - 1]);
+    }
 }
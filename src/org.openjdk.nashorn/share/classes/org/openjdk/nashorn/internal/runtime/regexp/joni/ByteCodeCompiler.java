@@ -0,0 +1,680 @@
+/*
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ * of the Software, and to permit persons to whom the Software is furnished to do
+ * so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.openjdk.nashorn.internal.runtime.regexp.joni;
+
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACC_SYNTHETIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFLT;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IF_ICMPEQ;
+import static org.objectweb.asm.Opcodes.IF_ICMPGT;
+import static org.objectweb.asm.Opcodes.IF_ICMPLT;
+import static org.objectweb.asm.Opcodes.IF_ICMPNE;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.logging.DebugLogger;
+import org.openjdk.nashorn.internal.runtime.logging.Loggable;
+import org.openjdk.nashorn.internal.runtime.logging.Logger;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+import org.openjdk.nashorn.internal.runtime.regexp.joni.constants.OPCode;
+import org.openjdk.nashorn.internal.runtime.regexp.joni.constants.OPSize;
+
+/**
+ * Translates the byte code of a hot {@link Regex} into a JVM class so that the
+ * JIT can compile the match loop of that particular pattern. Every regex
+ * instruction gets its own label, literal and single byte class tests are
+ * inlined with their operands as constants, and jumps and pushes go straight
+ * to the target label. All other instructions call the corresponding
+ * {@link ByteCodeMachine} method and then continue at the next label, or go
+ * through a dispatch switch on the instruction pointer if the method moved it.
+ * <p>
+ * Programs are defined as hidden classes in this package, so they are
+ * unloaded together with their regex. Before JDK 15, or if a pattern can not
+ * be compiled, the regex keeps running in the interpreter. Patterns that
+ * fail to compile for any other reason than their size point to a bug in this
+ * class, so they are logged with {@code --log=regexp}, and fail with an
+ * {@link AssertionError} when assertions are enabled.
+ */
+@Logger(name="regexp")
+final class ByteCodeCompiler implements Loggable {
+    /** Number of matches after which a regex is compiled, 0 or less disables compilation. */
+    static final int THRESHOLD = Options.getIntProperty("nashorn.regexp.jit.threshold", 100);
+
+    // HotSpot does not compile methods with more byte code than this
+    private static final int MAX_METHOD_SIZE = 8000;
+    // character classes with more ranges than this test the bit set
+    private static final int MAX_INLINE_RANGES = 4;
+
+    private static final String CLASS_NAME = Type.getInternalName(CompiledProgram.class) + "$Generated";
+    private static final String PROGRAM    = Type.getInternalName(CompiledProgram.class);
+    private static final String MACHINE    = Type.getInternalName(ByteCodeMachine.class);
+    private static final String ENCODING   = Type.getInternalName(EncodingHelper.class);
+
+    private static final int MACHINE_SLOT = 1;
+    private static final int CHAR_SLOT    = 2;
+
+    private static final String[] METHODS = new String[OPCode.SET_OPTION + 1];
+
+    static {
+        METHODS[OPCode.CCLASS_MB]                 = "opCClassMB";
+        METHODS[OPCode.CCLASS_MIX]                = "opCClassMIX";
+        METHODS[OPCode.CCLASS_MB_NOT]             = "opCClassMBNot";
+        METHODS[OPCode.CCLASS_MIX_NOT]            = "opCClassMIXNot";
+        METHODS[OPCode.CCLASS_NODE]               = "opCClassNode";
+        METHODS[OPCode.ANYCHAR_STAR]              = "opAnyCharStar";
+        METHODS[OPCode.ANYCHAR_ML_STAR]           = "opAnyCharMLStar";
+        METHODS[OPCode.ANYCHAR_STAR_PEEK_NEXT]    = "opAnyCharStarPeekNext";
+        METHODS[OPCode.ANYCHAR_ML_STAR_PEEK_NEXT] = "opAnyCharMLStarPeekNext";
+        METHODS[OPCode.WORD_BOUND]                = "opWordBound";
+        METHODS[OPCode.NOT_WORD_BOUND]            = "opNotWordBound";
+        METHODS[OPCode.WORD_BEGIN]                = "opWordBegin";
+        METHODS[OPCode.WORD_END]                  = "opWordEnd";
+        METHODS[OPCode.BEGIN_BUF]                 = "opBeginBuf";
+        METHODS[OPCode.END_BUF]                   = "opEndBuf";
+        METHODS[OPCode.BEGIN_LINE]                = "opBeginLine";
+        METHODS[OPCode.END_LINE]                  = "opEndLine";
+        METHODS[OPCode.SEMI_END_BUF]              = "opSemiEndBuf";
+        METHODS[OPCode.BEGIN_POSITION]            = "opBeginPosition";
+        METHODS[OPCode.MEMORY_START_PUSH]         = "opMemoryStartPush";
+        METHODS[OPCode.MEMORY_START]              = "opMemoryStart";
+        METHODS[OPCode.MEMORY_END_PUSH]           = "opMemoryEndPush";
+        METHODS[OPCode.MEMORY_END]                = "opMemoryEnd";
+        METHODS[OPCode.MEMORY_END_PUSH_REC]       = "opMemoryEndPushRec";
+        METHODS[OPCode.MEMORY_END_REC]            = "opMemoryEndRec";
+        METHODS[OPCode.BACKREF1]                  = "opBackRef1";
+        METHODS[OPCode.BACKREF2]                  = "opBackRef2";
+        METHODS[OPCode.BACKREFN]                  = "opBackRefN";
+        METHODS[OPCode.BACKREFN_IC]               = "opBackRefNIC";
+        METHODS[OPCode.BACKREF_MULTI]             = "opBackRefMulti";
+        METHODS[OPCode.BACKREF_MULTI_IC]          = "opBackRefMultiIC";
+        METHODS[OPCode.BACKREF_WITH_LEVEL]        = "opBackRefAtLevel";
+        METHODS[OPCode.NULL_CHECK_START]          = "opNullCheckStart";
+        METHODS[OPCode.NULL_CHECK_END]            = "opNullCheckEnd";
+        METHODS[OPCode.NULL_CHECK_END_MEMST]      = "opNullCheckEndMemST";
+        METHODS[OPCode.REPEAT]                    = "opRepeat";
+        METHODS[OPCode.REPEAT_NG]                 = "opRepeatNG";
+        METHODS[OPCode.REPEAT_INC]                = "opRepeatInc";
+        METHODS[OPCode.REPEAT_INC_SG]             = "opRepeatIncSG";
+        METHODS[OPCode.REPEAT_INC_NG]             = "opRepeatIncNG";
+        METHODS[OPCode.REPEAT_INC_NG_SG]          = "opRepeatIncNGSG";
+        METHODS[OPCode.PUSH_POS]                  = "opPushPos";
+        METHODS[OPCode.POP_POS]                   = "opPopPos";
+        METHODS[OPCode.PUSH_POS_NOT]              = "opPushPosNot";
+        METHODS[OPCode.FAIL_POS]                  = "opFailPos";
+        METHODS[OPCode.PUSH_STOP_BT]              = "opPushStopBT";
+        METHODS[OPCode.POP_STOP_BT]               = "opPopStopBT";
+        METHODS[OPCode.LOOK_BEHIND]               = "opLookBehind";
+        METHODS[OPCode.PUSH_LOOK_BEHIND_NOT]      = "opPushLookBehindNot";
+        METHODS[OPCode.FAIL_LOOK_BEHIND_NOT]      = "opFailLookBehindNot";
+    }
+
+    private static final MethodHandle DEFINE_CLASS = getDefineClass();
+
+    private final Regex regex;
+    private final int[] code;
+    private final int codeLength;
+    private final Label[] labels;
+    private final Label dispatch = new Label();
+    private final Label fail = new Label();
+    private final Label interpret = new Label();
+    private MethodVisitor mv;
+    private final DebugLogger log;
+
+    private ByteCodeCompiler(final Regex regex) {
+        this.regex = regex;
+        this.code = regex.code;
+        this.codeLength = regex.codeLength;
+        this.labels = new Label[codeLength];
+        // joni regexps are also matched outside of scripts, without a global to log to
+        final Global global = Context.getGlobal();
+        this.log = global != null ? initLogger(Context.getContext()) : DebugLogger.DISABLED_LOGGER;
+    }
+
+    @Override
+    public DebugLogger initLogger(final Context context) {
+        return context.getLogger(this.getClass());
+    }
+
+    @Override
+    public DebugLogger getLogger() {
+        return log;
+    }
+
+    /**
+     * Compiles a regex to a JVM class.
+     *
+     * @param regex the regex
+     * @return the compiled program, or null if the regex should stay interpreted
+     */
+    static CompiledProgram compile(final Regex regex) {
+        if (DEFINE_CLASS == null || Config.DEBUG_MATCH) {
+            return null;
+        }
+        final ByteCodeCompiler compiler = new ByteCodeCompiler(regex);
+        try {
+            final byte[] bytes = compiler.generate();
+            if (bytes == null) {
+                return null;
+            }
+            final Class<?> clazz = (Class<?>)DEFINE_CLASS.invokeExact(bytes);
+            return (CompiledProgram)clazz.getDeclaredConstructor().newInstance();
+        } catch (final RuntimeException | LinkageError | ReflectiveOperationException e) {
+            return compiler.failed(e);
+        } catch (final Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            return compiler.failed(t);
+        }
+    }
+
+    // the regex keeps running in the interpreter, but generated byte code that does not load is a bug
+    private CompiledProgram failed(final Throwable t) {
+        log.warning("Failed to compile regexp program of ", codeLength, " instructions: ", t);
+        assert false : t;
+        return null;
+    }
+
+    // Lookup.defineHiddenClass(bytes, true) is looked up reflectively, as Nashorn is built for JDK 11
+    private static MethodHandle getDefineClass() {
+        final Lookup lookup = MethodHandles.lookup();
+        try {
+            final Object options = Array.newInstance(Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption"), 0);
+            final MethodHandle define = lookup.findVirtual(Lookup.class, "defineHiddenClass",
+                    MethodType.methodType(Lookup.class, byte[].class, boolean.class, options.getClass()));
+            final MethodHandle lookupClass = lookup.findVirtual(Lookup.class, "lookupClass", MethodType.methodType(Class.class));
+            return MethodHandles.filterReturnValue(MethodHandles.insertArguments(define, 2, true, options).bindTo(lookup), lookupClass);
+        } catch (final ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private byte[] generate() {
+        int ip = 0;
+        while (ip < codeLength) {
+            final int op = code[ip];
+            if (!isInlined(op) && (op >= METHODS.length || METHODS[op] == null)) {
+                return null;
+            }
+            labels[ip] = new Label();
+            ip += instructionLength(ip);
+        }
+        if (ip != codeLength) {
+            return null;
+        }
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, CLASS_NAME, null, PROGRAM, null);
+
+        final MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        init.visitCode();
+        init.visitVarInsn(ALOAD, 0);
+        init.visitMethodInsn(INVOKESPECIAL, PROGRAM, "<init>", "()V", false);
+        init.visitInsn(RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        mv = cw.visitMethod(0, "run", "(L" + MACHINE + ";)I", null, null);
+        mv.visitCode();
+
+        final Label[] targets = new Label[codeLength];
+        for (int i = 0; i < codeLength; i++) {
+            targets[i] = labels[i] != null ? labels[i] : interpret;
+        }
+        mv.visitLabel(dispatch);
+        loadMachine();
+        mv.visitFieldInsn(GETFIELD, MACHINE, "ip", "I");
+        mv.visitTableSwitchInsn(0, codeLength - 1, interpret, targets);
+
+        ip = 0;
+        while (ip < codeLength) {
+            final int next = nextInstruction(ip);
+            mv.visitLabel(labels[ip]);
+            instruction(ip, next);
+            ip = next;
+        }
+        // past the last instruction, like the interpreter would be
+        setIp(codeLength);
+        mv.visitJumpInsn(GOTO, interpret);
+
+        mv.visitLabel(fail);
+        invoke("opFail", "()V");
+        mv.visitJumpInsn(GOTO, dispatch);
+
+        mv.visitLabel(interpret);
+        invoke("interpret", "()I");
+        mv.visitInsn(IRETURN);
+
+        final Label end = new Label();
+        mv.visitLabel(end);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        return end.getOffset() > MAX_METHOD_SIZE ? null : cw.toByteArray();
+    }
+
+    // Length of the supported instruction at ip, with its operands as laid out by ArrayCompiler
+    private int instructionLength(final int ip) {
+        final int op = code[ip];
+        switch (op) {
+        case OPCode.EXACT1:
+        case OPCode.EXACT2:
+        case OPCode.EXACT3:
+        case OPCode.EXACT4:
+        case OPCode.EXACT5:
+            return OPSize.OPCODE + op - OPCode.EXACT1 + 1;
+
+        case OPCode.EXACT1_IC:
+            return OPSize.OPCODE + 1;
+
+        case OPCode.EXACTN:
+        case OPCode.EXACTN_IC:
+            if (Config.USE_STRING_TEMPLATES) {
+                return OPSize.OPCODE + OPSize.LENGTH + OPSize.INDEX + OPSize.INDEX;
+            }
+            return OPSize.OPCODE + OPSize.LENGTH + code[ip + 1];
+
+        case OPCode.CCLASS:
+        case OPCode.CCLASS_NOT:
+            return OPSize.OPCODE + BitSet.BITSET_SIZE;
+
+        case OPCode.CCLASS_MB:
+        case OPCode.CCLASS_MB_NOT:
+            return OPSize.OPCODE + OPSize.LENGTH + code[ip + 1];
+
+        case OPCode.CCLASS_MIX:
+        case OPCode.CCLASS_MIX_NOT:
+            return OPSize.OPCODE + BitSet.BITSET_SIZE + OPSize.LENGTH + code[ip + 1 + BitSet.BITSET_SIZE];
+
+        case OPCode.CCLASS_NODE:
+            return OPSize.OPCODE + OPSize.POINTER;
+
+        case OPCode.ANYCHAR_STAR_PEEK_NEXT:
+        case OPCode.ANYCHAR_ML_STAR_PEEK_NEXT:
+            return OPSize.ANYCHAR_STAR_PEEK_NEXT;
+
+        case OPCode.BACKREFN:
+        case OPCode.BACKREFN_IC:
+        case OPCode.MEMORY_START:
+        case OPCode.MEMORY_START_PUSH:
+        case OPCode.MEMORY_END_PUSH:
+        case OPCode.MEMORY_END_PUSH_REC:
+        case OPCode.MEMORY_END:
+        case OPCode.MEMORY_END_REC:
+        case OPCode.REPEAT_INC:
+        case OPCode.REPEAT_INC_NG:
+        case OPCode.REPEAT_INC_SG:
+        case OPCode.REPEAT_INC_NG_SG:
+        case OPCode.NULL_CHECK_START:
+        case OPCode.NULL_CHECK_END:
+        case OPCode.NULL_CHECK_END_MEMST:
+            return OPSize.OPCODE + OPSize.MEMNUM;
+
+        case OPCode.BACKREF_MULTI:
+        case OPCode.BACKREF_MULTI_IC:
+            return OPSize.OPCODE + OPSize.LENGTH + code[ip + 1] * OPSize.MEMNUM;
+
+        case OPCode.BACKREF_WITH_LEVEL:
+            return OPSize.OPCODE + OPSize.OPTION + OPSize.LENGTH + OPSize.LENGTH + code[ip + 3] * OPSize.MEMNUM;
+
+        case OPCode.JUMP:
+        case OPCode.PUSH:
+        case OPCode.PUSH_POS_NOT:
+            return OPSize.OPCODE + OPSize.RELADDR;
+
+        case OPCode.REPEAT:
+        case OPCode.REPEAT_NG:
+            return OPSize.OPCODE + OPSize.MEMNUM + OPSize.RELADDR;
+
+        case OPCode.PUSH_OR_JUMP_EXACT1:
+        case OPCode.PUSH_IF_PEEK_NEXT:
+            return OPSize.PUSH_OR_JUMP_EXACT1;
+
+        case OPCode.LOOK_BEHIND:
+            return OPSize.LOOK_BEHIND;
+
+        case OPCode.PUSH_LOOK_BEHIND_NOT:
+            return OPSize.PUSH_LOOK_BEHIND_NOT;
+
+        default:
+            // all other supported instructions have no operands
+            return OPSize.OPCODE;
+        }
+    }
+
+    private int nextInstruction(final int ip) {
+        int next = ip + 1;
+        while (next < codeLength && labels[next] == null) {
+            next++;
+        }
+        return next;
+    }
+
+    private static boolean isInlined(final int op) {
+        switch (op) {
+        case OPCode.END:
+        case OPCode.FINISH:
+        case OPCode.FAIL:
+        case OPCode.EXACT1:
+        case OPCode.EXACT2:
+        case OPCode.EXACT3:
+        case OPCode.EXACT4:
+        case OPCode.EXACT5:
+        case OPCode.EXACTN:
+        case OPCode.EXACT1_IC:
+        case OPCode.EXACTN_IC:
+        case OPCode.CCLASS:
+        case OPCode.CCLASS_NOT:
+        case OPCode.ANYCHAR:
+        case OPCode.ANYCHAR_ML:
+        case OPCode.WORD:
+        case OPCode.NOT_WORD:
+        case OPCode.JUMP:
+        case OPCode.PUSH:
+        case OPCode.POP:
+        case OPCode.PUSH_OR_JUMP_EXACT1:
+        case OPCode.PUSH_IF_PEEK_NEXT:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private void instruction(final int ip, final int next) {
+        final int op = code[ip];
+        switch (op) {
+        case OPCode.END:
+            // opEnd fails internally when it wants to retry
+            invoke("opEnd", "()Z");
+            mv.visitJumpInsn(IFEQ, dispatch);
+            invoke("finish", "()I");
+            mv.visitInsn(IRETURN);
+            break;
+
+        case OPCode.FINISH:
+            invoke("finish", "()I");
+            mv.visitInsn(IRETURN);
+            break;
+
+        case OPCode.FAIL:
+            mv.visitJumpInsn(GOTO, fail);
+            break;
+
+        case OPCode.EXACT1:
+        case OPCode.EXACT2:
+        case OPCode.EXACT3:
+        case OPCode.EXACT4:
+        case OPCode.EXACT5:
+            exact(ip + 1, op - OPCode.EXACT1 + 1, false);
+            break;
+
+        case OPCode.EXACT1_IC:
+            exact(ip + 1, 1, true);
+            break;
+
+        case OPCode.EXACTN:
+        case OPCode.EXACTN_IC:
+            exactTemplate(code[ip + 1], code[ip + 2], code[ip + 3], op == OPCode.EXACTN_IC);
+            break;
+
+        case OPCode.CCLASS:
+        case OPCode.CCLASS_NOT:
+            charClass(ip + 1, op == OPCode.CCLASS_NOT);
+            break;
+
+        case OPCode.ANYCHAR:
+        case OPCode.ANYCHAR_ML:
+        case OPCode.WORD:
+        case OPCode.NOT_WORD:
+            loadChar();
+            if (op == OPCode.ANYCHAR) {
+                mv.visitVarInsn(ILOAD, CHAR_SLOT);
+                mv.visitMethodInsn(INVOKESTATIC, ENCODING, "isNewLine", "(I)Z", false);
+                mv.visitJumpInsn(IFNE, fail);
+            } else if (op != OPCode.ANYCHAR_ML) {
+                mv.visitVarInsn(ILOAD, CHAR_SLOT);
+                mv.visitMethodInsn(INVOKESTATIC, ENCODING, "isWord", "(I)Z", false);
+                mv.visitJumpInsn(op == OPCode.WORD ? IFEQ : IFNE, fail);
+            }
+            advance(1);
+            break;
+
+        case OPCode.JUMP:
+            mv.visitJumpInsn(GOTO, label(ip + 2 + code[ip + 1]));
+            break;
+
+        case OPCode.PUSH:
+            pushAlt(ip + 2 + code[ip + 1]);
+            break;
+
+        case OPCode.POP:
+            invoke("opPop", "()V");
+            break;
+
+        case OPCode.PUSH_OR_JUMP_EXACT1:
+        case OPCode.PUSH_IF_PEEK_NEXT: {
+            // push the alternative if the next char matches, otherwise jump to it or skip the push
+            final int target = ip + 3 + code[ip + 1];
+            final Label noMatch = op == OPCode.PUSH_OR_JUMP_EXACT1 ? label(target) : label(next);
+            invoke("peek", "()I");
+            pushInt(code[ip + 2]);
+            mv.visitJumpInsn(IF_ICMPNE, noMatch);
+            pushAlt(target);
+            break;
+        }
+
+        default:
+            generic(ip, next, METHODS[op]);
+            break;
+        }
+    }
+
+    private Label label(final int ip) {
+        return ip >= 0 && ip < codeLength && labels[ip] != null ? labels[ip] : interpret;
+    }
+
+    private void generic(final int ip, final int next, final String method) {
+        setIp(ip + 1);
+        loadMachine();
+        loadMachine();
+        mv.visitFieldInsn(GETFIELD, MACHINE, "s", "I");
+        mv.visitFieldInsn(PUTFIELD, MACHINE, "sbegin", "I");
+        invoke(method, "()V");
+        loadMachine();
+        mv.visitFieldInsn(GETFIELD, MACHINE, "ip", "I");
+        pushInt(next);
+        mv.visitJumpInsn(IF_ICMPNE, dispatch);
+    }
+
+    private void exact(final int operand, final int length, final boolean ignoreCase) {
+        available(length);
+        for (int i = 0; i < length; i++) {
+            compareChar(i, code[operand + i], ignoreCase);
+        }
+        advance(length);
+    }
+
+    private void exactTemplate(final int length, final int template, final int offset, final boolean ignoreCase) {
+        available(length);
+        if (length <= 16) {
+            final char[] chars = regex.templates[template];
+            for (int i = 0; i < length; i++) {
+                compareChar(i, chars[offset + i], ignoreCase);
+            }
+        } else {
+            loadMachine();
+            pushInt(template);
+            pushInt(offset);
+            pushInt(length);
+            pushInt(ignoreCase ? 1 : 0);
+            mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, "exactTemplate", "(IIIZ)Z", false);
+            mv.visitJumpInsn(IFEQ, fail);
+        }
+        advance(length);
+    }
+
+    private void compareChar(final int index, final int c, final boolean ignoreCase) {
+        loadMachine();
+        pushInt(index);
+        mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, "charAt", "(I)I", false);
+        if (ignoreCase) {
+            mv.visitMethodInsn(INVOKESTATIC, ENCODING, "toLowerCase", "(I)I", false);
+        }
+        pushInt(c);
+        mv.visitJumpInsn(IF_ICMPNE, fail);
+    }
+
+    private void charClass(final int bits, final boolean not) {
+        loadChar();
+
+        final int[] ranges = new int[2 * MAX_INLINE_RANGES];
+        int count = 0;
+        for (int c = 0; c < BitSet.SINGLE_BYTE_SIZE && count <= MAX_INLINE_RANGES; c++) {
+            if (inBitSet(bits, c)) {
+                if (count < MAX_INLINE_RANGES) {
+                    ranges[2 * count] = c;
+                    while (c + 1 < BitSet.SINGLE_BYTE_SIZE && inBitSet(bits, c + 1)) {
+                        c++;
+                    }
+                    ranges[2 * count + 1] = c;
+                }
+                count++;
+            }
+        }
+
+        if (count > MAX_INLINE_RANGES) {
+            loadMachine();
+            pushInt(bits);
+            mv.visitVarInsn(ILOAD, CHAR_SLOT);
+            mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, "inBitSet", "(II)Z", false);
+            mv.visitJumpInsn(not ? IFNE : IFEQ, fail);
+        } else {
+            final Label in = not ? fail : new Label();
+            for (int i = 0; i < count; i++) {
+                final int lo = ranges[2 * i];
+                final int hi = ranges[2 * i + 1];
+                mv.visitVarInsn(ILOAD, CHAR_SLOT);
+                pushInt(lo);
+                if (lo == hi) {
+                    mv.visitJumpInsn(IF_ICMPEQ, in);
+                } else {
+                    final Label skip = new Label();
+                    mv.visitJumpInsn(IF_ICMPLT, skip);
+                    mv.visitVarInsn(ILOAD, CHAR_SLOT);
+                    pushInt(hi);
+                    mv.visitJumpInsn(IF_ICMPGT, skip);
+                    mv.visitJumpInsn(GOTO, in);
+                    mv.visitLabel(skip);
+                }
+            }
+            if (!not) {
+                mv.visitJumpInsn(GOTO, fail);
+                mv.visitLabel(in);
+            }
+        }
+        advance(1);
+    }
+
+    private boolean inBitSet(final int bits, final int c) {
+        return (code[bits + (c >>> BitSet.ROOM_SHIFT)] & (1 << c)) != 0;
+    }
+
+    // stores the current char in CHAR_SLOT, fails at the end of the range
+    private void loadChar() {
+        invoke("peek", "()I");
+        mv.visitVarInsn(ISTORE, CHAR_SLOT);
+        mv.visitVarInsn(ILOAD, CHAR_SLOT);
+        mv.visitJumpInsn(IFLT, fail);
+    }
+
+    private void available(final int length) {
+        loadMachine();
+        pushInt(length);
+        mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, "available", "(I)Z", false);
+        mv.visitJumpInsn(IFEQ, fail);
+    }
+
+    private void advance(final int length) {
+        loadMachine();
+        pushInt(length);
+        mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, "advance", "(I)V", false);
+    }
+
+    private void pushAlt(final int addr) {
+        loadMachine();
+        pushInt(addr);
+        mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, "pushAltAt", "(I)V", false);
+    }
+
+    private void setIp(final int ip) {
+        loadMachine();
+        pushInt(ip);
+        mv.visitFieldInsn(PUTFIELD, MACHINE, "ip", "I");
+    }
+
+    private void invoke(final String name, final String desc) {
+        loadMachine();
+        mv.visitMethodInsn(INVOKEVIRTUAL, MACHINE, name, desc, false);
+    }
+
+    private void loadMachine() {
+        mv.visitVarInsn(ALOAD, MACHINE_SLOT);
+    }
+
+    private void pushInt(final int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+}
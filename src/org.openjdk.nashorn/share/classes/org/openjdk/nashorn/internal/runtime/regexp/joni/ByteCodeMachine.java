@@ -34,16 +34,17 @@ import org.openjdk.nashorn.internal.runtime.regexp.joni.exception.ErrorMessages;
 import org.openjdk.nashorn.internal.runtime.regexp.joni.exception.InternalException;
 
 class ByteCodeMachine extends StackMachine {
-    private int bestLen;          // return value
-    private int s = 0;            // current char
+    // package access for CompiledProgram, see ByteCodeCompiler
+    int bestLen;                  // return value
+    int s = 0;                    // current char
 
-    private int range;            // right range
-    private int sprev;
-    private int sstart;
-    private int sbegin;
+    int range;                    // right range
+    int sprev;
+    int sstart;
+    int sbegin;
 
-    private final int[] code;       // byte code
-    private int ip;                 // instruction pointer
+    private final int[] code;     // byte code
+    int ip;                       // instruction pointer
 
     ByteCodeMachine(final Regex regex, final char[] chars, final int p, final int end) {
         super(regex, chars, p, end);
@@ -115,6 +116,18 @@ class ByteCodeMachine extends StackMachine {
         bestLen = -1;
         s = ss;
 
+        final CompiledProgram program = regex.program;
+        if (program != null) {
+            return program.run(this);
+        }
+        return interpret();
+    }
+
+    /**
+     * Runs the byte code from the current instruction pointer. Compiled programs
+     * fall back to this for code they have no entry point for.
+     */
+    int interpret() {
         final int[] c = this.code;
         while (true) {
             if (Config.DEBUG_MATCH) {
@@ -221,7 +234,7 @@ class ByteCodeMachine extends StackMachine {
         } // main while
     }
 
-    private boolean opEnd() {
+    boolean opEnd() {
         final int n = s - sstart;
 
         if (n > bestLen) {
@@ -302,14 +315,14 @@ class ByteCodeMachine extends StackMachine {
         return true;
     }
 
-    private void opExact1() {
+    void opExact1() {
         if (s >= range || code[ip] != chars[s++]) {opFail(); return;}
         //if (s > range) {opFail(); return;}
         ip++;
         sprev = sbegin; // break;
     }
 
-    private void opExact2() {
+    void opExact2() {
         if (s + 2 > range) {opFail(); return;}
         if (code[ip] != chars[s]) {opFail(); return;}
         ip++; s++;
@@ -318,7 +331,7 @@ class ByteCodeMachine extends StackMachine {
         ip++; s++;
     }
 
-    private void opExact3() {
+    void opExact3() {
         if (s + 3 > range) {opFail(); return;}
         if (code[ip] != chars[s]) {opFail(); return;}
         ip++; s++;
@@ -329,7 +342,7 @@ class ByteCodeMachine extends StackMachine {
         ip++; s++;
     }
 
-    private void opExact4() {
+    void opExact4() {
         if (s + 4 > range) {opFail(); return;}
         if (code[ip] != chars[s]) {opFail(); return;}
         ip++; s++;
@@ -342,7 +355,7 @@ class ByteCodeMachine extends StackMachine {
         ip++; s++;
     }
 
-    private void opExact5() {
+    void opExact5() {
         if (s + 5 > range) {opFail(); return;}
         if (code[ip] != chars[s]) {opFail(); return;}
         ip++; s++;
@@ -357,7 +370,7 @@ class ByteCodeMachine extends StackMachine {
         ip++; s++;
     }
 
-    private void opExactN() {
+    void opExactN() {
         int tlen = code[ip++];
         if (s + tlen > range) {opFail(); return;}
 
@@ -377,13 +390,13 @@ class ByteCodeMachine extends StackMachine {
         sprev = s - 1;
     }
 
-    private void opExact1IC() {
+    void opExact1IC() {
         if (s >= range || code[ip] != EncodingHelper.toLowerCase(chars[s++])) {opFail(); return;}
         ip++;
         sprev = sbegin; // break;
     }
 
-    private void opExactNIC() {
+    void opExactNIC() {
         int tlen = code[ip++];
         if (s + tlen > range) {opFail(); return;}
 
@@ -408,7 +421,7 @@ class ByteCodeMachine extends StackMachine {
         return (c <= 0xff && (code[ip + (c >>> BitSet.ROOM_SHIFT)] & (1 << c)) != 0);
     }
 
-    private void opCClass() {
+    void opCClass() {
         if (s >= range || !isInBitSet()) {opFail(); return;}
         ip += BitSet.BITSET_SIZE;
         s++;
@@ -430,14 +443,14 @@ class ByteCodeMachine extends StackMachine {
         return true;
     }
 
-    private void opCClassMB() {
+    void opCClassMB() {
         // beyond string check
         if (s >= range || chars[s] <= 0xff) {opFail(); return;}
         if (!isInClassMB()) {opFail(); return;} // not!!!
         sprev = sbegin; // break;
     }
 
-    private void opCClassMIX() {
+    void opCClassMIX() {
         if (s >= range) {opFail(); return;}
         if (chars[s] > 0xff) {
             ip += BitSet.BITSET_SIZE;
@@ -452,7 +465,7 @@ class ByteCodeMachine extends StackMachine {
         sprev = sbegin; // break;
     }
 
-    private void opCClassNot() {
+    void opCClassNot() {
         if (s >= range || isInBitSet()) {opFail(); return;}
         ip += BitSet.BITSET_SIZE;
         s++;
@@ -482,7 +495,7 @@ class ByteCodeMachine extends StackMachine {
         return true;
     }
 
-    private void opCClassMBNot() {
+    void opCClassMBNot() {
         if (s >= range) {opFail(); return;}
         if (chars[s] <= 0xff) {
             s++;
@@ -495,7 +508,7 @@ class ByteCodeMachine extends StackMachine {
         sprev = sbegin; // break;
     }
 
-    private void opCClassMIXNot() {
+    void opCClassMIXNot() {
         if (s >= range) {opFail(); return;}
         if (chars[s] > 0xff) {
             ip += BitSet.BITSET_SIZE;
@@ -510,7 +523,7 @@ class ByteCodeMachine extends StackMachine {
         sprev = sbegin; // break;
     }
 
-    private void opCClassNode() {
+    void opCClassNode() {
         if (s >= range) {opFail(); return;}
         final CClassNode cc = (CClassNode)regex.operands[code[ip++]];
         final int ss = s;
@@ -520,20 +533,20 @@ class ByteCodeMachine extends StackMachine {
         sprev = sbegin; // break;
     }
 
-    private void opAnyChar() {
+    void opAnyChar() {
         if (s >= range) {opFail(); return;}
         if (isNewLine(chars[s])) {opFail(); return;}
         s++;
         sprev = sbegin; // break;
     }
 
-    private void opAnyCharML() {
+    void opAnyCharML() {
         if (s >= range) {opFail(); return;}
         s++;
         sprev = sbegin; // break;
     }
 
-    private void opAnyCharStar() {
+    void opAnyCharStar() {
         final char[] ch = this.chars;
         while (s < range) {
             pushAlt(ip, s, sprev);
@@ -543,7 +556,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opAnyCharMLStar() {
+    void opAnyCharMLStar() {
         while (s < range) {
             pushAlt(ip, s, sprev);
             sprev = s;
@@ -551,7 +564,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opAnyCharStarPeekNext() {
+    void opAnyCharStarPeekNext() {
         final char c = (char)code[ip];
         final char[] ch = this.chars;
 
@@ -568,7 +581,7 @@ class ByteCodeMachine extends StackMachine {
         sprev = sbegin; // break;
     }
 
-    private void opAnyCharMLStarPeekNext() {
+    void opAnyCharMLStarPeekNext() {
         final char c = (char)code[ip];
         final char[] ch = this.chars;
 
@@ -583,19 +596,19 @@ class ByteCodeMachine extends StackMachine {
         sprev = sbegin; // break;
     }
 
-    private void opWord() {
+    void opWord() {
         if (s >= range || !EncodingHelper.isWord(chars[s])) {opFail(); return;}
         s++;
         sprev = sbegin; // break;
     }
 
-    private void opNotWord() {
+    void opNotWord() {
         if (s >= range || EncodingHelper.isWord(chars[s])) {opFail(); return;}
         s++;
         sprev = sbegin; // break;
     }
 
-    private void opWordBound() {
+    void opWordBound() {
         if (s == str) {
             if (s >= range || !EncodingHelper.isWord(chars[s])) {opFail(); return;}
         } else if (s == end) {
@@ -605,7 +618,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opNotWordBound() {
+    void opNotWordBound() {
         if (s == str) {
             if (s < range && EncodingHelper.isWord(chars[s])) {opFail(); return;}
         } else if (s == end) {
@@ -615,7 +628,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opWordBegin() {
+    void opWordBegin() {
         if (s < range && EncodingHelper.isWord(chars[s])) {
             if (s == str || !EncodingHelper.isWord(chars[sprev])) {
                 return;
@@ -624,7 +637,7 @@ class ByteCodeMachine extends StackMachine {
         opFail();
     }
 
-    private void opWordEnd() {
+    void opWordEnd() {
         if (s != str && EncodingHelper.isWord(chars[sprev])) {
             if (s == end || !EncodingHelper.isWord(chars[s])) {
                 return;
@@ -633,19 +646,19 @@ class ByteCodeMachine extends StackMachine {
         opFail();
     }
 
-    private void opBeginBuf() {
+    void opBeginBuf() {
         if (s != str) {
             opFail();
         }
     }
 
-    private void opEndBuf() {
+    void opEndBuf() {
         if (s != end) {
             opFail();
         }
     }
 
-    private void opBeginLine() {
+    void opBeginLine() {
         if (s == str) {
             if (isNotBol(msaOptions)) {
                 opFail();
@@ -657,7 +670,7 @@ class ByteCodeMachine extends StackMachine {
         opFail();
     }
 
-    private void opEndLine()  {
+    void opEndLine()  {
         if (s == end) {
             if (Config.USE_NEWLINE_AT_END_OF_STRING_HAS_EMPTY_LINE) {
                 if (str == end || !isNewLine(chars, sprev, end)) {
@@ -677,7 +690,7 @@ class ByteCodeMachine extends StackMachine {
         opFail();
     }
 
-    private void opSemiEndBuf() {
+    void opSemiEndBuf() {
         if (s == end) {
             if (Config.USE_NEWLINE_AT_END_OF_STRING_HAS_EMPTY_LINE) {
                 if (str == end || !isNewLine(chars, sprev, end)) {
@@ -697,40 +710,40 @@ class ByteCodeMachine extends StackMachine {
         opFail();
     }
 
-    private void opBeginPosition() {
+    void opBeginPosition() {
         if (s != msaStart) {
             opFail();
         }
     }
 
-    private void opMemoryStartPush() {
+    void opMemoryStartPush() {
         final int mem = code[ip++];
         pushMemStart(mem, s);
     }
 
-    private void opMemoryStart() {
+    void opMemoryStart() {
         final int mem = code[ip++];
         repeatStk[memStartStk + mem] = s;
     }
 
-    private void opMemoryEndPush() {
+    void opMemoryEndPush() {
         final int mem = code[ip++];
         pushMemEnd(mem, s);
     }
 
-    private void opMemoryEnd() {
+    void opMemoryEnd() {
         final int mem = code[ip++];
         repeatStk[memEndStk + mem] = s;
     }
 
-    private void opMemoryEndPushRec() {
+    void opMemoryEndPushRec() {
         final int mem = code[ip++];
         final int stkp = getMemStart(mem); /* should be before push mem-end. */
         pushMemEnd(mem, s);
         repeatStk[memStartStk + mem] = stkp;
     }
 
-    private void opMemoryEndRec() {
+    void opMemoryEndRec() {
         final int mem = code[ip++];
         repeatStk[memEndStk + mem] = s;
         final int stkp = getMemStart(mem);
@@ -781,19 +794,19 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opBackRef1() {
+    void opBackRef1() {
         backref(1);
     }
 
-    private void opBackRef2() {
+    void opBackRef2() {
         backref(2);
     }
 
-    private void opBackRefN() {
+    void opBackRefN() {
         backref(code[ip++]);
     }
 
-    private void opBackRefNIC() {
+    void opBackRefNIC() {
         final int mem = code[ip++];
         /* if you want to remove following line,
         you should check in parse and compile time. (numMem) */
@@ -816,7 +829,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opBackRefMulti() {
+    void opBackRefMulti() {
         final int tlen = code[ip++];
 
         int i;
@@ -856,7 +869,7 @@ class ByteCodeMachine extends StackMachine {
         if (i == tlen) {opFail(); return;}
     }
 
-    private void opBackRefMultiIC() {
+    void opBackRefMultiIC() {
         final int tlen = code[ip++];
 
         int i;
@@ -954,7 +967,7 @@ class ByteCodeMachine extends StackMachine {
         return false;
     }
 
-    private void opBackRefAtLevel() {
+    void opBackRefAtLevel() {
         final int ic      = code[ip++];
         final int level   = code[ip++];
         final int tlen    = code[ip++];
@@ -970,7 +983,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opNullCheckStart() {
+    void opNullCheckStart() {
         final int mem = code[ip++];
         pushNullCheckStart(mem, s);
     }
@@ -994,7 +1007,7 @@ class ByteCodeMachine extends StackMachine {
         } // switch
     }
 
-    private void opNullCheckEnd() {
+    void opNullCheckEnd() {
         final int mem = code[ip++];
         final int isNull = nullCheck(mem, s); /* mem: null check id */
 
@@ -1008,7 +1021,7 @@ class ByteCodeMachine extends StackMachine {
     }
 
     // USE_INFINITE_REPEAT_MONOMANIAC_MEM_STATUS_CHECK
-    private void opNullCheckEndMemST() {
+    void opNullCheckEndMemST() {
         final int mem = code[ip++];   /* mem: null check id */
         final int isNull = nullCheckMemSt(mem, s);
 
@@ -1022,20 +1035,20 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opJump() {
+    void opJump() {
         ip += code[ip] + 1;
     }
 
-    private void opPush() {
+    void opPush() {
         final int addr = code[ip++];
         pushAlt(ip + addr, s, sprev);
     }
 
-    private void opPop() {
+    void opPop() {
         popOne();
     }
 
-    private void opPushOrJumpExact1() {
+    void opPushOrJumpExact1() {
         final int addr = code[ip++];
         // beyond string check
         if (s < range && code[ip] == chars[s]) {
@@ -1046,7 +1059,7 @@ class ByteCodeMachine extends StackMachine {
         ip += addr + 1;
     }
 
-    private void opPushIfPeekNext() {
+    void opPushIfPeekNext() {
         final int addr = code[ip++];
         // beyond string check
         if (s < range && code[ip] == chars[s]) {
@@ -1057,7 +1070,7 @@ class ByteCodeMachine extends StackMachine {
         ip++;
     }
 
-    private void opRepeat() {
+    void opRepeat() {
         final int mem = code[ip++];   /* mem: OP_REPEAT ID */
         final int addr= code[ip++];
 
@@ -1070,7 +1083,7 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opRepeatNG() {
+    void opRepeatNG() {
         final int mem = code[ip++];   /* mem: OP_REPEAT ID */
         final int addr= code[ip++];
 
@@ -1100,13 +1113,13 @@ class ByteCodeMachine extends StackMachine {
         pushRepeatInc(si);
     }
 
-    private void opRepeatInc() {
+    void opRepeatInc() {
         final int mem = code[ip++];   /* mem: OP_REPEAT ID */
         final int si = repeatStk[mem];
         repeatInc(mem, si);
     }
 
-    private void opRepeatIncSG() {
+    void opRepeatIncSG() {
         final int mem = code[ip++];   /* mem: OP_REPEAT ID */
         final int si = getRepeat(mem);
         repeatInc(mem, si);
@@ -1131,54 +1144,54 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opRepeatIncNG() {
+    void opRepeatIncNG() {
         final int mem = code[ip++];
         final int si = repeatStk[mem];
         repeatIncNG(mem, si);
     }
 
-    private void opRepeatIncNGSG() {
+    void opRepeatIncNGSG() {
         final int mem = code[ip++];
         final int si = getRepeat(mem);
         repeatIncNG(mem, si);
     }
 
-    private void opPushPos() {
+    void opPushPos() {
         pushPos(s, sprev);
     }
 
-    private void opPopPos() {
+    void opPopPos() {
         final StackEntry e = stack[posEnd()];
         s    = e.getStatePStr();
         sprev= e.getStatePStrPrev();
     }
 
-    private void opPushPosNot() {
+    void opPushPosNot() {
         final int addr = code[ip++];
         pushPosNot(ip + addr, s, sprev);
     }
 
-    private void opFailPos() {
+    void opFailPos() {
         popTilPosNot();
         opFail();
     }
 
-    private void opPushStopBT() {
+    void opPushStopBT() {
         pushStopBT();
     }
 
-    private void opPopStopBT() {
+    void opPopStopBT() {
         stopBtEnd();
     }
 
-    private void opLookBehind() {
+    void opLookBehind() {
         final int tlen = code[ip++];
         s = EncodingHelper.stepBack(str, s, tlen);
         if (s == -1) {opFail(); return;}
         sprev = EncodingHelper.prevCharHead(str, s);
     }
 
-    private void opPushLookBehindNot() {
+    void opPushLookBehindNot() {
         final int addr = code[ip++];
         final int tlen = code[ip++];
         final int q = EncodingHelper.stepBack(str, s, tlen);
@@ -1194,12 +1207,12 @@ class ByteCodeMachine extends StackMachine {
         }
     }
 
-    private void opFailLookBehindNot() {
+    void opFailLookBehindNot() {
         popTilLookBehindNot();
         opFail();
     }
 
-    private void opFail() {
+    void opFail() {
         if (stack == null) {
             ip = regex.codeLength - 1;
             return;
@@ -1212,7 +1225,46 @@ class ByteCodeMachine extends StackMachine {
         sprev = e.getStatePStrPrev();
     }
 
-    private int finish() {
+    int finish() {
         return bestLen;
     }
+
+    // helpers for CompiledProgram
+
+    final int peek() {
+        return s < range ? chars[s] : -1;
+    }
+
+    final boolean available(final int n) {
+        return s + n <= range;
+    }
+
+    final int charAt(final int offset) {
+        return chars[s + offset];
+    }
+
+    final void advance(final int n) {
+        s += n;
+        sprev = s - 1;
+    }
+
+    final void pushAltAt(final int addr) {
+        pushAlt(addr, s, sprev);
+    }
+
+    final boolean inBitSet(final int bits, final int c) {
+        return c <= 0xff && (code[bits + (c >>> BitSet.ROOM_SHIFT)] & (1 << c)) != 0;
+    }
+
+    final boolean exactTemplate(final int template, final int offset, final int len, final boolean ignoreCase) {
+        final char[] bs = regex.templates[template];
+        final char[] ch = chars;
+        for (int i = 0; i < len; i++) {
+            final char c = ch[s + i];
+            if (bs[offset + i] != (ignoreCase ? EncodingHelper.toLowerCase(c) : c)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -47,6 +47,8 @@ public final class Regex implements RegexState {
 
     WarnCallback warnings;
     MatcherFactory factory;
+    CompiledProgram program;    /* JVM byte code, see ByteCodeCompiler */
+    int executions;             /* matchers created before compilation */
     protected Analyser analyser;
 
     int options;
@@ -137,6 +139,10 @@ public final class Regex implements RegexState {
     }
 
     public Matcher matcher(final char[] chars, final int p, final int end) {
+        // racy, at worst a regex is counted a little late or compiled twice
+        if (executions < ByteCodeCompiler.THRESHOLD && ++executions == ByteCodeCompiler.THRESHOLD) {
+            program = ByteCodeCompiler.compile(this);
+        }
         return factory.create(this, chars, p, end);
     }
 
@@ -148,6 +154,28 @@ public final class Regex implements RegexState {
         return numMem;
     }
 
+    /* case sensitive literal that every match contains at a distance between dMin and dMax from its start, or null */
+    public String getRequiredLiteral() {
+        if (exact == null || searchAlgorithm instanceof SearchAlgorithm.SLOW_IC) {
+            return null;
+        }
+        return new String(exact, exactP, exactEnd - exactP);
+    }
+
+    public int getRequiredLiteralMinDistance() {
+        return dMin;
+    }
+
+    /* MinMaxLen.INFINITE_DISTANCE if unbounded */
+    public int getRequiredLiteralMaxDistance() {
+        return dMax;
+    }
+
+    /* matches can only start at the beginning of the input */
+    public boolean isAnchoredAtStart() {
+        return (anchor & AnchorType.BEGIN_BUF) != 0;
+    }
+
     /* set skip map for Boyer-Moor search */
     void setupBMSkipMap() {
         final char[] chars = exact;
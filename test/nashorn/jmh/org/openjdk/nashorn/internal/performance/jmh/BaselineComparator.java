@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.script.ScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
+
+/**
+ * Compares a JMH JSON result file against a baseline result file and exits with a
+ * non-zero status if any benchmark regressed by more than the given percentage, either
+ * in its primary score or in its normalized allocation rate ({@code gc.alloc.rate.norm},
+ * present when the gc profiler was enabled). Benchmarks missing from either file are
+ * reported but not treated as regressions.
+ *
+ * Usage: {@code BaselineComparator <baseline.json> <results.json> <threshold-percent>}
+ */
+@SuppressWarnings("javadoc")
+public final class BaselineComparator {
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private static final class Result {
+        final boolean higherIsBetter;
+        final double score;
+        final String unit;
+        final double allocated;
+
+        Result(final boolean higherIsBetter, final double score, final String unit, final double allocated) {
+            this.higherIsBetter = higherIsBetter;
+            this.score = score;
+            this.unit = unit;
+            this.allocated = allocated;
+        }
+    }
+
+    private BaselineComparator() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <results.json> <threshold-percent>");
+            System.exit(2);
+        }
+
+        final ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine();
+        final Map<String, Result> baseline = read(engine, args[0]);
+        final Map<String, Result> current  = read(engine, args[1]);
+        final double threshold = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        final TreeSet<String> names = new TreeSet<>(baseline.keySet());
+        names.addAll(current.keySet());
+        for (final String name : names) {
+            final Result base = baseline.get(name);
+            final Result now  = current.get(name);
+            if (base == null || now == null) {
+                System.out.println((base == null ? "NEW      " : "MISSING  ") + name);
+                continue;
+            }
+
+            final double scoreChange = change(base.score, now.score, base.higherIsBetter);
+            final double allocChange = change(base.allocated, now.allocated, false);
+            final boolean regressed = scoreChange > threshold || allocChange > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format("%s %s: %.3f -> %.3f %s (%+.1f%%), alloc %.1f -> %.1f B/op (%+.1f%%)",
+                    regressed ? "REGRESSED" : "OK       ", name,
+                    base.score, now.score, now.unit, scoreChange,
+                    base.allocated, now.allocated, allocChange));
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    // Regression in percent, positive if the new value is worse than the old one.
+    private static double change(final double before, final double after, final boolean higherIsBetter) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        final double delta = (after - before) / before * 100;
+        return higherIsBetter ? -delta : delta;
+    }
+
+    private static Map<String, Result> read(final ScriptEngine engine, final String file) throws Exception {
+        engine.put("text", new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+        final ScriptObjectMirror results = (ScriptObjectMirror)engine.eval("JSON.parse(text)");
+
+        final Map<String, Result> map = new TreeMap<>();
+        for (final Object obj : results.values()) {
+            final ScriptObjectMirror result = (ScriptObjectMirror)obj;
+            final StringBuilder name = new StringBuilder((String)result.getMember("benchmark"));
+            final Object params = result.getMember("params");
+            if (params instanceof ScriptObjectMirror) {
+                final ScriptObjectMirror paramsMirror = (ScriptObjectMirror)params;
+                name.append(new TreeMap<>(paramsMirror));
+            }
+
+            final ScriptObjectMirror primary = (ScriptObjectMirror)result.getMember("primaryMetric");
+            final Object secondary = result.getMember("secondaryMetrics");
+            double allocated = Double.NaN;
+            if (secondary instanceof ScriptObjectMirror && ((ScriptObjectMirror)secondary).hasMember(ALLOC_RATE_NORM)) {
+                allocated = score((ScriptObjectMirror)((ScriptObjectMirror)secondary).getMember(ALLOC_RATE_NORM));
+            }
+
+            final boolean higherIsBetter = "thrpt".equals(result.getMember("mode"));
+            map.put(name.toString(), new Result(higherIsBetter, score(primary), (String)primary.getMember("scoreUnit"), allocated));
+        }
+        return map;
+    }
+
+    private static double score(final ScriptObjectMirror metric) {
+        return ((Number)metric.getMember("score")).doubleValue();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+
+/**
+ * Property access and method call sites that see a varying number of property maps.
+ * One shape keeps a site monomorphic, a handful exercises the chain of guarded
+ * invocations in {@code LinkerCallSite}, and more than the unstable relink threshold
+ * drives the site to the megamorphic fallback.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class CallSiteBenchmark extends ScriptState {
+    @Param({"1", "4", "32"})
+    public int shapes;
+
+    private Object objects;
+    private ScriptFunction readAll;
+    private ScriptFunction callAll;
+
+    @Override
+    protected String script() {
+        return "function makeShapes(n) {\n" +
+               "    var result = [];\n" +
+               "    for (var i = 0; i < 64; i++) {\n" +
+               "        var o = {};\n" +
+               "        o['s' + (i % n)] = i;\n" +
+               "        o.x = i;\n" +
+               "        o.f = function() { return this.x; };\n" +
+               "        result.push(o);\n" +
+               "    }\n" +
+               "    return result;\n" +
+               "}\n" +
+               "function readAll(objs) {\n" +
+               "    var sum = 0;\n" +
+               "    for (var i = 0; i < objs.length; i++) { sum += objs[i].x; }\n" +
+               "    return sum;\n" +
+               "}\n" +
+               "function callAll(objs) {\n" +
+               "    var sum = 0;\n" +
+               "    for (var i = 0; i < objs.length; i++) { sum += objs[i].f(); }\n" +
+               "    return sum;\n" +
+               "}\n";
+    }
+
+    @Override
+    protected void setup() {
+        objects = call(function("makeShapes"), shapes);
+        readAll = function("readAll");
+        callAll = function("callAll");
+    }
+
+    @Benchmark
+    public Object propertyGet() {
+        return call(readAll, objects);
+    }
+
+    @Benchmark
+    public Object methodCall() {
+        return call(callAll, objects);
+    }
+}
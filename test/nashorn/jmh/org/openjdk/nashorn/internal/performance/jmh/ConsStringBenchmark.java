@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.runtime.ConsString;
+
+/**
+ * First reads of {@link ConsString}s shared between threads. Every iteration
+ * starts with a set of new, unflattened strings that all benchmark threads then
+ * read in the same order, so that they flatten the same string at about the same
+ * time. Comparing the single and multi-threaded pass times shows how well
+ * flattening scales when strings are shared.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("javadoc")
+public class ConsStringBenchmark {
+    @Param({"16", "256"})
+    public int parts;
+
+    private static final int STRINGS = 4096;
+
+    private final ConsString[] strings = new ConsString[STRINGS];
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        for (int i = 0; i < STRINGS; i++) {
+            CharSequence cs = "string " + i + ':';
+            for (int j = 0; j < parts; j++) {
+                cs = new ConsString(cs, "part " + j + ';');
+            }
+            strings[i] = (ConsString)cs;
+        }
+    }
+
+    private int readAll() {
+        int hash = 0;
+        for (final ConsString cs : strings) {
+            hash += cs.toString().hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int unshared() {
+        return readAll();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int shared() {
+        return readAll();
+    }
+}
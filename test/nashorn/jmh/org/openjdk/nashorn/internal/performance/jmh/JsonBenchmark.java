@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.objects.NativeJSON;
+import org.openjdk.nashorn.internal.runtime.JSONFunctions;
+
+/**
+ * {@code JSON.parse} through {@code JSONParser} and {@code JSON.stringify}
+ * through {@link NativeJSON} on documents of JSON-shaped records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class JsonBenchmark extends ScriptState {
+    @Param({"10", "1000"})
+    public int records;
+
+    private String text;
+    private Object value;
+
+    @Override
+    protected void setup() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+              .append(",\"name\":\"record \\u00e9").append(i).append('"')
+              .append(",\"score\":").append(i * 0.25)
+              .append(",\"active\":").append(i % 2 == 0)
+              .append(",\"tags\":[\"a\",\"b\",\"c\"]")
+              .append(",\"nested\":{\"x\":").append(i).append(",\"y\":null}}");
+        }
+        text  = sb.append(']').toString();
+        value = JSONFunctions.parse(text, UNDEFINED);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return JSONFunctions.parse(text, UNDEFINED);
+    }
+
+    @Benchmark
+    public Object stringify() {
+        return NativeJSON.stringify(null, value, UNDEFINED, UNDEFINED);
+    }
+}
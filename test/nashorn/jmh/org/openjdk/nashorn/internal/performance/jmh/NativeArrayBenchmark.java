@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+
+/**
+ * {@code NativeArray} builtins on int, double and object element arrays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class NativeArrayBenchmark extends ScriptState {
+    @Param({"int", "double", "object"})
+    public String elements;
+
+    @Param({"1000"})
+    public int length;
+
+    private Object array;
+    private ScriptFunction pushPop;
+    private ScriptFunction indexOf;
+    private ScriptFunction sort;
+    private ScriptFunction mapFilterReduce;
+    private ScriptFunction join;
+    private ScriptFunction sliceSplice;
+
+    @Override
+    protected String script() {
+        return "function makeArray(kind, n) {\n" +
+               "    var a = [];\n" +
+               "    for (var i = 0; i < n; i++) {\n" +
+               "        var v = (i * 7919) % n;\n" +
+               "        a.push(kind === 'int' ? v : kind === 'double' ? v + 0.5 : { v: v });\n" +
+               "    }\n" +
+               "    return a;\n" +
+               "}\n" +
+               "function pushPop(a) {\n" +
+               "    var b = [];\n" +
+               "    for (var i = 0; i < a.length; i++) { b.push(a[i]); }\n" +
+               "    while (b.length > 0) { b.pop(); }\n" +
+               "    return b;\n" +
+               "}\n" +
+               "function indexOf(a) { return a.indexOf(a[a.length - 1]); }\n" +
+               "function sort(a) { return a.slice().sort(function(x, y) { return (x.v || x) - (y.v || y); }); }\n" +
+               "function mapFilterReduce(a) {\n" +
+               "    return a.map(function(x) { return x.v || x; })\n" +
+               "            .filter(function(x) { return x % 2 === 0; })\n" +
+               "            .reduce(function(x, y) { return x + y; }, 0);\n" +
+               "}\n" +
+               "function join(a) { return a.join(','); }\n" +
+               "function sliceSplice(a) { var b = a.slice(); b.splice(b.length >> 1, 10); return b; }\n";
+    }
+
+    @Override
+    protected void setup() {
+        array           = call(function("makeArray"), elements, length);
+        pushPop         = function("pushPop");
+        indexOf         = function("indexOf");
+        sort            = function("sort");
+        mapFilterReduce = function("mapFilterReduce");
+        join            = function("join");
+        sliceSplice     = function("sliceSplice");
+    }
+
+    @Benchmark
+    public Object pushPop() {
+        return call(pushPop, array);
+    }
+
+    @Benchmark
+    public Object indexOf() {
+        return call(indexOf, array);
+    }
+
+    @Benchmark
+    public Object sort() {
+        return call(sort, array);
+    }
+
+    @Benchmark
+    public Object mapFilterReduce() {
+        return call(mapFilterReduce, array);
+    }
+
+    @Benchmark
+    public Object join() {
+        return call(join, array);
+    }
+
+    @Benchmark
+    public Object sliceSplice() {
+        return call(sliceSplice, array);
+    }
+}
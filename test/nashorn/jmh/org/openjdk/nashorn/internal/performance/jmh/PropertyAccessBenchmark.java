@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.ScriptObject;
+
+/**
+ * Property get/set through {@link ScriptObject} and the {@code PropertyMap}
+ * transitions behind it, both from Java and from linked script call sites.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class PropertyAccessBenchmark extends ScriptState {
+    private static final int PROPERTY_COUNT = 16;
+    private static final String[] KEYS = new String[PROPERTY_COUNT];
+
+    static {
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            KEYS[i] = "p" + i;
+        }
+    }
+
+    private ScriptObject object;
+    private Object point;
+    private ScriptFunction readFields;
+    private ScriptFunction writeFields;
+    private ScriptFunction construct;
+    private int counter;
+
+    @Override
+    protected String script() {
+        return "function Point(x, y, z) { this.x = x; this.y = y; this.z = z; }\n" +
+               "function construct(i) { return new Point(i, i + 1, i + 2); }\n" +
+               "function readFields(p) { return p.x + p.y + p.z; }\n" +
+               "function writeFields(p, i) { p.x = i; p.y = i; p.z = i; return p; }\n";
+    }
+
+    @Override
+    protected void setup() {
+        object = Global.newEmptyInstance();
+        for (final String key : KEYS) {
+            object.set(key, 0, 0);
+        }
+        readFields  = function("readFields");
+        writeFields = function("writeFields");
+        construct   = function("construct");
+        point       = call(construct, 0);
+    }
+
+    @Benchmark
+    public Object getExisting() {
+        return object.get(KEYS[PROPERTY_COUNT / 2]);
+    }
+
+    @Benchmark
+    public void setExisting() {
+        object.set(KEYS[PROPERTY_COUNT / 2], counter++, 0);
+    }
+
+    @Benchmark
+    public ScriptObject addProperties() {
+        final ScriptObject obj = Global.newEmptyInstance();
+        for (final String key : KEYS) {
+            obj.set(key, 1, 0);
+        }
+        return obj;
+    }
+
+    @Benchmark
+    public ScriptObject addAndDeleteProperties() {
+        final ScriptObject obj = Global.newEmptyInstance();
+        for (final String key : KEYS) {
+            obj.set(key, 1, 0);
+        }
+        for (final String key : KEYS) {
+            obj.delete(key, false);
+        }
+        return obj;
+    }
+
+    @Benchmark
+    public Object scriptConstruct() {
+        return call(construct, counter++);
+    }
+
+    @Benchmark
+    public Object scriptGet() {
+        return call(readFields, point);
+    }
+
+    @Benchmark
+    public Object scriptSet() {
+        return call(writeFields, point, counter++);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExp;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExpFactory;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExpMatcher;
+
+/**
+ * Regular expression compilation and matching through {@link RegExpFactory},
+ * and the {@code RegExp}/{@code String} builtins that sit on top of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class RegExpBenchmark extends ScriptState {
+    @Param({"^Bearer [A-Za-z0-9._-]+$", "ERROR: (\\d+)", "([a-z]+)@([a-z]+)\\.com"})
+    public String pattern;
+
+    private static final String INPUT =
+            "2026-10-18 12:00:01 INFO request served in 12ms by worker-7 for user alice@example.com " +
+            "2026-10-18 12:00:02 ERROR: 503 upstream unavailable Bearer abc.DEF-123_xyz";
+
+    private RegExp regexp;
+    private Object scriptRegExp;
+    private ScriptFunction exec;
+    private ScriptFunction test;
+    private ScriptFunction replace;
+    private ScriptFunction split;
+
+    @Override
+    protected String script() {
+        return "function makeRegExp(p) { return new RegExp(p, 'g'); }\n" +
+               "function exec(re, s) { re.lastIndex = 0; return re.exec(s); }\n" +
+               "function test(re, s) { re.lastIndex = 0; return re.test(s); }\n" +
+               "function replace(re, s) { return s.replace(re, '<$&>'); }\n" +
+               "function split(s) { return s.split(/\\s+/); }\n";
+    }
+
+    @Override
+    protected void setup() {
+        regexp       = RegExpFactory.create(pattern, "");
+        scriptRegExp = call(function("makeRegExp"), pattern);
+        exec         = function("exec");
+        test         = function("test");
+        replace      = function("replace");
+        split        = function("split");
+    }
+
+    @Benchmark
+    public RegExp create() {
+        return RegExpFactory.create(pattern, "");
+    }
+
+    @Benchmark
+    public boolean search() {
+        final RegExpMatcher matcher = regexp.match(INPUT);
+        return matcher.search(0);
+    }
+
+    @Benchmark
+    public Object scriptExec() {
+        return call(exec, scriptRegExp, INPUT);
+    }
+
+    @Benchmark
+    public Object scriptTest() {
+        return call(test, scriptRegExp, INPUT);
+    }
+
+    @Benchmark
+    public Object scriptReplace() {
+        return call(replace, scriptRegExp, INPUT);
+    }
+
+    @Benchmark
+    public Object scriptSplit() {
+        return call(split, INPUT);
+    }
+}
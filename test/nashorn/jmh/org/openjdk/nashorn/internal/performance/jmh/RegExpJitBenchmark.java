@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExp;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExpFactory;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExpMatcher;
+
+/**
+ * Matching with the joni byte code interpreter versus regexps compiled to JVM
+ * byte code once they are hot. Each benchmark finds all matches in a log like
+ * input, the forks only differ in {@code nashorn.regexp.jit.threshold}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+@SuppressWarnings("javadoc")
+public class RegExpJitBenchmark {
+    @Param({"ERROR: (\\d+)", "([a-z]+)@([a-z]+)\\.com", "\\b(GET|POST) (/[\\w/.-]*)", "[0-9a-f]{8}-[0-9a-f]{4}"})
+    public String pattern;
+
+    private String input;
+    private RegExp regexp;
+
+    @Setup
+    public void setup() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            sb.append("2026-10-18 12:00:").append(i % 60).append(" INFO GET /api/v1/items/").append(i)
+              .append(" served in ").append(i * 7 % 100).append("ms for alice@example.com trace 0c4f").append(i % 10)
+              .append("a9e-77b1\n");
+            if (i % 10 == 0) {
+                sb.append("2026-10-18 12:00:").append(i % 60).append(" ERROR: 503 upstream unavailable for POST /api/v1/orders\n");
+            }
+        }
+        input = sb.toString();
+        regexp = RegExpFactory.create(pattern, "");
+    }
+
+    private int countMatches() {
+        final RegExpMatcher matcher = regexp.match(input);
+        int count = 0;
+        int start = 0;
+        while (start <= input.length() && matcher.search(start)) {
+            count++;
+            start = Math.max(matcher.end(), start + 1);
+        }
+        return count;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dnashorn.regexp.jit.threshold=0")
+    public int interpreted() {
+        return countMatches();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dnashorn.regexp.jit.threshold=1")
+    public int compiled() {
+        return countMatches();
+    }
+}
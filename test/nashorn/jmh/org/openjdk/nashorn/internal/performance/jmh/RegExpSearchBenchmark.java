@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+
+/**
+ * Scanning a large log with regexps that contain a literal, from script.
+ * {@code count} iterates over all matches with {@code exec}, {@code test}
+ * looks for a match that does not exist, and {@code anchored} tests every
+ * line against the pattern anchored at the start.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("javadoc")
+public class RegExpSearchBenchmark extends ScriptState {
+    @Param({"ERROR: (\\d+)", "user=(\\w+)@example\\.com"})
+    public String pattern;
+
+    private Object log;
+    private Object lines;
+    private ScriptFunction count;
+    private ScriptFunction test;
+    private ScriptFunction anchored;
+
+    @Override
+    protected String script() {
+        return "function makeLog(n) {\n" +
+               "    var lines = [];\n" +
+               "    for (var i = 0; i < n; i++) {\n" +
+               "        lines.push('2026-10-18 12:00:' + (i % 60) + ' ' + (i % 100 == 0 ? 'ERROR: ' + (500 + i % 4) : 'INFO') +\n" +
+               "                   ' GET /api/v1/items/' + i + ' served in ' + (i * 7 % 100) + 'ms user=alice' + (i % 10) + '@example.org');\n" +
+               "    }\n" +
+               "    return lines;\n" +
+               "}\n" +
+               "function count(p, log) { var re = new RegExp(p, 'g'), n = 0; while (re.exec(log)) n++; return n; }\n" +
+               "function test(p, log) { return new RegExp(p + 'x').test(log); }\n" +
+               "function anchored(p, lines) { var re = new RegExp('^' + p), n = 0; for (var i = 0; i < lines.length; i++) if (re.test(lines[i])) n++; return n; }\n";
+    }
+
+    @Override
+    protected void setup() {
+        lines    = call(function("makeLog"), 10000);
+        log      = eval("join", "makeLog(10000).join('\\n')");
+        count    = function("count");
+        test     = function("test");
+        anchored = function("anchored");
+    }
+
+    @Benchmark
+    public Object count() {
+        return call(count, pattern, log);
+    }
+
+    @Benchmark
+    public Object test() {
+        return call(test, pattern, log);
+    }
+
+    @Benchmark
+    public Object anchored() {
+        return call(anchored, pattern, lines);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import java.util.concurrent.TimeUnit;
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+import javax.script.ScriptException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+
+/**
+ * {@link NashornScriptEngine#compile} and {@code eval} through the JSR-223 API.
+ * {@code compile} defeats the class cache by making every source unique, while
+ * {@code compileCached} measures a class cache hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@SuppressWarnings("javadoc")
+public class ScriptEngineBenchmark {
+    private static final String SCRIPT =
+            "function Account(id, balance) { this.id = id; this.balance = balance; }\n" +
+            "Account.prototype.deposit = function(amount) { this.balance += amount; return this; };\n" +
+            "Account.prototype.toString = function() { return 'Account ' + this.id + ': ' + this.balance; };\n" +
+            "var accounts = [];\n" +
+            "for (var i = 0; i < 10; i++) { accounts.push(new Account(i, i * 100).deposit(i)); }\n" +
+            "accounts.map(function(a) { return String(a); }).join('\\n');\n";
+
+    private NashornScriptEngine engine;
+    private CompiledScript compiled;
+    private Bindings bindings;
+    private int counter;
+
+    @Setup
+    public void setup() throws ScriptException {
+        engine   = (NashornScriptEngine)new NashornScriptEngineFactory().getScriptEngine();
+        compiled = engine.compile(SCRIPT);
+        bindings = engine.createBindings();
+    }
+
+    @Benchmark
+    public CompiledScript compile() throws ScriptException {
+        return engine.compile(SCRIPT + "//" + counter++);
+    }
+
+    @Benchmark
+    public CompiledScript compileCached() throws ScriptException {
+        return engine.compile(SCRIPT);
+    }
+
+    @Benchmark
+    public Object evalCompiled() throws ScriptException {
+        return compiled.eval();
+    }
+
+    @Benchmark
+    public Object evalCompiledNewGlobal() throws ScriptException {
+        return compiled.eval(engine.createBindings());
+    }
+
+    @Benchmark
+    public Object evalCompiledOtherGlobal() throws ScriptException {
+        return compiled.eval(bindings);
+    }
+
+    @Benchmark
+    public Object evalExpression() throws ScriptException {
+        return engine.eval("1 + 2");
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.performance.jmh;
+
+import static org.openjdk.nashorn.internal.runtime.ScriptRuntime.UNDEFINED;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.ErrorManager;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.Source;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+
+/**
+ * Base state for benchmarks that run against a Nashorn {@link Context} and {@link Global}
+ * directly, bypassing the JSR-223 layer so that mirror wrapping and global switching
+ * do not show up in the measured numbers. The global is made current for the benchmark
+ * thread for the duration of the trial.
+ */
+@State(Scope.Thread)
+@SuppressWarnings("javadoc")
+public abstract class ScriptState {
+    protected Context context;
+    protected Global global;
+    private Global oldGlobal;
+
+    /**
+     * Command line options for the context, e.g. {@code --optimistic-types=false}.
+     * @return options
+     */
+    protected String[] options() {
+        return new String[0];
+    }
+
+    /**
+     * Script evaluated once the global is set up, typically defining the functions
+     * the benchmark calls.
+     * @return script source text, or null
+     */
+    protected String script() {
+        return null;
+    }
+
+    @Setup
+    public void setupContext() throws Exception {
+        final Options options = new Options("nashorn");
+        options.process(options());
+        context = new Context(options, new ErrorManager(), Thread.currentThread().getContextClassLoader());
+        global = context.createGlobal();
+        oldGlobal = Context.getGlobal();
+        Context.setGlobal(global);
+
+        final String script = script();
+        if (script != null) {
+            eval(getClass().getSimpleName(), script);
+        }
+        setup();
+    }
+
+    /**
+     * Additional benchmark specific setup, run with the global set.
+     * @throws Exception if setup fails
+     */
+    protected void setup() throws Exception {
+    }
+
+    @TearDown
+    public void tearDownContext() {
+        Context.setGlobal(oldGlobal);
+    }
+
+    protected Object eval(final String name, final String code) {
+        final ScriptFunction program = context.compileScript(Source.sourceFor(name, code), global);
+        if (program == null) {
+            throw new IllegalStateException("failed to compile " + name);
+        }
+        return ScriptRuntime.apply(program, global);
+    }
+
+    protected ScriptFunction function(final String name) {
+        return (ScriptFunction)global.get(name);
+    }
+
+    protected static Object call(final ScriptFunction function, final Object... args) {
+        return ScriptRuntime.apply(function, UNDEFINED, args);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Arrays that only hold booleans are stored packed. Check that they behave
+ * like any other array and widen when something else is stored.
+ *
+ * @test
+ * @run
+ */
+
+var f = new Array(10); for (var i = 0; i < 10; i++) f[i] = (i % 3 == 0);
+print(f, f.length, typeof f[0], f[0] === true, f[1] === false);
+var p = []; for (var i = 0; i < 5; i++) p.push(i % 2 == 0); print(p);
+print(p.pop(), p.length, p);
+p.push(7); print(p);
+var q = new Array(4); q[0] = true; q[2] = false; print(q, 1 in q, q[1]); delete q[0]; print(q, 0 in q);
+q[1] = "s"; print(q);
+var r = []; r[0] = true; r[1] = 1; print(r);
+var s = []; s[0] = false; s[1] = 2.5; print(s);
+var u = []; u[0] = true; u[1] = undefined; print(u, u.length, 1 in u);
+var c1 = [], c2 = []; c1.push(true); c1.push(false); c2.push(false);
+var cc = c1.concat(c2); print(cc); print(c1.concat([1, 2]), c1.concat(["x"]), [1, 2].concat(c1), [1.5].concat(c1), ["x"].concat(c1), c1.concat(true));
+var sl = f.slice(2, 6); print(sl);
+var sp = f.slice(); print(sp.splice(1, 3), sp); sp.splice(0, 0, true, true); print(sp, sp.length);
+f.reverse(); print(f); f.sort(); print(f); print(f.indexOf(true), f.lastIndexOf(false), f.join("|"));
+f.unshift(false); print(f, f.length); print(f.shift(), f.length);
+print(f.map(function(x) { return !x; }), f.filter(function(x) { return x; }).length, f.every(function(x) { return typeof x === "boolean"; }));
+print(JSON.stringify(f), f[0] | 0, f[3] + 1, -f[9], f[9] * 2);
+print(java.util.Arrays.toString(Java.to(f, "boolean[]")), java.util.Arrays.toString(Java.to(f, "int[]")), Java.to(f, "java.lang.Object[]")[9]);
+var big = []; for (var i = 0; i < 100000; i++) big[i] = (i & 7) == 0; var cnt = 0; for (var i = 0; i < big.length; i++) if (big[i]) cnt++; print(cnt);
+big[200000] = true; print(big.length, big[200000], 150000 in big);
+var g = []; g.push(true); g.length = 0; print(g.length, g); g.push(false); print(g);
+var h = new Array(3); h[2] = true; h.length = 1; print(h, h.length); h[0] = false; print(h);
+var fz = []; fz[0] = true; fz[1] = false; Object.freeze(fz); fz[0] = false; print(fz);
+function setAll(a, v) { for (var i = 0; i < a.length; i++) a[i] = v; } var m = new Array(3); setAll(m, true); setAll(m, "x"); print(m); setAll(m, false); print(m);
+var ie = [1,2,3]; ie.push(true); print(ie);
+var pp = []; pp.push(true); var ret = pp.push(false, true); print(ret, pp);
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Dense arrays keep holes in place and sparse arrays store their elements
+ * in pages. Check that holes behave like missing elements.
+ *
+ * @test
+ * @run
+ */
+
+// holes in dense arrays
+function show(a) { var ks = []; for (var k in a) ks.push(k); return a.length + " [" + ks.join() + "] " + JSON.stringify(a) + " " + String(a); }
+var a = [1, 2, 3, 4, 5]; delete a[1]; delete a[3];
+print(show(a), 1 in a, a[1], a.indexOf(undefined));
+a[1] = 7; print(show(a));
+a[3] = undefined; print(show(a), 3 in a);
+var b = new Array(10); print(show(b), 0 in b, b[0]);
+for (var i = 0; i < 10; i += 3) b[i] = i; print(show(b));
+b.push(99); print(show(b)); print(b.pop(), b.pop(), show(b));
+b.length = 4; print(show(b)); b.length = 8; print(show(b));
+var c = [1.5, 2.5, 3.5, 4.5]; delete c[2]; print(show(c), c.slice(1), c.slice(2, 4).length, 2 in c.slice(0));
+c.unshift(0, 0.5); print(show(c)); c.shift(); c.shift(); c.shift(); print(show(c));
+var o = ["a", "b", "c", "d"]; delete o[0]; print(show(o), o.concat([1, 2]), o.concat(5).length, 0 in o.concat(5));
+print([1, , 3].concat([, 5]).length, show([1, , 3].concat([, 5])));
+var r = [1, 2, 3, 4, 5, 6]; delete r[2]; r.reverse(); print(show(r));
+var s = [5, 1, 4, 2, 3]; delete s[1]; s.sort(); print(show(s));
+var sp = [1, 2, 3, 4, 5]; delete sp[3]; print(sp.splice(1, 2), show(sp));
+var f = [1, 2, 3]; delete f[1]; print(f.map(function(x) { return x * 2; }), f.filter(function() { return true; }).length, f.reduce(function(x, y) { return x + y; }));
+Array.prototype[1] = "proto"; var p = [1, 2, 3]; delete p[1]; print(p[1], p.join()); delete Array.prototype[1];
+var x = []; x[5] = 1; print(show(x)); x[2] = 2.5; print(show(x)); x[3] = "s"; print(show(x));
+var big = [1, 2]; big[200000] = 3; print(big.length, 1 in big, 2 in big, 200000 in big, big[200000]);
+var h = new Array(5); h[4] = 1; print(h.pop(), h.pop(), h.length);
+var ints = [1, 2, 3, 4]; delete ints[3]; print(ints.pop(), ints.length, show(ints));
+var jav = [1, 2, 3]; delete jav[1]; print(Java.to(jav, "int[]").length, java.util.Arrays.toString(Java.to(jav, "double[]")), java.util.Arrays.toString(Java.to(jav, "java.lang.Object[]")));
+var e = [1, 2, 3]; delete e[0]; delete e[1]; delete e[2]; print(show(e), e.length); e[1] = 1; print(show(e));
+var fz = [1, 2, 3]; delete fz[1]; Object.freeze(fz); fz[1] = 5; print(show(fz));
+var un = [1, 2, 3, 4]; delete un[1]; un[2] = undefined; un[1] = undefined; print(show(un), 1 in un, 2 in un);
+var ofs = [, 1]; ofs.unshift(9); print(show(ofs)); ofs.splice(0, 0, 8); print(show(ofs));
+function fill(n) { var z = new Array(n); for (var i = 0; i < n; i++) z[i] = i; return z; } var fz2 = fill(1000); print(fz2.length, fz2[999], 500 in fz2);
+var arr2 = [0, 1, 2, 3]; delete arr2[2]; var cp = arr2.slice(); cp[2] = 5; print(show(arr2), show(cp));
+
+// sparse arrays
+function keys(a) { var ks = []; for (var k in a) ks.push(k); return ks.join(); }
+var a = new Array(1000000); print(a.length, 0 in a, a[5]);
+for (var i = 500000; i < 500010; i++) a[i] = i;
+a[999999] = "last"; a[3] = 3;
+print(keys(a), a[500005], 500010 in a, a[999999]);
+delete a[500005]; print(keys(a), 500005 in a, a[500005]);
+a.length = 500008; print(keys(a), a.length);
+print(a.pop(), a.pop(), a.length, a.pop(), a.length);
+var s = a.slice(499999, 500004); print(s.length, keys(s), s[1]);
+a.shift(); print(a.length, keys(a));
+a.unshift(1, 2); print(a.length, keys(a));
+var b = []; b[4294967294] = "max"; b[200000] = 1; print(b.length, keys(b));
+delete b[4294967294]; print(b.length, keys(b));
+b.length = 0; print(b.length, keys(b), 200000 in b);
+var d = [1, 2, 3]; d[300000] = 4; d[300001] = 5; print(d.length, keys(d)); d.reverse(); print(d.length, d[0], d[1], d[300000], keys(d).length);
+var e = new Array(200000); e[199999] = 1; e[0] = 0; print(keys(e), e.join("").length, JSON.stringify(e.slice(0, 3)));
+var f = []; for (var i = 0; i < 3000; i++) f[150000 + i * 7] = i; var sum = 0; f.forEach(function(x) { sum += x; }); print(sum, Object.keys(f).length);
+var g = f.map(function(x) { return x * 2; }); print(g.length, g[150007]);
+var cp = f.concat([1]); print(cp.length, cp[cp.length - 1], cp[150014]);
+print(Java.to([1, 2].concat(new Array(3)), "java.lang.Object[]").length);
+var h = new Array(200000); h[5] = 5; print(h.sort().slice(0, 2), h.length);
+var spl = new Array(150000); spl[149999] = "z"; spl[10] = "y"; print(spl.splice(5, 10).length, spl.length, spl[149989], spl[0]);
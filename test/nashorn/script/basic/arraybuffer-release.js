@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * ArrayBuffer.prototype.release detaches a buffer and its views from
+ * their memory.
+ *
+ * @test
+ * @run
+ */
+
+var ab = new ArrayBuffer(16);
+var i32 = new Int32Array(ab), u8 = new Uint8Array(ab, 4, 8), dv = new DataView(ab);
+i32[1] = 0x01020304;
+print(u8[0], dv.getInt32(4, true), ab.detached, ab.byteLength);
+
+function read(a, i) { return a[i]; }
+for (var k = 0; k < 10; k++) {
+    read(i32, 1);
+}
+
+ab.release();
+print(ab.detached, ab.byteLength, i32.length, u8.length, i32.byteLength);
+print(read(i32, 1), i32[1], u8[0]);
+i32[0] = 5;
+print(i32[0]);
+
+try { dv.getInt32(0); } catch (e) { print(e); }
+try { new Int8Array(ab); } catch (e) { print(e); }
+try { new DataView(ab); } catch (e) { print(e); }
+
+// releasing twice is fine
+ab.release();
+try { ArrayBuffer.prototype.release.call({}); } catch (e) { print(e); }
+
+// slices copy only their range
+var src = new ArrayBuffer(8);
+new Uint8Array(src).set([1, 2, 3, 4, 5, 6, 7, 8]);
+var slice = src.slice(2, 5);
+print(Array.prototype.join.call(new Uint8Array(slice)), slice.byteLength);
+slice.release();
+print(slice.byteLength, new Uint8Array(src)[2]);
+
+// buffers passed in from Java are detached, their memory is left alone
+var bb = java.nio.ByteBuffer.allocateDirect(4);
+bb.put(0, 7);
+var ext = new ArrayBuffer(bb);
+print(new Uint8Array(ext)[0]);
+ext.release();
+print(bb.get(0), ext.byteLength);
+
+// many views of one buffer
+var big = new ArrayBuffer(1024);
+var views = [];
+for (var k = 0; k < 1000; k++) {
+    var v = new Uint8Array(big, k, 1);
+    if (k % 100 == 0) views.push(v);
+}
+big.release();
+print(views.map(function(v) { return v.length; }).join());
+print(Object.keys(ArrayBuffer.prototype).length);
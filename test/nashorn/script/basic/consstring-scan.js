@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Builtins scan strings built by concatenation in place. Check that
+ * results match those for flat strings, including matches that span
+ * the concatenated parts.
+ *
+ * @test
+ * @run
+ */
+
+function part(c, n) { var s = ""; while (s.length < n) s = s.concat(c); return s.substring(0, n); }
+
+var a = part("a", 900), b = part("b", 1100), c = part("c\"\n", 1000);
+function rope() { return a + "xy" + b + "z" + c; }
+var flat = String(rope());
+var ends = [a.length, a.length + 2, a.length + 2 + b.length, a.length + 3 + b.length, flat.length];
+var positions = [-1, 0, 5000];
+ends.forEach(function(e) { positions.push(e - 2, e - 1, e, e + 1); });
+
+var needles = ["a", "ax", "axy", "xyb", "yb", "bz", "bzc", "zc\"", "c\"\nc", "q", "", "\n", flat.substring(ends[0] - 10, ends[0] + 20), flat.substring(ends[2] - 20, ends[3] + 10)];
+needles.forEach(function(n) {
+    positions.forEach(function(from) {
+        var r = rope(), expected = flat.indexOf(n, from), actual = r.indexOf(n, from);
+        if (actual !== expected) {
+            print("indexOf " + JSON.stringify(n) + " " + from + ": " + actual + " != " + expected);
+        }
+    });
+    var r = rope();
+    if (r.indexOf(n) !== flat.indexOf(n)) {
+        print("indexOf " + JSON.stringify(n));
+    }
+});
+
+positions.forEach(function(i) {
+    var r = rope();
+    if (r.charAt(i) !== flat.charAt(i) || String(r.charCodeAt(i)) !== String(flat.charCodeAt(i))) {
+        print("charAt " + i);
+    }
+});
+
+var j = rope();
+print(JSON.stringify(j) === JSON.stringify(flat), JSON.stringify({ k: rope() }) === JSON.stringify({ k: flat }));
+print(JSON.stringify(j).length, JSON.parse(JSON.stringify(j)) === flat);
+
+// repeated scans of the same string
+var s = rope(), count = 0;
+for (var pos = s.indexOf("c"); pos >= 0; pos = s.indexOf("c", pos + 1)) {
+    count++;
+}
+print(count, s.length, s.charAt(s.length - 1));
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Constructors whose objects end up with more properties than the
+ * constructor assigns get more fields in later allocated objects.
+ * Check that objects allocated before and after that behave the same.
+ *
+ * @test
+ * @run
+ */
+
+function Point(x, y) {
+    this.x = x;
+    this.init(y);
+}
+Point.prototype.init = function(y) {
+    for (var i = 0; i < 20; i++) {
+        this["p" + i] = i * y;
+    }
+    this.y = y;
+    this.name = "point";
+};
+Point.prototype.sum = function() {
+    var s = this.x + this.y;
+    for (var i = 0; i < 20; i++) {
+        s += this["p" + i];
+    }
+    return s;
+};
+
+var points = [];
+for (var i = 0; i < 1000; i++) {
+    points.push(new Point(i, 2));
+}
+
+var total = 0;
+for (var i = 0; i < points.length; i++) {
+    total += points[i].sum();
+}
+print(total);
+
+var first = points[0], last = points[points.length - 1];
+print(Object.keys(first).join() === Object.keys(last).join(), Object.keys(last).length);
+print(first instanceof Point, last instanceof Point, last.name, last.p19);
+
+// type changes, deletes and additions on old and new objects
+first.p3 = "three"; last.p3 = "three";
+delete first.p4; delete last.p4;
+first.extra = 1.5; last.extra = 1.5;
+print(first.p3, last.p3, first.p4, last.p4, first.extra + last.extra);
+print(JSON.stringify(first) === JSON.stringify(points[0]), Object.keys(last).length);
+
+// changed prototype
+Point.prototype = { init: Point.prototype.init, sum: function() { return "new"; } };
+var p = new Point(1, 1);
+print(p.sum(), p.p19, p instanceof Point, points[1] instanceof Point);
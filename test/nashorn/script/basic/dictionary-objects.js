@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Objects used as hash maps switch to dictionary mode. Check that they
+ * keep behaving like ordinary objects.
+ *
+ * @test
+ * @run
+ */
+
+// enumeration order, delete and re-add
+var o = {};
+for (var i = 0; i < 100; i++) o["k" + i] = i;
+var s = 0; for (var k in o) s += o[k];
+print(s, Object.keys(o).length, Object.keys(o)[0], Object.keys(o)[99]);
+for (var i = 0; i < 100; i += 2) delete o["k" + i];
+print(Object.keys(o).length, Object.keys(o).slice(0, 3), o.k1, o.k2, "k2" in o);
+o.k2 = "again"; print(Object.keys(o).pop(), o.k2);
+
+// add/delete churn
+var h = {};
+for (var r = 0; r < 20; r++) {
+    for (var i = 0; i < 1000; i++) h["key-" + i] = i;
+    for (var i = 0; i < 1000; i++) delete h["key-" + i];
+}
+print(Object.keys(h).length);
+
+// named call sites on dictionary and ordinary objects
+function get(x) { return x.foo; }
+function set(x, v) { x.foo = v; }
+var d = {}; for (var i = 0; i < 70; i++) d["p" + i] = i;
+print(get(d)); set(d, 5); print(get(d), d.foo); delete d.foo; print(get(d));
+var n = { foo: 1 }; print(get(n)); set(n, 2); print(get(n));
+
+// property type changes
+function g(x) { return x.p3; }
+print(g(d)); d.p3 = "str"; print(g(d)); d.p3 = 1.5; print(g(d)); d.p3 = { v: 1 }; print(g(d).v);
+
+// with statement
+with (d) { print(p4); p4 = 44; newvar = 1; }
+print(d.p4, typeof d.newvar, typeof newvar);
+
+// inherited properties and accessors
+var c = Object.create({ inherited: 42 });
+for (var i = 0; i < 70; i++) c["q" + i] = i;
+print(c.inherited, c.toString() === "[object Object]");
+Object.defineProperty(c, "acc", { get: function() { return this.q1 * 10; }, configurable: true });
+print(c.acc); delete c.acc; print(c.acc);
+Object.freeze(c); c.q1 = 100; print(c.q1, Object.isFrozen(c));
+
+// dictionary objects in the prototype chain
+var base = { x: "base" }; var mid = Object.create(base); var top = Object.create(mid);
+for (var i = 0; i < 70; i++) mid["m" + i] = i;
+function rx(o) { return o.x; }
+print(rx(top)); mid.x = "mid"; print(rx(top)); delete mid.x; print(rx(top)); base.x = "base2"; print(rx(top));
+Object.setPrototypeOf(d, { fromProto: 7 }); print(d.fromProto, d.p5);
+
+// seal and preventExtensions
+var sl = {}; for (var i = 0; i < 70; i++) sl["s" + i] = i; delete sl.s0;
+Object.seal(sl); sl.s1 = "w"; sl.nope = 1; delete sl.s2; print(sl.s1, sl.nope, sl.s2, Object.isSealed(sl));
+var pe = {}; for (var i = 0; i < 70; i++) pe["e" + i] = i;
+Object.preventExtensions(pe); pe.zz = 1; print(pe.zz, Object.isExtensible(pe));
+
+// non-identifier keys, indices and read-only properties
+var ni = {}; for (var i = 0; i < 10; i++) ni["a b" + i] = i;
+print(Object.getOwnPropertyNames(ni).length, ni.hasOwnProperty("a b3"), JSON.stringify(ni));
+ni[5] = "five"; print(ni[5], Object.keys(ni)[0]);
+Object.defineProperty(ni, "ro", { value: 1, writable: false }); ni.ro = 2; print(ni.ro);
+(function() { "use strict"; try { ni.ro = 3; } catch (e) { print(e instanceof TypeError); } })();
+
+// constructor instances and field slot reuse
+function P() { this.a = 1; }
+var ps = [];
+for (var j = 0; j < 3; j++) {
+    var p = new P();
+    for (var i = 0; i < 10; i++) p["x-" + i] = i;
+    delete p.a;
+    ps.push(p);
+}
+print(ps[2]["x-9"], ps[2].a, new P().a);
+var f = { a: 1, b: 2, c: 3, d: 4, e: 5, f: 6, g: 7, h: 8 }; delete f.a; f.z = 26; print(JSON.stringify(f));
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * JSON.parse reads JSON text from Java readers, input streams and byte
+ * buffers as it parses it, with the same results and errors as for strings.
+ *
+ * @test
+ * @run
+ */
+
+var StringReader = Java.type("java.io.StringReader");
+var ByteArrayInputStream = Java.type("java.io.ByteArrayInputStream");
+var ByteBuffer = Java.type("java.nio.ByteBuffer");
+var StandardCharsets = Java.type("java.nio.charset.StandardCharsets");
+
+function bytes(text) {
+    return new java.lang.String(text).getBytes(StandardCharsets.UTF_8);
+}
+
+function check(text) {
+    var expected = JSON.stringify(JSON.parse(text));
+    var results = [
+        JSON.parse(new StringReader(text)),
+        JSON.parse(new ByteArrayInputStream(bytes(text))),
+        JSON.parse(ByteBuffer.wrap(bytes(text)))
+    ];
+    results.forEach(function(r, i) {
+        if (JSON.stringify(r) !== expected) {
+            print("mismatch " + i + ": " + JSON.stringify(r).substring(0, 80));
+        }
+    });
+    return expected.length;
+}
+
+// records spanning many windows, strings and numbers across window boundaries
+var records = [];
+for (var i = 0; i < 2000; i++) {
+    records.push({ id: i, name: "r\u00e9cord \"" + i + "\"\n", score: i * 0.25 - 3e-7, ok: i % 3 == 0, none: null, tags: ["a", "\u20ac", "\ud83d\ude00"] });
+}
+print(check(JSON.stringify(records)));
+print(check(JSON.stringify(records, null, "    ")));
+
+// a single string and number longer than the window
+var long = "x";
+while (long.length < 40000) long += long + "\\u0041";
+print(check('{"long": "' + long + '", "n": ' + "1".repeat(400) + '}'));
+print(check('   [1, 2, {"a": {}}, []]   '));
+print(check('"just a string"'));
+
+// reviver and sparse index keys work as for strings
+print(JSON.stringify(JSON.parse(new StringReader('{"a": [1, 2, 3], "5": true}'), function(k, v) { return typeof v == "number" ? v * 10 : v; })));
+
+// the buffer position is left alone
+var buf = ByteBuffer.wrap(bytes('{"x": 1}'));
+JSON.parse(buf);
+print(buf.position(), buf.remaining());
+
+// errors report positions in the whole text
+function error(text) {
+    try {
+        JSON.parse(new StringReader(text));
+    } catch (e) {
+        print(e.name + ": " + String(e.message).split("\n")[0]);
+    }
+    try {
+        JSON.parse(text);
+    } catch (e) {
+        print(e.name + ": " + String(e.message).split("\n")[0]);
+    }
+}
+error('[1, 2,]');
+error('{"a": tru}');
+error(JSON.stringify(records, null, 1).replace(/"r\u00e9cord \\"1500/, '"r\u00e9cord \\"1500\\x'));
+error(JSON.stringify(records).slice(0, -1));
+error("");
+
+// the caret points at the error in the quoted part of the line
+function caret(text) {
+    [new StringReader(text), text].forEach(function(t) {
+        try {
+            JSON.parse(t);
+        } catch (e) {
+            var lines = String(e.message).split("\n");
+            print(lines[1].substr(lines[2].indexOf("^"), 8));
+        }
+    });
+}
+caret(JSON.stringify(records).replace(/"r\u00e9cord \\"1500/, '"r\u00e9cord \\"1500\\x'));
+caret(JSON.stringify(records).replace(/"id":1700,/, '"id":1700,,'));
+
+// I/O errors are thrown as they are, not as syntax errors
+try {
+    JSON.parse(new java.io.PipedReader());
+} catch (e) {
+    print(e.class.name + ": " + e.cause.message);
+}
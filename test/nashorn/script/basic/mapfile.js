@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * mapFile maps a file region into a read-only ArrayBuffer.
+ *
+ * @test
+ * @option -scripting
+ * @run
+ */
+
+var Files = Java.type("java.nio.file.Files");
+var path = Files.createTempFile("mapfile", ".bin");
+var bytes = new (Java.type("byte[]"))(64);
+for (var i = 0; i < bytes.length; i++) bytes[i] = i;
+Files.write(path, bytes);
+
+try {
+    var ab = mapFile(path.toString());
+    var u8 = new Uint8Array(ab);
+    print(ab.byteLength, u8[0], u8[63], new DataView(ab).getInt32(4, false).toString(16));
+
+    var win = mapFile(path.toFile(), 16, 8);
+    print(win.byteLength, Array.prototype.join.call(new Uint8Array(win)));
+    print(mapFile(path.toString(), 60).byteLength, mapFile(path.toString(), 64).byteLength);
+
+    // writes through views are rejected, the file and the buffer are unchanged
+    try { u8[0] = 200; } catch (e) { print(e.name, e.message); }
+    try { new DataView(ab).setInt8(1, -1); } catch (e) { print(e.name); }
+    try { new Float64Array(ab).set([1.5]); } catch (e) { print(e.name); }
+    print(u8[0], u8[1], Files.readAllBytes(path)[0]);
+
+    // a slice is a writable copy
+    var copy = new Uint8Array(ab.slice(2, 6));
+    copy[0] = 100;
+    print(Array.prototype.join.call(copy), u8[2]);
+
+    // files that cannot be written can still be mapped
+    path.toFile().setWritable(false);
+    var ro = mapFile(path.toString(), 2, 4);
+    print(ro.byteLength, Array.prototype.join.call(new Uint8Array(ro)));
+    ro.release();
+    path.toFile().setWritable(true);
+
+    ab.release();
+    print(ab.detached, ab.byteLength, u8.length, win.detached);
+    win.release();
+
+    try { mapFile(path.toString(), 65); } catch (e) { print(e.name); }
+    try { mapFile(path.toString(), 8, 57); } catch (e) { print(e.name); }
+    try { mapFile(path.getParent().toString()); } catch (e) { print(e.name); }
+} finally {
+    Files.delete(path);
+}
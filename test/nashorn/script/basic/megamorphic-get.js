@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Megamorphic property getters use a lookup cache. Check that cached
+ * lookups notice changes to the receiver and its prototype chain.
+ *
+ * @test
+ * @option --unstable-relink-threshold=1
+ * @run
+ */
+
+function get(o) { return o.x; }
+function call(o) { return o.m(); }
+
+var shapes = [];
+for (var i = 0; i < 10; i++) {
+    var o = { x: "own" + i };
+    o["p" + i] = i;
+    shapes.push(o);
+}
+print(shapes.map(get).join());
+
+// inherited properties
+var proto = { x: "proto", m: function() { return "m:" + this.x; } };
+var child = Object.create(proto);
+child.y = 1;
+print(get(child), call(child));
+print(get(child), call(child));
+
+// shadowing in the receiver and in the prototype chain
+var mid = Object.create(proto);
+var leaf = Object.create(mid);
+print(get(leaf)); mid.x = "mid"; print(get(leaf)); leaf.x = "leaf"; print(get(leaf));
+delete leaf.x; print(get(leaf)); delete mid.x; print(get(leaf));
+
+// changed prototype values, redefined and deleted properties
+proto.x = "proto2"; print(get(child));
+proto.m = function() { return "m2:" + this.x; }; print(call(child));
+Object.defineProperty(proto, "x", { get: function() { return "getter:" + this.y; }, configurable: true });
+print(get(child)); child.y = 2; print(get(child));
+delete proto.x; print(get(child));
+
+// properties that do not exist, and are added later
+var empty = Object.create(proto);
+print(get(empty), get(empty));
+proto.x = "late"; print(get(empty));
+Object.prototype.x = "object"; delete proto.x; print(get(empty));
+delete Object.prototype.x; print(get(empty));
+
+// changed prototypes
+var other = { x: "other" };
+Object.setPrototypeOf(child, other); print(get(child));
+Object.setPrototypeOf(child, proto); print(get(child));
+var a = Object.create({ x: "a" }), b = Object.create({ x: "b" });
+print(get(a), get(b), get(a), get(b));
+
+// method calls on missing properties
+try { call({ n: 1 }); } catch (e) { print(e instanceof TypeError); }
+try { call({ n: 1 }); } catch (e) { print(e instanceof TypeError); }
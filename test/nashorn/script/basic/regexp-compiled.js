@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Regexps that are compiled to JVM byte code once they are hot must match
+ * exactly like the interpreter did before.
+ *
+ * @test
+ * @run
+ */
+
+var patterns = [
+    /abc/, /a(b|c)+d/, /^\s*(\w+)\s*=\s*(.*)$/, /[a-z]+@[a-z]+\.com/i, /(\d{1,3})\.(\d{1,3})\.(\d{1,3})\.(\d{1,3})/,
+    /colou?r/g, /\bfoo\b/, /x*?y/, /(a+)+b/, /[^aeiou]{2,}/g, /(?=abc)a/, /(?!abc)a\w/, /(\w)\1/,
+    /hello world, this is a longer literal/i, /.*z/, /[\s\S]*?end/, /a{2,4}/g, /(?:ab)*c/, /\d+(\.\d+)?/g,
+    /[A-Za-z0-9_$]+/g, /été/i, /[Ā-Ȁ]+/, /é|ü|ß/g, /^line/mg, /end$/m, /\W+/g, /[abc][def][ghi]/, /.+?,/g,
+    /(x)?(y)?z/, /a.c/, /\Bb/, /((a)|(b))+/, /(a|ab)(c|bcd)(d*)/, /verylongliteralstringthatexceedssixteenchars/,
+    /VERYLONGLITERALSTRINGTHATEXCEEDSSIXTEENCHARSIC/i
+];
+
+var inputs = [
+    "abc", "abbcd", "  key = value", "Joe@Example.COM", "ip 192.168.1.254 x", "color colour colr", "a foo b",
+    "xxxy", "aaaaab", "strength rhythm", "abcabd", "aa bb cc", "Hello World, this is a longer LITERAL!",
+    "fooz barz", "x begin y end z end", "aaaaa", "ababc", "3.14 and 42", "é ü ß", "été ÉTÉ", "ĀāĂ",
+    "\nline1\nline2 end\nend", "a-b_c d$e", "adg beh cfi", "a,b,c,", "z yz xz", "abcd",
+    "verylongliteralstringthatexceedssixteenchars!", "veryLONGliteralstringthatexceedssixteencharsic", ""
+];
+
+function results(re) {
+    return inputs.map(function(input) {
+        re.lastIndex = 0;
+        return [JSON.stringify(input.match(re)), input.replace(re, "<$&>"), input.search(re), input.split(re).length].join();
+    }).join("|");
+}
+
+var mismatches = 0;
+patterns.forEach(function(re) {
+    var expected = results(re);
+    for (var i = 0; i < 20; i++) {
+        if (results(re) !== expected) {
+            mismatches++;
+            print("mismatch for " + re);
+            break;
+        }
+    }
+});
+
+print(patterns.length + " patterns, " + mismatches + " mismatches");
+print(results(/(\d{1,3})\.(\d{1,3})\.(\d{1,3})\.(\d{1,3})/).split("|")[4]);
+print(results(/(a|ab)(c|bcd)(d*)/).split("|")[26]);
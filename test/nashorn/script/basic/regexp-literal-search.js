@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * Regexps that contain a literal only try the positions where the literal
+ * occurs, and global regexps reuse their matcher while exec iterates over
+ * the same input.
+ *
+ * @test
+ * @run
+ */
+
+function all(re, s) {
+    var result = [], m;
+    re.lastIndex = 0;
+    while ((m = re.exec(s)) !== null) {
+        result.push(m.index + ":" + m[0] + (m.length > 1 ? "(" + m.slice(1).join() + ")" : ""));
+        if (m[0] === "") {
+            re.lastIndex++;
+        }
+    }
+    return result.join(" ");
+}
+
+var log = "INFO ok\nERROR: 500 a\nINFO ERROR: x\nERROR: 42\nBearer abc\n";
+
+// literal at a fixed distance from the match start
+print(all(/ERROR: (\d+)/g, log));
+print(all(/.RROR: \d/g, log));
+print(all(/\w+ERROR/g, "xERROR yyERROR ERROR"));
+
+// literal at a variable distance
+print(all(/a+bc/g, "abc aabc xbc aaaabc"));
+print(all(/(x|yy)foo/g, "xfoo yyfoo zfoo"));
+print(all(/\d*foo/g, "foo 1foo 123foo"));
+print(all(/.*ok/g, log));
+
+// literal occurrences that don't match
+print(all(/ERROR: \d+/g, "ERROR: x ERROR: ERROR: 7"));
+print(all(/abab/g, "abababab"));
+
+// anchored patterns
+print(/^Bearer /.test(log), /^INFO/.test(log), /^Bearer /m.test(log), all(/^ERROR: \d+/gm, log));
+var anchored = /^INFO/g;
+anchored.lastIndex = 2;
+print(anchored.test(log), anchored.lastIndex);
+print(/^$/.test(""), /^a/.test(""), "".search(/^/));
+
+// changing the input, lastIndex and the pattern of a global regexp
+var re = /o+/g;
+print(re.exec("foo boo").index, re.lastIndex, re.exec("xoooo").index, re.lastIndex, re.exec("foo boo"), re.lastIndex);
+re.lastIndex = 2;
+print(re.exec("foo boo").index, re.lastIndex, re.exec("foo boo").index, re.lastIndex);
+re.compile("b", "g");
+re.lastIndex = 0;
+print(re.exec("foo boo").index, re.exec("foo boo"), re.lastIndex);
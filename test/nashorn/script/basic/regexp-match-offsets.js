@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+/**
+ * RegExp test, replace and split record match offsets instead of group
+ * strings. Check substitutions, group values and the legacy RegExp
+ * properties they leave behind.
+ *
+ * @test
+ * @run
+ */
+
+var s = "John Smith, Jane Doe; a=1 b=22 c=333";
+print(s.replace(/(\w+) (\w+)/g, "$2 $1"), s.replace(/(\w+) (\w+)/, "[$&|$`|$'|$$|$0|$01|$3|$10]"));
+print(s.replace(/o/g, "0"), s.replace(/x/g, "y"), s.replace(/(a)|(b)/g, "<$1,$2>"));
+print(s.replace(/(\w)=(\d+)/g, function(m, k, v, i, str) { return k + ":" + (v * 2) + "@" + i + (str === s); }));
+print("aaa".replace(/(a)?/g, "[$1]"), "abc".replace(/(?!(b))./g, "<$1>"), "zaacbbbcac".replace(/(z)((a+)?(b+)?(c))*/, "$1|$2|$3|$4|$5"));
+print(/(\d+)-(\d+)/.test("tel 555-1234"), RegExp.$1, RegExp.$2, RegExp.lastMatch, RegExp.leftContext, RegExp.rightContext, RegExp.lastParen);
+print(/xyz/.test("abc"), RegExp.$1);
+print("a1b22c333".split(/(\d)+/), "a,b,,c".split(/,/), "abc".split(/(?:)/), "".split(/x/), "".split(/(?:)/), "a b".split(/(\s)/, 2));
+print(RegExp.$1, RegExp.lastMatch, RegExp.input);
+print("a1b2c3".split(/(\d)/), RegExp.lastMatch, RegExp.$1, RegExp.leftContext);
+print("test".search(/s/), RegExp.lastMatch, JSON.stringify(/(a)|(b)/.exec("b")), JSON.stringify("xaby".match(/(a)(b)?/)));
+var re = /o/g; var n = 0; while (re.test("foo boo")) n++; print(n, re.lastIndex);
+print("x".replace(/x/, "$"), "x".replace(/x/, "a$"), "x".replace(/(x)/, "$11"), "abcdefghijkl".replace(/(a)(b)(c)(d)(e)(f)(g)(h)(i)(j)(k)/, "$11-$10-$1"));
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.scripting.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.script.CompiledScript;
+import org.openjdk.nashorn.api.scripting.EnginePool;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link EnginePool}.
+ *
+ * @test
+ * @summary Test pooling of warm script contexts
+ * @run testng org.openjdk.nashorn.api.scripting.test.EnginePoolTest
+ */
+@SuppressWarnings("javadoc")
+public class EnginePoolTest {
+
+    private static final String PRELUDE =
+            "var hits = 0;\n" +
+            "function handle(x) { hits++; return x * 2; }\n";
+
+    private static NashornScriptEngine createEngine() {
+        return (NashornScriptEngine)new NashornScriptEngineFactory().getScriptEngine();
+    }
+
+    @Test
+    public void warmupAndResetTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        final CompiledScript warmup = engine.compile("for (var i = 0; i < 10; i++) handle(i);");
+        final EnginePool pool = new EnginePool(engine.createGlobalSnapshot(PRELUDE), 2, warmup);
+        assertEquals(pool.getSize(), 2);
+        assertEquals(pool.getAvailableCount(), 2);
+
+        try (EnginePool.Lease lease = pool.borrow()) {
+            assertEquals(pool.getBorrowedCount(), 1);
+            // warm-up effects are not visible to borrowers
+            assertEquals(((Number)lease.eval("hits")).intValue(), 0);
+            assertEquals(((Number)lease.eval("handle(21)")).intValue(), 42);
+            lease.eval("var leftover = true;");
+        }
+        assertEquals(pool.getAvailableCount(), 2);
+
+        for (int i = 0; i < 2; i++) {
+            try (EnginePool.Lease lease = pool.borrow()) {
+                assertEquals(((Number)lease.eval("hits")).intValue(), 0);
+                assertEquals(lease.eval("typeof leftover"), "undefined");
+            }
+        }
+        assertEquals(pool.getBorrowCount(), 3);
+        assertTrue(pool.getMaxBorrowNanos() <= pool.getTotalBorrowNanos());
+    }
+
+    @Test
+    public void warmupOnceTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        // Java objects are shared by all copies of the snapshot
+        final CompiledScript warmup = engine.compile("runs.incrementAndGet();");
+        final EnginePool pool = new EnginePool(engine.createGlobalSnapshot("var runs = new java.util.concurrent.atomic.AtomicInteger();"), 3, warmup);
+        try (EnginePool.Lease lease = pool.borrow()) {
+            assertEquals(((Number)lease.eval("runs.get()")).intValue(), 1);
+        }
+    }
+
+    @Test
+    public void exhaustedTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        final EnginePool pool = new EnginePool(engine.createGlobalSnapshot(null), 1);
+        final EnginePool.Lease lease = pool.borrow();
+        assertNull(pool.borrow(10, TimeUnit.MILLISECONDS));
+        assertEquals(pool.getBorrowCount(), 1);
+        lease.close();
+        lease.close();
+        assertEquals(pool.getAvailableCount(), 1);
+        try {
+            lease.eval("1");
+            fail("expected IllegalStateException");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+        pool.borrow(10, TimeUnit.MILLISECONDS).close();
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        final EnginePool pool = new EnginePool(engine.createGlobalSnapshot(PRELUDE), 2);
+        final CompiledScript script = engine.compile("handle(hits) + handle(hits)");
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Thread t = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 50; j++) {
+                        try (EnginePool.Lease lease = pool.borrow()) {
+                            assertEquals(((Number)lease.eval(script)).intValue(), 2);
+                        }
+                    }
+                } catch (final Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (final Thread t : threads) {
+            t.join();
+        }
+        assertEquals(failures, new ArrayList<Throwable>());
+        assertEquals(pool.getBorrowCount(), 200);
+        assertEquals(pool.getAvailableCount(), 2);
+    }
+
+    @Test
+    public void invalidArgumentsTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        try {
+            new EnginePool(engine.createGlobalSnapshot(null), 0);
+            fail("expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new EnginePool(engine.createGlobalSnapshot(null), 1, createEngine().compile("1"));
+            fail("expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+        final EnginePool pool = new EnginePool(engine.createGlobalSnapshot(null), 1);
+        try (EnginePool.Lease lease = pool.borrow()) {
+            lease.eval(createEngine().compile("1"));
+            fail("expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.scripting.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+import org.openjdk.nashorn.api.scripting.GlobalSnapshot;
+import org.openjdk.nashorn.api.scripting.NashornException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for creating bindings from a {@link GlobalSnapshot}.
+ *
+ * @test
+ * @summary Test creation of new globals by copying a global snapshot
+ * @run testng org.openjdk.nashorn.api.scripting.test.GlobalSnapshotTest
+ */
+@SuppressWarnings("javadoc")
+public class GlobalSnapshotTest {
+
+    private static final String PRELUDE =
+            "var counter = 0;\n" +
+            "const LIMIT = 10;\n" +
+            "var list = [1, 'two', { three: 3 }];\n" +
+            "var frozen = Object.freeze([{ x: 1 }]);\n" +
+            "var map = new Map([['a', { v: 1 }]]);\n" +
+            "var set = new Set([list]);\n" +
+            "var weak = new WeakMap([[list, 'list']]);\n" +
+            "var re = /a(b)c/g;\n" +
+            "function Point(x, y) { this.x = x; this.y = y; }\n" +
+            "Point.prototype.sum = function() { return this.x + this.y; };\n" +
+            "var next = (function() { var n = 0; return function() { return ++n; }; })();\n" +
+            "Array.prototype.first = function() { return this[0]; };\n";
+
+    private static Object eval(final NashornScriptEngine engine, final Bindings bindings, final String script) throws ScriptException {
+        final ScriptContext ctxt = new SimpleScriptContext();
+        ctxt.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+        return engine.eval(script, ctxt);
+    }
+
+    private static int evalInt(final NashornScriptEngine engine, final Bindings bindings, final String script) throws ScriptException {
+        return ((Number)eval(engine, bindings, script)).intValue();
+    }
+
+    private static NashornScriptEngine createEngine() {
+        return (NashornScriptEngine)new NashornScriptEngineFactory().getScriptEngine("--language=es6");
+    }
+
+    @Test
+    public void builtinsTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(null);
+        final Bindings b = snapshot.createBindings();
+        assertEquals(eval(engine, b, "[3, 1, 2].sort().join()"), "1,2,3");
+        assertEquals(eval(engine, b, "JSON.stringify({ a: [1, 2] })"), "{\"a\":[1,2]}");
+        assertEquals(eval(engine, b, "/b+/.exec('abbbc')[0]"), "bbb");
+        assertEquals(evalInt(engine, b, "new Date(0).getTime()"), 0);
+        assertEquals(eval(engine, b, "this === Function('return this')()"), true);
+        assertEquals(eval(engine, b, "Object.getPrototypeOf([]) === Array.prototype"), true);
+        assertEquals(eval(engine, b, "typeof java.lang.String"), "function");
+    }
+
+    @Test
+    public void preludeTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(PRELUDE);
+        final Bindings b = snapshot.createBindings();
+        assertEquals(evalInt(engine, b, "new Point(1, 2).sum()"), 3);
+        assertEquals(eval(engine, b, "new Point(1, 2) instanceof Point"), true);
+        assertEquals(evalInt(engine, b, "list[2].three"), 3);
+        assertEquals(evalInt(engine, b, "frozen[0].x"), 1);
+        assertEquals(evalInt(engine, b, "map.get('a').v"), 1);
+        assertEquals(eval(engine, b, "set.has(list)"), true);
+        assertEquals(eval(engine, b, "weak.get(list)"), "list");
+        assertEquals(evalInt(engine, b, "next() + next()"), 3);
+        assertEquals(evalInt(engine, b, "[7, 8].first()"), 7);
+        assertEquals(eval(engine, b, "re.exec('xabcx')[1]"), "b");
+        assertEquals(evalInt(engine, b, "LIMIT"), 10);
+    }
+
+    @Test
+    public void isolationTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(PRELUDE);
+        final Bindings b1 = snapshot.createBindings();
+        final Bindings b2 = snapshot.createBindings();
+        assertNotSame(b1, b2);
+
+        eval(engine, b1, "counter = 42; list[2].three = 'changed'; frozen[0].x = 2; map.set('b', 2); set.add(2); next();" +
+                "Point.prototype.sum = function() { return 0; }; Object.prototype.extra = 1; Math.PI2 = 1;" +
+                "re.lastIndex = 5; var added = true;");
+        assertEquals(evalInt(engine, b1, "counter"), 42);
+        assertEquals(evalInt(engine, b1, "new Point(1, 2).sum()"), 0);
+        assertEquals(evalInt(engine, b1, "next()"), 2);
+
+        assertEquals(evalInt(engine, b2, "counter"), 0);
+        assertEquals(evalInt(engine, b2, "list[2].three"), 3);
+        assertEquals(evalInt(engine, b2, "frozen[0].x"), 1);
+        assertEquals(evalInt(engine, b2, "map.size"), 1);
+        assertEquals(evalInt(engine, b2, "set.size"), 1);
+        assertEquals(evalInt(engine, b2, "next()"), 1);
+        assertEquals(evalInt(engine, b2, "new Point(1, 2).sum()"), 3);
+        assertEquals(eval(engine, b2, "({}).extra"), null);
+        assertEquals(eval(engine, b2, "Math.PI2"), null);
+        assertEquals(evalInt(engine, b2, "re.lastIndex"), 0);
+        assertEquals(eval(engine, b2, "typeof added"), "undefined");
+
+        // copies made after changes to other copies are unaffected as well
+        assertEquals(eval(engine, snapshot.createBindings(), "counter + ':' + ({}).extra"), "0:undefined");
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(PRELUDE);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final int id = i;
+            final Thread t = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 50; j++) {
+                        final Bindings b = snapshot.createBindings();
+                        eval(engine, b, "counter += " + id + "; list.push(counter);");
+                        assertEquals(evalInt(engine, b, "counter"), id);
+                        assertEquals(evalInt(engine, b, "list.length"), 4);
+                    }
+                } catch (final Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (final Thread t : threads) {
+            t.join();
+        }
+        assertEquals(failures, new ArrayList<Throwable>());
+    }
+
+    @Test
+    public void errorTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(
+                "var e = new Error('x');\n" +
+                "try { null.x; } catch (ex) { var last = ex; }\n" +
+                "var plain = {}; try { throw plain; } catch (ex) { }\n");
+        final Bindings b1 = snapshot.createBindings();
+        final Bindings b2 = snapshot.createBindings();
+        assertEquals(eval(engine, b1, "e.message"), "x");
+        assertEquals(eval(engine, b1, "last instanceof TypeError"), true);
+        assertEquals(evalInt(engine, b1, "last.lineNumber"), 2);
+        assertEquals(eval(engine, b1, "typeof last.stack"), "string");
+
+        // each copy has its own exceptions, which refer to its copies of the errors, so that they are
+        // reused when the errors are thrown again
+        final Object exception = eval(engine, b1, "last.nashornException");
+        assertEquals(((NashornException)exception).getLineNumber(), 2);
+        assertNotSame(exception, eval(engine, b2, "last.nashornException"));
+        assertNotSame(eval(engine, b1, "plain.nashornException"), eval(engine, b2, "plain.nashornException"));
+        assertEquals(eval(engine, b1, "try { throw last; } catch (ex) { ex === last; }"), true);
+        try {
+            eval(engine, b1, "throw last");
+            fail("expected ScriptException");
+        } catch (final ScriptException ex) {
+            assertSame(ex.getCause(), exception);
+        }
+
+        eval(engine, b1, "e.message = 'changed'; last.extra = 1;");
+        assertEquals(eval(engine, b2, "e.message"), "x");
+        assertEquals(eval(engine, b2, "last.extra"), null);
+    }
+
+    @Test
+    public void boundFunctionTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(
+                "var obj = { v: 1 };\n" +
+                "function getV(a, b) { return this.v + a + b; }\n" +
+                "var bound = getV.bind(obj, 10);\n" +
+                "var bound2 = bound.bind(null, 100);\n" +
+                "function P(x) { this.x = x; }\n" +
+                "var BP = P.bind(null, 3);\n" +
+                "var sloppy = function() { return this; }.bind(undefined);\n");
+        final Bindings b1 = snapshot.createBindings();
+        final Bindings b2 = snapshot.createBindings();
+        assertEquals(evalInt(engine, b1, "bound(5)"), 16);
+        assertEquals(evalInt(engine, b1, "bound2()"), 111);
+        assertEquals(evalInt(engine, b1, "bound.length + bound2.length"), 1);
+        assertEquals(eval(engine, b1, "new BP() instanceof P && new BP().x === 3"), true);
+        assertEquals(eval(engine, b1, "sloppy() === this"), true);
+
+        // bound functions of a copy are bound to the copied objects
+        eval(engine, b1, "obj.v = 2");
+        assertEquals(evalInt(engine, b1, "bound(5)"), 17);
+        assertEquals(evalInt(engine, b2, "bound(5)"), 16);
+        assertEquals(eval(engine, b2, "sloppy() === this"), true);
+    }
+
+    @Test
+    public void typedArrayTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        final GlobalSnapshot snapshot = engine.createGlobalSnapshot(
+                "var u8 = new Uint8Array(4); u8[0] = 7;\n" +
+                "var i16 = new Int16Array(u8.buffer, 2, 1);\n" +
+                "var dv = new DataView(u8.buffer);\n" +
+                "var gone = new Uint8Array(4); gone.buffer.release();\n");
+        final Bindings b1 = snapshot.createBindings();
+        final Bindings b2 = snapshot.createBindings();
+        assertEquals(evalInt(engine, b1, "u8[0]"), 7);
+        assertEquals(eval(engine, b1, "i16.buffer === u8.buffer && dv.buffer === u8.buffer"), true);
+        assertEquals(eval(engine, b1, "gone.buffer.detached"), true);
+        assertEquals(evalInt(engine, b1, "gone.length"), 0);
+
+        // views of a copied buffer share the copied memory, but not the memory of other copies
+        eval(engine, b1, "u8[2] = 1; u8[3] = 1; dv.setUint8(0, 9);");
+        assertEquals(evalInt(engine, b1, "i16[0]"), 257);
+        assertEquals(evalInt(engine, b1, "u8[0]"), 9);
+        assertEquals(evalInt(engine, b2, "i16[0] + dv.getUint8(2)"), 0);
+        assertEquals(evalInt(engine, b2, "u8[0]"), 7);
+
+        // releasing the buffer of a copy detaches the views of that copy only
+        eval(engine, b1, "u8.buffer.release()");
+        assertEquals(evalInt(engine, b1, "u8.length + i16.length"), 0);
+        assertEquals(evalInt(engine, b2, "u8.length + i16.length"), 5);
+    }
+
+    @Test
+    public void unsupportedTest() throws ScriptException {
+        final NashornScriptEngine engine = createEngine();
+        try {
+            // mirrors refer to objects of another global
+            engine.createGlobalSnapshot("var other = loadWithNewGlobal({ name: 'other', script: '({ a: 1 })' });");
+            fail("expected IllegalStateException");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+    }
+}
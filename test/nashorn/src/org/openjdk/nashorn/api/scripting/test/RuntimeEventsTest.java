@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package org.openjdk.nashorn.api.scripting.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.script.ScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.RuntimeEvents;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for {@link RuntimeEvents}.
+ *
+ * @test
+ * @summary Test the runtime event listener API
+ * @run testng org.openjdk.nashorn.api.scripting.test.RuntimeEventsTest
+ */
+@SuppressWarnings("javadoc")
+public class RuntimeEventsTest {
+
+    private static final class RecordingListener implements RuntimeEvents.Listener {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void recompiled(final String functionName, final int programPoint, final Class<?> previousType, final Class<?> newType) {
+            events.add("recompiled " + functionName + " " + (previousType == null ? "unknown" : previousType.getName()) + " -> " + newType.getName());
+        }
+
+        @Override
+        public void relinked(final String operation, final String location, final int relinkCount) {
+            events.add("relinked " + operation + " @ " + location + " #" + relinkCount);
+        }
+
+        @Override
+        public void megamorphic(final String operation, final String location, final int relinkCount) {
+            events.add("megamorphic " + operation + " @ " + location + " #" + relinkCount);
+        }
+
+        @Override
+        public void classInstalled(final String className, final int byteCodeLength) {
+            assertTrue(byteCodeLength > 0);
+            events.add("installed " + className);
+        }
+
+        boolean has(final String prefix) {
+            synchronized (events) {
+                return events.stream().anyMatch(e -> e.startsWith(prefix));
+            }
+        }
+    }
+
+    private static ScriptEngine createEngine(final String... args) {
+        return new NashornScriptEngineFactory().getScriptEngine(args);
+    }
+
+    @Test
+    public void recompilationTest() throws Exception {
+        final ScriptEngine engine = createEngine("--optimistic-types=true");
+        final RecordingListener listener = new RecordingListener();
+        RuntimeEvents.addListener(listener);
+        try {
+            // the property getter of o.a is optimistically typed as int until it returns a double, then a string
+            engine.eval("function recompilationTestAdd(o) { return o.a + 1; }\n" +
+                        "recompilationTestAdd({ a: 1 }); recompilationTestAdd({ a: 1.5 }); recompilationTestAdd({ a: 'x' });");
+        } finally {
+            RuntimeEvents.removeListener(listener);
+        }
+        // the type a program point was compiled with is only known once it has been invalidated
+        assertTrue(listener.has("recompiled recompilationTestAdd unknown -> double"), listener.events.toString());
+        assertTrue(listener.has("recompiled recompilationTestAdd double -> java.lang.Object"), listener.events.toString());
+        assertTrue(listener.has("installed "), listener.events.toString());
+    }
+
+    @Test
+    public void relinkTest() throws Exception {
+        final ScriptEngine engine = createEngine("--unstable-relink-threshold=4");
+        final RecordingListener listener = new RecordingListener();
+        RuntimeEvents.addListener(listener);
+        try {
+            engine.eval("function relinkTestGet(o) { return o.x; }\n" +
+                        "relinkTestGet({ x: 1 }); relinkTestGet({ a: 1, x: 2 });\n" +
+                        "for (var i = 0; i < 10; i++) { var o = {}; o['p' + i] = i; o.x = i; relinkTestGet(o); }");
+        } finally {
+            RuntimeEvents.removeListener(listener);
+        }
+        assertTrue(listener.has("relinked GET:PROPERTY|ELEMENT|METHOD:x @ <eval>:1 #1"), listener.events.toString());
+        assertTrue(listener.has("megamorphic GET:PROPERTY|ELEMENT|METHOD:x @ <eval>:1 #4"), listener.events.toString());
+    }
+
+    @Test
+    public void lateListenerTest() throws Exception {
+        final ScriptEngine engine = createEngine();
+        // the call site is created and linked before any listener is registered
+        engine.eval("function lateListenerTestGet(o) { return o.x; }\n" +
+                    "lateListenerTestGet({ x: 1 });");
+        final RecordingListener listener = new RecordingListener();
+        RuntimeEvents.addListener(listener);
+        try {
+            engine.eval("lateListenerTestGet({ a: 1, x: 2 });");
+        } finally {
+            RuntimeEvents.removeListener(listener);
+        }
+        assertTrue(listener.has("relinked GET:PROPERTY|ELEMENT|METHOD:x @ <eval>:1 #1"), listener.events.toString());
+    }
+
+    @Test
+    public void removeListenerTest() throws Exception {
+        final ScriptEngine engine = createEngine();
+        final RecordingListener listener = new RecordingListener();
+        RuntimeEvents.addListener(listener);
+        RuntimeEvents.removeListener(listener);
+        // removing a listener twice does nothing
+        RuntimeEvents.removeListener(listener);
+        engine.eval("function removeListenerTestGet(o) { return o.x; }\n" +
+                    "removeListenerTestGet({ x: 1 }); removeListenerTestGet({ a: 1, x: 2 });");
+        assertFalse(listener.has("installed "));
+        assertFalse(listener.has("relinked "));
+        assertEquals(listener.events.size(), 0);
+    }
+
+    @Test
+    public void arrayBufferReleaseTest() throws Exception {
+        final ScriptEngine engine = createEngine("-scripting");
+        final List<ByteBuffer> released = Collections.synchronizedList(new ArrayList<>());
+        final RuntimeEvents.Listener listener = new RuntimeEvents.Listener() {
+            @Override
+            public void arrayBufferReleased(final ByteBuffer buffer) {
+                released.add(buffer);
+            }
+        };
+        final ByteBuffer wrapped = ByteBuffer.allocateDirect(16);
+        final Path file = Files.createTempFile("arrayBufferReleaseTest", ".bin");
+        RuntimeEvents.addListener(listener);
+        try {
+            Files.write(file, new byte[8]);
+            engine.put("wrapped", wrapped);
+            engine.put("file", file.toString());
+            engine.eval("var ab = new ArrayBuffer(wrapped); var u8 = new Uint8Array(ab); ab.release(); ab.release();\n" +
+                        "mapFile(file).release();");
+        } finally {
+            RuntimeEvents.removeListener(listener);
+            Files.delete(file);
+        }
+        // the listener is told once per buffer, and receives the buffer passed in from Java itself
+        assertEquals(released.size(), 2);
+        assertSame(released.get(0), wrapped);
+        assertTrue(released.get(1) instanceof MappedByteBuffer);
+        assertEquals(released.get(1).capacity(), 8);
+        assertEquals(engine.eval("u8.length"), 0);
+    }
+}
@@ -30,6 +30,7 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
+import java.io.StringReader;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
@@ -43,6 +44,7 @@ import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 import org.openjdk.nashorn.api.scripting.AbstractJSObject;
 import org.openjdk.nashorn.api.scripting.JSObject;
+import org.openjdk.nashorn.api.scripting.NashornException;
 import org.openjdk.nashorn.api.scripting.ScriptObjectMirror;
 import org.testng.annotations.Test;
 
@@ -427,4 +429,26 @@ public class ScriptObjectMirrorTest {
 
         assertTrue((boolean)e.eval("typeof sfunc() == 'undefined'"));
     }
+
+    @Test
+    public void parseJSONTest() throws Exception {
+        final ScriptEngineManager engineManager = new ScriptEngineManager();
+        final ScriptEngine e = engineManager.getEngineByName("nashorn");
+        final ScriptObjectMirror global = (ScriptObjectMirror)e.eval("this");
+
+        final ScriptObjectMirror obj = (ScriptObjectMirror)global.parseJSON(new StringReader("{\"x\": [1, 2, 3], \"y\": \"nashorn\"}"));
+        assertEquals(obj.get("y"), "nashorn");
+        assertTrue(((ScriptObjectMirror)obj.get("x")).isArray());
+        e.put("obj", obj);
+        assertTrue((boolean)e.eval("obj.x.length === 3 && Object.getPrototypeOf(obj) === Object.prototype"));
+
+        assertEquals(global.parseJSON(new StringReader("42")), 42);
+
+        try {
+            global.parseJSON(new StringReader("{\"x\": }"));
+            fail("should have thrown");
+        } catch (final NashornException ne) {
+            assertTrue(ne.getMessage().contains("Invalid JSON"));
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.codegen.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.script.ScriptEngine;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.RuntimeEvents;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test batched persistence of optimistic type information across processes
+ * @run testng org.openjdk.nashorn.internal.codegen.test.OptimisticTypesPersistenceTest
+ */
+@SuppressWarnings("javadoc")
+public class OptimisticTypesPersistenceTest {
+
+    // Every process must see the same source, so the functions to call are passed in a binding.
+    private static final String SCRIPT =
+            "function f(a, b) { return a + b; }\n" +
+            "function g(a, b) { return a * b; }\n" +
+            "for each (var name in which.split('')) {\n" +
+            "    var fn = this[name];\n" +
+            "    fn(1, 2); fn(2147483647, 2); fn(0.5, 1); fn('a', 1);\n" +
+            "}\n";
+
+    private static final long TIMEOUT_SECONDS = 120;
+
+    private Path cacheDir;
+
+    @BeforeMethod
+    public void createCacheDir() throws IOException {
+        cacheDir = Files.createTempDirectory("typeinfo");
+    }
+
+    @AfterMethod
+    public void deleteCacheDir() throws IOException {
+        try (final Stream<Path> paths = Files.walk(cacheDir)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Runs the script with optimistic types and prints the names of the functions that were deoptimized.
+     * @param args the names of the functions to call, as a single string
+     * @throws Exception if the script fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final Set<String> recompiled = new TreeSet<>();
+        RuntimeEvents.addListener(new RuntimeEvents.Listener() {
+            @Override
+            public void recompiled(final String functionName, final int programPoint, final Class<?> previousType, final Class<?> newType) {
+                // The program itself is compiled eagerly, without persistent type info.
+                if (!functionName.startsWith(":")) {
+                    synchronized (recompiled) {
+                        recompiled.add(functionName);
+                    }
+                }
+            }
+        });
+        final ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine("--optimistic-types=true");
+        engine.put("which", args[0]);
+        engine.put(ScriptEngine.FILENAME, "typeinfo.js");
+        engine.eval(SCRIPT, engine.getContext());
+        synchronized (recompiled) {
+            System.out.println(recompiled);
+        }
+    }
+
+    private Process start(final String which, final long flushDelayMillis) throws IOException {
+        final List<String> cmd = new ArrayList<>();
+        cmd.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        cmd.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        final String modulePath = System.getProperty("jdk.module.path");
+        if (modulePath != null) {
+            cmd.add("--module-path");
+            cmd.add(modulePath);
+        }
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        // Later definitions of a system property override earlier ones.
+        cmd.add("-Dnashorn.typeInfo.cacheDir=" + cacheDir);
+        cmd.add("-Dnashorn.typeInfo.maxFiles=unlimited");
+        cmd.add("-Dnashorn.typeInfo.batched=true");
+        cmd.add("-Dnashorn.typeInfo.flushDelayMillis=" + flushDelayMillis);
+        cmd.add(OptimisticTypesPersistenceTest.class.getName());
+        cmd.add(which);
+        return new ProcessBuilder(cmd).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+    }
+
+    private static String await(final Process process) throws Exception {
+        assertTrue(process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS), "child process timed out");
+        final String output = new String(process.getInputStream().readAllBytes()).trim();
+        assertEquals(process.exitValue(), 0, output);
+        return output;
+    }
+
+    private String run(final String which, final long flushDelayMillis) throws Exception {
+        return await(start(which, flushDelayMillis));
+    }
+
+    private List<Path> packedFiles() throws IOException {
+        try (final Stream<Path> paths = Files.walk(cacheDir)) {
+            return paths.filter(path -> path.toString().endsWith(".types")).collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void roundTripTest() throws Exception {
+        assertEquals(run("fg", 0), "[f, g]");
+        assertEquals(packedFiles().size(), 1);
+        // Both functions start out with the types they ended up with in the first process.
+        assertEquals(run("fg", 0), "[]");
+    }
+
+    @Test
+    public void flushAtExitTest() throws Exception {
+        // The timer never fires, so the updates are only written by the shutdown hook.
+        assertEquals(run("fg", TimeUnit.HOURS.toMillis(1)), "[f, g]");
+        final List<Path> files = packedFiles();
+        assertEquals(files.size(), 1);
+        assertTrue(Files.size(files.get(0)) > 0);
+        assertEquals(run("fg", TimeUnit.HOURS.toMillis(1)), "[]");
+    }
+
+    @Test
+    public void twoWritersTest() throws Exception {
+        // Two processes write the types of different functions of the same source into the same file.
+        final Process writer1 = start("f", 0);
+        final Process writer2 = start("g", 0);
+        assertEquals(await(writer1), "[f]");
+        assertEquals(await(writer2), "[g]");
+        assertEquals(packedFiles().size(), 1);
+        // Neither process lost the updates of the other.
+        assertEquals(run("fg", 0), "[]");
+    }
+}
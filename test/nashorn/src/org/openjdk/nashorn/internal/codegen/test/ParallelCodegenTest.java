@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.codegen.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.TreeSet;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.RuntimeEvents;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test that split compile units finished in parallel produce the same results
+ * @run testng org.openjdk.nashorn.internal.codegen.test.ParallelCodegenTest
+ */
+@SuppressWarnings("javadoc")
+public class ParallelCodegenTest {
+
+    private static final String FILENAME = "parallel_codegen.js";
+
+    // Enough functions to be split into many compile units when compiled eagerly
+    private static String bigScript() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            sb.append("function f").append(i).append("(a, b) { var x = a * ").append(i).append(" + b; ")
+              .append("for (var j = 0; j < 3; j++) { x += j; } return { p: x, q: [a, b] }.p; }\n");
+        }
+        sb.append("var s = 0; for (var i = 0; i < 2000; i++) { s += this['f' + i](i, 2); } s;");
+        return sb.toString();
+    }
+
+    private static Object eval(final String... args) throws ScriptException {
+        final ScriptEngine e = new NashornScriptEngineFactory().getScriptEngine(args);
+        e.put(ScriptEngine.FILENAME, FILENAME);
+        return e.eval(bigScript(), e.getContext());
+    }
+
+    @Test
+    public void parallelCodegenTest() throws ScriptException {
+        final Object expected = eval("--lazy-compilation=false");
+        final Set<String> installed = new TreeSet<>();
+        final RuntimeEvents.Listener listener = new RuntimeEvents.Listener() {
+            @Override
+            public void classInstalled(final String className, final int byteCodeLength) {
+                // Compile units are named after the script file, without its extension.
+                if (className.contains("$parallel_codegen")) {
+                    synchronized (installed) {
+                        installed.add(className);
+                    }
+                }
+            }
+        };
+        RuntimeEvents.addListener(listener);
+        try {
+            assertEquals(eval("--lazy-compilation=false", "--parallel-codegen", "--verify-code"), expected);
+        } finally {
+            RuntimeEvents.removeListener(listener);
+        }
+        // The script must have been split, or there was nothing to finish in parallel.
+        assertTrue(installed.size() > 1, installed.toString());
+        assertEquals(eval("--parallel-codegen", "--verify-code"), expected);
+    }
+}
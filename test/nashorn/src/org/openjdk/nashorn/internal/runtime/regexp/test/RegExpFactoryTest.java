@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.regexp.test;
+
+import org.openjdk.nashorn.internal.runtime.regexp.RegExp;
+import org.openjdk.nashorn.internal.runtime.regexp.RegExpFactory;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * Tests for the compiled regexp cache of {@link RegExpFactory}.
+ *
+ * @test
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime.regexp
+ * @run testng org.openjdk.nashorn.internal.runtime.regexp.test.RegExpFactoryTest
+ */
+public class RegExpFactoryTest {
+
+    /**
+     * Regexps are cached by pattern and flags, not by the identity of the strings
+     */
+    @Test
+    public void testCacheHit() {
+        final long hits   = RegExpFactory.getCacheHits();
+        final long misses = RegExpFactory.getCacheMisses();
+        final RegExp regexp = RegExpFactory.create("cache(d)?hit", "g");
+        assertSame(RegExpFactory.create(new StringBuilder("cache(d)?").append("hit").toString(), new String("g")), regexp);
+        assertNotSame(RegExpFactory.create("cache(d)?hit", "gi"), regexp);
+        assertTrue(RegExpFactory.getCacheHits() >= hits + 1);
+        assertTrue(RegExpFactory.getCacheMisses() >= misses + 2);
+    }
+
+    /**
+     * The cache is bounded and evicts the least recently used regexps
+     */
+    @Test
+    public void testCacheEviction() {
+        final RegExp used = RegExpFactory.create("kept", "");
+        final long evictions = RegExpFactory.getCacheEvictions();
+        for (int i = 0; i < 5000; i++) {
+            RegExpFactory.create("evicted" + i, "");
+            if (i % 100 == 0) {
+                assertSame(RegExpFactory.create("kept", ""), used);
+            }
+        }
+        assertTrue(RegExpFactory.getCacheEvictions() > evictions);
+        assertEquals(RegExpFactory.create("kept", "").getSource(), "kept");
+    }
+}
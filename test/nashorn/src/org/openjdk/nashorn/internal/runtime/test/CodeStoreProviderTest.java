@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.CodeStoreProvider;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test for code store selection and size bounded code stores
+ * @run testng org.openjdk.nashorn.internal.runtime.test.CodeStoreProviderTest
+ */
+@SuppressWarnings("javadoc")
+public class CodeStoreProviderTest {
+
+    final static String code = CodeStoreAndPathTest.code1 + "f(); g(); x;";
+
+    public static class MemoryCodeStoreProvider implements CodeStoreProvider {
+        static final Map<String, byte[]> STORE = new ConcurrentHashMap<>();
+        static final AtomicInteger LOADS = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "memory";
+        }
+
+        @Override
+        public Store open(final Path directory, final boolean readOnly) {
+            return new Store() {
+                @Override
+                public byte[] load(final String key) {
+                    final byte[] bytes = STORE.get(directory + key);
+                    if (bytes != null) {
+                        LOADS.incrementAndGet();
+                    }
+                    return bytes;
+                }
+
+                @Override
+                public void store(final String key, final byte[] bytes) {
+                    STORE.put(directory + key, bytes);
+                }
+            };
+        }
+    }
+
+    @Test
+    public void providerClassTest() throws ScriptException {
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        final String[] options = new String[] { "--persistent-code-cache", "--code-store=" + MemoryCodeStoreProvider.class.getName() };
+        assertEquals(fac.getScriptEngine(options).eval(code), "Bye Script");
+        final int stored = MemoryCodeStoreProvider.STORE.size();
+        assertTrue(stored >= 3, "script and functions stored");
+        assertEquals(MemoryCodeStoreProvider.LOADS.get(), 0);
+
+        assertEquals(fac.getScriptEngine(options).eval(code), "Bye Script");
+        assertEquals(MemoryCodeStoreProvider.STORE.size(), stored);
+        assertEquals(MemoryCodeStoreProvider.LOADS.get(), stored);
+    }
+
+    @Test
+    public void unknownStoreTest() throws ScriptException {
+        final ScriptEngine e = new NashornScriptEngineFactory().getScriptEngine("--persistent-code-cache", "--code-store=no.such.Store");
+        assertEquals(e.eval(code), "Bye Script");
+    }
+
+    @Test
+    public void directoryEvictionTest() throws ScriptException {
+        final File dir = new File(System.getProperty("build.dir", "build"), "bounded_code_cache");
+        if (dir.isDirectory()) {
+            CodeStoreAndPathTest.deleteDirectory(dir);
+        }
+        System.setProperty("nashorn.persistent.code.cache", dir.getPath());
+        System.setProperty("nashorn.persistent.code.cache.bytes", "40000");
+        try {
+            final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+            for (int i = 0; i < 20; i++) {
+                assertEquals(fac.getScriptEngine("--persistent-code-cache").eval(code + "// " + i), "Bye Script");
+                assertTrue(size(dir) <= 40000, "cache directory within bounds");
+            }
+        } finally {
+            System.getProperties().remove("nashorn.persistent.code.cache.bytes");
+        }
+    }
+
+    private static long size(final File file) {
+        if (file.isDirectory()) {
+            long size = 0;
+            for (final File f : file.listFiles()) {
+                size += size(f);
+            }
+            return size;
+        }
+        return file.length();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.openjdk.nashorn.internal.runtime.Source.sourceFor;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.openjdk.nashorn.internal.objects.Global;
+import org.openjdk.nashorn.internal.runtime.Context;
+import org.openjdk.nashorn.internal.runtime.ErrorManager;
+import org.openjdk.nashorn.internal.runtime.ScriptFunction;
+import org.openjdk.nashorn.internal.runtime.ScriptObject;
+import org.openjdk.nashorn.internal.runtime.ScriptRuntime;
+import org.openjdk.nashorn.internal.runtime.options.Options;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that {@code Global.copyReferences} accounts for every instance field of {@link Global},
+ * so that fields added later are not silently shared between copies of a global.
+ *
+ * @test
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime.options
+ *          org.openjdk.nashorn/org.openjdk.nashorn.internal.objects:open
+ * @run testng org.openjdk.nashorn.internal.runtime.test.GlobalCopyReferencesTest
+ */
+@SuppressWarnings("javadoc")
+public class GlobalCopyReferencesTest {
+
+    // fields that Global.copyGlobal resets for the copy
+    private static final Set<String> RESET = new HashSet<>(Arrays.asList(
+            "engine", "scontext", "initscontext", "lexicalScopeSwitchPoint"));
+
+    // fields whose values do not depend on a particular global and are shared by its copies
+    private static final Set<String> SHARED = new HashSet<>(Arrays.asList(
+            "context",                          // all globals of an engine share its context
+            "TO_STRING", "VALUE_OF",            // invokers that link against their arguments
+            "namedInvokers", "dynamicInvokers", // concurrent caches of such invokers
+            "lastRegExpResult"));               // immutable
+
+    // touches the builtins that are created lazily
+    private static final String INIT =
+            "var builtins = [Date, RegExp, JSON, JSAdapter, EvalError, RangeError, URIError," +
+            "JavaImporter, Java, Packages, com, edu, java, javafx, javax, org," +
+            "ArrayBuffer, DataView, Int8Array, Uint8Array, Uint8ClampedArray, Int16Array, Uint16Array," +
+            "Int32Array, Uint32Array, Float32Array, Float64Array, Symbol, Map, WeakMap, Set, WeakSet];" +
+            "Java.extend; Java.to; [][Symbol.iterator](); new Map().keys(); new Set().keys(); ''[Symbol.iterator]();" +
+            "let lexical = 1;";
+
+    @Test
+    public void fieldsTest() throws Exception {
+        final Options options = new Options("nashorn");
+        options.process(new String[] { "--language=es6", "-scripting" });
+        final Context cx = new Context(options, new ErrorManager(), Thread.currentThread().getContextClassLoader());
+        final Global oldGlobal = Context.getGlobal();
+        final Global global = cx.createGlobal();
+        Context.setGlobal(global);
+        final Global copy;
+        try {
+            final ScriptFunction script = cx.compileScript(sourceFor("<fieldsTest>", INIT), global);
+            assertNotNull(script);
+            ScriptRuntime.apply(script, global);
+
+            // every object passed to the copier is replaced with a new copy, so fields that keep
+            // the object of the original global have not been passed to it
+            copy = (Global)global.copy();
+            copy.copyReferences(value -> value instanceof ScriptObject ? ((ScriptObject)value).copy() : value);
+        } finally {
+            Context.setGlobal(oldGlobal);
+        }
+
+        final Set<String> names = new HashSet<>();
+        for (final Field field : Global.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            final String name = field.getName();
+            names.add(name);
+            if (field.getType().isPrimitive() || RESET.contains(name) || SHARED.contains(name)) {
+                // primitive values are copied along with the global
+                continue;
+            }
+            field.setAccessible(true);
+            final Object value = field.get(global);
+            if (value == null) {
+                fail("Global." + name + " is not initialized by the test, so it can not be checked");
+            } else if (value instanceof ScriptObject) {
+                assertNotSame(field.get(copy), value, "Global." + name + " is not copied by copyReferences");
+            } else {
+                fail("Global." + name + " of type " + field.getType().getName() + " is neither copied nor listed as shared or reset");
+            }
+        }
+
+        assertTrue(names.containsAll(RESET), "unknown reset fields");
+        assertTrue(names.containsAll(SHARED), "unknown shared fields");
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test for the single file persistent code store
+ * @run testng org.openjdk.nashorn.internal.runtime.test.MappedCodeStoreTest
+ */
+@SuppressWarnings("javadoc")
+public class MappedCodeStoreTest {
+
+    final static String codeCache = System.getProperty("build.dir", "build") + File.separator + "mapped_code_cache";
+
+    private static final String[] ENGINE_OPTIONS_OPT   = new String[]{"--persistent-code-cache", "--code-store=mapped", "--optimistic-types=true"};
+    private static final String[] ENGINE_OPTIONS_NOOPT = new String[]{"--persistent-code-cache", "--code-store=mapped", "--optimistic-types=false"};
+
+    final static String code = CodeStoreAndPathTest.code1 + "f(); g(); x;";
+
+    private static Path useCache(final String name) {
+        final File dir = new File(codeCache, name);
+        if (dir.isDirectory()) {
+            CodeStoreAndPathTest.deleteDirectory(dir);
+        }
+        System.setProperty("nashorn.persistent.code.cache", dir.getPath());
+        return dir.toPath();
+    }
+
+    private static Path getStoreFile(final Path dir) throws IOException {
+        final File[] versionDirs = dir.toFile().listFiles();
+        assertEquals(versionDirs.length, 1);
+        final String[] files = versionDirs[0].list();
+        assertEquals(files.length, 1, "Expected a single store file");
+        assertEquals(files[0], "scripts.nsc");
+        return versionDirs[0].toPath().resolve(files[0]);
+    }
+
+    @Test
+    public void singleFileTest() throws ScriptException, IOException {
+        final Path dir = useCache("single");
+        final ScriptEngine e = new NashornScriptEngineFactory().getScriptEngine(ENGINE_OPTIONS_NOOPT);
+        e.eval(CodeStoreAndPathTest.code1);
+        e.eval(CodeStoreAndPathTest.code2);
+        e.eval(CodeStoreAndPathTest.code3);
+        assertTrue(Files.size(getStoreFile(dir)) > 0);
+    }
+
+    @Test
+    public void reloadTest() throws ScriptException, IOException {
+        final Path dir = useCache("reload");
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code), "Bye Script");
+        final Path file = getStoreFile(dir);
+        final long size = Files.size(file);
+
+        // everything is loaded from the store, nothing is stored again
+        for (int i = 0; i < 3; i++) {
+            assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code), "Bye Script");
+        }
+        assertEquals(Files.size(file), size);
+    }
+
+    @Test
+    public void incompleteRecordTest() throws ScriptException, IOException {
+        final Path dir = useCache("incomplete");
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(CodeStoreAndPathTest.code1);
+
+        // simulate a process that died while appending a record
+        try (FileChannel channel = FileChannel.open(getStoreFile(dir), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(20).putInt(1).putInt(10000).flip());
+        }
+
+        fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(CodeStoreAndPathTest.code2);
+        assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(CodeStoreAndPathTest.code2 + "x"), "Hello Script");
+        assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code), "Bye Script");
+    }
+
+    @Test
+    public void corruptRecordTest() throws ScriptException, IOException {
+        final Path dir = useCache("corrupt");
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(CodeStoreAndPathTest.code1);
+        final Path file = getStoreFile(dir);
+        final long size = Files.size(file);
+
+        // a complete record whose checksum does not match its body
+        final ByteBuffer corrupt = ByteBuffer.allocate(20).putInt(1).putInt(8).putInt(0).putShort((short) 6).put("forged".getBytes("UTF-8"));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(corrupt.flip());
+        }
+
+        // scanning stops at the corrupt record, so the next record overwrites it
+        fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(CodeStoreAndPathTest.code2);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(20);
+            channel.read(header, size);
+            assertNotEquals(header.flip(), corrupt.rewind());
+        }
+        assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(CodeStoreAndPathTest.code2 + "x"), "Hello Script");
+    }
+
+    @Test
+    public void segmentTest() throws ScriptException, IOException {
+        final Path dir = useCache("segment");
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        // records and indexes span several segments
+        System.setProperty("nashorn.persistent.code.cache.segment", "1k");
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code + "// " + i), "Bye Script");
+            }
+            final long size = Files.size(getStoreFile(dir));
+            assertTrue(size > 4096);
+            for (int i = 0; i < 3; i++) {
+                assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code + "// " + i), "Bye Script");
+            }
+            assertEquals(Files.size(getStoreFile(dir)), size);
+        } finally {
+            System.getProperties().remove("nashorn.persistent.code.cache.segment");
+        }
+    }
+
+    @Test
+    public void closeTest() throws Exception {
+        final Path dir = useCache("close");
+        assertEquals(new NashornScriptEngineFactory().getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code), "Bye Script");
+        final Path file = getStoreFile(dir);
+
+        // the file is closed once the store of the engine has been collected
+        final Field filesField = Class.forName("org.openjdk.nashorn.internal.runtime.MappedCodeStore").getDeclaredField("FILES");
+        filesField.setAccessible(true);
+        final Map<?, ?> files = (Map<?, ?>) filesField.get(null);
+        for (int i = 0; i < 100 && isOpen(files, file); i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertFalse(isOpen(files, file));
+    }
+
+    private static boolean isOpen(final Map<?, ?> files, final Path file) {
+        synchronized (files) {
+            return files.keySet().stream().anyMatch(key -> ((List<?>) key).get(0).equals(file));
+        }
+    }
+
+    @Test
+    public void evictionTest() throws ScriptException, IOException {
+        final Path dir = useCache("eviction");
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        System.setProperty("nashorn.persistent.code.cache.bytes", "40000");
+        try {
+            for (int i = 0; i < 20; i++) {
+                final ScriptEngine e = fac.getScriptEngine(ENGINE_OPTIONS_NOOPT);
+                assertEquals(e.eval(code + "// " + i), "Bye Script");
+                assertTrue(Files.size(getStoreFile(dir)) < 60000);
+            }
+            // recently stored scripts are still there
+            final long size = Files.size(getStoreFile(dir));
+            assertEquals(fac.getScriptEngine(ENGINE_OPTIONS_NOOPT).eval(code + "// 19"), "Bye Script");
+            assertEquals(Files.size(getStoreFile(dir)), size);
+        } finally {
+            System.getProperties().remove("nashorn.persistent.code.cache.bytes");
+        }
+    }
+
+    @Test
+    public void splitFunctionTest() throws ScriptException {
+        useCache("split");
+        System.setProperty("nashorn.compiler.splitter.threshold", "500");
+        try {
+            final NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+            for (int i = 0; i < 4; i++) {
+                factory.getScriptEngine(ENGINE_OPTIONS_OPT).eval(CodeStoreAndPathTest.longNestedFunctions);
+                factory.getScriptEngine(ENGINE_OPTIONS_OPT).eval(CodeStoreAndPathTest.nestedFunctions);
+            }
+        } finally {
+            System.getProperties().remove("nashorn.compiler.splitter.threshold");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test for the process-wide shared class cache
+ * @run testng org.openjdk.nashorn.internal.runtime.test.SharedClassCacheTest
+ */
+@SuppressWarnings("javadoc")
+public class SharedClassCacheTest {
+
+    final static String code =
+            "function Counter(start) { this.value = start; }\n" +
+            "Counter.prototype.next = function() { return ++this.value; };\n" +
+            "function run(n) {\n" +
+            "    var c = new Counter(n);\n" +
+            "    var inner = function(x) { return x * 2; };\n" +
+            "    return inner(c.next()) + ':' + (function() { return this === undefined; })();\n" +
+            "}\n" +
+            "run(20);";
+
+    private static final Method getHitCount;
+
+    static {
+        try {
+            getHitCount = Class.forName("org.openjdk.nashorn.internal.runtime.SharedCodeStore").getDeclaredMethod("getHitCount");
+            getHitCount.setAccessible(true);
+        } catch (final Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long getHitCount() throws Exception {
+        return (Long) getHitCount.invoke(null);
+    }
+
+    @Test
+    public void sharedAcrossEngines() throws Exception {
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        final long hits = getHitCount();
+        for (int i = 0; i < 3; i++) {
+            final ScriptEngine e = fac.getScriptEngine("--shared-class-cache");
+            assertEquals(e.eval(code), "42:false");
+            assertEquals(e.eval("run(1)"), "4:false");
+        }
+        // at least the second and third engine load the script from the cache
+        assertTrue(getHitCount() - hits >= 2);
+    }
+
+    @Test
+    public void optionsAreNotMixed() throws ScriptException {
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        final ScriptEngine sloppy = fac.getScriptEngine("--shared-class-cache");
+        final ScriptEngine strict = fac.getScriptEngine("--shared-class-cache", "-strict");
+        final ScriptEngine optimistic = fac.getScriptEngine("--shared-class-cache", "--optimistic-types=true");
+        assertEquals(sloppy.eval(code), "42:false");
+        assertEquals(strict.eval(code), "42:true");
+        assertEquals(optimistic.eval(code), "42:false");
+        assertEquals(fac.getScriptEngine("--shared-class-cache", "-strict").eval(code), "42:true");
+    }
+
+    @Test
+    public void sharedWithPersistentCache() throws ScriptException {
+        System.setProperty("nashorn.persistent.code.cache", System.getProperty("build.dir", "build") + File.separator + "shared_class_cache");
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        final String script = code + "\n// " + "x".repeat(1000);
+        for (int i = 0; i < 2; i++) {
+            final ScriptEngine e = fac.getScriptEngine("--shared-class-cache", "--persistent-code-cache");
+            assertEquals(e.eval(script), "42:false");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test that sparse arrays with widely spaced indices do not allocate storage for unused indices
+ * @run testng org.openjdk.nashorn.internal.runtime.test.SparseArrayTest
+ */
+@SuppressWarnings("javadoc")
+public class SparseArrayTest {
+
+    private static final int COUNT = 200_000;
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void widelySpacedIndicesTest() throws ScriptException {
+        final ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine();
+        engine.eval("var sp = []; function fill(n) { for (var i = 0; i < n; i++) sp[1e9 + i * 5000] = i; }");
+
+        final long before = usedMemory();
+        final long start = System.nanoTime();
+        engine.eval("fill(" + COUNT + ")");
+        final long millis = (System.nanoTime() - start) / 1_000_000;
+        final long bytes = usedMemory() - before;
+
+        assertEquals(((Number)engine.eval("sp[1e9 + 4999 * 5000] + sp[1e9 + 5000 * 5000]")).intValue(), 4999 + 5000);
+        assertEquals(((Number)engine.eval("sp.length")).longValue(), 1_000_000_000L + (COUNT - 1) * 5000L + 1);
+        // A few hundred bytes per element at most; a page per element would take about 4KB each.
+        assertTrue(bytes / COUNT < 512, "bytes per element: " + bytes / COUNT);
+        // Generous bound, a page per element took several seconds.
+        assertTrue(millis < 30_000, "milliseconds: " + millis);
+    }
+}
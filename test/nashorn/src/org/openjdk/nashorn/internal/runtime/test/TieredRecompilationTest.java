@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package org.openjdk.nashorn.internal.runtime.test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.script.Invocable;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
+import org.openjdk.nashorn.api.scripting.RuntimeEvents;
+import org.testng.annotations.Test;
+
+/**
+ * @test
+ * @summary Test that deoptimizing recompilation on a background thread computes the same results, and that a
+ * deoptimized call neither compiles nor waits for the background thread
+ * @modules org.openjdk.nashorn/org.openjdk.nashorn.internal.runtime:open
+ * @run testng org.openjdk.nashorn.internal.runtime.test.TieredRecompilationTest
+ */
+@SuppressWarnings("javadoc")
+public class TieredRecompilationTest {
+
+    // Functions that are deoptimized repeatedly while they're being called in a loop
+    private static final String code =
+        "var data = [];\n" +
+        "for (var i = 0; i < 100; i++) data.push(i);\n" +
+        "function sum(arr) { var s = 0; for (var i = 0; i < arr.length; i++) { s += arr[i]; } return s; }\n" +
+        "function mul(o) { return o.x * o.y; }\n" +
+        "var r = 0;\n" +
+        "for (var k = 0; k < 30000; k++) {\n" +
+        "    if (k == 10000) data[5] = 0.5;\n" +
+        "    if (k == 20000) data[7] = 3000000000;\n" +
+        "    r += sum(data) + mul({x: k, y: k < 15000 ? 3 : 1e10});\n" +
+        "    if (k == 25000) r += mul({x: 'a', y: 1}) ? 1 : 0;\n" +
+        "}\n" +
+        "r;";
+
+    private static Object eval(final String... args) throws ScriptException {
+        final ScriptEngine e = new NashornScriptEngineFactory().getScriptEngine(args);
+        return e.eval(code);
+    }
+
+    @Test
+    public void tieredRecompilationTest() throws ScriptException {
+        final Object expected = eval("--optimistic-types=true");
+        assertEquals(eval("--optimistic-types=true", "--tiered-recompilation"), expected);
+    }
+
+    @Test
+    public void deoptimizedCallDoesNotWaitForRecompilerTest() throws Exception {
+        final ScriptEngine e = new NashornScriptEngineFactory().getScriptEngine("--optimistic-types=true", "--tiered-recompilation");
+        e.eval("function mul(o) { return o.x * o.y; }\n" +
+               "function run(y) { var r = 0; for (var k = 0; k < 1000; k++) r += mul({x: k, y: y}); return r; }");
+        final Invocable invocable = (Invocable)e;
+        assertEquals(invocable.invokeFunction("run", 3), 1498500);
+
+        // Let the recompiler thread finish the generic rest-of methods, then keep it busy.
+        final Field field = Class.forName("org.openjdk.nashorn.internal.runtime.CompiledFunction").getDeclaredField("recompilerExecutorService");
+        field.setAccessible(true);
+        final ExecutorService recompiler = (ExecutorService)field.get(null);
+        recompiler.submit(() -> {}).get();
+        final CountDownLatch latch = new CountDownLatch(1);
+        recompiler.execute(() -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        final List<Thread> restOfThreads = Collections.synchronizedList(new ArrayList<>());
+        final RuntimeEvents.Listener listener = new RuntimeEvents.Listener() {
+            @Override
+            public void classInstalled(final String className, final int byteCodeLength) {
+                if (className.contains("restOf")) {
+                    restOfThreads.add(Thread.currentThread());
+                }
+            }
+        };
+        final ExecutorService caller = Executors.newSingleThreadExecutor();
+        RuntimeEvents.addListener(listener);
+        try {
+            // Overflows the optimistic int multiplication while the recompiler thread is blocked
+            final Future<Object> result = caller.submit(() -> invocable.invokeFunction("run", 1e10));
+            assertEquals(result.get(30, TimeUnit.SECONDS), 4.995E15);
+            assertTrue(restOfThreads.isEmpty(), restOfThreads.toString());
+        } finally {
+            RuntimeEvents.removeListener(listener);
+            latch.countDown();
+            caller.shutdown();
+        }
+    }
+}
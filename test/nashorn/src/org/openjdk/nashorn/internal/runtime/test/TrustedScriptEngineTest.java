@@ -33,6 +33,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
+import javax.script.SimpleBindings;
 import javax.script.SimpleScriptContext;
 import org.openjdk.nashorn.api.scripting.ClassFilter;
 import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
@@ -223,6 +224,32 @@ public class TrustedScriptEngineTest {
         assertEquals(e.eval("typeof bar"), "function");
     }
 
+    @Test
+    public void globalPerRequestTest() throws ScriptException {
+        final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();
+        final String[] options = new String[] { "--global-per-request" };
+        final ScriptEngine e = fac.getScriptEngine(options);
+
+        e.eval("function foo() {}; Array.prototype.bar = 1;");
+
+        final ScriptContext newCtx = new SimpleScriptContext();
+        newCtx.setBindings(e.createBindings(), ScriptContext.ENGINE_SCOPE);
+
+        // every Bindings gets its own global, copied from a pristine template
+        assertEquals(e.eval("typeof foo", newCtx), "undefined");
+        assertEquals(e.eval("typeof [].bar", newCtx), "undefined");
+        assertEquals(e.eval("[3, 1, 2].sort().join()", newCtx), "1,2,3");
+
+        e.eval("function baz() {}", newCtx);
+        assertEquals(e.eval("typeof baz", newCtx), "function");
+        assertEquals(e.eval("typeof baz"), "undefined");
+
+        // arbitrary Bindings get a copied global as well
+        final ScriptContext otherCtx = new SimpleScriptContext();
+        otherCtx.setBindings(new SimpleBindings(), ScriptContext.ENGINE_SCOPE);
+        assertEquals(e.eval("typeof foo + typeof baz + typeof [].bar", otherCtx), "undefinedundefinedundefined");
+    }
+
     @Test
     public void classFilterTest() throws ScriptException {
         final NashornScriptEngineFactory fac = new NashornScriptEngineFactory();